@@ -0,0 +1,138 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import benchmark.ProviderPageWriter.Corruption;
+import benchmark.ProviderPageWriter.Quirk;
+
+/**
+ * Erzeugt einen synthetischen Provider-Korpus für Last- und Skalierungstests der Konvertierung.
+ *
+ * Pro Provider werden &lt;Name&gt;_&lt;ID&gt;_root.html und &lt;Name&gt;_&lt;ID&gt;.csv in mql4/ bzw. mql5/
+ * geschrieben, dazu eine corpus-manifest.csv mit den Sollwerten, Eigenheiten und Beschädigungen.
+ * Jeder Provider hat einen eigenen, aus Seed und Index abgeleiteten Zufallsgenerator; gleicher
+ * Seed und gleiche Parameter ergeben daher unabhängig von der Parallelisierung denselben Korpus.
+ *
+ * Aufruf: mvn -P bench package exec:exec@corpus -Dcorpus.args="--providers 50000 --seed 7 --end 2025-06"
+ */
+public class CorpusGenerator {
+
+    private final CorpusOptions options;
+
+    public CorpusGenerator(CorpusOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws IOException {
+        CorpusOptions options = CorpusOptions.parse(args);
+        System.out.println("Erzeuge Korpus: " + options);
+        long start = System.currentTimeMillis();
+        int written = new CorpusGenerator(options).generate();
+        System.out.println(written + " Provider erzeugt in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Erzeugt den Korpus im Zielverzeichnis.
+     *
+     * @return Anzahl der erzeugten Provider
+     */
+    public int generate() throws IOException {
+        Path mql4Dir = Files.createDirectories(options.outputDir.resolve("mql4"));
+        Path mql5Dir = Files.createDirectories(options.outputDir.resolve("mql5"));
+
+        String[] manifestLines = new String[options.providers];
+        AtomicInteger done = new AtomicInteger();
+        IntStream.range(0, options.providers).parallel().forEach(index -> {
+            Entry entry = createEntry(options, index);
+            SyntheticProvider provider = entry.provider;
+            Path dir = entry.mql4 ? mql4Dir : mql5Dir;
+            try {
+                Files.write(dir.resolve(provider.baseName() + "_root.html"), entry.page);
+                if (entry.corruption != Corruption.MISSING_CSV) {
+                    Files.write(dir.resolve(provider.baseName() + ".csv"), provider.csv.getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            manifestLines[index] = manifestLine(provider, entry.mql4 ? "mql4" : "mql5", entry.quirk, entry.corruption);
+
+            int count = done.incrementAndGet();
+            if (count % 1000 == 0) {
+                System.out.println(count + " / " + options.providers + " Provider erzeugt");
+            }
+        });
+
+        StringBuilder manifest = new StringBuilder(options.providers * 120);
+        manifest.append("version;file;months;trades;balance;balanceDD;equityDD;quirk;corruption\n");
+        for (String line : manifestLines) {
+            manifest.append(line).append('\n');
+        }
+        Files.write(options.outputDir.resolve("corpus-manifest.csv"), manifest.toString().getBytes(StandardCharsets.UTF_8));
+        return options.providers;
+    }
+
+    /**
+     * Erzeugt einen einzelnen Provider samt gerenderter Seite. Das Ergebnis hängt nur von
+     * Optionen und Index ab (genutzt auch vom lokalen Ersatzserver).
+     */
+    static Entry createEntry(CorpusOptions options, int index) {
+        Random random = new Random(providerSeed(options.seed, index));
+        boolean mql4 = random.nextDouble() < options.mql4Share;
+        Quirk quirk = random.nextDouble() < options.quirkRate ? pick(random, Quirk.values()) : Quirk.NONE;
+        Corruption corruption = random.nextDouble() < options.corruptRate
+                ? pick(random, Corruption.values()) : Corruption.NONE;
+
+        SyntheticProvider provider = SyntheticProvider.generate(random, options, index);
+        byte[] page = ProviderPageWriter.render(provider, random, options, quirk, corruption);
+        return new Entry(provider, mql4, quirk, corruption, page);
+    }
+
+    private static String manifestLine(SyntheticProvider provider, String version, Quirk quirk, Corruption corruption) {
+        return version + ";" + provider.baseName() + "_root.html;" + provider.monthReturns.length + ";"
+                + provider.tradeCount + ";" + SyntheticProvider.money(provider.finalBalance) + ";"
+                + SyntheticProvider.money(provider.maxBalanceDrawdown) + ";"
+                + SyntheticProvider.money(provider.equityDrawdown) + ";" + quirk + ";" + corruption;
+    }
+
+    /**
+     * Leitet den Seed eines Providers ab. Die Bits werden gemischt, weil die ersten Werte von
+     * java.util.Random bei aufeinanderfolgenden Seeds stark korrelieren.
+     */
+    static long providerSeed(long seed, int index) {
+        long z = seed * 0x9E3779B97F4A7C15L + index;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Ein erzeugter Provider mit Zielversion, Eigenheit, Beschädigung und Seiteninhalt */
+    static final class Entry {
+        final SyntheticProvider provider;
+        final boolean mql4;
+        final Quirk quirk;
+        final Corruption corruption;
+        final byte[] page;
+
+        Entry(SyntheticProvider provider, boolean mql4, Quirk quirk, Corruption corruption, byte[] page) {
+            this.provider = provider;
+            this.mql4 = mql4;
+            this.quirk = quirk;
+            this.corruption = corruption;
+            this.page = page;
+        }
+    }
+
+    /**
+     * Wählt einen Wert ungleich NONE (Index 0) aus.
+     */
+    private static <T> T pick(Random random, T[] values) {
+        return values[1 + random.nextInt(values.length - 1)];
+    }
+}
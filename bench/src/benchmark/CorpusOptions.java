@@ -0,0 +1,133 @@
+package benchmark;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+
+/**
+ * Parameter des synthetischen Korpus-Generators.
+ *
+ * Alle Werte haben Standardwerte und können per Kommandozeile überschrieben werden,
+ * z.B. {@code --providers 50000 --months 6-120 --quirk-rate 0.1 --corrupt-rate 0.01 --seed 42}.
+ */
+public final class CorpusOptions {
+
+    /** Zielverzeichnis (enthält danach mql4/ und mql5/) */
+    Path outputDir = Paths.get("target", "corpus");
+    /** Anzahl der Provider insgesamt */
+    int providers = 1000;
+    /** Anteil der Provider im mql4-Verzeichnis */
+    double mql4Share = 0.4;
+    /** Minimale/maximale Historie in Monaten (inklusive laufendem Monat) */
+    int minMonths = 4;
+    int maxMonths = 60;
+    /** Letzter (laufender) Monat der Historie; fest vorgeben für reproduzierbare Korpora */
+    YearMonth endMonth = YearMonth.now();
+    /** Minimale/maximale Trades pro Monat */
+    int minTradesPerMonth = 5;
+    int maxTradesPerMonth = 60;
+    /** Minimale/maximale Anzahl Punkte im roten Drawdown-Pfad */
+    int minChartPoints = 100;
+    int maxChartPoints = 2000;
+    /** Anteil der Pfadsegmente als Bezier-Kurve (C) bzw. als relative Linie (l) */
+    double curveShare = 0.15;
+    double relativeShare = 0.1;
+    /** Zusätzlicher Seitenballast (Navigation, Skripte) in KB je Seite */
+    int paddingKb = 150;
+    /** Anteil der Seiten mit Kodierungs-Eigenheiten (siehe {@link ProviderPageWriter.Quirk}) */
+    double quirkRate = 0.0;
+    /** Anteil beschädigter Provider (siehe {@link ProviderPageWriter.Corruption}) */
+    double corruptRate = 0.0;
+    /** Startwert des Zufallsgenerators */
+    long seed = 42L;
+
+    public static CorpusOptions parse(String[] args) {
+        CorpusOptions options = new CorpusOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Fehlender Wert für " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--out":
+                    options.outputDir = Paths.get(value);
+                    break;
+                case "--providers":
+                    options.providers = Integer.parseInt(value);
+                    break;
+                case "--mql4-share":
+                    options.mql4Share = Double.parseDouble(value);
+                    break;
+                case "--months": {
+                    int[] range = parseRange(value);
+                    options.minMonths = Math.max(1, range[0]);
+                    options.maxMonths = range[1];
+                    break;
+                }
+                case "--end":
+                    options.endMonth = YearMonth.parse(value);
+                    break;
+                case "--trades": {
+                    int[] range = parseRange(value);
+                    options.minTradesPerMonth = Math.max(1, range[0]);
+                    options.maxTradesPerMonth = range[1];
+                    break;
+                }
+                case "--chart-points": {
+                    int[] range = parseRange(value);
+                    options.minChartPoints = Math.max(2, range[0]);
+                    options.maxChartPoints = range[1];
+                    break;
+                }
+                case "--curve-share":
+                    options.curveShare = Double.parseDouble(value);
+                    break;
+                case "--relative-share":
+                    options.relativeShare = Double.parseDouble(value);
+                    break;
+                case "--padding-kb":
+                    options.paddingKb = Integer.parseInt(value);
+                    break;
+                case "--quirk-rate":
+                    options.quirkRate = Double.parseDouble(value);
+                    break;
+                case "--corrupt-rate":
+                    options.corruptRate = Double.parseDouble(value);
+                    break;
+                case "--seed":
+                    options.seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unbekannter Parameter: " + arg);
+            }
+        }
+        if (options.maxMonths < options.minMonths || options.maxTradesPerMonth < options.minTradesPerMonth
+                || options.maxChartPoints < options.minChartPoints) {
+            throw new IllegalArgumentException("Ungültiger Bereich: Maximum kleiner als Minimum");
+        }
+        return options;
+    }
+
+    /**
+     * Parst "min-max" oder einen einzelnen Wert.
+     */
+    private static int[] parseRange(String value) {
+        int dash = value.indexOf('-');
+        if (dash < 0) {
+            int v = Integer.parseInt(value.trim());
+            return new int[] {v, v};
+        }
+        return new int[] {Integer.parseInt(value.substring(0, dash).trim()),
+                          Integer.parseInt(value.substring(dash + 1).trim())};
+    }
+
+    @Override
+    public String toString() {
+        return "providers=" + providers + ", mql4Share=" + mql4Share + ", months=" + minMonths + "-" + maxMonths
+                + ", end=" + endMonth + ", trades/Monat=" + minTradesPerMonth + "-" + maxTradesPerMonth
+                + ", chartPoints=" + minChartPoints + "-" + maxChartPoints + ", curveShare=" + curveShare
+                + ", relativeShare=" + relativeShare + ", paddingKb=" + paddingKb + ", quirkRate=" + quirkRate
+                + ", corruptRate=" + corruptRate + ", seed=" + seed + ", out=" + outputDir;
+    }
+}
@@ -0,0 +1,128 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+
+import browser.WebDriverManager;
+import config.ConfigurationManager;
+import downloader.SignalDownloader;
+import utils.MqlDownloadProtokoll;
+
+/**
+ * Führt einen vollständigen Crawl mit dem echten SignalDownloader (Chrome über Selenium)
+ * gegen den lokalen {@link Mql5StandInServer} aus und meldet den Durchsatz in Providern
+ * pro Stunde.
+ *
+ * Konfiguration, Logs und Downloads landen unter --root (Standard target/crawl). Die
+ * Wartezeiten werden direkt in die Konfigurationsdatei geschrieben, weil
+ * ConfigurationManager.setWaitTimes für die Live-Seite mindestens 4 Sekunden erzwingt.
+ *
+ * Aufruf: mvn -P bench package exec:exec@crawl -Dcrawl.args="--providers 300 --latency-ms 250 --error-rate 0.02"
+ */
+public class CrawlHarness {
+
+    public static void main(String[] args) throws Exception {
+        StandInOptions options = StandInOptions.parse(args);
+        System.out.println("Crawl-Harness: " + options);
+
+        Mql5StandInServer server = new Mql5StandInServer(options);
+        server.start();
+        System.out.println("Ersatzserver läuft auf " + server.getSiteUrl());
+
+        try {
+            ConfigurationManager configManager = prepareConfiguration(options, server.getSiteUrl());
+            MqlDownloadProtokoll protokoll = new MqlDownloadProtokoll(configManager.getDownloadRootPath());
+
+            List<String> versions = "both".equals(options.versions) ? Arrays.asList("mt4", "mt5")
+                    : Arrays.asList(options.versions);
+            long totalProviders = 0;
+            long totalMillis = 0;
+            for (String version : versions) {
+                long start = System.currentTimeMillis();
+                int processed = crawl(configManager, protokoll, version);
+                long millis = Math.max(1, System.currentTimeMillis() - start);
+                totalProviders += processed;
+                totalMillis += millis;
+                System.out.println(String.format("%s: %d von %d Providern in %.1f s, %d Root-Seiten, %d CSV-Dateien -> %.0f Provider/Stunde",
+                        version.toUpperCase(), processed, Math.min(options.limit, server.getProviderCount(version)),
+                        millis / 1000.0, countFiles(configManager, "_root.html"), countFiles(configManager, ".csv"),
+                        processed * 3_600_000.0 / millis));
+            }
+            System.out.println(String.format("Gesamt: %d Provider in %.1f s -> %.0f Provider/Stunde",
+                    totalProviders, totalMillis / 1000.0, totalProviders * 3_600_000.0 / Math.max(1, totalMillis)));
+        } finally {
+            server.stop();
+            System.out.println(server.summary());
+        }
+    }
+
+    private static ConfigurationManager prepareConfiguration(StandInOptions options, String siteUrl) throws IOException {
+        String rootDir = Paths.get(options.rootDir).toAbsolutePath().toString();
+        ConfigurationManager configManager = new ConfigurationManager(rootDir);
+        configManager.initializeDirectories();
+        configManager.setCredentials("standin", "standin");
+        configManager.setSiteUrl(siteUrl);
+        configManager.setMql4Limit(Math.max(1, Math.min(5000, options.limit)));
+        configManager.setMql5Limit(Math.max(1, Math.min(5000, options.limit)));
+        configManager.setDownloadDays(0);
+
+        Properties props = new Properties();
+        File configFile = new File(configManager.getMqlConfigFilePath());
+        try (Reader reader = Files.newBufferedReader(configFile.toPath(), ConfigurationManager.CONFIG_CHARSET)) {
+            props.load(reader);
+        }
+        props.setProperty("minWaitTime", String.valueOf(options.minWaitMs));
+        props.setProperty("maxWaitTime", String.valueOf(Math.max(options.minWaitMs + 1, options.maxWaitMs)));
+        try (Writer writer = Files.newBufferedWriter(configFile.toPath(), ConfigurationManager.CONFIG_CHARSET)) {
+            props.store(writer, "MQL Downloader Konfiguration - Crawl-Harness");
+        }
+        // Neu instanziieren, damit die von Hand geschriebenen Wartezeiten sofort im Schnappschuss stehen
+        return new ConfigurationManager(rootDir);
+    }
+
+    /**
+     * Crawlt eine Version wie der DownloadManager der GUI, aber ohne Swing.
+     *
+     * @return Anzahl verarbeiteter Provider laut Fortschritts-Callback
+     */
+    private static int crawl(ConfigurationManager configManager, MqlDownloadProtokoll protokoll, String version)
+            throws IOException {
+        String mqlDir = version.equals("mt4") ? "mql4" : "mql5";
+        Path downloadDir = Paths.get(configManager.getDownloadRootPath()).resolve(mqlDir);
+        configManager.setDownloadPath(downloadDir.toString());
+        protokoll.resetProtokoll(mqlDir);
+
+        WebDriverManager webDriverManager = new WebDriverManager(configManager.getDownloadPath());
+        WebDriver driver = webDriverManager.initializeDriver();
+        AtomicInteger processed = new AtomicInteger();
+        try {
+            SignalDownloader downloader = new SignalDownloader(driver, configManager, configManager.getCredentials());
+            downloader.setMqlVersion(version);
+            downloader.setDownloadProtokoll(protokoll);
+            downloader.setProgressCallback(processed::set);
+            downloader.startDownloadProcess();
+        } catch (RuntimeException e) {
+            System.out.println(version.toUpperCase() + ": Crawl mit Fehler beendet: " + e.getMessage());
+        } finally {
+            driver.quit();
+            webDriverManager.cleanupSession();
+        }
+        return processed.get();
+    }
+
+    private static long countFiles(ConfigurationManager configManager, String suffix) {
+        File[] files = new File(configManager.getCurrentDownloadPath()).listFiles((dir, name) -> name.endsWith(suffix));
+        return files == null ? 0 : files.length;
+    }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import utils.ChartPoint;
+import utils.HtmlExcerptReader;
+import utils.HtmlPageEncoding;
+import utils.HtmlParser;
+
+/**
+ * Vergleicht die Extraktion auf dem Auszug von {@link HtmlExcerptReader} mit der auf der
+ * vollständig gelesenen Seite.
+ *
+ * Für jede _root.html ab {@link HtmlExcerptReader#MIN_EXCERPT_SIZE} werden Balance, Equity
+ * Drawdown, SVG-Drawdown, 3-Monats-Profit, Monatsdetails und Drawdown-Reihe einmal über den
+ * normalen Cache (Auszug) und einmal über den vorab gefüllten vollständigen Seiteninhalt
+ * bestimmt. Ausgegeben werden Abweichungen sowie die Zeichenzahl von Auszug und Seite.
+ *
+ * Aufruf: ExcerptParityCheck [Verzeichnis ...] (Standard: bench/samples). Rückgabewert 1 bei
+ * einer Abweichung.
+ */
+public final class ExcerptParityCheck {
+
+    private int files;
+    private int mismatches;
+    private long excerptChars;
+    private long fullChars;
+
+    public static void main(String[] args) throws IOException {
+        List<Path> dirs = new ArrayList<>();
+        for (String arg : args) {
+            dirs.add(Paths.get(arg));
+        }
+        if (dirs.isEmpty()) {
+            dirs.add(Paths.get(SamplePages.SAMPLES_DIR));
+        }
+
+        ExcerptParityCheck check = new ExcerptParityCheck();
+        for (Path dir : dirs) {
+            check.checkDirectory(dir);
+        }
+        System.out.printf("%d Seiten geprüft, %d Abweichungen; Auszug %d von %d Zeichen (%.1f %%)%n",
+                check.files, check.mismatches, check.excerptChars, check.fullChars,
+                check.fullChars == 0 ? 0.0 : 100.0 * check.excerptChars / check.fullChars);
+        if (check.mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    private void checkDirectory(Path dir) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*_root.html")) {
+            for (Path file : stream) {
+                if (Files.size(file) >= HtmlExcerptReader.MIN_EXCERPT_SIZE) {
+                    checkFile(file);
+                }
+            }
+        }
+    }
+
+    private void checkFile(Path file) throws IOException {
+        String fileName = file.toString();
+        String rootPath = String.valueOf(file.getParent());
+
+        HtmlParser excerptParser = new HtmlParser(rootPath);
+        HtmlParser fullParser = new HtmlParser(rootPath);
+        String full = HtmlPageEncoding.decode(Files.readAllBytes(file));
+        fullParser.putHtmlContent(fileName, full);
+        String excerpt = excerptParser.getHtmlContent(fileName);
+
+        files++;
+        fullChars += full.length();
+        excerptChars += excerpt != null ? excerpt.length() : full.length();
+
+        compare(file, "Balance", excerptParser, fullParser, p -> p.getBalance(fileName));
+        compare(file, "EquityDrawdown", excerptParser, fullParser, p -> p.getEquityDrawdown(fileName));
+        compare(file, "SvgDrawdown", excerptParser, fullParser, p -> p.getSvgDrawdown(fileName));
+        compare(file, "Avr3MonthProfit", excerptParser, fullParser, p -> p.getAvr3MonthProfit(fileName));
+        compare(file, "AllMonthsDetails", excerptParser, fullParser, p -> p.getAllMonthsDetails(fileName));
+        compare(file, "DrawdownChartData", excerptParser, fullParser,
+                p -> describe(p.getDrawdownChartData(fileName)));
+    }
+
+    private void compare(Path file, String field, HtmlParser excerptParser, HtmlParser fullParser,
+            Function<HtmlParser, Object> extractor) {
+        Object fromExcerpt = extractor.apply(excerptParser);
+        Object fromFull = extractor.apply(fullParser);
+        if (!Objects.equals(fromExcerpt, fromFull)) {
+            mismatches++;
+            System.out.println("ABWEICHUNG " + file.getFileName() + " " + field
+                    + ": Auszug=" + fromExcerpt + " Seite=" + fromFull);
+        }
+    }
+
+    private static List<String> describe(List<ChartPoint> points) {
+        if (points == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(points.size());
+        for (ChartPoint point : points) {
+            values.add(point.getDate() + "=" + point.getValue());
+        }
+        return values;
+    }
+}
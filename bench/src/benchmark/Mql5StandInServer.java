@@ -0,0 +1,298 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import benchmark.ProviderPageWriter.Corruption;
+import benchmark.ProviderPageWriter.Quirk;
+
+/**
+ * Lokaler Ersatz für die Signal-Seiten von mql5.com, gegen den der SignalDownloader
+ * offline und reproduzierbar laufen kann.
+ *
+ * Bedient werden die Pfade, die der Downloader aufruft:
+ * <ul>
+ * <li>/en/auth_login - Login-Formular (Login, Password, loginSubmit), POST leitet weiter</li>
+ * <li>/en/signals/mt4|mt5/list[/pageN] - Listenseiten mit .signal-Einträgen und .paging</li>
+ * <li>/en/signals/&lt;id&gt; - Provider-Seite mit "Trading history"-Tab und "History"-Export</li>
+ * <li>/en/signals/&lt;id&gt;/export/history - CSV-Export als Datei-Download</li>
+ * <li>/de/signals/&lt;id&gt; - Root-Seite aus dem synthetischen Korpus</li>
+ * </ul>
+ * Jede Anfrage wird um Latenz und Jitter verzögert, kann mit HTTP 503 abgelehnt werden oder
+ * für längere Zeit hängen bleiben (siehe {@link StandInOptions}).
+ *
+ * Aufruf: mvn -P bench package exec:exec@standin -Dstandin.args="--port 8080 --providers 500"
+ */
+public class Mql5StandInServer {
+
+    private final StandInOptions options;
+    private final Map<String, List<CorpusGenerator.Entry>> lists = new LinkedHashMap<>();
+    private final Map<String, CorpusGenerator.Entry> byId = new LinkedHashMap<>();
+    private final Random faultRandom;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong injectedStalls = new AtomicLong();
+    private final AtomicLong rootPages = new AtomicLong();
+    private final AtomicLong csvExports = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    public Mql5StandInServer(StandInOptions options) {
+        this.options = options;
+        this.faultRandom = new Random(options.corpus.seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        StandInOptions options = StandInOptions.parse(args);
+        Mql5StandInServer server = new Mql5StandInServer(options);
+        server.start();
+        System.out.println("Ersatzserver läuft auf " + server.getSiteUrl() + " - Beenden mit Enter");
+        System.in.read();
+        server.stop();
+        System.out.println(server.summary());
+    }
+
+    /**
+     * Erzeugt den Provider-Katalog und startet den Server.
+     */
+    public void start() throws IOException {
+        List<CorpusGenerator.Entry> entries = IntStream.range(0, options.corpus.providers).parallel()
+                .mapToObj(index -> CorpusGenerator.createEntry(options.corpus, index))
+                .collect(Collectors.toList());
+        List<CorpusGenerator.Entry> mt4 = new ArrayList<>();
+        List<CorpusGenerator.Entry> mt5 = new ArrayList<>();
+        for (CorpusGenerator.Entry entry : entries) {
+            byId.put(entry.provider.id, entry);
+            (entry.mql4 ? mt4 : mt5).add(entry);
+        }
+        lists.put("mt4", Collections.unmodifiableList(mt4));
+        lists.put("mt5", Collections.unmodifiableList(mt5));
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.port), 0);
+        executor = Executors.newFixedThreadPool(options.threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Basisadresse für ConfigurationManager.setSiteUrl
+     */
+    public String getSiteUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return Anzahl der gelisteten Provider der Version ("mt4" oder "mt5")
+     */
+    public int getProviderCount(String version) {
+        return lists.get(version).size();
+    }
+
+    public String summary() {
+        return String.format("Server: %d Anfragen, %d injizierte Fehler, %d Hänger, %d Root-Seiten, %d CSV-Exporte, %.1f MB gesendet",
+                requests.get(), injectedErrors.get(), injectedStalls.get(), rootPages.get(), csvExports.get(),
+                bytesSent.get() / (1024.0 * 1024.0));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        requests.incrementAndGet();
+        try {
+            if (injectFaults(exchange)) {
+                return;
+            }
+            route(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Client hat die Verbindung während eines Hängers oder der Antwort geschlossen
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Verzögert die Anfrage und lehnt sie ggf. ab.
+     *
+     * @return true, wenn bereits eine Fehlerantwort gesendet wurde
+     */
+    private boolean injectFaults(HttpExchange exchange) throws IOException, InterruptedException {
+        double roll;
+        int jitter;
+        synchronized (faultRandom) {
+            roll = faultRandom.nextDouble();
+            jitter = options.jitterMs > 0 ? faultRandom.nextInt(options.jitterMs + 1) : 0;
+        }
+        long delay = options.latencyMs + jitter;
+        if (roll < options.stallRate) {
+            injectedStalls.incrementAndGet();
+            delay += options.stallMs;
+        }
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        if (roll >= options.stallRate && roll < options.stallRate + options.errorRate) {
+            injectedErrors.incrementAndGet();
+            send(exchange, 503, "text/html; charset=utf-8",
+                    page("Service Unavailable", "<h1>503 Service Unavailable</h1>"));
+            return true;
+        }
+        return false;
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String[] parts = path.split("/");
+        // parts[0] ist leer, parts[1] die Sprache
+
+        if (path.equals("/en/auth_login")) {
+            if ("POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().add("Set-Cookie", "auth=standin; Path=/");
+                exchange.getResponseHeaders().add("Location", "/en/signals/mt5/list");
+                exchange.sendResponseHeaders(302, -1);
+            } else {
+                send(exchange, 200, "text/html; charset=utf-8", loginPage());
+            }
+            return;
+        }
+        if (path.equals("/en") || path.equals("/en/")) {
+            send(exchange, 200, "text/html; charset=utf-8", page("MQL5", "<p>Startseite</p>"));
+            return;
+        }
+        if (parts.length >= 5 && "signals".equals(parts[2]) && "list".equals(parts[4]) && lists.containsKey(parts[3])) {
+            int pageNumber = 1;
+            if (parts.length >= 6 && parts[5].startsWith("page")) {
+                try {
+                    pageNumber = Integer.parseInt(parts[5].substring(4));
+                } catch (NumberFormatException e) {
+                    sendNotFound(exchange);
+                    return;
+                }
+            }
+            send(exchange, 200, "text/html; charset=utf-8", listPage(parts[3], pageNumber));
+            return;
+        }
+        if (parts.length >= 4 && "signals".equals(parts[2])) {
+            CorpusGenerator.Entry entry = byId.get(parts[3]);
+            if (entry == null) {
+                sendNotFound(exchange);
+                return;
+            }
+            if ("de".equals(parts[1]) && parts.length == 4) {
+                rootPages.incrementAndGet();
+                String charset = entry.quirk == Quirk.WINDOWS_1252 ? "windows-1252" : "utf-8";
+                send(exchange, 200, "text/html; charset=" + charset, entry.page);
+                return;
+            }
+            if ("en".equals(parts[1]) && parts.length == 4) {
+                send(exchange, 200, "text/html; charset=utf-8", providerPage(entry));
+                return;
+            }
+            if ("en".equals(parts[1]) && parts.length == 6 && "export".equals(parts[4]) && "history".equals(parts[5])
+                    && entry.corruption != Corruption.MISSING_CSV) {
+                csvExports.incrementAndGet();
+                exchange.getResponseHeaders().add("Content-Disposition",
+                        "attachment; filename=\"" + entry.provider.id + ".history.csv\"");
+                send(exchange, 200, "text/csv; charset=utf-8", entry.provider.csv.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        sendNotFound(exchange);
+    }
+
+    private byte[] loginPage() {
+        return page("Login", "<form method=\"post\" action=\"/en/auth_login\">\n"
+                + "<input type=\"text\" id=\"Login\" name=\"Login\">\n"
+                + "<input type=\"password\" id=\"Password\" name=\"Password\">\n"
+                + "<input type=\"submit\" id=\"loginSubmit\" class=\"button button_yellow qa-submit\" value=\"Login\">\n"
+                + "</form>");
+    }
+
+    private byte[] listPage(String version, int pageNumber) {
+        List<CorpusGenerator.Entry> entries = lists.get(version);
+        int pages = Math.max(1, (entries.size() + options.pageSize - 1) / options.pageSize);
+        int from = Math.min(entries.size(), (pageNumber - 1) * options.pageSize);
+        int to = Math.min(entries.size(), from + options.pageSize);
+
+        StringBuilder body = new StringBuilder(4096);
+        body.append("<div class=\"signals-list\">\n");
+        for (int i = from; i < to; i++) {
+            SyntheticProvider provider = entries.get(i).provider;
+            double growth = (provider.finalBalance / provider.initialDeposit - 1.0) * 100.0;
+            body.append("<div class=\"signal\"><a href=\"/en/signals/").append(provider.id).append("\">")
+                .append(provider.name).append("</a> <span class=\"growth\">")
+                .append(String.format(Locale.ROOT, "%.2f%%", growth)).append("</span></div>\n");
+        }
+        body.append("</div>\n<div class=\"paging\">\n");
+        for (int p = 1; p <= pages; p++) {
+            body.append("<a href=\"/en/signals/").append(version).append("/list/page").append(p).append("\">")
+                .append(p).append("</a>\n");
+        }
+        body.append("</div>");
+        return page("Signals " + version.toUpperCase(), body.toString());
+    }
+
+    private byte[] providerPage(CorpusGenerator.Entry entry) {
+        SyntheticProvider provider = entry.provider;
+        StringBuilder body = new StringBuilder(1024);
+        body.append("<h1>").append(provider.name).append("</h1>\n")
+            .append("<div class=\"tabs\"><span class=\"tab\">Overview</span> <span class=\"tab\">Trading history</span></div>\n")
+            .append("<div class=\"tab-content\">");
+        if (entry.corruption != Corruption.MISSING_CSV) {
+            body.append("<a href=\"/en/signals/").append(provider.id).append("/export/history\">History</a>");
+        }
+        body.append("</div>");
+        return page(provider.name, body.toString());
+    }
+
+    private static byte[] page(String title, String body) {
+        return ("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>" + title + "</title>\n</head>\n<body>\n"
+                + body + "\n</body>\n</html>\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void sendNotFound(HttpExchange exchange) throws IOException {
+        send(exchange, 404, "text/html; charset=utf-8", page("Not Found", "<h1>404</h1>"));
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, byte[] content) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, content.length == 0 ? -1 : content.length);
+        if (content.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(content);
+            }
+        }
+        bytesSent.addAndGet(content.length);
+    }
+}
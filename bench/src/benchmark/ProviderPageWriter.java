@@ -0,0 +1,300 @@
+package benchmark;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Erzeugt die _root.html-Seite eines {@link SyntheticProvider} mit den Strukturen, die die
+ * Extraktoren erwarten: s-list-info__item mit Kontostand, "Maximaler Rückgang" in tspans,
+ * die Monatstabelle mit Jahreszeilen und das SVG in tab_content_drawdown_chart mit
+ * s-tick-Achse und rotem Pfad.
+ */
+final class ProviderPageWriter {
+
+    /** Kodierungs- und Format-Eigenheiten, wie sie bei echten Seiten vorkommen */
+    enum Quirk {
+        NONE,
+        /** Seite in windows-1252 gespeichert (kein gültiges UTF-8) */
+        WINDOWS_1252,
+        /** UTF-8 mit Byte Order Mark */
+        UTF8_BOM,
+        /** "Maximaler</tspan><tspan>R?ckgang: x%" mit kaputtem Umlaut */
+        MANGLED_DRAWDOWN_LABEL,
+        /** Englisches "Balance:" statt "Kontostand:" */
+        BALANCE_LABEL,
+        /** Monatswerte mit Dezimalkomma und typografischem Minus */
+        DECIMAL_COMMA
+    }
+
+    /** Arten beschädigter Provider */
+    enum Corruption {
+        NONE,
+        /** Datei mitten im Inhalt abgeschnitten */
+        TRUNCATED,
+        /** Drawdown-Chart fehlt */
+        NO_DRAWDOWN_CHART,
+        /** "Maximaler Rückgang" fehlt */
+        NO_EQUITY_DRAWDOWN,
+        /** Leere Datei */
+        EMPTY_FILE,
+        /** CSV-Export fehlt */
+        MISSING_CSV
+    }
+
+    private static final double CHART_TOP_Y = 32.0;
+    private static final double CHART_BOTTOM_Y = 300.0;
+    private static final double CHART_LEFT_X = 40.0;
+    private static final double CHART_RIGHT_X = 900.0;
+    private static final String[] MONTH_NAMES = {"Jan", "Feb", "Mär", "Apr", "Mai", "Jun",
+                                                 "Jul", "Aug", "Sep", "Okt", "Nov", "Dez"};
+
+    private ProviderPageWriter() {
+    }
+
+    /**
+     * Hängt eine Zahl mit fester Nachkommastellenzahl an (schneller als String.format,
+     * das bei großen Korpora die Laufzeit dominiert).
+     */
+    static StringBuilder appendFixed(StringBuilder sb, double value, int decimals) {
+        long scale = decimals == 2 ? 100L : decimals == 3 ? 1000L : (long) Math.pow(10, decimals);
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (value < 0 && scaled != 0) {
+            sb.append('-');
+        }
+        sb.append(scaled / scale);
+        if (decimals > 0) {
+            sb.append('.');
+            String fraction = Long.toString(scaled % scale);
+            for (int i = fraction.length(); i < decimals; i++) {
+                sb.append('0');
+            }
+            sb.append(fraction);
+        }
+        return sb;
+    }
+
+    /**
+     * Rendert die Seite und liefert die zu schreibenden Bytes (Kodierung gemäß Quirk,
+     * Beschädigung bereits angewendet).
+     */
+    static byte[] render(SyntheticProvider provider, Random random, CorpusOptions options,
+                         Quirk quirk, Corruption corruption) {
+        if (corruption == Corruption.EMPTY_FILE) {
+            return new byte[0];
+        }
+
+        StringBuilder html = new StringBuilder(options.paddingKb * 1024 + provider.drawdownSeries.length * 24 + 16_384);
+        html.append("<!DOCTYPE html>\n<html lang=\"de\">\n<head>\n<meta charset=\"utf-8\">\n<title>")
+            .append(provider.name).append(" - Handelssignal</title>\n");
+        appendPadding(html, random, options.paddingKb / 2);
+        html.append("</head>\n<body>\n");
+
+        appendInfoBlock(html, random, provider, quirk);
+        if (corruption != Corruption.NO_DRAWDOWN_CHART) {
+            appendDrawdownChart(html, random, provider, options, quirk, corruption);
+        }
+        appendMonthTable(html, provider, quirk);
+        appendPadding(html, random, options.paddingKb - options.paddingKb / 2);
+        html.append("</body>\n</html>\n");
+
+        byte[] bytes = encode(html.toString(), quirk);
+        if (corruption == Corruption.TRUNCATED) {
+            int cut = (int) (bytes.length * (0.3 + random.nextDouble() * 0.6));
+            bytes = Arrays.copyOf(bytes, cut);
+        }
+        return bytes;
+    }
+
+    private static byte[] encode(String html, Quirk quirk) {
+        switch (quirk) {
+            case WINDOWS_1252:
+                return html.replace('−', '-').getBytes(Charset.forName("windows-1252"));
+            case UTF8_BOM: {
+                byte[] body = html.getBytes(StandardCharsets.UTF_8);
+                byte[] bytes = new byte[body.length + 3];
+                bytes[0] = (byte) 0xEF;
+                bytes[1] = (byte) 0xBB;
+                bytes[2] = (byte) 0xBF;
+                System.arraycopy(body, 0, bytes, 3, body.length);
+                return bytes;
+            }
+            default:
+                return html.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void appendInfoBlock(StringBuilder html, Random random, SyntheticProvider provider, Quirk quirk) {
+        double growth = (provider.finalBalance / provider.initialDeposit - 1.0) * 100.0;
+        String balanceLabel = quirk == Quirk.BALANCE_LABEL ? "Balance:" : "Kontostand:";
+        html.append("<div class=\"s-list-info\">\n");
+        appendInfoItem(html, "Wachstum:", String.format(Locale.ROOT, "%.2f%%", growth));
+        appendInfoItem(html, balanceLabel, formatBalance(provider.finalBalance) + " USD");
+        appendInfoItem(html, "Kapital:", formatBalance(provider.finalBalance * (1.0 - random.nextDouble() * 0.02)) + " USD");
+        appendInfoItem(html, "Abonnenten:", String.valueOf(random.nextInt(500)));
+        appendInfoItem(html, "Trades:", String.valueOf(provider.tradeCount));
+        html.append("</div>\n");
+    }
+
+    private static void appendInfoItem(StringBuilder html, String label, String value) {
+        html.append("  <div class=\"s-list-info__item\"><div class=\"s-list-info__label\">").append(label)
+            .append("</div><div class=\"s-list-info__value\">").append(value).append("</div></div>\n");
+    }
+
+    /**
+     * Kontostand mit Leerzeichen als Tausendertrenner wie auf der deutschen Seite ("12 345.67").
+     */
+    private static String formatBalance(double value) {
+        return String.format(Locale.ROOT, "%,.2f", value).replace(',', ' ');
+    }
+
+    private static void appendDrawdownChart(StringBuilder html, Random random, SyntheticProvider provider,
+                                            CorpusOptions options, Quirk quirk, Corruption corruption) {
+        // Achse: 0% oben bis topPercent unten in 6 Schritten
+        int step = Math.max(1, (int) Math.ceil(Math.max(provider.maxBalanceDrawdown, 1.0) * 1.1 / 6.0));
+        double topPercent = step * 6.0;
+
+        html.append("<div id=\"tab_content_drawdown_chart\" class=\"tab-content\">\n")
+            .append("<svg class=\"s-chart\" width=\"940\" height=\"320\" viewBox=\"0 0 940 320\">\n");
+        for (int i = 0; i <= 6; i++) {
+            double y = CHART_TOP_Y + i * (CHART_BOTTOM_Y - CHART_TOP_Y) / 6.0;
+            html.append(String.format(Locale.ROOT,
+                    "<g class=\"s-tick s-tick-%d\" transform=\"translate(0, %.3f)\"><line x2=\"%.0f\"></line><text x=\"-28\">%d%%</text></g>\n",
+                    i, y, CHART_RIGHT_X, i * step));
+        }
+
+        int points = options.minChartPoints + random.nextInt(options.maxChartPoints - options.minChartPoints + 1);
+        double[] samples = resample(provider.drawdownSeries, points);
+        html.append("<path class=\"s-path-line c-1906qq7\" d=\"")
+            .append(buildPath(random, samples, topPercent, options))
+            .append("\" style=\"stroke: red; fill: none; stroke-width: 1px\"></path>\n");
+
+        if (corruption != Corruption.NO_EQUITY_DRAWDOWN) {
+            String dd = String.format(Locale.ROOT, "%.2f%%", provider.equityDrawdown);
+            html.append("<text class=\"s-chart-legend\" x=\"75\" y=\"20\">");
+            if (quirk == Quirk.MANGLED_DRAWDOWN_LABEL) {
+                html.append("<tspan>Maximaler</tspan><tspan dy=\"17\" x=\"75\">R�ckgang: ").append(dd).append("</tspan>");
+            } else {
+                html.append("<tspan>Maximaler Rückgang:</tspan><tspan dy=\"17\" x=\"75\">").append(dd).append("</tspan>");
+            }
+            html.append("</text>\n");
+        }
+        html.append("</svg>\n</div>\n");
+    }
+
+    /**
+     * Verdichtet die Drawdown-Reihe auf die gewünschte Punktzahl; pro Bucket wird das
+     * Maximum übernommen, damit Spitzen erhalten bleiben.
+     */
+    private static double[] resample(double[] series, int points) {
+        if (series.length == 0) {
+            return new double[points];
+        }
+        double[] result = new double[points];
+        for (int i = 0; i < points; i++) {
+            int from = (int) ((long) i * series.length / points);
+            int to = Math.max(from + 1, (int) ((long) (i + 1) * series.length / points));
+            double max = 0.0;
+            for (int j = from; j < Math.min(to, series.length); j++) {
+                max = Math.max(max, series[j]);
+            }
+            result[i] = max;
+        }
+        return result;
+    }
+
+    /**
+     * Baut den SVG-Pfad aus absoluten Linien, relativen Linien und Bezier-Kurven
+     * gemäß der konfigurierten Komplexität.
+     */
+    private static String buildPath(Random random, double[] samples, double topPercent, CorpusOptions options) {
+        StringBuilder path = new StringBuilder(samples.length * 16);
+        double stepX = (CHART_RIGHT_X - CHART_LEFT_X) / Math.max(1, samples.length - 1);
+        double x = CHART_LEFT_X;
+        double y = toY(samples[0], topPercent);
+        path.append(String.format(Locale.ROOT, "M%.2f,%.2f", x, y));
+        for (int i = 1; i < samples.length; i++) {
+            double nx = CHART_LEFT_X + i * stepX;
+            double ny = toY(samples[i], topPercent);
+            double roll = random.nextDouble();
+            if (roll < options.curveShare) {
+                appendFixed(path.append(" C"), x + stepX / 3.0, 2).append(',');
+                appendFixed(path, y, 2).append(' ');
+                appendFixed(path, nx - stepX / 3.0, 2).append(',');
+                appendFixed(path, ny, 2).append(' ');
+                appendFixed(path, nx, 2).append(',');
+                appendFixed(path, ny, 2);
+            } else if (roll < options.curveShare + options.relativeShare) {
+                appendFixed(path.append(" l"), nx - x, 2).append(',');
+                appendFixed(path, ny - y, 2);
+            } else {
+                appendFixed(path.append(" L"), nx, 2).append(',');
+                appendFixed(path, ny, 2);
+            }
+            x = nx;
+            y = ny;
+        }
+        return path.toString();
+    }
+
+    private static double toY(double drawdownPercent, double topPercent) {
+        return CHART_TOP_Y + Math.min(1.0, drawdownPercent / topPercent) * (CHART_BOTTOM_Y - CHART_TOP_Y);
+    }
+
+    private static void appendMonthTable(StringBuilder html, SyntheticProvider provider, Quirk quirk) {
+        html.append("<table class=\"signals-table signals-table--months\"><thead><tr><th>Jahr</th>");
+        for (String month : MONTH_NAMES) {
+            html.append("<th>").append(month).append("</th>");
+        }
+        html.append("<th>Jahr</th></tr></thead><tbody>\n");
+
+        YearMonth first = provider.firstMonth;
+        YearMonth last = first.plusMonths(provider.monthReturns.length - 1);
+        for (int year = first.getYear(); year <= last.getYear(); year++) {
+            html.append("<tr><td class=\"year\">").append(year).append("</td>");
+            double yearTotal = 1.0;
+            for (int month = 1; month <= 12; month++) {
+                YearMonth ym = YearMonth.of(year, month);
+                if (ym.isBefore(first) || ym.isAfter(last)) {
+                    html.append("<td></td>");
+                    continue;
+                }
+                double value = provider.monthReturns[(int) ChronoUnit.MONTHS.between(first, ym)];
+                yearTotal *= 1.0 + value / 100.0;
+                html.append("<td class=\"").append(value >= 0 ? "positive" : "negative").append("\">")
+                    .append(formatMonthValue(value, quirk)).append("</td>");
+            }
+            html.append("<td class=\"total\">").append(formatMonthValue((yearTotal - 1.0) * 100.0, quirk))
+                .append("</td></tr>\n");
+        }
+        html.append("</tbody></table>\n");
+    }
+
+    private static String formatMonthValue(double value, Quirk quirk) {
+        String text = appendFixed(new StringBuilder(8), value, 2).toString();
+        if (quirk == Quirk.DECIMAL_COMMA) {
+            text = text.replace('.', ',').replace('-', '−');
+        }
+        return text;
+    }
+
+    /**
+     * Ballast wie Navigation, Stylesheets und Skripte echter Seiten.
+     */
+    private static void appendPadding(StringBuilder html, Random random, int kilobytes) {
+        int target = html.length() + kilobytes * 1024;
+        html.append("<style>\n");
+        while (html.length() < target) {
+            html.append(".c-").append(Integer.toHexString(random.nextInt(0xFFFFF)))
+                .append("{margin:").append(random.nextInt(20)).append("px ").append(random.nextInt(20))
+                .append("px;color:#").append(Integer.toHexString(random.nextInt(0xFFFFFF)))
+                .append(";font-size:");
+            appendFixed(html, 0.8 + random.nextDouble(), 1).append("em}\n");
+        }
+        html.append("</style>\n");
+    }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Zugriff auf die eingecheckten, anonymisierten Beispielseiten unter bench/samples.
+ *
+ * Die drei Größen sind eigenständige Provider (8, 40 und 130 Monate, 150 bis 12000 Chartpunkte)
+ * und heißen wie echte Downloads &lt;Name&gt;_&lt;ID&gt;_root.html. Erzeugt mit {@link CorpusGenerator}
+ * (--providers 1, Seeds 102, 201 und 312, --padding-kb 0, 120 und 1600), ID danach umbenannt.
+ * Die Seiten werden pro Trial in ein temporäres Download-Verzeichnis (mql5-Unterordner)
+ * kopiert, da die Konvertierung dort .txt-Dateien und das conversionLog schreibt.
+ */
+public final class SamplePages {
+
+    /** Verzeichnis der Beispielseiten, überschreibbar mit -Dbench.samples=... */
+    public static final String SAMPLES_DIR = System.getProperty("bench.samples", "bench/samples");
+
+    private static final Map<String, String> FILE_NAMES = Map.of(
+            "small", "Alpha_Alpha_0_100102_root.html",
+            "typical", "Quant_Gold_0_100201_root.html",
+            "huge", "Flow_Safe_0_100312_root.html");
+
+    private SamplePages() {
+    }
+
+    /**
+     * Legt ein temporäres Download-Verzeichnis mit der Beispielseite an.
+     *
+     * @param size "small", "typical" oder "huge"
+     * @return Pfad des Download-Verzeichnisses (enthält die Seite unter mql5/)
+     */
+    public static Path createDownloadDir(String size) {
+        try {
+            Path source = Paths.get(SAMPLES_DIR, fileName(size));
+            if (!Files.exists(source)) {
+                throw new IllegalStateException("Beispielseite nicht gefunden: " + source.toAbsolutePath());
+            }
+            Path downloadDir = Files.createTempDirectory("mqlbench_");
+            Path versionDir = Files.createDirectories(downloadDir.resolve("mql5"));
+            Files.copy(source, versionDir.resolve(source.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            return downloadDir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return Pfad der HTML-Datei im Download-Verzeichnis als String (wie im Konverter verwendet)
+     */
+    public static String htmlFile(Path downloadDir, String size) {
+        return downloadDir.resolve("mql5").resolve(fileName(size)).toString();
+    }
+
+    private static String fileName(String size) {
+        String fileName = FILE_NAMES.get(size);
+        if (fileName == null) {
+            throw new IllegalArgumentException("Unbekannte Seitengröße: " + size);
+        }
+        return fileName;
+    }
+
+    /**
+     * Löscht das temporäre Download-Verzeichnis rekursiv.
+     */
+    public static void delete(Path downloadDir) {
+        if (downloadDir == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(downloadDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameter des lokalen mql5-Ersatzservers und des Crawl-Harness.
+ *
+ * Unbekannte Parameter werden an {@link CorpusOptions} weitergereicht, damit Anzahl und Form
+ * der Provider wie beim Korpus-Generator eingestellt werden können, z.B.
+ * {@code --providers 300 --padding-kb 40 --latency-ms 200 --jitter-ms 150 --error-rate 0.02}.
+ */
+public final class StandInOptions {
+
+    /** Port des Servers, 0 = freier Port */
+    int port = 0;
+    /** Provider je Listenseite */
+    int pageSize = 20;
+    /** Grundlatenz je Anfrage in ms */
+    int latencyMs = 150;
+    /** Zusätzliche, gleichverteilte Latenz 0..jitterMs in ms */
+    int jitterMs = 100;
+    /** Anteil der Anfragen, die mit HTTP 503 beantwortet werden */
+    double errorRate = 0.0;
+    /** Anteil der Anfragen, die für stallMs hängen bleiben */
+    double stallRate = 0.0;
+    int stallMs = 90_000;
+    /** Anzahl Threads des Servers */
+    int threads = 8;
+
+    /** Nur Harness: zu crawlende Versionen ("mt4", "mt5" oder "both") */
+    String versions = "both";
+    /** Nur Harness: Limit je Version (wie mql4Limit/mql5Limit) */
+    int limit = 5000;
+    /** Nur Harness: Wartezeiten des Downloaders in ms */
+    int minWaitMs = 200;
+    int maxWaitMs = 400;
+    /** Nur Harness: Wurzelverzeichnis für Konfiguration, Logs und Downloads */
+    String rootDir = "target/crawl";
+
+    /** Parameter des Korpus (Provider, Monate, Seitengröße, Seed ...) */
+    CorpusOptions corpus;
+
+    public static StandInOptions parse(String[] args) {
+        StandInOptions options = new StandInOptions();
+        List<String> corpusArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Fehlender Wert für " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--port":
+                    options.port = Integer.parseInt(value);
+                    break;
+                case "--page-size":
+                    options.pageSize = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "--latency-ms":
+                    options.latencyMs = Integer.parseInt(value);
+                    break;
+                case "--jitter-ms":
+                    options.jitterMs = Integer.parseInt(value);
+                    break;
+                case "--error-rate":
+                    options.errorRate = Double.parseDouble(value);
+                    break;
+                case "--stall-rate":
+                    options.stallRate = Double.parseDouble(value);
+                    break;
+                case "--stall-ms":
+                    options.stallMs = Integer.parseInt(value);
+                    break;
+                case "--threads":
+                    options.threads = Math.max(1, Integer.parseInt(value));
+                    break;
+                case "--versions":
+                    options.versions = value;
+                    break;
+                case "--limit":
+                    options.limit = Integer.parseInt(value);
+                    break;
+                case "--wait-ms": {
+                    int dash = value.indexOf('-');
+                    options.minWaitMs = Integer.parseInt(dash < 0 ? value : value.substring(0, dash));
+                    options.maxWaitMs = dash < 0 ? options.minWaitMs + 1 : Integer.parseInt(value.substring(dash + 1));
+                    break;
+                }
+                case "--root":
+                    options.rootDir = value;
+                    break;
+                default:
+                    corpusArgs.add(arg);
+                    corpusArgs.add(value);
+                    break;
+            }
+        }
+        if (!corpusArgs.contains("--providers")) {
+            corpusArgs.add("--providers");
+            corpusArgs.add("200");
+        }
+        if (!corpusArgs.contains("--padding-kb")) {
+            corpusArgs.add("--padding-kb");
+            corpusArgs.add("40");
+        }
+        options.corpus = CorpusOptions.parse(corpusArgs.toArray(new String[0]));
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return "port=" + port + ", pageSize=" + pageSize + ", latency=" + latencyMs + "+" + jitterMs + "ms"
+                + ", errorRate=" + errorRate + ", stallRate=" + stallRate + ", stallMs=" + stallMs
+                + ", threads=" + threads + ", versions=" + versions + ", limit=" + limit
+                + ", wait=" + minWaitMs + "-" + maxWaitMs + "ms, root=" + rootDir + " | Korpus: " + corpus;
+    }
+}
@@ -0,0 +1,215 @@
+package benchmark;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Ein simulierter Signal-Provider: Monatsrenditen, daraus abgeleitete Trades (CSV im Format
+ * des mql5-History-Exports), Kontostand und Drawdown-Verlauf.
+ *
+ * Alle Werte werden aus derselben Simulation erzeugt, damit Seite, Chart und CSV
+ * zueinander passen (Monatsrendite = Summe der Trade-Profite / Kontostand zu Monatsbeginn).
+ */
+final class SyntheticProvider {
+
+    static final String CSV_HEADER = "Time;Type;Volume;Symbol;Price;S / L;T / P;Time;Price;Commission;Swap;Profit;Comment";
+
+    private static final String[] SYMBOLS = {"EURUSD", "GBPUSD", "USDJPY", "XAUUSD", "AUDCAD", "USDCHF", "EURJPY", "NZDUSD"};
+    private static final double[] SYMBOL_PRICES = {1.0850, 1.2650, 148.50, 2030.0, 0.9050, 0.8820, 161.20, 0.6120};
+    private static final String[] NAME_WORDS = {"Alpha", "Steady", "Trend", "Scalp", "Grid", "Swing", "Gold", "Pips",
+                                                "Quant", "Night", "Smart", "Safe", "Flow", "Edge", "Prime", "Delta"};
+
+    final String name;
+    final String id;
+    final YearMonth firstMonth;
+    /** Monatsrenditen in Prozent, ältester Monat zuerst, letzter Eintrag ist der laufende Monat */
+    final double[] monthReturns;
+    final double initialDeposit;
+    final double finalBalance;
+    /** Maximaler Balance-Drawdown in Prozent */
+    final double maxBalanceDrawdown;
+    /** Angezeigter Equity-Drawdown ("Maximaler Rückgang") in Prozent, immer >= Balance-Drawdown */
+    final double equityDrawdown;
+    /** Drawdown in Prozent nach jedem Trade (für den roten Chart-Pfad) */
+    final double[] drawdownSeries;
+    final int tradeCount;
+    final String csv;
+
+    private SyntheticProvider(String name, String id, YearMonth firstMonth, double[] monthReturns, double initialDeposit,
+                              double finalBalance, double maxBalanceDrawdown, double equityDrawdown,
+                              double[] drawdownSeries, int tradeCount, String csv) {
+        this.name = name;
+        this.id = id;
+        this.firstMonth = firstMonth;
+        this.monthReturns = monthReturns;
+        this.initialDeposit = initialDeposit;
+        this.finalBalance = finalBalance;
+        this.maxBalanceDrawdown = maxBalanceDrawdown;
+        this.equityDrawdown = equityDrawdown;
+        this.drawdownSeries = drawdownSeries;
+        this.tradeCount = tradeCount;
+        this.csv = csv;
+    }
+
+    /**
+     * Basisname der Dateien wie im SignalDownloader ("Name_ID").
+     */
+    String baseName() {
+        return name + "_" + id;
+    }
+
+    static SyntheticProvider generate(Random random, CorpusOptions options, int index) {
+        String name = NAME_WORDS[random.nextInt(NAME_WORDS.length)] + "_" + NAME_WORDS[random.nextInt(NAME_WORDS.length)]
+                + "_" + index;
+        // Aus dem Index abgeleitet und damit eindeutig (Zufalls-IDs kollidierten ab einigen 10000 Providern)
+        String id = String.valueOf(100000 + index);
+
+        int months = options.minMonths + random.nextInt(options.maxMonths - options.minMonths + 1);
+        YearMonth firstMonth = options.endMonth.minusMonths(months - 1);
+
+        // Provider-Profil: mittlere Rendite und Schwankung
+        double drift = -1.0 + random.nextDouble() * 6.0;
+        double volatility = 1.0 + random.nextDouble() * 6.0;
+        double[] monthReturns = new double[months];
+        for (int m = 0; m < months; m++) {
+            monthReturns[m] = clamp(drift + random.nextGaussian() * volatility, -25.0, 35.0);
+        }
+        // Der laufende Monat ist erst teilweise vergangen
+        monthReturns[months - 1] *= random.nextDouble();
+
+        double deposit = Math.round((500 + random.nextDouble() * 50_000) / 100.0) * 100.0;
+        double balance = deposit;
+        double peak = deposit;
+        double maxDrawdown = 0.0;
+
+        double[] drawdowns = new double[64];
+        int tradeCount = 0;
+        StringBuilder csv = new StringBuilder(months * options.maxTradesPerMonth * 96);
+        csv.append(CSV_HEADER).append('\n');
+        LocalDateTime depositTime = firstMonth.atDay(1).atTime(0, 5);
+        appendTime(csv, depositTime).append(";Balance;;;;;;;;0.00;0.00;").append(money(deposit)).append(";Deposit\n");
+
+        for (int m = 0; m < months; m++) {
+            YearMonth month = firstMonth.plusMonths(m);
+            int trades = options.minTradesPerMonth
+                    + random.nextInt(options.maxTradesPerMonth - options.minTradesPerMonth + 1);
+            // Volumen und Kosten (Kommission, Swap) skalieren mit dem Kontostand und werden vorab
+            // bestimmt, damit die Brutto-Profite die gewünschte Netto-Monatsrendite ergeben
+            double[] volumes = new double[trades];
+            double[] costs = new double[trades];
+            double totalCosts = 0.0;
+            for (int t = 0; t < trades; t++) {
+                volumes[t] = Math.max(0.01, Math.round(balance / 10_000.0 * (0.1 + random.nextDouble()) * 100.0) / 100.0);
+                double commission = -Math.round(volumes[t] * 7.0 * 100.0) / 100.0;
+                double swap = random.nextInt(4) == 0 ? -Math.round(random.nextDouble() * volumes[t] * 500.0) / 100.0 : 0.0;
+                costs[t] = commission + swap;
+                totalCosts += costs[t];
+            }
+            double[] profits = splitProfit(random, balance * monthReturns[m] / 100.0 - totalCosts, trades, balance);
+
+            // Monatsrendite über die gerundeten Netto-Ergebnisse neu bestimmen, damit CSV und Tabelle übereinstimmen
+            double monthStart = balance;
+            double netSum = 0.0;
+            int days = month.lengthOfMonth();
+            for (int t = 0; t < trades; t++) {
+                double profit = Math.round(profits[t] * 100.0) / 100.0;
+                int symbol = random.nextInt(SYMBOLS.length);
+                int day = 1 + (int) ((long) t * days / trades);
+                LocalDateTime open = month.atDay(day).atTime(random.nextInt(24), random.nextInt(60), random.nextInt(60));
+                LocalDateTime close = open.plusMinutes(5 + random.nextInt(600));
+                if (close.getMonthValue() != month.getMonthValue()) {
+                    close = month.atEndOfMonth().atTime(23, 59, 0);
+                }
+                appendTrade(csv, random, open, close, symbol, volumes[t], costs[t], profit);
+
+                // Netto-Ergebnis inklusive Kommission und Swap, wie es auch der Kontostand zeigt
+                double net = profit + costs[t];
+                netSum += net;
+                balance += net;
+                peak = Math.max(peak, balance);
+                double dd = peak > 0 ? (peak - balance) / peak * 100.0 : 0.0;
+                maxDrawdown = Math.max(maxDrawdown, dd);
+                if (tradeCount == drawdowns.length) {
+                    drawdowns = Arrays.copyOf(drawdowns, tradeCount * 2);
+                }
+                drawdowns[tradeCount++] = dd;
+            }
+            monthReturns[m] = monthStart > 0 ? Math.round(netSum / monthStart * 10000.0) / 100.0 : 0.0;
+        }
+
+        // Floating-Verluste: Equity-Drawdown liegt über dem Balance-Drawdown
+        double equityDrawdown = Math.max(0.5, maxDrawdown * (1.0 + random.nextDouble() * 0.4) + random.nextDouble());
+        equityDrawdown = Math.round(equityDrawdown * 100.0) / 100.0;
+
+        return new SyntheticProvider(name, id, firstMonth, monthReturns, deposit, balance, maxDrawdown,
+                equityDrawdown, Arrays.copyOf(drawdowns, tradeCount), tradeCount, csv.toString());
+    }
+
+    /**
+     * Verteilt einen Monatsprofit auf einzelne Trades mit realistischer Streuung.
+     */
+    private static double[] splitProfit(Random random, double monthProfit, int trades, double balance) {
+        double[] profits = new double[trades];
+        double noise = Math.abs(monthProfit) / trades * 2.0 + balance * 0.002;
+        double sum = 0.0;
+        for (int t = 0; t < trades; t++) {
+            profits[t] = monthProfit / trades + random.nextGaussian() * noise;
+            sum += profits[t];
+        }
+        double correction = (monthProfit - sum) / trades;
+        for (int t = 0; t < trades; t++) {
+            profits[t] += correction;
+        }
+        return profits;
+    }
+
+    /**
+     * Schreibt eine Trade-Zeile im Format des History-Exports. Von den Kosten wird der
+     * volumenabhängige Teil als Kommission, der Rest als Swap ausgewiesen.
+     */
+    private static void appendTrade(StringBuilder csv, Random random, LocalDateTime open, LocalDateTime close,
+                                    int symbol, double volume, double costs, double profit) {
+        boolean buy = random.nextBoolean();
+        double openPrice = SYMBOL_PRICES[symbol] * (0.9 + random.nextDouble() * 0.2);
+        double move = openPrice * (random.nextDouble() * 0.004);
+        double closePrice = (profit >= 0) == buy ? openPrice + move : openPrice - move;
+        double commission = -Math.round(volume * 7.0 * 100.0) / 100.0;
+        double swap = Math.round((costs - commission) * 100.0) / 100.0;
+        int digits = SYMBOL_PRICES[symbol] > 100 ? 2 : 5;
+
+        appendTime(csv, open).append(';').append(buy ? "Buy" : "Sell").append(';');
+        ProviderPageWriter.appendFixed(csv, volume, 2).append(';').append(SYMBOLS[symbol]).append(';');
+        ProviderPageWriter.appendFixed(csv, openPrice, digits).append(";;;");
+        appendTime(csv, close).append(';');
+        ProviderPageWriter.appendFixed(csv, closePrice, digits).append(';');
+        ProviderPageWriter.appendFixed(csv, commission, 2).append(';');
+        ProviderPageWriter.appendFixed(csv, swap, 2).append(';');
+        ProviderPageWriter.appendFixed(csv, profit, 2).append(";\n");
+    }
+
+    /**
+     * Zeitstempel im Format des History-Exports ("yyyy.MM.dd HH:mm:ss").
+     */
+    private static StringBuilder appendTime(StringBuilder sb, LocalDateTime time) {
+        sb.append(time.getYear()).append('.');
+        appendTwoDigits(sb, time.getMonthValue()).append('.');
+        appendTwoDigits(sb, time.getDayOfMonth()).append(' ');
+        appendTwoDigits(sb, time.getHour()).append(':');
+        appendTwoDigits(sb, time.getMinute()).append(':');
+        return appendTwoDigits(sb, time.getSecond());
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        return sb.append(value < 10 ? "0" : "").append(value);
+    }
+
+    static String money(double value) {
+        return ProviderPageWriter.appendFixed(new StringBuilder(12), value, 2).toString();
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,43 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Trading-History-Exporte (CSV) in vorgegebener Größe für Benchmarks des CSV-Parsers,
+ * erzeugt mit derselben Simulation wie der Korpus-Generator.
+ */
+public final class SyntheticTradeHistory {
+
+    private static final int MONTHS = 120;
+
+    private SyntheticTradeHistory() {
+    }
+
+    /**
+     * Schreibt eine CSV-Datei mit mindestens der angegebenen Zahl an Trades.
+     *
+     * @param directory Zielverzeichnis
+     * @param trades    gewünschte Mindestzahl an Trades (verteilt auf 120 Monate)
+     * @return Pfad der CSV-Datei
+     */
+    public static Path createCsv(Path directory, int trades, long seed) {
+        int perMonth = Math.max(1, (trades + MONTHS - 1) / MONTHS);
+        CorpusOptions options = CorpusOptions.parse(new String[] {
+                "--months", MONTHS + "-" + MONTHS,
+                "--trades", perMonth + "-" + perMonth,
+                "--seed", String.valueOf(seed)});
+        SyntheticProvider provider = SyntheticProvider.generate(new Random(seed), options, 0);
+        try {
+            Path csv = directory.resolve(provider.baseName() + ".csv");
+            Files.write(csv, provider.csv.getBytes(StandardCharsets.UTF_8));
+            return csv;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
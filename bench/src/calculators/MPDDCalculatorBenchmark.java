@@ -0,0 +1,72 @@
+package calculators;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.SamplePages;
+import utils.HtmlDatabase;
+import utils.HtmlParser;
+import utils.MonthlyReturnSeries;
+
+/**
+ * Benchmarks der MPDD-Berechnung: einmal über HtmlDatabase (Monatsreihe aus dem Cache)
+ * und einmal direkt auf der Monatsreihe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MPDDCalculatorBenchmark {
+
+    @Param({"small", "typical", "huge"})
+    public String size;
+
+    @Param({"3", "12"})
+    public int months;
+
+    private Path downloadDir;
+    private String htmlFile;
+    private MPDDCalculator calculator;
+    private MonthlyReturnSeries series;
+    private double equityDrawdown;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        downloadDir = SamplePages.createDownloadDir(size);
+        htmlFile = SamplePages.htmlFile(downloadDir, size);
+        calculator = new MPDDCalculator(new HtmlDatabase(new HtmlParser(downloadDir.toString())));
+        series = calculator.getMonthlyReturnSeries(htmlFile);
+        equityDrawdown = calculator.getEquityDrawdown(htmlFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SamplePages.delete(downloadDir);
+    }
+
+    @Benchmark
+    public double calculateMPDD() {
+        return calculator.calculateMPDD(htmlFile, months);
+    }
+
+    @Benchmark
+    public double calculateMPDDFromSeries() {
+        return calculator.calculateMPDD(series, equityDrawdown, months);
+    }
+}
@@ -0,0 +1,64 @@
+package converter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.SamplePages;
+
+/**
+ * Benchmark der kompletten Konvertierung einer Seite inklusive Lesen der HTML-Datei
+ * und Schreiben der .txt-Datei. Pro Aufruf wird ein frischer HtmlConverter verwendet,
+ * damit kein Cache-Inhalt aus der vorherigen Operation mitgemessen wird.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class HtmlConverterBenchmark {
+
+    @Param({"small", "typical", "huge"})
+    public String size;
+
+    private Path downloadDir;
+    private Path htmlFile;
+    private HtmlConverter converter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        downloadDir = SamplePages.createDownloadDir(size);
+        htmlFile = Paths.get(SamplePages.htmlFile(downloadDir, size));
+    }
+
+    @Setup(Level.Invocation)
+    public void newConverter() {
+        converter = new HtmlConverter(downloadDir.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SamplePages.delete(downloadDir);
+    }
+
+    @Benchmark
+    public void convertHtmlFile() throws IOException {
+        converter.convertHtmlFile(htmlFile);
+    }
+}
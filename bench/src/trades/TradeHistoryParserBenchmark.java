@@ -0,0 +1,84 @@
+package trades;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.SamplePages;
+import benchmark.SyntheticTradeHistory;
+
+/**
+ * Benchmarks der Trade-History: Einlesen der CSV in Spalten, Öffnen der abgebildeten
+ * .trades-Datei samt Summe über die Profit-Spalte und zum Vergleich das Einlesen der CSV
+ * mit readAllLines/split/parseDouble.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeHistoryParserBenchmark {
+
+    @Param({"1000", "100000"})
+    public int trades;
+
+    private Path directory;
+    private Path csvFile;
+    private Path storeFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mqlbench_trades_");
+        csvFile = SyntheticTradeHistory.createCsv(directory, trades, 46L);
+        storeFile = TradeStore.storeFileFor(csvFile);
+        new TradeHistoryParser().parse(csvFile).write(storeFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SamplePages.delete(directory);
+    }
+
+    @Benchmark
+    public TradeStore parseCsv() throws IOException {
+        return new TradeHistoryParser().parse(csvFile);
+    }
+
+    @Benchmark
+    public double openMappedAndSumProfit() throws IOException {
+        TradeStore store = TradeStore.open(storeFile);
+        double sum = 0.0;
+        for (int i = 0; i < store.size(); i++) {
+            sum += store.profit(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double readAllLinesAndSplit() throws IOException {
+        List<String> lines = Files.readAllLines(csvFile);
+        double sum = 0.0;
+        for (int i = 1; i < lines.size(); i++) {
+            String[] fields = lines.get(i).split(";", -1);
+            sum += Double.parseDouble(fields[11]);
+        }
+        return sum;
+    }
+}
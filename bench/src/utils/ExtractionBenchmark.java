@@ -0,0 +1,91 @@
+package utils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.SamplePages;
+
+/**
+ * Benchmarks der Extraktoren auf den Beispielseiten.
+ * Der HTML-Inhalt liegt bereits im HtmlContentCache, gemessen wird nur das Parsen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    private static final Pattern RED_PATH = Pattern.compile("<path[^>]*class=\"s-path-line[^\"]*\"[^>]*d=\"([^\"]+)\"");
+
+    @Param({"small", "typical", "huge"})
+    public String size;
+
+    private Path downloadDir;
+    private String htmlFile;
+    private HtmlContentCache contentCache;
+    private ChartDataExtractor chartExtractor;
+    private MonthDetailsExtractor monthExtractor;
+    private DataExtractor dataExtractor;
+    private String pathData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        downloadDir = SamplePages.createDownloadDir(size);
+        htmlFile = SamplePages.htmlFile(downloadDir, size);
+        contentCache = new HtmlContentCache(downloadDir.toString());
+        chartExtractor = new ChartDataExtractor(contentCache);
+        monthExtractor = new MonthDetailsExtractor(contentCache);
+        dataExtractor = new DataExtractor(contentCache, chartExtractor);
+
+        String html = contentCache.getHtmlContent(htmlFile);
+        Matcher matcher = RED_PATH.matcher(html);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Kein roter Pfad in " + htmlFile);
+        }
+        pathData = matcher.group(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SamplePages.delete(downloadDir);
+    }
+
+    @Benchmark
+    public List<ChartPoint> getDrawdownChartData() {
+        return chartExtractor.getDrawdownChartData(htmlFile);
+    }
+
+    @Benchmark
+    public List<double[]> parsePathData() {
+        return chartExtractor.parsePathData(pathData);
+    }
+
+    @Benchmark
+    public List<String> getAllMonthsDetails() {
+        return monthExtractor.getAllMonthsDetails(htmlFile);
+    }
+
+    @Benchmark
+    public double getEquityDrawdown() {
+        return dataExtractor.getEquityDrawdown(htmlFile);
+    }
+}
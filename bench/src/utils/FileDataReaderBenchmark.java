@@ -0,0 +1,63 @@
+package utils;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmark.SamplePages;
+import converter.HtmlConverter;
+
+/**
+ * Benchmark für das Lesen der _root.txt-Dateien. Die .txt-Datei wird im Setup
+ * einmalig durch eine echte Konvertierung der Beispielseite erzeugt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileDataReaderBenchmark {
+
+    @Param({"small", "typical", "huge"})
+    public String size;
+
+    private Path downloadDir;
+    private String htmlFile;
+    private FileDataReader fileDataReader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        downloadDir = SamplePages.createDownloadDir(size);
+        htmlFile = SamplePages.htmlFile(downloadDir, size);
+        new HtmlConverter(downloadDir.toString()).convertAllHtmlFiles();
+        fileDataReader = new FileDataReader(downloadDir.toString());
+        if (fileDataReader.getFileData(htmlFile).isEmpty()) {
+            throw new IllegalStateException("Konvertierung hat keine .txt-Datei erzeugt: " + htmlFile);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SamplePages.delete(downloadDir);
+    }
+
+    @Benchmark
+    public Map<String, String> getFileData() {
+        return fileDataReader.getFileData(htmlFile);
+    }
+}
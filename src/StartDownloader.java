@@ -21,7 +21,7 @@ public class StartDownloader {
         configManager.initializeDirectories();
         
         // Logger initialisieren
-        LoggerManager.initializeLogger(configManager.getLogConfigPath());
+        LoggerManager.initializeLogger(configManager.getLogConfigPath(), configManager.isAsyncLogging());
         
         // WebDriverManager initialisieren
         this.webDriverManager = new WebDriverManager(configManager.getDownloadPath());
@@ -49,7 +49,7 @@ public class StartDownloader {
      */
     public void initializeDownloader() throws IOException {
         try {
-            // Prfe ob WebDriver noch gesund ist
+            // Prüfe ob WebDriver noch gesund ist
             if (!webDriverManager.isDriverHealthy(driver)) {
                 logger.warn("WebDriver ist nicht gesund, starte Neuinitialisierung...");
                 closeDriver();
@@ -58,9 +58,9 @@ public class StartDownloader {
             
             Credentials credentials = configManager.getCredentials();
             
-            // Verwende die echten Credentials falls verfgbar, sonst Platzhalter
+            // Verwende die echten Credentials falls verfügbar, sonst Platzhalter
             if (credentials.getUsername().isEmpty() || credentials.getPassword().isEmpty()) {
-                logger.warn("Keine gltigen Credentials konfiguriert, verwende Standardwerte");
+                logger.warn("Keine gültigen Credentials konfiguriert, verwende Standardwerte");
                 credentials = new Credentials("username", "password");
             }
             
@@ -76,7 +76,7 @@ public class StartDownloader {
     /**
      * Wechselt die MQL-Version mit robuster Fehlerbehandlung
      * 
-     * @param version Die gewnschte MQL-Version ("mt4" oder "mt5")
+     * @param version Die gewünschte MQL-Version ("mt4" oder "mt5")
      * @throws IOException bei Konfigurationsfehlern
      */
     public void switchMqlVersion(String version) throws IOException {
@@ -104,7 +104,7 @@ public class StartDownloader {
                 throw new IllegalStateException("Downloader muss erst initialisiert werden");
             }
             
-            // Prfe WebDriver-Gesundheit vor dem Start
+            // Prüfe WebDriver-Gesundheit vor dem Start
             if (!webDriverManager.isDriverHealthy(driver)) {
                 logger.warn("WebDriver ist nicht gesund vor Download-Start, versuche Recovery...");
                 
@@ -133,13 +133,13 @@ public class StartDownloader {
                 throw new RuntimeException("Kritischer Download-Fehler", e);
             } else {
                 logger.warn("Nicht-kritischer Fehler - Download-Prozess wurde gestoppt");
-                // Knnte hier Recovery versuchen oder Benutzer benachrichtigen
+                // Könnte hier Recovery versuchen oder Benutzer benachrichtigen
             }
         }
     }
 
     /**
-     * Prft, ob es sich um einen kritischen Download-Fehler handelt
+     * Prüft, ob es sich um einen kritischen Download-Fehler handelt
      * 
      * @param e Die aufgetretene Exception
      * @return true wenn es ein kritischer Fehler ist
@@ -156,17 +156,17 @@ public class StartDownloader {
     }
 
     /**
-     * Schliet den WebDriver sauber mit Cleanup
+     * Schließt den WebDriver sauber mit Cleanup
      */
     public void closeDriver() {
         try {
             if (driver != null) {
-                logger.info("Schliee WebDriver...");
+                logger.info("Schließe WebDriver...");
                 driver.quit();
                 logger.info("WebDriver erfolgreich geschlossen");
             }
         } catch (Exception e) {
-            logger.warn("Fehler beim Schlieen des WebDrivers: {}", e.getMessage());
+            logger.warn("Fehler beim Schließen des WebDrivers: {}", e.getMessage());
         } finally {
             driver = null;
             
@@ -183,13 +183,13 @@ public class StartDownloader {
     }
 
     /**
-     * Fhrt einen vollstndigen Neustart des WebDrivers durch
-     * Ntzlich bei schwerwiegenden Problemen
+     * Führt einen vollständigen Neustart des WebDrivers durch
+     * Nützlich bei schwerwiegenden Problemen
      */
     public void restartWebDriver() {
-        logger.info("Fhre vollstndigen WebDriver-Neustart durch...");
+        logger.info("Führe vollständigen WebDriver-Neustart durch...");
         
-        // Schliee aktuellen WebDriver
+        // Schließe aktuellen WebDriver
         closeDriver();
         
         // Warte kurz
@@ -215,27 +215,27 @@ public class StartDownloader {
     }
 
     /**
-     * Prft den Gesundheitszustand des Systems
+     * Prüft den Gesundheitszustand des Systems
      * 
-     * @return true wenn alle Komponenten funktionsfhig sind
+     * @return true wenn alle Komponenten funktionsfähig sind
      */
     public boolean isSystemHealthy() {
         try {
-            // Prfe WebDriver
+            // Prüfe WebDriver
             if (driver == null || !webDriverManager.isDriverHealthy(driver)) {
                 logger.warn("WebDriver ist nicht gesund");
                 return false;
             }
             
-            // Prfe Downloader
+            // Prüfe Downloader
             if (downloader == null) {
                 logger.warn("Downloader ist nicht initialisiert");
                 return false;
             }
             
-            // Prfe Konfiguration
+            // Prüfe Konfiguration
             if (configManager == null) {
-                logger.warn("ConfigurationManager ist nicht verfgbar");
+                logger.warn("ConfigurationManager ist nicht verfügbar");
                 return false;
             }
             
@@ -259,7 +259,7 @@ public class StartDownloader {
     }
 
     /**
-     * Getter fr den ConfigurationManager
+     * Getter für den ConfigurationManager
      * 
      * @return ConfigurationManager-Instanz
      */
@@ -268,7 +268,7 @@ public class StartDownloader {
     }
 
     /**
-     * Getter fr den WebDriverManager
+     * Getter für den WebDriverManager
      * 
      * @return WebDriverManager-Instanz  
      */
@@ -277,7 +277,7 @@ public class StartDownloader {
     }
 
     /**
-     * Hauptmethode fr Standalone-Ausfhrung
+     * Hauptmethode für Standalone-Ausführung
      * 
      * @param args Kommandozeilenargumente
      */
@@ -291,7 +291,7 @@ public class StartDownloader {
             // Initialisiere Downloader
             starter.initializeDownloader();
             
-            // Starte Download (nur bei direkter Ausfhrung)
+            // Starte Download (nur bei direkter Ausführung)
             if (args.length > 0 && "autostart".equals(args[0])) {
                 starter.startDownload();
             } else {
@@ -10,6 +10,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,11 +24,23 @@ public class WebDriverManager {
     private String currentUserDataDir;
     private static final int MAX_INITIALIZATION_ATTEMPTS = 3;
     private static final int RETRY_DELAY_MS = 2000;
+    /** Systemeigenschaft, mit der alle Instanzen (auch die der Recovery) ohne Fenster starten */
+    public static final String HEADLESS_PROPERTY = "mqldownloader.headless";
+    private boolean headless = Boolean.getBoolean(HEADLESS_PROPERTY);
+    /** Anzahl gleichzeitig laufender Download-Jobs mit eigenem Browser */
+    private static final AtomicInteger PARALLEL_SESSIONS = new AtomicInteger();
 
     public WebDriverManager(String downloadPath) {
         this.downloadPath = downloadPath;
     }
 
+    /**
+     * Chrome ohne Fenster starten (für den Kommandozeilen-Betrieb auf Servern ohne Display).
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
     /**
      * Initialisiert den WebDriver mit robuster Fehlerbehandlung und Retry-Mechanismus
      * 
@@ -117,9 +130,14 @@ public class WebDriverManager {
         options.setExperimentalOption("prefs", prefs);
         options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
         
-        // Eindeutige user-data-dir (lst das Hauptproblem)
+        // Eindeutige user-data-dir (löst das Hauptproblem)
         options.addArguments("--user-data-dir=" + currentUserDataDir);
         
+        if (headless) {
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=1920,1080");
+        }
+        
         // Robustheit-Optionen
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
@@ -135,9 +153,9 @@ public class WebDriverManager {
         options.addArguments("--disable-features=TranslateUI");
         options.addArguments("--disable-ipc-flooding-protection");
         
-        // Stabilitt und Performance
+        // Stabilität und Performance
         options.addArguments("--max_old_space_size=4096");
-        options.addArguments("--remote-debugging-port=0"); // Zuflliger Port
+        options.addArguments("--remote-debugging-port=0"); // Zufälliger Port
         options.addArguments("--disable-web-security");
         options.addArguments("--allow-running-insecure-content");
         
@@ -173,7 +191,20 @@ public class WebDriverManager {
     }
 
     /**
-     * Bereinigt die aktuelle Session und entfernt temporre Dateien
+     * Meldet einen Download-Job an, der parallel zu anderen einen eigenen Browser betreibt.
+     * Solange mehr als ein Job läuft, werden beim Aufräumen keine Chrome-Prozesse beendet,
+     * weil taskkill sonst auch den Browser des anderen Jobs träfe.
+     */
+    public static void enterParallelSession() {
+        PARALLEL_SESSIONS.incrementAndGet();
+    }
+
+    public static void leaveParallelSession() {
+        PARALLEL_SESSIONS.decrementAndGet();
+    }
+
+    /**
+     * Bereinigt die aktuelle Session und entfernt temporäre Dateien
      */
     public void cleanupSession() {
         cleanupPreviousSession();
@@ -195,40 +226,43 @@ public class WebDriverManager {
             }
         }
         
-        // Tte eventuell hngende Chrome-Prozesse (nur unter Windows)
-        if (System.getProperty("os.name").toLowerCase().contains("windows")) {
+        // Töte eventuell hängende Chrome-Prozesse (nur unter Windows und nur, wenn kein
+        // anderer Download-Job gerade seinen eigenen Browser benutzt)
+        if (PARALLEL_SESSIONS.get() > 1) {
+            logger.debug("Chrome-Prozesse werden nicht beendet, {} Download-Jobs laufen parallel", PARALLEL_SESSIONS.get());
+        } else if (System.getProperty("os.name").toLowerCase().contains("windows")) {
             try {
                 ProcessBuilder pb = new ProcessBuilder("taskkill", "/F", "/IM", "chrome.exe");
                 pb.start().waitFor();
-                Thread.sleep(1000); // Warte kurz nach dem Tten der Prozesse
+                Thread.sleep(1000); // Warte kurz nach dem Töten der Prozesse
             } catch (Exception e) {
-                logger.debug("Konnte Chrome-Prozesse nicht tten (normal wenn keine laufen): {}", e.getMessage());
+                logger.debug("Konnte Chrome-Prozesse nicht töten (normal wenn keine laufen): {}", e.getMessage());
             }
         }
     }
 
     /**
-     * Lscht ein Verzeichnis rekursiv
+     * Löscht ein Verzeichnis rekursiv
      * 
-     * @param path Pfad zum zu lschenden Verzeichnis
-     * @throws IOException bei Fehlern beim Lschen
+     * @param path Pfad zum zu löschenden Verzeichnis
+     * @throws IOException bei Fehlern beim Löschen
      */
     private void deleteDirectoryRecursively(Path path) throws IOException {
         if (Files.exists(path)) {
             Files.walk(path)
-                .sorted((a, b) -> b.compareTo(a)) // Sortiere absteigend fr korrekte Lschung
+                .sorted((a, b) -> b.compareTo(a)) // Sortiere absteigend für korrekte Löschung
                 .forEach(p -> {
                     try {
                         Files.delete(p);
                     } catch (IOException e) {
-                        logger.debug("Konnte Datei/Verzeichnis nicht lschen: {} - {}", p, e.getMessage());
+                        logger.debug("Konnte Datei/Verzeichnis nicht löschen: {} - {}", p, e.getMessage());
                     }
                 });
         }
     }
 
     /**
-     * Prft, ob es sich um einen kritischen Fehler handelt, bei dem nicht retry werden sollte
+     * Prüft, ob es sich um einen kritischen Fehler handelt, bei dem nicht retry werden sollte
      * 
      * @param exception Die aufgetretene Exception
      * @return true wenn es ein kritischer Fehler ist
@@ -236,7 +270,7 @@ public class WebDriverManager {
     private boolean isCriticalError(Exception exception) {
         String message = exception.getMessage().toLowerCase();
         
-        // Kritische Fehler, bei denen kein Retry helfen wrde
+        // Kritische Fehler, bei denen kein Retry helfen würde
         return message.contains("no such file or directory") ||
                message.contains("permission denied") ||
                message.contains("access denied") ||
@@ -255,12 +289,12 @@ public class WebDriverManager {
     public WebDriver recoverWebDriver(WebDriver oldDriver) {
         logger.info("Starte WebDriver-Recovery...");
         
-        // Schliee den alten WebDriver sauber
+        // Schließe den alten WebDriver sauber
         if (oldDriver != null) {
             try {
                 oldDriver.quit();
             } catch (Exception e) {
-                logger.warn("Fehler beim Schlieen des alten WebDrivers: {}", e.getMessage());
+                logger.warn("Fehler beim Schließen des alten WebDrivers: {}", e.getMessage());
             }
         }
         
@@ -268,7 +302,7 @@ public class WebDriverManager {
         cleanupPreviousSession();
         
         try {
-            Thread.sleep(3000); // Lngere Pause fr Recovery
+            Thread.sleep(3000); // Längere Pause für Recovery
             return initializeDriver();
         } catch (Exception e) {
             logger.error("WebDriver-Recovery fehlgeschlagen: {}", e.getMessage());
@@ -277,10 +311,10 @@ public class WebDriverManager {
     }
 
     /**
-     * Prft, ob ein WebDriver noch funktionsfhig ist
+     * Prüft, ob ein WebDriver noch funktionsfähig ist
      * 
-     * @param driver Der zu prfende WebDriver
-     * @return true wenn der WebDriver funktionsfhig ist
+     * @param driver Der zu prüfende WebDriver
+     * @return true wenn der WebDriver funktionsfähig ist
      */
     public boolean isDriverHealthy(WebDriver driver) {
         if (driver == null) {
@@ -298,7 +332,7 @@ public class WebDriverManager {
     }
 
     /**
-     * Getter fr die aktuelle user-data-dir (fr Debugging)
+     * Getter für die aktuelle user-data-dir (für Debugging)
      * 
      * @return Aktueller Pfad zur user-data-dir
      */
@@ -1,12 +1,12 @@
 package calculators;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
+import metrics.MetricsRegistry;
+import utils.ExtractionException;
 import utils.HtmlDatabase;
+import utils.MonthlyReturnSeries;
 
 /**
  * Klasse zur Berechnung von MPDD-Werten (Month Profit Divided by Drawdown)
@@ -17,13 +17,22 @@ public class MPDDCalculator {
     private static final Logger LOGGER = Logger.getLogger(MPDDCalculator.class.getName());
     
     private final HtmlDatabase htmlDatabase;
+    private final MetricsRegistry metrics;
     
     /**
      * Konstruktor mit HtmlDatabase-Dependency
      * @param htmlDatabase Die HtmlDatabase-Instanz für Datenzugriff
      */
     public MPDDCalculator(HtmlDatabase htmlDatabase) {
+        this(htmlDatabase, MetricsRegistry.getInstance());
+    }
+    
+    /**
+     * @param metrics Registry des Laufs, in die die Berechnungszeiten eingehen
+     */
+    public MPDDCalculator(HtmlDatabase htmlDatabase, MetricsRegistry metrics) {
         this.htmlDatabase = htmlDatabase;
+        this.metrics = metrics;
     }
     
     /**
@@ -49,6 +58,7 @@ public class MPDDCalculator {
             return 0.0;
         }
         
+        long mpddStart = System.nanoTime();
         try {
             // 1. Durchschnittlichen monatlichen Profit der letzten n Monate berechnen
             double averageMonthlyProfit = calculateAverageMonthlyProfit(fileName, months);
@@ -64,12 +74,34 @@ public class MPDDCalculator {
             
             return mpdd;
             
+        } catch (ExtractionException e) {
+            throw e;
         } catch (Exception e) {
             LOGGER.severe("Fehler bei MPDD-Berechnung für " + fileName + ": " + e.getMessage());
             return 0.0;
+        } finally {
+            metrics.recordSince("convert.mpdd", mpddStart);
         }
     }
     
+    /**
+     * Berechnet den MPDD-Wert aus einer bereits extrahierten Monatsreihe und einem Equity Drawdown.
+     * Wird verwendet, wenn die Daten schon im Speicher liegen und keine Datei gelesen werden soll.
+     * 
+     * @param series Monatsreihe des Providers
+     * @param equityDrawdown Equity Drawdown in Prozent
+     * @param months Anzahl der Monate (3, 6, 9, 12)
+     * @return Der berechnete MPDD-Wert
+     */
+    public double calculateMPDD(MonthlyReturnSeries series, double equityDrawdown, int months) {
+        if (months <= 0) {
+            LOGGER.warning("Ungültige Monatsanzahl: " + months);
+            return 0.0;
+        }
+        double averageMonthlyProfit = calculateAverageMonthlyProfit(series, months, "Monatsreihe");
+        return calculateFinalMPDD(averageMonthlyProfit, equityDrawdown <= 0.0 ? 1.0 : equityDrawdown);
+    }
+    
     /**
      * Berechnet den durchschnittlichen monatlichen Profit der letzten n Monate
      * (ohne den aktuellen Monat)
@@ -79,60 +111,51 @@ public class MPDDCalculator {
      * @return Durchschnittlicher monatlicher Profit in Prozent
      */
     public double calculateAverageMonthlyProfit(String fileName, int months) {
-        Map<String, Double> monthlyProfits = getMonthlyProfitPercentages(fileName);
-        if (monthlyProfits.isEmpty()) {
+        MonthlyReturnSeries series = getMonthlyReturnSeries(fileName);
+        if (series.isEmpty()) {
             LOGGER.warning("Keine monatlichen Profite für " + fileName + " gefunden");
             return 0.0;
         }
-        
-        List<String> sortedMonths = new ArrayList<>(monthlyProfits.keySet());
-        if (sortedMonths.isEmpty()) {
-            LOGGER.warning("Keine sortierten Monate für " + fileName + " verfügbar");
-            return 0.0;
-        }
-        
-        // Absteigend sortieren (neueste Monate zuerst)
-        sortedMonths.sort((a, b) -> b.compareTo(a));
-        
+        return calculateAverageMonthlyProfit(series, months, fileName);
+    }
+    
+    /**
+     * Durchschnitt der letzten n vorhandenen Monate einer Monatsreihe (ohne den aktuellen Monat).
+     * Die Reihe ist bereits chronologisch, daher ist kein Sortieren nötig.
+     */
+    private double calculateAverageMonthlyProfit(MonthlyReturnSeries series, int months, String fileName) {
         // Debug-Ausgabe
         LOGGER.fine("Berechne " + months + "-Monats-Durchschnitt für " + fileName);
-        LOGGER.fine("Verfügbare Monate: " + sortedMonths);
         
         // Überprüfe, ob genügend Monate vorhanden sind
-        if (sortedMonths.size() < 2) { // Mindestens aktueller Monat + 1 weiterer
-            LOGGER.warning("Zu wenige Monate für " + fileName + ": " + sortedMonths.size());
+        if (series.size() < 2) { // Mindestens aktueller Monat + 1 weiterer
+            LOGGER.warning("Zu wenige Monate für " + fileName + ": " + series.size());
             return 0.0;
         }
         
         // Nach Abzug des aktuellen Monats verfügbare Monate
-        int availableMonths = sortedMonths.size() - 1; // -1 für aktuellen Monat
+        int availableMonths = series.size() - 1; // -1 für aktuellen Monat
         
         // Für 3MPDD: Verwende verfügbare Monate bis maximal 3
         int monthsToUse;
         if (months == 3) {
             monthsToUse = Math.min(months, availableMonths);
-            if (monthsToUse <= 0) {
-                LOGGER.warning("Keine Monate für 3MPDD verfügbar");
-                return 0.0;
-            }
         } else {
             // Für 6, 9 und 12 MPDD: Nur berechnen wenn genügend Monate verfügbar
             int requiredMonths = months + 1; // +1 weil aktueller Monat nicht berücksichtigt wird
-            if (sortedMonths.size() < requiredMonths) {
+            if (series.size() < requiredMonths) {
                 LOGGER.warning("Nicht genug Monate für " + months + "-MPDD: " + 
-                              sortedMonths.size() + "/" + requiredMonths);
+                              series.size() + "/" + requiredMonths);
                 return 0.0;
             }
             monthsToUse = months;
         }
         
         // Summe der Profite der letzten n Monate (ohne aktuellen Monat)
+        double[] profits = series.latestValues(monthsToUse, true);
         double sum = 0.0;
-        for (int i = 0; i < monthsToUse; i++) {
-            String month = sortedMonths.get(i + 1); // +1 um aktuellen Monat zu überspringen
-            double profit = monthlyProfits.get(month);
+        for (double profit : profits) {
             sum += profit;
-            LOGGER.fine("Monat " + month + ": " + profit + "%");
         }
         
         // Durchschnitt berechnen
@@ -143,20 +166,30 @@ public class MPDDCalculator {
     }
     
     /**
-     * Holt die monatlichen Profit-Prozentsätze für einen Provider
+     * Holt die monatlichen Profit-Prozentsätze eines Providers als Monatsreihe
      * 
      * @param fileName Name der Provider-Datei
-     * @return Map mit Jahr/Monat als Schlüssel und Profit-Prozentsatz als Wert
+     * @return Monatsreihe, leer wenn keine Daten verfügbar sind
      */
-    public Map<String, Double> getMonthlyProfitPercentages(String fileName) {
+    public MonthlyReturnSeries getMonthlyReturnSeries(String fileName) {
         if (htmlDatabase != null) {
-            return htmlDatabase.getMonthlyProfitPercentages(fileName);
+            return htmlDatabase.getMonthlyReturnSeries(fileName);
         } else {
             LOGGER.warning("HtmlDatabase ist null - kann monatliche Profite nicht laden");
-            return new HashMap<>();
+            return MonthlyReturnSeries.EMPTY;
         }
     }
     
+    /**
+     * Holt die monatlichen Profit-Prozentsätze für einen Provider
+     * 
+     * @param fileName Name der Provider-Datei
+     * @return Map mit Jahr/Monat als Schlüssel und Profit-Prozentsatz als Wert
+     */
+    public Map<String, Double> getMonthlyProfitPercentages(String fileName) {
+        return getMonthlyReturnSeries(fileName).toMap();
+    }
+    
     /**
      * Holt den Equity Drawdown für einen Provider
      * 
@@ -209,25 +242,22 @@ public class MPDDCalculator {
         details.append(String.format("%d-Monats-MPDD Berechnung für %s:\n\n", months, fileName));
         
         try {
-            Map<String, Double> monthlyProfits = getMonthlyProfitPercentages(fileName);
-            if (monthlyProfits.isEmpty()) {
+            MonthlyReturnSeries series = getMonthlyReturnSeries(fileName);
+            if (series.isEmpty()) {
                 details.append("Keine monatlichen Profit-Daten verfügbar.\n");
                 return details.toString();
             }
             
-            List<String> sortedMonths = new ArrayList<>(monthlyProfits.keySet());
-            sortedMonths.sort((a, b) -> b.compareTo(a));
-            
             details.append("Verwendete Monate (vor aktuellem Monat):\n");
             
             double sum = 0.0;
-            int monthsToUse = Math.min(months, sortedMonths.size() - 1);
+            int[] usedMonths = series.latestMonths(months, true);
+            int monthsToUse = usedMonths.length;
             
-            for (int i = 0; i < monthsToUse; i++) {
-                String month = sortedMonths.get(i + 1); // +1 um aktuellen Monat zu überspringen
-                double profit = monthlyProfits.get(month);
+            for (int month : usedMonths) {
+                double profit = series.get(month);
                 sum += profit;
-                details.append(String.format("- %s: %.2f%%\n", month, profit));
+                details.append(String.format("- %s: %.2f%%\n", MonthlyReturnSeries.formatMonth(month), profit));
             }
             
             double averageProfit = sum / monthsToUse;
@@ -258,26 +288,23 @@ public class MPDDCalculator {
         tooltip.append(String.format("<b>%d-Monats-MPDD Berechnung:</b><br><br>", months));
         
         try {
-            Map<String, Double> monthlyProfits = getMonthlyProfitPercentages(fileName);
-            if (monthlyProfits.isEmpty()) {
+            MonthlyReturnSeries series = getMonthlyReturnSeries(fileName);
+            if (series.isEmpty()) {
                 tooltip.append("Keine Berechnungsdetails verfügbar<br>");
                 tooltip.append("</div></html>");
                 return tooltip.toString();
             }
             
-            List<String> sortedMonths = new ArrayList<>(monthlyProfits.keySet());
-            sortedMonths.sort((a, b) -> b.compareTo(a));
-            
             tooltip.append("<b>Verwendete Monate:</b><br>");
             
             double sum = 0.0;
-            int monthsToUse = Math.min(months, sortedMonths.size() - 1);
+            int[] usedMonths = series.latestMonths(months, true);
+            int monthsToUse = usedMonths.length;
             
-            for (int i = 0; i < monthsToUse; i++) {
-                String month = sortedMonths.get(i + 1); // +1 um aktuellen Monat zu überspringen
-                double profit = monthlyProfits.get(month);
+            for (int month : usedMonths) {
+                double profit = series.get(month);
                 sum += profit;
-                tooltip.append(String.format("&nbsp;&nbsp;- %s: %.2f%%<br>", month, profit));
+                tooltip.append(String.format("&nbsp;&nbsp;- %s: %.2f%%<br>", MonthlyReturnSeries.formatMonth(month), profit));
             }
             
             double averageProfit = sum / monthsToUse;
@@ -306,17 +333,17 @@ public class MPDDCalculator {
      */
     public boolean hasEnoughDataForCalculation(String fileName, int months) {
         try {
-            Map<String, Double> monthlyProfits = getMonthlyProfitPercentages(fileName);
-            if (monthlyProfits.isEmpty()) {
+            MonthlyReturnSeries series = getMonthlyReturnSeries(fileName);
+            if (series.isEmpty()) {
                 return false;
             }
             
             // Für 3MPDD reicht schon 1 Monat (außer aktuellem)
             if (months == 3) {
-                return monthlyProfits.size() >= 2; // Aktueller + mindestens 1 weiterer
+                return series.size() >= 2; // Aktueller + mindestens 1 weiterer
             } else {
                 // Für andere MPDD-Werte müssen genügend Monate vorhanden sein
-                return monthlyProfits.size() >= (months + 1); // months + aktueller Monat
+                return series.size() >= (months + 1); // months + aktueller Monat
             }
             
         } catch (Exception e) {
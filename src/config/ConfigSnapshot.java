@@ -0,0 +1,49 @@
+package config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Unveränderlicher Stand von MqldownloaderConfig.txt.
+ *
+ * Der ConfigurationManager hält genau einen Schnappschuss und ersetzt ihn als Ganzes,
+ * wenn eine Einstellung gespeichert oder die Datei von außen geändert wurde. Leser
+ * brauchen daher weder Sperren noch Dateizugriffe.
+ */
+final class ConfigSnapshot {
+    static final ConfigSnapshot EMPTY = new ConfigSnapshot(new Properties());
+
+    private final Map<String, String> values;
+
+    ConfigSnapshot(Properties props) {
+        Map<String, String> copy = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            copy.put(key, props.getProperty(key));
+        }
+        this.values = Collections.unmodifiableMap(copy);
+    }
+
+    String getProperty(String key, String defaultValue) {
+        String value = values.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    String getProperty(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Ganzzahl-Wert; bei fehlendem Schlüssel der Standardwert. Ungültige Werte werfen wie
+     * bisher eine NumberFormatException.
+     */
+    int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    boolean contentEquals(ConfigSnapshot other) {
+        return other != null && values.equals(other.values);
+    }
+}
@@ -1,24 +1,57 @@
 package config;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Zugriff auf MqldownloaderConfig.txt.
+ *
+ * Die Datei wird einmal in einen unveränderlichen {@link ConfigSnapshot} geladen; alle Getter
+ * lesen ohne Sperre und ohne Dateizugriff aus diesem Stand. Setter schreiben die Datei und
+ * ersetzen den Stand atomar, ein WatchService übernimmt Änderungen, die von außen an der
+ * Datei vorgenommen werden (geschlossen mit {@link #close()} bzw. beim Beenden der JVM).
+ *
+ * Für parallel laufende Download-Jobs liefert {@link #forSession} eine Sitzung mit eigener
+ * MQL-Version und eigenen Verzeichnissen, die denselben Schnappschuss liest.
+ */
 public class ConfigurationManager {
     private final String rootDirPath;
     private final String configDirPath;
     private final String mqlConfigFilePath;
     private final String logDirPath;
     private final String downloadPath;
-    private String baseUrl;
-    private String currentDownloadPath;
-    private Credentials credentials;
+    // Zwischengespeicherte Werte; der Config-Watcher setzt sie beim Neuladen zurück
+    private volatile String baseUrl;
+    private volatile String currentDownloadPath;
+    private volatile Credentials credentials;
+    private final AtomicReference<ConfigSnapshot> snapshot;
+    private Thread configWatcher;
+    private WatchService watchService;
+    private final boolean session;
+    private String sessionMqlVersion;
+    private final String browserDownloadPath;
     private static final Logger logger = LogManager.getLogger(ConfigurationManager.class);
 
+    /** Kodierung der Konfigurationsdatei beim Lesen und Schreiben (Standard von Properties) */
+    public static final Charset CONFIG_CHARSET = StandardCharsets.ISO_8859_1;
+
     // Property-Keys als Konstanten definieren
     private static final String KEY_BASE_URL = "baseUrl";
     private static final String KEY_DOWNLOAD_PATH = "downloadPath";
@@ -30,34 +63,95 @@ public class ConfigurationManager {
     private static final String KEY_MQL4_LIMIT = "mql4Limit";
     private static final String KEY_MQL5_LIMIT = "mql5Limit";
     private static final String KEY_DOWNLOAD_DAYS = "downloadDays";
+    private static final String KEY_SITE_URL = "siteUrl";
+    private static final String KEY_METRICS_PORT = "metricsPort";
+    private static final String KEY_ASYNC_LOGGING = "asyncLogging";
+    private static final String KEY_LOG_VIEW_MAX_LINES = "logViewMaxLines";
+    private static final String KEY_CONVERSION_ERROR_POLICY = "conversionErrorPolicy";
+    private static final String KEY_PIPELINE_CONVERSION = "pipelineConversion";
+    private static final String KEY_EARLY_SCREENING = "earlyScreening";
+    private static final String KEY_EARLY_SCREENING_MIN_3MPDD = "earlyScreeningMin3Mpdd";
+    private static final String KEY_REJECTION_COOLDOWN_DAYS = "rejectionCooldownDays";
+    private static final String KEY_REJECTION_RECHECK_GROWTH = "rejectionRecheckGrowth";
+    private static final String KEY_FAILURE_BACKOFF_DAYS = "failureBackoffDays";
+    private static final String KEY_FAILURE_BACKOFF_MAX_DAYS = "failureBackoffMaxDays";
     
     private static final int DEFAULT_MIN_WAIT = 4000; // 4 seconds
     private static final int DEFAULT_MAX_WAIT = 30000; // 30 seconds
     private static final int DEFAULT_MQL4_LIMIT = 1000;
     private static final int DEFAULT_MQL5_LIMIT = 1000;
     private static final int DEFAULT_DOWNLOAD_DAYS = 5;
+    private static final String DEFAULT_SITE_URL = "https://www.mql5.com";
+    private static final long RELOAD_SETTLE_MS = 100;
 
     public ConfigurationManager(String rootDirPath) {
         this.rootDirPath = rootDirPath;
-        this.configDirPath = rootDirPath+"\\config";
-        this.mqlConfigFilePath = configDirPath + "\\MqldownloaderConfig.txt";
-        this.logDirPath = rootDirPath + "\\logs";
-        this.downloadPath = rootDirPath + "\\download";
+        Path root = Paths.get(rootDirPath);
+        this.configDirPath = root.resolve("config").toString();
+        this.mqlConfigFilePath = root.resolve("config").resolve("MqldownloaderConfig.txt").toString();
+        this.logDirPath = root.resolve("logs").toString();
+        this.downloadPath = root.resolve("download").toString();
+        this.snapshot = new AtomicReference<>(ConfigSnapshot.EMPTY);
+        this.session = false;
+        this.browserDownloadPath = null;
+        reloadSnapshot();
         loadCredentials();
+        startConfigWatcher();
+    }
+
+    private ConfigurationManager(ConfigurationManager parent, String mqlVersion, String targetPath,
+            String browserDownloadPath) {
+        this.rootDirPath = parent.rootDirPath;
+        this.configDirPath = parent.configDirPath;
+        this.mqlConfigFilePath = parent.mqlConfigFilePath;
+        this.logDirPath = parent.logDirPath;
+        this.downloadPath = parent.downloadPath;
+        this.snapshot = parent.snapshot;
+        this.credentials = parent.getCredentials();
+        this.session = true;
+        this.sessionMqlVersion = mqlVersion;
+        this.currentDownloadPath = targetPath;
+        this.browserDownloadPath = browserDownloadPath;
+        this.baseUrl = getListUrl(mqlVersion);
+    }
+
+    /**
+     * Erzeugt eine Sitzung für einen Download-Job. MQL-Version, Zielverzeichnis und
+     * Browser-Downloadverzeichnis gelten nur für die Sitzung und werden nicht in die Datei
+     * geschrieben; alle übrigen Einstellungen kommen aus dem gemeinsamen Schnappschuss.
+     *
+     * @param mqlVersion          "mt4" oder "mt5"
+     * @param targetPath          Verzeichnis für die fertigen Provider-Dateien
+     * @param browserDownloadPath Verzeichnis, in das der Browser die CSV-Dateien lädt
+     */
+    public ConfigurationManager forSession(String mqlVersion, String targetPath, String browserDownloadPath) {
+        if (!mqlVersion.equals("mt4") && !mqlVersion.equals("mt5")) {
+            throw new IllegalArgumentException("MQL-Version muss entweder 'mt4' oder 'mt5' sein");
+        }
+        createDirectory(targetPath);
+        createDirectory(browserDownloadPath);
+        return new ConfigurationManager(this, mqlVersion, targetPath, browserDownloadPath);
+    }
+
+    public boolean isSession() {
+        return session;
     }
 
     private void saveProperty(String key, String value) {
-        Properties props = loadProperties();
+        Properties props = readPropertiesFile();
         props.setProperty(key, value);
         saveProperties(props, "MQL Downloader Konfiguration");
     }
 
-    private Properties loadProperties() {
+    /**
+     * Liest die Konfigurationsdatei direkt (nur für Schreibvorgänge und das Neuladen).
+     */
+    private Properties readPropertiesFile() {
         Properties props = new Properties();
         File configFile = new File(mqlConfigFilePath);
         if (configFile.exists()) {
-            try {
-                props.load(Files.newBufferedReader(configFile.toPath()));
+            try (java.io.Reader reader = Files.newBufferedReader(configFile.toPath(), CONFIG_CHARSET)) {
+                props.load(reader);
             } catch (IOException e) {
                 logger.error("Fehler beim Laden der Konfiguration", e);
             }
@@ -65,35 +159,129 @@ public class ConfigurationManager {
         return props;
     }
 
-    private void saveProperties(Properties props, String comments) {
-        try (FileWriter writer = new FileWriter(mqlConfigFilePath)) {
-            props.store(writer, comments);
+    /**
+     * Schreibt über eine temporäre Datei und ersetzt dann das Original, damit der
+     * Datei-Watcher (auch anderer Instanzen) nie eine halb geschriebene Datei liest.
+     */
+    private synchronized void saveProperties(Properties props, String comments) {
+        Path target = new File(mqlConfigFilePath).toPath();
+        Path temp = new File(mqlConfigFilePath + ".tmp").toPath();
+        try {
+            try (java.io.Writer writer = Files.newBufferedWriter(temp, CONFIG_CHARSET)) {
+                props.store(writer, comments);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             logger.error("Fehler beim Speichern der Konfiguration", e);
         }
+        snapshot.set(new ConfigSnapshot(props));
+    }
+
+    /**
+     * Lädt die Datei neu und ersetzt den Schnappschuss, falls sich der Inhalt geändert hat.
+     */
+    private synchronized void reloadSnapshot() {
+        ConfigSnapshot reloaded = new ConfigSnapshot(readPropertiesFile());
+        ConfigSnapshot previous = snapshot.getAndSet(reloaded);
+        if (previous != ConfigSnapshot.EMPTY && !reloaded.contentEquals(previous)) {
+            logger.info("Konfiguration neu geladen: " + mqlConfigFilePath);
+            // Zwischengespeicherte Werte, die aus der Datei stammen, neu ermitteln
+            this.baseUrl = null;
+            this.currentDownloadPath = null;
+            loadCredentials();
+        }
+    }
+
+    /**
+     * Beobachtet das Verzeichnis der Konfigurationsdatei und lädt bei Änderungen neu.
+     * Läuft als Daemon-Thread; wird gestartet, sobald das Verzeichnis existiert.
+     */
+    private synchronized void startConfigWatcher() {
+        File configFile = new File(mqlConfigFilePath).getAbsoluteFile();
+        File watchDir = configFile.getParentFile();
+        if (session || configWatcher != null || watchDir == null || !watchDir.isDirectory()) {
+            return;
+        }
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            watchDir.toPath().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+            Path configFileName = configFile.toPath().getFileName();
+            configWatcher = new Thread(() -> watchConfigFile(service, configFileName), "Config-Watcher");
+            configWatcher.setDaemon(true);
+            configWatcher.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close, "Config-Watcher-Shutdown"));
+        } catch (IOException e) {
+            logger.warn("Konfigurationsdatei kann nicht überwacht werden, Änderungen von außen werden erst nach Neustart übernommen: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Beendet die Überwachung der Konfigurationsdatei und schließt den WatchService.
+     */
+    public synchronized void close() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("WatchService der Konfiguration konnte nicht geschlossen werden: " + e.getMessage());
+        }
+        watchService = null;
     }
 
-    private void loadCredentials() {
-        Properties props = loadProperties();
+    private void watchConfigFile(WatchService watchService, Path configFileName) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (configFileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    // Editoren schreiben oft in mehreren Schritten: kurz warten, dann einmal laden
+                    Thread.sleep(RELOAD_SETTLE_MS);
+                    reloadSnapshot();
+                }
+                if (!key.reset()) {
+                    logger.warn("Überwachung der Konfiguration beendet (Verzeichnis nicht mehr verfügbar)");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Credentials loadCredentials() {
+        ConfigSnapshot props = snapshot.get();
         String username = props.getProperty(KEY_USERNAME, "");
         String password = props.getProperty(KEY_PASSWORD, "");
-        this.credentials = new Credentials(username, password);
+        Credentials loaded = new Credentials(username, password);
+        this.credentials = loaded;
+        return loaded;
     }
 
     public void setCredentials(String username, String password) {
         this.credentials = new Credentials(username, password);
-        Properties props = loadProperties();
+        Properties props = readPropertiesFile();
         props.setProperty(KEY_USERNAME, username);
         props.setProperty(KEY_PASSWORD, password);
         saveProperties(props, "MQL Downloader Konfiguration");
-        logger.info("Credentials aktualisiert fr Benutzer: " + username);
+        logger.info("Credentials aktualisiert für Benutzer: " + username);
     }
 
     public Credentials getCredentials() {
-        if (credentials == null) {
-            loadCredentials();
-        }
-        return credentials;
+        Credentials current = credentials;
+        return current != null ? current : loadCredentials();
     }
 
     public void setWaitTimes(int minWait, int maxWait) {
@@ -104,7 +292,7 @@ public class ConfigurationManager {
             maxWait = minWait + 1000; // Ensure max is always greater than min
         }
         
-        Properties props = loadProperties();
+        Properties props = readPropertiesFile();
         props.setProperty(KEY_MIN_WAIT, String.valueOf(minWait));
         props.setProperty(KEY_MAX_WAIT, String.valueOf(maxWait));
         saveProperties(props, "MQL Downloader Konfiguration");
@@ -112,17 +300,17 @@ public class ConfigurationManager {
     }
 
     public int getMinWaitTime() {
-        Properties props = loadProperties();
+        ConfigSnapshot props = snapshot.get();
         return Integer.parseInt(props.getProperty(KEY_MIN_WAIT, String.valueOf(DEFAULT_MIN_WAIT)));
     }
 
     public int getMaxWaitTime() {
-        Properties props = loadProperties();
+        ConfigSnapshot props = snapshot.get();
         return Integer.parseInt(props.getProperty(KEY_MAX_WAIT, String.valueOf(DEFAULT_MAX_WAIT)));
     }
 
     public int getMql4Limit() {
-        Properties props = loadProperties();
+        ConfigSnapshot props = snapshot.get();
         return Integer.parseInt(props.getProperty(KEY_MQL4_LIMIT, String.valueOf(DEFAULT_MQL4_LIMIT)));
     }
 
@@ -130,14 +318,14 @@ public class ConfigurationManager {
         if (limit < 1 || limit > 5000) {
             throw new IllegalArgumentException("MQL4 Limit muss zwischen 1 und 5000 liegen");
         }
-        Properties props = loadProperties();
+        Properties props = readPropertiesFile();
         props.setProperty(KEY_MQL4_LIMIT, String.valueOf(limit));
         saveProperties(props, "MQL Downloader Konfiguration");
         logger.info("MQL4 Limit aktualisiert auf: " + limit);
     }
 
     public int getMql5Limit() {
-        Properties props = loadProperties();
+        ConfigSnapshot props = snapshot.get();
         return Integer.parseInt(props.getProperty(KEY_MQL5_LIMIT, String.valueOf(DEFAULT_MQL5_LIMIT)));
     }
 
@@ -145,24 +333,24 @@ public class ConfigurationManager {
         if (limit < 1 || limit > 5000) {
             throw new IllegalArgumentException("MQL5 Limit muss zwischen 1 und 5000 liegen");
         }
-        Properties props = loadProperties();
+        Properties props = readPropertiesFile();
         props.setProperty(KEY_MQL5_LIMIT, String.valueOf(limit));
         saveProperties(props, "MQL Downloader Konfiguration");
         logger.info("MQL5 Limit aktualisiert auf: " + limit);
     }
     
-    // Neuer Getter fr Download Days
+    // Neuer Getter für Download Days
     public int getDownloadDays() {
-        Properties props = loadProperties();
+        ConfigSnapshot props = snapshot.get();
         return Integer.parseInt(props.getProperty(KEY_DOWNLOAD_DAYS, String.valueOf(DEFAULT_DOWNLOAD_DAYS)));
     }
     
-    // Neuer Setter fr Download Days mit Validierung
+    // Neuer Setter für Download Days mit Validierung
     public void setDownloadDays(int days) {
         if (days < 0 || days > 20) {
-            throw new IllegalArgumentException("Download Tage mssen zwischen 0 und 20 liegen");
+            throw new IllegalArgumentException("Download Tage müssen zwischen 0 und 20 liegen");
         }
-        Properties props = loadProperties();
+        Properties props = readPropertiesFile();
         props.setProperty(KEY_DOWNLOAD_DAYS, String.valueOf(days));
         saveProperties(props, "MQL Downloader Konfiguration");
         logger.info("Download Tage aktualisiert auf: " + days);
@@ -173,13 +361,15 @@ public class ConfigurationManager {
         createDirectory(logDirPath);
         createDirectory(downloadPath);
         initializeDefaultConfig();
+        startConfigWatcher();
     }
 
     private void initializeDefaultConfig() {
         File configFile = new File(mqlConfigFilePath);
         if (!configFile.exists()) {
             Properties props = new Properties();
-            props.setProperty(KEY_BASE_URL, "https://www.mql5.com/en/signals/mt5/list");
+            props.setProperty(KEY_SITE_URL, DEFAULT_SITE_URL);
+            props.setProperty(KEY_BASE_URL, DEFAULT_SITE_URL + "/en/signals/mt5/list");
             props.setProperty(KEY_DOWNLOAD_PATH, downloadPath);
             props.setProperty(KEY_USERNAME, "");
             props.setProperty(KEY_PASSWORD, "");
@@ -206,10 +396,23 @@ public class ConfigurationManager {
     }
 
     public String getLogConfigPath() {
-        return rootDirPath + "\\config\\log4j2.xml";
+        return Paths.get(configDirPath, "log4j2.xml").toString();
     }
 
+    /**
+     * @return download-Verzeichnis unter dem Root (enthält mql4 und mql5), auch in einer Sitzung
+     */
+    public String getDownloadRootPath() {
+        return downloadPath;
+    }
+
+    /**
+     * @return Verzeichnis, in das der Browser lädt (bei einer Sitzung deren eigenes)
+     */
     public String getDownloadPath() {
+        if (browserDownloadPath != null) {
+            return browserDownloadPath;
+        }
         return downloadPath;
     }
 
@@ -231,7 +434,8 @@ public class ConfigurationManager {
 
     public void resetConfiguration() {
         Properties props = new Properties();
-        props.setProperty(KEY_BASE_URL, "https://www.mql5.com/en/signals/mt5/list");
+        props.setProperty(KEY_SITE_URL, DEFAULT_SITE_URL);
+        props.setProperty(KEY_BASE_URL, DEFAULT_SITE_URL + "/en/signals/mt5/list");
         props.setProperty(KEY_DOWNLOAD_PATH, downloadPath);
         props.setProperty(KEY_USERNAME, "");
         props.setProperty(KEY_PASSWORD, "");
@@ -240,9 +444,9 @@ public class ConfigurationManager {
         props.setProperty(KEY_MQL4_LIMIT, String.valueOf(DEFAULT_MQL4_LIMIT));
         props.setProperty(KEY_MQL5_LIMIT, String.valueOf(DEFAULT_MQL5_LIMIT));
         props.setProperty(KEY_DOWNLOAD_DAYS, String.valueOf(DEFAULT_DOWNLOAD_DAYS));
-        saveProperties(props, "MQL Downloader Konfiguration - Zurckgesetzt auf Standardwerte");
+        saveProperties(props, "MQL Downloader Konfiguration - Zurückgesetzt auf Standardwerte");
         
-        logger.info("Konfiguration wurde auf Standardwerte zurckgesetzt");
+        logger.info("Konfiguration wurde auf Standardwerte zurückgesetzt");
         this.baseUrl = null;
         this.currentDownloadPath = null;
         this.credentials = new Credentials("", "");
@@ -250,101 +454,253 @@ public class ConfigurationManager {
 
     public void setBaseUrl(String url) {
         this.baseUrl = url;
-        Properties props = new Properties();
-        File mqlConfigFile = new File(mqlConfigFilePath);
-
-        try {
-            if (mqlConfigFile.exists()) {
-                props.load(Files.newBufferedReader(mqlConfigFile.toPath()));
-            }
-            props.setProperty("baseUrl", url);
-            try (FileWriter writer = new FileWriter(mqlConfigFile)) {
-                props.store(writer, "MQL Downloader Konfiguration");
-            }
-            logger.info("Base URL aktualisiert auf: " + url);
-        } catch (IOException e) {
-            logger.error("Fehler beim Speichern der Base URL", e);
+        if (session) {
+            return;
         }
+        saveProperty(KEY_BASE_URL, url);
+        logger.info("Base URL aktualisiert auf: " + url);
     }
 
     public void setDownloadPath(String path) {
         this.currentDownloadPath = path;
         createDirectory(path);
-        
-        Properties props = new Properties();
-        File mqlConfigFile = new File(mqlConfigFilePath);
-
-        try {
-            if (mqlConfigFile.exists()) {
-                props.load(Files.newBufferedReader(mqlConfigFile.toPath()));
-            }
-            props.setProperty("downloadPath", path);
-            try (FileWriter writer = new FileWriter(mqlConfigFile)) {
-                props.store(writer, "MQL Downloader Konfiguration");
-            }
-            logger.info("Download-Pfad aktualisiert auf: " + path);
-        } catch (IOException e) {
-            logger.error("Fehler beim Speichern des Download-Pfads", e);
+        if (session) {
+            return;
         }
+        
+        saveProperty(KEY_DOWNLOAD_PATH, path);
+        logger.info("Download-Pfad aktualisiert auf: " + path);
     }
 
     public String getBaseUrl() {
-        if (baseUrl == null) {
-            try {
-                Properties props = new Properties();
-                File mqlConfigFile = new File(mqlConfigFilePath);
-                if (mqlConfigFile.exists()) {
-                    props.load(Files.newBufferedReader(mqlConfigFile.toPath()));
-                    baseUrl = props.getProperty("baseUrl");
-                }
-            } catch (IOException e) {
-                logger.error("Fehler beim Laden der Base URL", e);
-            }
+        String url = baseUrl;
+        if (url == null) {
+            url = snapshot.get().getProperty(KEY_BASE_URL);
+            baseUrl = url;
         }
-        return baseUrl;
+        return url;
     }
 
     public String getCurrentDownloadPath() {
-        if (currentDownloadPath == null) {
-            try {
-                Properties props = new Properties();
-                File mqlConfigFile = new File(mqlConfigFilePath);
-                if (mqlConfigFile.exists()) {
-                    props.load(Files.newBufferedReader(mqlConfigFile.toPath()));
-                    currentDownloadPath = props.getProperty("downloadPath", downloadPath);
-                }
-            } catch (IOException e) {
-                logger.error("Fehler beim Laden des Download-Pfads", e);
-                currentDownloadPath = downloadPath; // Fallback zum Standard-Pfad
-            }
+        String path = currentDownloadPath;
+        if (path == null && new File(mqlConfigFilePath).exists()) {
+            path = snapshot.get().getProperty(KEY_DOWNLOAD_PATH, downloadPath);
+            currentDownloadPath = path;
         }
-        return currentDownloadPath;
+        return path;
     }
 
     public void setMqlVersion(String version) throws IOException {
         if (!version.equals("mt4") && !version.equals("mt5")) {
             throw new IllegalArgumentException("MQL-Version muss entweder 'mt4' oder 'mt5' sein");
         }
+        if (session) {
+            // Eine Sitzung wechselt die Version nur für sich, die Datei gehört dem Hauptfenster
+            this.sessionMqlVersion = version;
+            this.baseUrl = getListUrl(version);
+            return;
+        }
 
-        Properties props = loadProperties();
+        Properties props = readPropertiesFile();
         props.setProperty(KEY_MQL_VERSION, version);
-        props.setProperty(KEY_BASE_URL, String.format("https://www.mql5.com/en/signals/%s/list", version));
+        props.setProperty(KEY_BASE_URL, getListUrl(version));
         saveProperties(props, "MQL Downloader Konfiguration");
         
-        this.baseUrl = String.format("https://www.mql5.com/en/signals/%s/list", version);
+        this.baseUrl = getListUrl(version);
         logger.info("MQL-Version aktualisiert auf: " + version);
     }
 
+    /**
+     * @return Port des lokalen Prometheus-Endpunkts für Metriken, 0 = deaktiviert
+     */
+    public int getMetricsPort() {
+        ConfigSnapshot props = snapshot.get();
+        try {
+            return Integer.parseInt(props.getProperty(KEY_METRICS_PORT, "0").trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültiger metricsPort in der Konfiguration, Endpunkt bleibt deaktiviert");
+            return 0;
+        }
+    }
+
+    /**
+     * @return true, wenn die Standard-Logkonfiguration asynchron und gepuffert schreiben soll
+     *         (Standard); false für sofortiges Schreiben jeder Zeile
+     */
+    public boolean isAsyncLogging() {
+        ConfigSnapshot props = snapshot.get();
+        return Boolean.parseBoolean(props.getProperty(KEY_ASYNC_LOGGING, "true").trim());
+    }
+
+    /**
+     * @return maximale Anzahl Zeilen in der Log-Anzeige der GUI
+     */
+    public int getLogViewMaxLines() {
+        ConfigSnapshot props = snapshot.get();
+        try {
+            return Integer.parseInt(props.getProperty(KEY_LOG_VIEW_MAX_LINES, "10000").trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültiger logViewMaxLines-Wert in der Konfiguration, verwende 10000");
+            return 10000;
+        }
+    }
+
+    /**
+     * @return Umgang mit Providern, deren Kennzahlen nicht extrahiert werden können:
+     *         quarantine (Standard), delete oder abort
+     */
+    public String getConversionErrorPolicy() {
+        ConfigSnapshot props = snapshot.get();
+        return props.getProperty(KEY_CONVERSION_ERROR_POLICY, "quarantine").trim();
+    }
+
+    /**
+     * @return true, wenn "Do All" die Provider schon während des Downloads konvertiert (Standard)
+     */
+    public boolean isPipelineConversion() {
+        ConfigSnapshot props = snapshot.get();
+        return Boolean.parseBoolean(props.getProperty(KEY_PIPELINE_CONVERSION, "true").trim());
+    }
+
+    /**
+     * @return true, wenn der Downloader den 3MPDD schon aus der Root-Seite berechnet und die
+     *         Trading History nur für Provider über der Schwelle lädt (Standard)
+     */
+    public boolean isEarlyScreening() {
+        ConfigSnapshot props = snapshot.get();
+        return Boolean.parseBoolean(props.getProperty(KEY_EARLY_SCREENING, "true").trim());
+    }
+
+    /**
+     * @return 3MPDD-Schwelle der Vorprüfung; Standard 0.5 wie bei der Konvertierung
+     */
+    public double getEarlyScreeningMin3Mpdd() {
+        ConfigSnapshot props = snapshot.get();
+        try {
+            return Double.parseDouble(props.getProperty(KEY_EARLY_SCREENING_MIN_3MPDD, "0.5").trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültiger earlyScreeningMin3Mpdd-Wert in der Konfiguration, verwende 0.5");
+            return 0.5;
+        }
+    }
+
+    /**
+     * @return Tage, die ein wegen 3MPDD abgelehnter Provider beim Download übersprungen wird;
+     *         0 = Ablehnungsliste nicht verwenden
+     */
+    public int getRejectionCooldownDays() {
+        ConfigSnapshot props = snapshot.get();
+        try {
+            return Integer.parseInt(props.getProperty(KEY_REJECTION_COOLDOWN_DAYS, "14").trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültiger rejectionCooldownDays-Wert in der Konfiguration, verwende 14");
+            return 14;
+        }
+    }
+
+    /**
+     * @return Änderung des Wachstums auf der Listenseite in Prozentpunkten, ab der ein
+     *         abgelehnter Provider vor Ablauf der Abklingzeit neu geprüft wird
+     */
+    public double getRejectionRecheckGrowth() {
+        ConfigSnapshot props = snapshot.get();
+        try {
+            return Double.parseDouble(props.getProperty(KEY_REJECTION_RECHECK_GROWTH, "20").trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültiger rejectionRecheckGrowth-Wert in der Konfiguration, verwende 20");
+            return 20.0;
+        }
+    }
+
+    /**
+     * @return Grundwartezeit in Tagen für wiederholt fehlschlagende Provider (verdoppelt sich mit
+     *         jedem weiteren Fehlschlag); 0 = Fehlerliste nicht verwenden
+     */
+    public int getFailureBackoffDays() {
+        ConfigSnapshot props = snapshot.get();
+        try {
+            return Integer.parseInt(props.getProperty(KEY_FAILURE_BACKOFF_DAYS, "1").trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültiger failureBackoffDays-Wert in der Konfiguration, verwende 1");
+            return 1;
+        }
+    }
+
+    /**
+     * @return längste Wartezeit in Tagen für wiederholt fehlschlagende Provider
+     */
+    public int getFailureBackoffMaxDays() {
+        ConfigSnapshot props = snapshot.get();
+        try {
+            return Integer.parseInt(props.getProperty(KEY_FAILURE_BACKOFF_MAX_DAYS, "30").trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültiger failureBackoffMaxDays-Wert in der Konfiguration, verwende 30");
+            return 30;
+        }
+    }
+
     public String getMqlVersion() {
-        Properties props = loadProperties();
+        if (session) {
+            return sessionMqlVersion;
+        }
+        ConfigSnapshot props = snapshot.get();
         return props.getProperty(KEY_MQL_VERSION, "mt5"); // Standard ist MT5
     }
 
     public String getMqlBaseUrl() {
-        Properties props = loadProperties();
-        if (baseUrl == null) {
-            baseUrl = props.getProperty(KEY_BASE_URL, "https://www.mql5.com/en/signals/mt5/list");
+        String url = baseUrl;
+        if (url == null) {
+            url = snapshot.get().getProperty(KEY_BASE_URL, getListUrl("mt5"));
+            baseUrl = url;
+        }
+        return url;
+    }
+
+    /**
+     * Liefert die Basisadresse der Signal-Seite ohne abschließenden Schrägstrich.
+     * Standard ist https://www.mql5.com, für Offline-Tests kann ein lokaler Ersatzserver
+     * eingetragen werden.
+     */
+    public String getSiteUrl() {
+        ConfigSnapshot props = snapshot.get();
+        String url = props.getProperty(KEY_SITE_URL, DEFAULT_SITE_URL).trim();
+        while (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
         }
-        return baseUrl;
+        return url.isEmpty() ? DEFAULT_SITE_URL : url;
+    }
+
+    /**
+     * Setzt die Basisadresse der Signal-Seite und passt die Listen-URL der aktuellen
+     * MQL-Version an.
+     */
+    public void setSiteUrl(String url) {
+        Properties props = readPropertiesFile();
+        props.setProperty(KEY_SITE_URL, url);
+        saveProperties(props, "MQL Downloader Konfiguration");
+        String listUrl = getListUrl(getMqlVersion());
+        this.baseUrl = listUrl;
+        saveProperty(KEY_BASE_URL, listUrl);
+        logger.info("Site URL aktualisiert auf: " + url);
+    }
+
+    /**
+     * @param version "mt4" oder "mt5"
+     * @return URL der Signal-Liste der Version
+     */
+    public String getListUrl(String version) {
+        return getSiteUrl() + "/en/signals/" + version + "/list";
+    }
+
+    public String getLoginUrl() {
+        return getSiteUrl() + "/en/auth_login";
+    }
+
+    /**
+     * @return URL der deutschen Root-Seite eines Providers
+     */
+    public String getProviderRootUrl(String providerId, String version) {
+        return String.format("%s/de/signals/%s?source=Site+Signals+%s+Table",
+                getSiteUrl(), providerId, version.toUpperCase());
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package converter;
+
+/**
+ * Legt fest, wie die Konvertierung mit Providern umgeht, deren Pflicht-Kennzahlen nicht
+ * extrahiert werden können (Konfigurationsschlüssel conversionErrorPolicy).
+ */
+public enum ConversionErrorPolicy {
+    /** Dateien in das Quarantäne-Verzeichnis verschieben, Grund ablegen und weitermachen (Standard) */
+    QUARANTINE("quarantine"),
+    /** Dateien löschen und weitermachen */
+    DELETE("delete"),
+    /** Konvertierung beim ersten Fehler abbrechen */
+    ABORT("abort");
+
+    private final String key;
+
+    ConversionErrorPolicy(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @return Schlüssel der Policy wie in der Konfiguration
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Sucht eine Policy anhand ihres Schlüssels (z.B. "quarantine") oder Namens.
+     *
+     * @return die Policy oder null, wenn keine passt
+     */
+    public static ConversionErrorPolicy fromKey(String key) {
+        if (key == null) {
+            return null;
+        }
+        for (ConversionErrorPolicy policy : values()) {
+            if (policy.key.equalsIgnoreCase(key.trim()) || policy.name().equalsIgnoreCase(key.trim())) {
+                return policy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,126 @@
+package converter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Gepufferte, threadsichere Ausgabe für conversionLog.txt.
+ *
+ * Die Datei wird einmal in {@link #open} geöffnet und erst in {@link #close} geschlossen.
+ * Jeder Provider reserviert vor der Verarbeitung eine laufende Nummer ({@link #reserve}) in
+ * der Reihenfolge der Dateiliste; Einträge werden streng in dieser Reihenfolge geschrieben,
+ * auch wenn Provider parallel und in beliebiger Reihenfolge fertig werden. Vorgezogene
+ * Einträge warten im Speicher, bis alle Vorgänger abgeschlossen ({@link #complete}) sind.
+ */
+final class ConversionLogSink {
+    private static final Logger logger = LogManager.getLogger(ConversionLogSink.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private BufferedWriter writer;
+    private Path path;
+    private long nextSequence;
+    private long nextToWrite;
+    private final Map<Long, String> pendingEntries = new HashMap<>();
+    private final TreeMap<Long, String> completedEntries = new TreeMap<>();
+
+    /**
+     * Legt die Logdatei neu an und schreibt den Kopf.
+     */
+    synchronized void open(Path path, String header) throws IOException {
+        closeQuietly();
+        this.path = path;
+        this.nextSequence = 0;
+        this.nextToWrite = 0;
+        pendingEntries.clear();
+        completedEntries.clear();
+        writer = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(header);
+    }
+
+    /**
+     * Reserviert die Position des nächsten Providers im Log.
+     */
+    synchronized long reserve() {
+        return nextSequence++;
+    }
+
+    /**
+     * Hinterlegt den Eintrag für eine reservierte Position. Geschrieben wird erst nach {@link #complete}.
+     */
+    synchronized void record(long sequence, String entry) {
+        if (writer != null) {
+            pendingEntries.merge(sequence, entry, String::concat);
+        }
+    }
+
+    /**
+     * Markiert eine Position als abgeschlossen (mit oder ohne Eintrag) und schreibt alle
+     * Einträge, deren Vorgänger ebenfalls abgeschlossen sind.
+     */
+    synchronized void complete(long sequence) {
+        if (writer == null) {
+            return;
+        }
+        String entry = pendingEntries.remove(sequence);
+        completedEntries.put(sequence, entry != null ? entry : "");
+        while (!completedEntries.isEmpty() && completedEntries.firstKey() == nextToWrite) {
+            writeEntry(completedEntries.pollFirstEntry().getValue());
+            nextToWrite++;
+        }
+    }
+
+    /**
+     * Schreibt noch wartende Einträge in Reihenfolge, danach den Abschluss, und schließt die Datei.
+     */
+    synchronized void close(String footer) throws IOException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            for (Long sequence : pendingEntries.keySet()) {
+                completedEntries.merge(sequence, pendingEntries.get(sequence), String::concat);
+            }
+            pendingEntries.clear();
+            if (!completedEntries.isEmpty()) {
+                logger.warn("{} Conversion-Log-Einträge ohne Abschluss werden nachträglich geschrieben", completedEntries.size());
+            }
+            completedEntries.values().forEach(this::writeEntry);
+            completedEntries.clear();
+            writer.write(footer);
+        } finally {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void writeEntry(String entry) {
+        if (entry.isEmpty()) {
+            return;
+        }
+        try {
+            writer.write(entry);
+        } catch (IOException e) {
+            logger.error("Fehler beim Schreiben ins Conversion Log {}: {}", path, e.getMessage(), e);
+        }
+    }
+
+    private void closeQuietly() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Fehler beim Schließen des Conversion Logs {}: {}", path, e.getMessage());
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package converter;
+
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import downloader.ProviderPageListener;
+
+/**
+ * Konvertierung parallel zum Download ("Do All" im Pipeline-Modus).
+ *
+ * Der Downloader reicht jeden fertigen Provider samt Seitenquelltext über
+ * {@link #onProviderPage} herein; ein eigener Thread konvertiert ihn sofort. Die
+ * Warteschlange ist begrenzt: Ist sie voll, wartet der Downloader, damit nicht beliebig viele
+ * Seiten im Speicher liegen. {@link #finish()} wartet auf die restlichen Provider und zieht
+ * die Dateien nach, die nicht über die Pipeline kamen.
+ */
+public class ConversionPipeline implements ProviderPageListener {
+    private static final Logger logger = LogManager.getLogger(ConversionPipeline.class);
+
+    static final int QUEUE_CAPACITY = 16;
+
+    private static final Job STOP = new Job(null, null);
+
+    private final HtmlConverter converter;
+    private final BlockingQueue<Job> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final int expectedProviders;
+    private ConversionProgress progressCallback;
+    private Thread worker;
+    private volatile RuntimeException failure;
+    private int convertedCount;
+
+    /**
+     * @param converter         Konverter für das Download-Verzeichnis
+     * @param expectedProviders erwartete Anzahl Provider (für die Fortschrittsanzeige)
+     */
+    public ConversionPipeline(HtmlConverter converter, int expectedProviders) {
+        this.converter = converter;
+        this.expectedProviders = expectedProviders;
+    }
+
+    public void setProgressCallback(ConversionProgress callback) {
+        this.progressCallback = callback;
+        converter.setProgressCallback(callback);
+    }
+
+    /**
+     * Öffnet das Conversion Log und startet den Konvertierungs-Thread.
+     */
+    public void start() {
+        converter.beginIncrementalConversion();
+        worker = new Thread(this::run, "Conversion-Pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void onProviderPage(Path htmlFile, String pageSource) {
+        if (worker == null || failure != null) {
+            return;
+        }
+        try {
+            queue.put(new Job(htmlFile, pageSource));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Unterbrochen beim Übergeben von {} an die Pipeline", htmlFile);
+        }
+    }
+
+    /**
+     * Wartet, bis alle übergebenen Provider konvertiert sind, und schließt die Konvertierung ab.
+     *
+     * @throws RuntimeException wenn die Pipeline abgebrochen wurde (Fehler-Policy ABORT)
+     */
+    public void finish() {
+        stopWorker();
+        converter.finishIncrementalConversion(failure == null);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Beendet die Pipeline nach einem Abbruch: Bereits übergebene Provider werden noch
+     * konvertiert, die übrigen Dateien aber nicht nachgezogen.
+     */
+    public void cancel() {
+        stopWorker();
+        converter.finishIncrementalConversion(false);
+    }
+
+    private void stopWorker() {
+        if (worker != null) {
+            try {
+                queue.put(STOP);
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public HtmlConverter getConverter() {
+        return converter;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Job job = queue.take();
+                if (job == STOP) {
+                    break;
+                }
+                if (failure != null) {
+                    continue;
+                }
+                try {
+                    converter.convertProvider(job.htmlFile, job.pageSource);
+                    convertedCount++;
+                    reportProgress(job.htmlFile);
+                } catch (RuntimeException e) {
+                    // Wie bei convertAllHtmlFiles beendet ein Laufzeitfehler (z.B. Policy ABORT)
+                    // die Konvertierung; weitere Seiten bleiben nur auf der Platte
+                    logger.error("Pipeline-Konvertierung abgebrochen bei " + job.htmlFile + ": " + e.getMessage(), e);
+                    failure = e;
+                } catch (Exception e) {
+                    logger.error("Fehler bei der Pipeline-Konvertierung von " + job.htmlFile + ": " + e.getMessage(), e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reportProgress(Path htmlFile) {
+        if (progressCallback != null) {
+            int percentage = expectedProviders > 0 ? Math.min(99, convertedCount * 100 / expectedProviders) : 0;
+            progressCallback.onProgress(percentage,
+                    String.format("Pipeline: %d Provider konvertiert (%s)", convertedCount, htmlFile.getFileName()));
+        }
+    }
+
+    private static final class Job {
+        final Path htmlFile;
+        final String pageSource;
+
+        Job(Path htmlFile, String pageSource) {
+            this.htmlFile = htmlFile;
+            this.pageSource = pageSource;
+        }
+    }
+}
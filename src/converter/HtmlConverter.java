@@ -4,18 +4,29 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import calculators.MPDDCalculator;
+import metrics.MetricsRegistry;
+import profiling.ConversionEvent;
+import trades.TradeStore;
 import utils.BasicDataProvider;
 import utils.ChartPoint;
+import utils.ExtractionException;
 import utils.FileDataReader;
 import utils.FileUtils;
 import utils.HtmlDatabase;
 import utils.HtmlParser;
+import utils.ProviderCatalog;
+import utils.RejectionLedger;
 import utils.StabilityResult;
 
 public class HtmlConverter {
@@ -26,19 +37,32 @@ public class HtmlConverter {
     private final FileDataReader fileDataReader;
     private final BasicDataProvider basicDataProvider;
     private final MPDDCalculator mpddCalculator;
+    /** Metriken dieser Konvertierung; je Lauf zurückgesetzt */
+    private final MetricsRegistry metrics = MetricsRegistry.newRun();
     private ConversionProgress progressCallback;
     private Path conversionLogPath;
+    private final ConversionLogSink conversionLog = new ConversionLogSink();
     private int deletedProvidersCount = 0;
     private int processedProvidersCount = 0;
+    private int tradeHistoryDrawdownCount = 0;
+    private ConversionErrorPolicy errorPolicy = ConversionErrorPolicy.QUARANTINE;
+    private final QuarantineStore quarantineStore;
+    private final RejectionLedger rejectionLedger;
+    private final ProviderCatalog catalog;
+    private final Map<String, String> extractionFailures = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Set<Path> convertedInRun = new HashSet<>();
     
     public HtmlConverter(String downloadPath) {
         this.downloadPath = downloadPath;
-        this.htmlParser = new HtmlParser(downloadPath);
+        this.htmlParser = new HtmlParser(downloadPath, metrics);
         this.htmlDatabase = new HtmlDatabase(htmlParser);
         this.fileDataReader = new FileDataReader(downloadPath);
         this.basicDataProvider = new BasicDataProvider(fileDataReader);
-        this.mpddCalculator = new MPDDCalculator(htmlDatabase);
+        this.mpddCalculator = new MPDDCalculator(htmlDatabase, metrics);
         this.conversionLogPath = Paths.get(downloadPath, "conversionLog.txt");
+        this.quarantineStore = new QuarantineStore(downloadPath);
+        this.rejectionLedger = RejectionLedger.forDownloadPath(downloadPath);
+        this.catalog = ProviderCatalog.forDownloadPath(downloadPath);
         logger.info("HtmlConverter initialized with path: " + downloadPath);
     }
     
@@ -46,11 +70,10 @@ public class HtmlConverter {
         logger.info("Starting conversion process...");
         
         // Konvertierungs-Log initialisieren
-        initializeConversionLog();
+        initializeConversionLog(conversionLogPath, "CONVERSION LOG");
         
         // Zähler zurücksetzen
-        deletedProvidersCount = 0;
-        processedProvidersCount = 0;
+        resetCounters();
         
         // Zuerst die Dateinummern korrigieren
         List<String> correctedFiles = FileUtils.correctAllDirectories(downloadPath);
@@ -61,53 +84,202 @@ public class HtmlConverter {
             }
         }
         
-        int totalFiles = 0;
+        // Dateiliste aus dem Provider-Katalog statt erneuter Verzeichnis-Durchläufe
+        List<Path> mql4Files = catalog.getHtmlFiles("mql4");
+        List<Path> mql5Files = catalog.getHtmlFiles("mql5");
+        int totalFiles = mql4Files.size() + mql5Files.size();
+        logger.info("Insgesamt " + totalFiles + " HTML-Dateien zu verarbeiten");
+        int currentFile = 0;
+        
         try {
-            totalFiles += countHtmlFiles(Paths.get(downloadPath, "mql4"));
-            totalFiles += countHtmlFiles(Paths.get(downloadPath, "mql5"));
-            logger.info("Insgesamt " + totalFiles + " HTML-Dateien zu verarbeiten");
+            // MQL4 Verzeichnis verarbeiten
+            logger.info("Starte Verarbeitung von MQL4-Dateien...");
+            currentFile = processFiles(mql4Files, currentFile, totalFiles);
+            
+            // MQL5 Verzeichnis verarbeiten
+            logger.info("Starte Verarbeitung von MQL5-Dateien...");
+            currentFile = processFiles(mql5Files, currentFile, totalFiles);
+        } finally {
+            // Abschließende Log-Einträge, auch wenn die Policy ABORT die Konvertierung beendet hat
+            finalizeConversionLog();
+            rejectionLedger.flush();
+            catalog.flush();
+            metrics.writeSnapshot(Paths.get(downloadPath), "conversion");
+        }
+        
+        updateProgress(100, "Konvertierung abgeschlossen - " + processedProvidersCount + " Provider verarbeitet, " + deletedProvidersCount + " Provider gelöscht (3MPDD < 0.5)"
+                + getFailureSummarySuffix());
+    }
+    
+    /**
+     * Beginnt eine schrittweise Konvertierung, bei der die Provider einzeln über
+     * {@link #convertProvider(Path, String)} hereinkommen (Pipeline während des Downloads).
+     * Abgeschlossen wird sie mit {@link #finishIncrementalConversion(boolean)}.
+     */
+    public void beginIncrementalConversion() {
+        logger.info("Starting incremental conversion...");
+        initializeConversionLog(conversionLogPath, "CONVERSION LOG");
+        resetCounters();
+    }
+    
+    /**
+     * Konvertiert einen einzelnen, gerade heruntergeladenen Provider. Der Seiteninhalt kommt
+     * aus dem Speicher; die HTML-Datei wird dafür nicht erneut gelesen.
+     *
+     * @param htmlFile    gespeicherte _root.html-Datei
+     * @param htmlContent Seitenquelltext, null = von der Platte lesen
+     */
+    public void convertProvider(Path htmlFile, String htmlContent) throws IOException {
+        String htmlFileName = htmlFile.toString();
+        htmlParser.putHtmlContent(htmlFileName, htmlContent);
+        try {
+            processProvider(htmlFile);
+        } finally {
+            // Seiteninhalt wird nach der Konvertierung nicht mehr gebraucht
+            htmlParser.evictHtmlContent(htmlFileName);
+            convertedInRun.add(htmlFile.toAbsolutePath().normalize());
+        }
+    }
+    
+    /**
+     * Schließt eine schrittweise Konvertierung ab: Dateinummern werden korrigiert, danach werden
+     * alle HTML-Dateien konvertiert, die nicht über die Pipeline kamen (z.B. beim Download
+     * übersprungene Provider), und das Conversion Log wird abgeschlossen.
+     *
+     * @param convertRemaining false, wenn die Konvertierung abgebrochen wurde und nur noch das
+     *                         Log abgeschlossen werden soll
+     */
+    public void finishIncrementalConversion(boolean convertRemaining) {
+        try {
+            if (convertRemaining) {
+                convertRemainingFiles();
+            }
         } catch (IOException e) {
-            logger.error("Error counting files", e);
+            logger.error("Fehler beim Abschluss der Pipeline-Konvertierung", e);
+        } finally {
+            convertedInRun.clear();
+            finalizeConversionLog();
+            rejectionLedger.flush();
+            catalog.flush();
+            metrics.writeSnapshot(Paths.get(downloadPath), "conversion");
+        }
+        
+        updateProgress(100, "Konvertierung abgeschlossen - " + processedProvidersCount + " Provider verarbeitet, " + deletedProvidersCount + " Provider gelöscht (3MPDD < 0.5)"
+                + getFailureSummarySuffix());
+    }
+    
+    private void convertRemainingFiles() throws IOException {
+        List<String> correctedFiles = FileUtils.correctAllDirectories(downloadPath);
+        if (!correctedFiles.isEmpty()) {
+            logger.info("Dateinummern wurden korrigiert: {} Dateien", correctedFiles.size());
         }
-        int currentFile = 0;
         
-        // MQL4 Verzeichnis verarbeiten
-        Path mql4Path = Paths.get(downloadPath, "mql4");
-        logger.info("Starte Verarbeitung von MQL4-Dateien...");
-        currentFile = processDirectory(mql4Path, currentFile, totalFiles);
+        List<Path> remaining = new java.util.ArrayList<>();
+        for (String version : new String[] {"mql4", "mql5"}) {
+            for (Path htmlFile : catalog.getHtmlFiles(version)) {
+                if (!convertedInRun.contains(htmlFile.toAbsolutePath().normalize())) {
+                    remaining.add(htmlFile);
+                }
+            }
+        }
+        logger.info("Pipeline: " + convertedInRun.size() + " Provider direkt konvertiert, "
+                + remaining.size() + " weitere HTML-Dateien werden nachgezogen");
         
-        // MQL5 Verzeichnis verarbeiten
-        Path mql5Path = Paths.get(downloadPath, "mql5");
-        logger.info("Starte Verarbeitung von MQL5-Dateien...");
-        currentFile = processDirectory(mql5Path, currentFile, totalFiles);
+        int currentFile = 0;
+        for (Path htmlFile : remaining) {
+            processProvider(htmlFile);
+            currentFile++;
+            updateProgress(
+                (int)((currentFile / (double)remaining.size()) * 100),
+                String.format("Konvertiere verbleibende Datei %d von %d (%s)", currentFile, remaining.size(), htmlFile.getFileName())
+            );
+        }
+    }
+    
+    /**
+     * Wiederholungslauf über die Quarantäne: Die Dateien jedes Providers werden zurück in das
+     * MQL-Verzeichnis geholt und erneut konvertiert. Scheitert die Extraktion wieder, greift die
+     * Fehler-Policy wie bei der normalen Konvertierung. Das Ergebnis steht in quarantineRetryLog.txt.
+     */
+    public void retryQuarantine() {
+        logger.info("Starte Wiederholungslauf über die Quarantäne...");
+        initializeConversionLog(Paths.get(downloadPath, "quarantineRetryLog.txt"), "QUARANTINE RETRY LOG");
+        resetCounters();
         
-        // Abschließende Log-Einträge
-        finalizeConversionLog();
+        try {
+            List<Path> quarantined = new java.util.ArrayList<>();
+            for (String version : new String[] {"mql4", "mql5"}) {
+                quarantined.addAll(quarantineStore.listQuarantined(version));
+            }
+            logger.info("Insgesamt " + quarantined.size() + " Provider in der Quarantäne");
+            
+            int currentFile = 0;
+            for (Path quarantinedHtml : quarantined) {
+                Path htmlFile = quarantineStore.restore(quarantinedHtml);
+                // null: inzwischen neu geladen, die aktuelle Datei konvertiert der normale Lauf
+                if (htmlFile != null) {
+                    catalog.update(htmlFile.toString(), ProviderCatalog.Status.DOWNLOADED, Double.NaN, Double.NaN);
+                    boolean converted = processProvider(htmlFile);
+                    if (converted) {
+                        quarantineStore.release(htmlFile);
+                    }
+                }
+                currentFile++;
+                updateProgress(
+                    (int)((currentFile / (double)quarantined.size()) * 100),
+                    String.format("Wiederhole Provider %d von %d (%s)", currentFile, quarantined.size(), quarantinedHtml.getFileName())
+                );
+            }
+        } catch (IOException e) {
+            logger.error("Fehler beim Wiederholungslauf über die Quarantäne", e);
+        } finally {
+            finalizeConversionLog();
+            rejectionLedger.flush();
+            catalog.flush();
+            metrics.writeSnapshot(Paths.get(downloadPath), "quarantine_retry");
+        }
         
-        updateProgress(100, "Konvertierung abgeschlossen - " + processedProvidersCount + " Provider verarbeitet, " + deletedProvidersCount + " Provider gelöscht (3MPDD < 0.5)");
+        updateProgress(100, "Wiederholung abgeschlossen - " + processedProvidersCount + " Provider verarbeitet, " + deletedProvidersCount + " Provider gelöscht (3MPDD < 0.5)"
+                + getFailureSummarySuffix());
+    }
+    
+    private void resetCounters() {
+        deletedProvidersCount = 0;
+        processedProvidersCount = 0;
+        tradeHistoryDrawdownCount = 0;
+        extractionFailures.clear();
+        metrics.reset();
+    }
+    
+    private String getFailureSummarySuffix() {
+        if (extractionFailures.isEmpty()) {
+            return "";
+        }
+        return ", " + extractionFailures.size() + " mit Extraktionsfehler ("
+                + (errorPolicy == ConversionErrorPolicy.QUARANTINE ? "in Quarantäne" : "gelöscht") + ")";
+    }
+    
+    /**
+     * Legt fest, wie mit Providern verfahren wird, deren Kennzahlen nicht extrahiert werden können.
+     */
+    public void setErrorPolicy(ConversionErrorPolicy errorPolicy) {
+        this.errorPolicy = errorPolicy != null ? errorPolicy : ConversionErrorPolicy.QUARANTINE;
+    }
+    
+    public ConversionErrorPolicy getErrorPolicy() {
+        return errorPolicy;
     }
     
     public void setProgressCallback(ConversionProgress callback) {
         this.progressCallback = callback;
     }
     
-    private int processDirectory(Path directory, int currentFile, int totalFiles) {
+    private int processFiles(List<Path> htmlFiles, int currentFile, int totalFiles) {
         try {
-            if (!Files.exists(directory)) {
-                logger.info("Verzeichnis existiert nicht: " + directory);
-                return currentFile;
-            }
-            
-            // NUR direkte Dateien im Verzeichnis, KEINE Unterverzeichnisse
-            List<Path> htmlFiles = Files.list(directory)
-                .filter(path -> Files.isRegularFile(path))
-                .filter(path -> path.toString().endsWith("_root.html"))
-                .collect(Collectors.toList());
-                
-            logger.info("Verarbeite Verzeichnis: " + directory + " - " + htmlFiles.size() + " HTML-Dateien gefunden");
+            logger.info("Verarbeite " + htmlFiles.size() + " HTML-Dateien");
             
             for (Path htmlFile : htmlFiles) {
-                convertHtmlFile(htmlFile);
+                processProvider(htmlFile);
                 currentFile++;
                 updateProgress(
                     (int)((currentFile / (double)totalFiles) * 100),
@@ -115,31 +287,100 @@ public class HtmlConverter {
                 );
             }
         } catch (IOException e) {
-            logger.error("Error processing directory: " + directory, e);
+            logger.error("Error processing files", e);
         }
         return currentFile;
     }
     
+    /**
+     * Konvertiert einen Provider; Extraktionsfehler werden nach der Fehler-Policy behandelt.
+     *
+     * @return true, wenn der Provider ohne Extraktionsfehler verarbeitet wurde
+     */
+    private boolean processProvider(Path htmlFile) throws IOException {
+        ConversionEvent conversionEvent = ConversionEvent.begin(htmlFile.toString());
+        int deletedBefore = deletedProvidersCount;
+        String outcome = "ERROR";
+        long logSequence = conversionLog.reserve();
+        long providerStart = System.nanoTime();
+        try {
+            convertHtmlFile(htmlFile, logSequence);
+            outcome = deletedProvidersCount > deletedBefore ? "DELETED" : "OK";
+            return true;
+        } catch (ExtractionException e) {
+            outcome = handleExtractionFailure(htmlFile, logSequence, e);
+            return false;
+        } finally {
+            metrics.recordSince("convert.provider", providerStart);
+            conversionLog.complete(logSequence);
+            conversionEvent.finish(outcome);
+        }
+    }
+    
+    /**
+     * Behandelt einen Provider, dessen Kennzahlen nicht extrahiert werden konnten. Es wird kein
+     * Dialog geöffnet; die Konvertierung läuft (außer bei ABORT) ohne Unterbrechung weiter.
+     *
+     * @return Ergebnis für das Profiling-Event
+     */
+    private String handleExtractionFailure(Path htmlFile, long logSequence, ExtractionException e) {
+        String htmlFileName = htmlFile.toString();
+        String providerName = extractProviderName(htmlFileName);
+        String reason = e.getReason().name();
+        metrics.counter("convert.providers.extraction_failed").inc();
+        
+        switch (errorPolicy) {
+            case ABORT:
+                logProviderAction(logSequence, providerName, 0.0, "ABBRUCH - " + reason, htmlFileName);
+                throw e;
+            case DELETE:
+                deleteRelatedFiles(htmlFileName);
+                catalog.update(htmlFileName, ProviderCatalog.Status.DELETED, Double.NaN, Double.NaN);
+                logProviderAction(logSequence, providerName, 0.0, "GELÖSCHT - " + reason, htmlFileName);
+                extractionFailures.put(providerName, reason);
+                return "DELETED";
+            case QUARANTINE:
+            default:
+                try {
+                    quarantineStore.quarantine(htmlFile, e);
+                    catalog.update(htmlFileName, ProviderCatalog.Status.QUARANTINED, Double.NaN, Double.NaN);
+                    logger.warn("Provider " + providerName + " in Quarantäne verschoben: " + reason);
+                    logProviderAction(logSequence, providerName, 0.0, "QUARANTÄNE - " + reason, htmlFileName);
+                } catch (IOException ioe) {
+                    logger.error("Provider " + providerName + " konnte nicht in die Quarantäne verschoben werden: " + ioe.getMessage(), ioe);
+                    logProviderAction(logSequence, providerName, 0.0, "FEHLER - " + reason, htmlFileName);
+                }
+                extractionFailures.put(providerName, reason);
+                metrics.counter("convert.providers.quarantined").inc();
+                return "QUARANTINED";
+        }
+    }
+    
     private void updateProgress(int percentage, String message) {
         if (progressCallback != null) {
             progressCallback.onProgress(percentage, message);
         }
     }
     
-    private int countHtmlFiles(Path directory) throws IOException {
-        if (!Files.exists(directory)) {
-            return 0;
+    /**
+     * Konvertiert eine einzelne _root.html-Datei in die zugehörige _root.txt-Datei.
+     * Paketsichtbar, damit die JMH-Benchmarks (bench/src) die Methode direkt messen können.
+     * 
+     * @param htmlFile Pfad zur HTML-Datei
+     */
+    void convertHtmlFile(Path htmlFile) throws IOException {
+        long logSequence = conversionLog.reserve();
+        try {
+            convertHtmlFile(htmlFile, logSequence);
+        } finally {
+            conversionLog.complete(logSequence);
         }
-        // NUR direkte Dateien zählen, KEINE Unterverzeichnisse
-        int count = (int) Files.list(directory)
-            .filter(path -> Files.isRegularFile(path))
-            .filter(path -> path.toString().endsWith("_root.html"))
-            .count();
-        logger.info("Gefunden: " + count + " HTML-Dateien in " + directory);
-        return count;
     }
     
-    private void convertHtmlFile(Path htmlFile) throws IOException {
+    /**
+     * @param logSequence reservierte Position des Providers im Conversion Log
+     */
+    private void convertHtmlFile(Path htmlFile, long logSequence) throws IOException {
         String htmlFileName = htmlFile.toString();
         String txtFileName = htmlFileName.replace("_root.html", "_root.txt");
         Path txtFile = Paths.get(txtFileName);
@@ -155,10 +396,14 @@ public class HtmlConverter {
         if (mpdd3 < 0.5) {
             logger.info("3MPDD zu niedrig (" + String.format("%.4f", mpdd3) + " < 0.5) für " + htmlFileName + " - Dateien werden gelöscht");
             deleteRelatedFiles(htmlFileName);
+            // Merken, damit der Downloader den Provider beim nächsten Lauf nicht erneut lädt
+            rejectionLedger.recordRejection(htmlFileName, mpdd3);
+            catalog.update(htmlFileName, ProviderCatalog.Status.REJECTED, mpdd3, Double.NaN);
             
             // Log-Eintrag für gelöschten Provider mit Dateipfad
-            logProviderAction(providerName, mpdd3, "GELÖSCHT - 3MPDD < 0.5", htmlFileName);
+            logProviderAction(logSequence, providerName, mpdd3, "GELÖSCHT - 3MPDD < 0.5", htmlFileName);
             deletedProvidersCount++;
+            metrics.counter("convert.providers.deleted").inc();
             
             return; // Keine weitere Verarbeitung
         }
@@ -166,7 +411,12 @@ public class HtmlConverter {
         logger.info("3MPDD OK (" + String.format("%.4f", mpdd3) + " >= 0.5) für " + htmlFileName + " - Vollständige Verarbeitung");
         
         double balance = htmlParser.getBalance(htmlFileName);
-        double equityDrawdownGraphic = htmlParser.getEquityDrawdownGraphic(htmlFileName);
+        // MaxDDGraphic aus der Trading History; der SVG-Pfad dient nur noch als Vergleichswert
+        // bzw. als Quelle, wenn keine CSV vorliegt
+        double tradeDrawdown = htmlParser.getTradeHistoryDrawdown(htmlFileName);
+        double svgDrawdown = htmlParser.getSvgDrawdown(htmlFileName);
+        boolean drawdownFromTrades = !Double.isNaN(tradeDrawdown);
+        double equityDrawdownGraphic = drawdownFromTrades ? tradeDrawdown : svgDrawdown;
         double equityDrawdown = htmlParser.getEquityDrawdown(htmlFileName);
         double avgProfit = htmlParser.getAvr3MonthProfit(htmlFileName);
         List<String> lastMonths = htmlParser.getLastThreeMonthsDetails(htmlFileName);
@@ -186,6 +436,7 @@ public class HtmlConverter {
         output.append("StabilityValue=").append(String.format("%.2f", stability)).append("\n");
         output.append("MonthProfitProz=");
         if (!allMonths.isEmpty()) {
+            // Werte wie auf der Seite angegeben (z.B. 2.20), nicht als double neu formatiert
             String monthValues = allMonths.stream()
                 .map(month -> {
                     String[] parts = month.split(":");
@@ -234,11 +485,24 @@ public class HtmlConverter {
         output.append("********************************");
         
         // Schreibe die vollständige Datei mit 3MPDD
-        Files.writeString(txtFile, output.toString());
+        long txtWriteStart = System.nanoTime();
+        try {
+            Files.writeString(txtFile, output.toString());
+        } finally {
+            metrics.recordSince("convert.txt_write", txtWriteStart);
+        }
         
         // Log-Eintrag für verarbeiteten Provider mit Dateipfad
-        logProviderAction(providerName, mpdd3, "OK - Vollständig verarbeitet", htmlFileName);
+        logProviderAction(logSequence, providerName, mpdd3, "OK - Vollständig verarbeitet", htmlFileName);
+        logDrawdownComparison(logSequence, drawdownFromTrades, tradeDrawdown, svgDrawdown, equityDrawdown);
+        catalog.update(htmlFileName, ProviderCatalog.Status.CONVERTED, mpdd3, equityDrawdownGraphic);
         processedProvidersCount++;
+        if (drawdownFromTrades) {
+            tradeHistoryDrawdownCount++;
+        }
+        metrics.counter(drawdownFromTrades ? "convert.drawdown.trade_history" : "convert.drawdown.svg").inc();
+        metrics.counter("convert.providers.ok").inc();
+        rejectionLedger.remove(htmlFileName);
         
         logger.info("Successfully converted " + htmlFile.getFileName() + " to " + txtFile.getFileName() + " with 3MPDD: " + String.format("%.4f", mpdd3));
     }
@@ -257,6 +521,9 @@ public class HtmlConverter {
             logger.info("3MPDD berechnet für " + htmlFileName + ": " + String.format("%.4f", mpdd));
             return mpdd;
             
+        } catch (ExtractionException e) {
+            // Kein Standardwert: der Provider würde sonst wegen 3MPDD = 0 gelöscht
+            throw e;
         } catch (Exception e) {
             logger.error("Fehler beim Berechnen von 3MPDD für " + htmlFileName + ": " + e.getMessage(), e);
             return 0.0;
@@ -272,10 +539,11 @@ public class HtmlConverter {
         try {
             Path htmlPath = Paths.get(htmlFileName);
             
-            // Pfade für entsprechende CSV- und TXT-Dateien erzeugen
+            // Pfade für entsprechende CSV-, TXT- und Trade-Dateien erzeugen
             String baseName = htmlFileName.replace("_root.html", "");
             Path csvPath = Paths.get(baseName + ".csv");
             Path txtPath = Paths.get(baseName + "_root.txt");
+            Path tradesPath = Paths.get(baseName + TradeStore.FILE_SUFFIX);
             
             // Dateien löschen, wenn sie existieren
             int deletedCount = 0;
@@ -298,7 +566,13 @@ public class HtmlConverter {
                 deletedCount++;
             }
             
-            logger.info("Signalprovider mit schlechtem 3MPDD entfernt: " + deletedCount + " Dateien gelöscht für " + baseName);
+            if (Files.exists(tradesPath)) {
+                Files.delete(tradesPath);
+                logger.info("Gelöscht: " + tradesPath);
+                deletedCount++;
+            }
+            
+            logger.info("Signalprovider entfernt: " + deletedCount + " Dateien gelöscht für " + baseName);
             
         } catch (IOException e) {
             logger.error("Fehler beim Löschen der Dateien für " + htmlFileName + ": " + e.getMessage(), e);
@@ -322,19 +596,20 @@ public class HtmlConverter {
     /**
      * Initialisiert das Konvertierungs-Logfile mit erweitertem Format
      */
-    private void initializeConversionLog() {
+    private void initializeConversionLog(Path logPath, String title) {
         try {
             StringBuilder logHeader = new StringBuilder();
             logHeader.append("=".repeat(120)).append("\n");
-            logHeader.append("CONVERSION LOG - ").append(java.time.LocalDateTime.now().toString()).append("\n");
+            logHeader.append(title).append(" - ").append(java.time.LocalDateTime.now().toString()).append("\n");
             logHeader.append("=".repeat(120)).append("\n");
             logHeader.append("HINWEIS: Provider mit 3MPDD < 0.5 werden automatisch gelöscht\n");
+            logHeader.append("FEHLER-POLICY: ").append(errorPolicy.getKey()).append(" (Provider mit Extraktionsfehler)\n");
             logHeader.append("=".repeat(120)).append("\n");
             logHeader.append(String.format("%-35s | %-10s | %-25s | %s\n", "PROVIDER NAME", "3MPDD", "AKTION", "DATEIPFAD"));
             logHeader.append("-".repeat(120)).append("\n");
             
-            Files.writeString(conversionLogPath, logHeader.toString());
-            logger.info("Conversion log initialisiert: " + conversionLogPath);
+            conversionLog.open(logPath, logHeader.toString());
+            logger.info("Conversion log initialisiert: " + logPath);
             
         } catch (IOException e) {
             logger.error("Fehler beim Initialisieren des Conversion Logs: " + e.getMessage(), e);
@@ -342,27 +617,39 @@ public class HtmlConverter {
     }
     
     /**
-     * Schreibt einen Eintrag in das Konvertierungs-Logfile mit Dateipfad
+     * Hinterlegt einen Eintrag mit Dateipfad für das Konvertierungs-Logfile; geschrieben wird
+     * gepuffert in der Reihenfolge der Provider
      */
-    private void logProviderAction(String providerName, double mpdd3, String action, String filePath) {
-        try {
-            // Relativen Pfad erstellen für bessere Lesbarkeit
-            String relativePath = filePath.replace(downloadPath, "").replace("\\", "/");
-            if (relativePath.startsWith("/")) {
-                relativePath = relativePath.substring(1);
-            }
-            
-            String logEntry = String.format("%-35s | %-10.4f | %-25s | %s\n", 
-                                          providerName.length() > 35 ? providerName.substring(0, 32) + "..." : providerName,
-                                          mpdd3, 
-                                          action,
-                                          relativePath);
-            
-            Files.writeString(conversionLogPath, logEntry, java.nio.file.StandardOpenOption.APPEND);
-            
-        } catch (IOException e) {
-            logger.error("Fehler beim Schreiben ins Conversion Log: " + e.getMessage(), e);
+    private void logProviderAction(long logSequence, String providerName, double mpdd3, String action, String filePath) {
+        // Relativen Pfad erstellen für bessere Lesbarkeit
+        String relativePath = filePath.replace(downloadPath, "").replace("\\", "/");
+        if (relativePath.startsWith("/")) {
+            relativePath = relativePath.substring(1);
         }
+        
+        String logEntry = String.format("%-35s | %-10.4f | %-25s | %s\n", 
+                                      providerName.length() > 35 ? providerName.substring(0, 32) + "..." : providerName,
+                                      mpdd3, 
+                                      action,
+                                      relativePath);
+        
+        conversionLog.record(logSequence, logEntry);
+    }
+    
+    /**
+     * Hinterlegt unter dem Provider-Eintrag den Vergleich der Drawdown-Quellen: Trading History
+     * (CSV), roter SVG-Pfad und "Maximaler Rückgang" der Seite (Equity, mit offenen Verlusten).
+     */
+    private void logDrawdownComparison(long logSequence, boolean fromTrades, double tradeDrawdown,
+            double svgDrawdown, double equityDrawdown) {
+        String csv = Double.isNaN(tradeDrawdown) ? "keine CSV" : String.format("%.2f%%", tradeDrawdown);
+        // Rundungsreste nicht als "-0.00" ausgeben
+        double delta = Math.abs(svgDrawdown - tradeDrawdown) < 0.005 ? 0.0 : svgDrawdown - tradeDrawdown;
+        String deviation = Double.isNaN(tradeDrawdown) ? "" : String.format(" (Abweichung %+.2f)", delta);
+        String logEntry = String.format("%-35s | %-10s | MaxDD aus %-15s | CSV %s | SVG %.2f%%%s | Seite %.2f%%\n",
+                                      "", "", fromTrades ? "Trading History" : "SVG-Chart",
+                                      csv, svgDrawdown, deviation, equityDrawdown);
+        conversionLog.record(logSequence, logEntry);
     }
     
     /**
@@ -375,10 +662,18 @@ public class HtmlConverter {
             logFooter.append("ZUSAMMENFASSUNG:\n");
             logFooter.append("Provider verarbeitet: ").append(processedProvidersCount).append("\n");
             logFooter.append("Provider gelöscht: ").append(deletedProvidersCount).append(" (3MPDD < 0.5)\n");
-            logFooter.append("Gesamt Provider: ").append(processedProvidersCount + deletedProvidersCount).append("\n");
+            logFooter.append("MaxDD aus Trading History: ").append(tradeHistoryDrawdownCount)
+                     .append(", aus SVG-Chart: ").append(processedProvidersCount - tradeHistoryDrawdownCount).append("\n");
+            logFooter.append("Provider mit Extraktionsfehler: ").append(extractionFailures.size())
+                     .append(" (").append(errorPolicy.getKey()).append(")\n");
+            synchronized (extractionFailures) {
+                extractionFailures.forEach((provider, reason) ->
+                    logFooter.append("  ").append(provider).append(": ").append(reason).append("\n"));
+            }
+            logFooter.append("Gesamt Provider: ").append(processedProvidersCount + deletedProvidersCount + extractionFailures.size()).append("\n");
             logFooter.append("=".repeat(120)).append("\n");
             
-            Files.writeString(conversionLogPath, logFooter.toString(), java.nio.file.StandardOpenOption.APPEND);
+            conversionLog.close(logFooter.toString());
             logger.info("Conversion log finalisiert mit " + (processedProvidersCount + deletedProvidersCount) + " Providern");
             
         } catch (IOException e) {
@@ -420,6 +715,23 @@ public class HtmlConverter {
         return deletedProvidersCount;
     }
     
+    /**
+     * Provider, deren Kennzahlen beim letzten Lauf nicht extrahiert werden konnten, mit Grund
+     * (ExtractionException.Reason) in Verarbeitungsreihenfolge
+     */
+    public Map<String, String> getExtractionFailures() {
+        synchronized (extractionFailures) {
+            return new LinkedHashMap<>(extractionFailures);
+        }
+    }
+    
+    /**
+     * @return Quarantäne-Verzeichnis einer MQL-Version (mql4 oder mql5)
+     */
+    public Path getQuarantineDirectory(String version) {
+        return quarantineStore.getDirectory(version);
+    }
+    
     /**
      * Getter für die Anzahl der verarbeiteten Provider
      */
@@ -0,0 +1,183 @@
+package converter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import trades.TradeStore;
+import utils.ExtractionException;
+
+/**
+ * Quarantäne-Verzeichnis für Provider, deren Kennzahlen nicht extrahiert werden konnten.
+ *
+ * Die Dateien eines Providers (_root.html, .csv, .trades, _root.txt) werden nach
+ * download/quarantine/&lt;mql4|mql5&gt;/ verschoben; daneben liegt eine Datei
+ * &lt;Provider&gt;_root.html.reason im Properties-Format mit Grund, Meldung, Zeitpunkt und Anzahl
+ * der Versuche. Ein Wiederholungslauf holt die Dateien zurück ins MQL-Verzeichnis; die
+ * .reason-Datei bleibt dabei liegen, bis die Konvertierung gelungen ist.
+ */
+final class QuarantineStore {
+    private static final Logger logger = LogManager.getLogger(QuarantineStore.class);
+
+    static final String DIRECTORY = "quarantine";
+    static final String REASON_SUFFIX = ".reason";
+
+    private final String downloadPath;
+
+    QuarantineStore(String downloadPath) {
+        this.downloadPath = downloadPath;
+    }
+
+    /**
+     * Verschiebt alle Dateien des Providers in die Quarantäne und legt den Grund ab.
+     *
+     * @return Pfad der .reason-Datei
+     */
+    Path quarantine(Path htmlFile, ExtractionException error) throws IOException {
+        String version = htmlFile.getParent().getFileName().toString();
+        Path targetDir = getDirectory(version);
+        Files.createDirectories(targetDir);
+
+        for (Path file : relatedFiles(htmlFile)) {
+            if (Files.exists(file)) {
+                Files.move(file, targetDir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                logger.info("In Quarantäne verschoben: {}", file);
+            }
+        }
+
+        Path reasonFile = reasonFile(targetDir.resolve(htmlFile.getFileName()));
+        int attempts = 1;
+        try {
+            attempts += Integer.parseInt(readReason(reasonFile).getProperty("attempts", "0").trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültige Anzahl Versuche in {}", reasonFile);
+        }
+
+        Properties reason = new Properties();
+        reason.setProperty("provider", htmlFile.getFileName().toString().replace("_root.html", ""));
+        reason.setProperty("version", version);
+        reason.setProperty("reason", error.getReason().name());
+        reason.setProperty("message", String.valueOf(error.getMessage()));
+        reason.setProperty("quarantinedAt", java.time.LocalDateTime.now().toString());
+        reason.setProperty("attempts", String.valueOf(attempts));
+        try (Writer writer = Files.newBufferedWriter(reasonFile, StandardCharsets.UTF_8)) {
+            reason.store(writer, "Quarantaene-Grund (MqlDownloader)");
+        }
+        return reasonFile;
+    }
+
+    /**
+     * @return alle _root.html-Dateien in der Quarantäne einer MQL-Version, sortiert
+     */
+    List<Path> listQuarantined(String version) throws IOException {
+        Path dir = getDirectory(version);
+        if (!Files.isDirectory(dir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(path -> path.toString().endsWith("_root.html"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Holt die Dateien eines Providers aus der Quarantäne zurück in das MQL-Verzeichnis.
+     * Wurde der Provider inzwischen neu geladen (_root.html liegt wieder im MQL-Verzeichnis),
+     * ist die Quarantäne-Kopie veraltet und wird samt .reason-Datei verworfen. Vorhandene Dateien
+     * werden nie ersetzt.
+     *
+     * @return neuer Pfad der _root.html-Datei oder null, wenn die Kopie verworfen wurde
+     */
+    Path restore(Path quarantinedHtml) throws IOException {
+        String version = quarantinedHtml.getParent().getFileName().toString();
+        Path targetDir = Paths.get(downloadPath, version);
+        Path targetHtml = targetDir.resolve(quarantinedHtml.getFileName());
+        if (Files.exists(targetHtml)) {
+            logger.info("Provider {} wurde neu geladen, veraltete Quarantäne-Kopie wird verworfen", targetHtml);
+            discard(quarantinedHtml);
+            return null;
+        }
+        Files.createDirectories(targetDir);
+        for (Path file : relatedFiles(quarantinedHtml)) {
+            if (!Files.exists(file)) {
+                continue;
+            }
+            Path target = targetDir.resolve(file.getFileName());
+            if (Files.exists(target)) {
+                logger.info("{} ist neuer als die Quarantäne-Kopie, Kopie wird verworfen", target);
+                Files.delete(file);
+            } else {
+                Files.move(file, target);
+            }
+        }
+        return targetHtml;
+    }
+
+    /**
+     * Löscht die Quarantäne-Dateien eines Providers einschließlich der .reason-Datei.
+     */
+    private void discard(Path quarantinedHtml) throws IOException {
+        for (Path file : relatedFiles(quarantinedHtml)) {
+            Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(reasonFile(quarantinedHtml));
+    }
+
+    /**
+     * Entfernt die .reason-Datei eines Providers nach erfolgreicher Wiederholung.
+     */
+    void release(Path htmlFile) {
+        String version = htmlFile.getParent().getFileName().toString();
+        Path reasonFile = reasonFile(getDirectory(version).resolve(htmlFile.getFileName()));
+        try {
+            Files.deleteIfExists(reasonFile);
+        } catch (IOException e) {
+            logger.warn("Quarantäne-Grund {} konnte nicht gelöscht werden: {}", reasonFile, e.getMessage());
+        }
+    }
+
+    Path getDirectory(String version) {
+        return Paths.get(downloadPath, DIRECTORY, version);
+    }
+
+    private static Path reasonFile(Path htmlFile) {
+        return htmlFile.resolveSibling(htmlFile.getFileName().toString() + REASON_SUFFIX);
+    }
+
+    private static List<Path> relatedFiles(Path htmlFile) {
+        String baseName = htmlFile.getFileName().toString().replace("_root.html", "");
+        List<Path> files = new ArrayList<>();
+        files.add(htmlFile);
+        files.add(htmlFile.resolveSibling(baseName + ".csv"));
+        files.add(htmlFile.resolveSibling(baseName + "_root.txt"));
+        files.add(htmlFile.resolveSibling(baseName + TradeStore.FILE_SUFFIX));
+        return files;
+    }
+
+    private static Properties readReason(Path reasonFile) {
+        Properties props = new Properties();
+        if (Files.exists(reasonFile)) {
+            try (Reader reader = Files.newBufferedReader(reasonFile, StandardCharsets.UTF_8)) {
+                props.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Quarantäne-Grund {} nicht lesbar: {}", reasonFile, e.getMessage());
+            }
+        }
+        return props;
+    }
+}
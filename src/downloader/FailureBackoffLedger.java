@@ -0,0 +1,181 @@
+package downloader;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import utils.ProviderLedger;
+
+/**
+ * Fehlerliste der Provider, deren Download wiederholt scheitert (download/failureBackoff.txt).
+ *
+ * Manche Provider scheitern in jedem Lauf (kein Export-Link, Timeout im Trading-History-Tab,
+ * defekte Seite) und kosten jedes Mal bis zu 60 s Wartezeit plus Recovery. Ab dem zweiten
+ * Fehlschlag in Folge wird ein Provider für eine Wartezeit geparkt, die sich mit jedem weiteren
+ * Fehlschlag verdoppelt. Die Grundzeit hängt vom {@link SignalDownloader.ErrorType} ab:
+ * RECOVERABLE-Fehler (Timeouts, fehlende Elemente) sind oft vorübergehend und nutzen die
+ * einfache Grundzeit, NON_CRITICAL-Fehler (Seite ohne Export, unbrauchbare Seite) die doppelte.
+ * CRITICAL-Fehler betreffen die Verbindung, nicht den Provider, und werden nicht eingetragen.
+ * Ein erfolgreicher Download entfernt den Provider wieder.
+ *
+ * Format: eine Zeile je Provider,
+ * "version;providerId;fehlerTyp;fehlschläge;letzterFehlschlag;name;grund".
+ * MQL4- und MQL5-Download derselben JVM teilen sich eine Instanz je Download-Verzeichnis.
+ */
+final class FailureBackoffLedger extends ProviderLedger<FailureBackoffLedger.Entry> {
+
+    static final String FILE_NAME = "failureBackoff.txt";
+
+    private FailureBackoffLedger(Path file) {
+        super(file, "version;providerId;errorType;failures;lastFailure;name;reason", "Fehlerliste");
+    }
+
+    /**
+     * @param downloadPath Download-Verzeichnis (enthält mql4 und mql5)
+     * @return gemeinsame Instanz für dieses Verzeichnis
+     */
+    static FailureBackoffLedger forDownloadPath(String downloadPath) {
+        return forDownloadPath(downloadPath, FILE_NAME, FailureBackoffLedger.class, FailureBackoffLedger::new);
+    }
+
+    /**
+     * Fehlerstand eines Providers.
+     */
+    static final class Entry {
+        final String version;
+        final String providerId;
+        final SignalDownloader.ErrorType errorType;
+        final int failures;
+        final LocalDate lastFailure;
+        final String providerName;
+        final String reason;
+
+        Entry(String version, String providerId, SignalDownloader.ErrorType errorType, int failures,
+                LocalDate lastFailure, String providerName, String reason) {
+            this.version = version;
+            this.providerId = providerId;
+            this.errorType = errorType;
+            this.failures = failures;
+            this.lastFailure = lastFailure;
+            this.providerName = providerName;
+            this.reason = reason;
+        }
+
+        /**
+         * @param baseDays Grundzeit in Tagen
+         * @param maxDays  Obergrenze in Tagen
+         * @return Wartezeit nach dem letzten Fehlschlag in Tagen, 0 = sofort erneut versuchen
+         */
+        long backoffDays(int baseDays, int maxDays) {
+            if (failures < 2 || baseDays <= 0) {
+                return 0;
+            }
+            long base = errorType == SignalDownloader.ErrorType.NON_CRITICAL ? 2L * baseDays : baseDays;
+            // Verdopplung ab dem zweiten Fehlschlag, Exponent begrenzt gegen Überlauf
+            long days = base << Math.min(failures - 2, 20);
+            return Math.min(days, Math.max(maxDays, base));
+        }
+
+        LocalDate parkedUntil(int baseDays, int maxDays) {
+            return lastFailure.plusDays(backoffDays(baseDays, maxDays));
+        }
+    }
+
+    /**
+     * Trägt einen Fehlschlag ein und erhöht den Zähler des Providers.
+     *
+     * @param version "mql4" oder "mql5"
+     */
+    synchronized void recordFailure(String version, String providerId, String providerName,
+            SignalDownloader.ErrorType errorType, String reason) {
+        if (errorType == SignalDownloader.ErrorType.CRITICAL) {
+            return;
+        }
+        Entry previous = getEntry(key(version, providerId));
+        int failures = previous != null ? previous.failures + 1 : 1;
+        putEntry(new Entry(version, providerId, errorType, failures, LocalDate.now(), clean(providerName),
+                clean(reason)));
+    }
+
+    /**
+     * Entfernt einen Provider nach einem erfolgreichen Download.
+     */
+    synchronized void recordSuccess(String version, String providerId) {
+        removeEntry(key(version, providerId));
+    }
+
+    /**
+     * Prüft vor dem Besuch eines Providers, ob er noch geparkt ist.
+     *
+     * @param baseDays Grundzeit in Tagen, 0 = Fehlerliste nicht verwenden
+     * @param maxDays  Obergrenze der Wartezeit in Tagen
+     * @return Grund für das Überspringen oder null, wenn der Provider geladen werden soll
+     */
+    synchronized String checkSkip(String version, String providerId, int baseDays, int maxDays) {
+        if (baseDays <= 0) {
+            return null;
+        }
+        Entry entry = getEntry(key(version, providerId));
+        if (entry == null) {
+            return null;
+        }
+        LocalDate until = entry.parkedUntil(baseDays, maxDays);
+        if (!LocalDate.now().isBefore(until)) {
+            return null;
+        }
+        return String.format("%d Fehlschläge (%s: %s), geparkt bis %s",
+                entry.failures, entry.errorType, entry.reason, until);
+    }
+
+    /**
+     * @return aktuell geparkte Provider einer Version, die am längsten geparkten zuerst
+     */
+    synchronized List<Entry> getParked(String version, int baseDays, int maxDays) {
+        List<Entry> parked = new ArrayList<>();
+        if (baseDays <= 0) {
+            return parked;
+        }
+        LocalDate today = LocalDate.now();
+        for (Entry entry : entries()) {
+            if (entry.version.equals(version) && today.isBefore(entry.parkedUntil(baseDays, maxDays))) {
+                parked.add(entry);
+            }
+        }
+        parked.sort(Comparator.comparing((Entry entry) -> entry.parkedUntil(baseDays, maxDays)).reversed());
+        return parked;
+    }
+
+    synchronized Entry get(String version, String providerId) {
+        return getEntry(key(version, providerId));
+    }
+
+    @Override
+    protected Entry parse(String line) {
+        String[] parts = line.split(";", 7);
+        return new Entry(parts[0], parts[1], SignalDownloader.ErrorType.valueOf(parts[2]),
+                Integer.parseInt(parts[3]), LocalDate.parse(parts[4]),
+                parts.length > 5 ? parts[5] : "", parts.length > 6 ? parts[6] : "");
+    }
+
+    @Override
+    protected String format(Entry entry) {
+        return entry.version + ";" + entry.providerId + ";" + entry.errorType + ";"
+                + entry.failures + ";" + entry.lastFailure + ";" + entry.providerName + ";" + entry.reason;
+    }
+
+    @Override
+    protected String keyOf(Entry entry) {
+        return key(entry.version, entry.providerId);
+    }
+
+    /** Trennzeichen und Zeilenumbrüche aus freiem Text entfernen, Länge begrenzen */
+    private static String clean(String text) {
+        if (text == null) {
+            return "";
+        }
+        String cleaned = text.replaceAll("[;\\r\\n]+", " ").trim();
+        return cleaned.length() > 200 ? cleaned.substring(0, 200) : cleaned;
+    }
+}
@@ -0,0 +1,37 @@
+package downloader;
+
+import calculators.MPDDCalculator;
+import utils.HtmlDatabase;
+import utils.HtmlParser;
+
+/**
+ * Vorprüfung eines Providers direkt nach dem Laden der Root-Seite.
+ *
+ * Berechnet den 3MPDD mit demselben {@link MPDDCalculator} wie die Konvertierung, aber aus dem
+ * Seitenquelltext im Speicher. Liegt der Wert unter der Schwelle, lädt der Downloader die
+ * Trading History (CSV-Export) nicht mehr; die Konvertierung würde den Provider ohnehin löschen.
+ */
+final class MpddScreening {
+    private final HtmlParser htmlParser;
+    private final MPDDCalculator mpddCalculator;
+
+    MpddScreening(String downloadPath) {
+        this.htmlParser = new HtmlParser(downloadPath);
+        this.mpddCalculator = new MPDDCalculator(new HtmlDatabase(htmlParser));
+    }
+
+    /**
+     * @param htmlFile   Pfad der gespeicherten Root-Seite (Schlüssel im Cache)
+     * @param pageSource Seitenquelltext aus dem Browser
+     * @return 3MPDD des Providers
+     * @throws utils.ExtractionException wenn der Equity Drawdown fehlt
+     */
+    double calculate3MPDD(String htmlFile, String pageSource) {
+        htmlParser.putHtmlContent(htmlFile, pageSource);
+        try {
+            return mpddCalculator.calculate3MPDD(htmlFile);
+        } finally {
+            htmlParser.evictAll(htmlFile);
+        }
+    }
+}
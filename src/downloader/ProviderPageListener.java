@@ -0,0 +1,14 @@
+package downloader;
+
+import java.nio.file.Path;
+
+public interface ProviderPageListener {
+    /**
+     * Called when a signal provider has been downloaded completely (root page and, if available,
+     * trading history). The root page source is passed along so it does not have to be read again.
+     * 
+     * @param htmlFile The saved _root.html file
+     * @param pageSource The root page source as loaded by the browser
+     */
+    void onProviderPage(Path htmlFile, String pageSource);
+}
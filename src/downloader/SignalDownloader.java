@@ -1,14 +1,16 @@
 package downloader;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,7 +27,16 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import browser.WebDriverManager;
 import config.ConfigurationManager;
 import config.Credentials;
+import metrics.MetricsRegistry;
+import profiling.CsvWaitEvent;
+import profiling.PageLoadEvent;
+import profiling.ProviderDownloadEvent;
+import profiling.RecoveryEvent;
+import trades.TradeStore;
+import utils.HtmlPageEncoding;
 import utils.MqlDownloadProtokoll;
+import utils.ProviderCatalog;
+import utils.RejectionLedger;
 
 public class SignalDownloader {
     private WebDriver driver;
@@ -36,22 +47,36 @@ public class SignalDownloader {
     private String baseUrl;
     private static final Logger logger = LogManager.getLogger(SignalDownloader.class);
     private volatile boolean stopRequested;
-    private int providerCount = 0; // Fr Rckwrtskompatibilitt mit getMqlLimit() Prfungen
+    private int providerCount = 0; // Für Rückwärtskompatibilität mit getMqlLimit() Prüfungen
     private ProgressCallback progressCallback;
+    private ProviderPageListener providerPageListener;
+    private MpddScreening mpddScreening;
+    private final RejectionLedger rejectionLedger;
+    private final FailureBackoffLedger failureLedger;
+    private final ProviderCatalog providerCatalog;
+    
+    // Erster Fehlschlag beim aktuellen Provider, auch wenn der Teilschritt ihn nur protokolliert
+    private ErrorType providerFailureType;
+    private String providerFailureReason;
+    
+    // Erste Prozentangabe in einer Zeile der Listenseite (Wachstum)
+    private static final Pattern LIST_GROWTH_PATTERN = Pattern.compile("(-?\\d[\\d\\s\u00a0.,]*)\\s*%");
     private int consecutiveErrors = 0;
-    private static final int MAX_CONSECUTIVE_ERRORS = 5; // Erhht von 2 auf 5
+    private static final int MAX_CONSECUTIVE_ERRORS = 5; // Erhöht von 2 auf 5
     private MqlDownloadProtokoll downloadProtokoll;
+    /** Metriken dieses Downloads; je Lauf zurückgesetzt, parallele Versionen bleiben getrennt */
+    private final MetricsRegistry metrics = MetricsRegistry.newRun();
     
-    // NEUE Klassenvariablen fr korrekte Numerierung
+    // NEUE Klassenvariablen für korrekte Numerierung
     private int totalProvidersProcessed = 0;  // Gesamtzahl aller verarbeiteten Provider
     private int successfulDownloads = 0;      // Nur erfolgreich heruntergeladene
-    private int skippedProviders = 0;         // bersprungene Provider
+    private int skippedProviders = 0;         // Übersprungene Provider
     
-    // Fehlertypen fr bessere Klassifizierung
-    private enum ErrorType {
+    // Fehlertypen für bessere Klassifizierung (auch für die Fehlerliste)
+    enum ErrorType {
         CRITICAL,           // Sofortiger Stopp (Internetverbindung, schwerwiegende WebDriver-Fehler)
-        RECOVERABLE,        // Recovery mglich (Element nicht gefunden, Timeout)
-        NON_CRITICAL        // Weiter mit nchstem Provider (Einzelner Download-Fehler)
+        RECOVERABLE,        // Recovery möglich (Element nicht gefunden, Timeout)
+        NON_CRITICAL        // Weiter mit nächstem Provider (Einzelner Download-Fehler)
     }
 
     public SignalDownloader(WebDriver driver, ConfigurationManager configManager, Credentials credentials) throws IOException {
@@ -66,6 +91,9 @@ public class SignalDownloader {
         this.totalProvidersProcessed = 0;
         this.successfulDownloads = 0;
         this.skippedProviders = 0;
+        this.rejectionLedger = RejectionLedger.forDownloadPath(configManager.getDownloadRootPath());
+        this.failureLedger = FailureBackoffLedger.forDownloadPath(configManager.getDownloadRootPath());
+        this.providerCatalog = ProviderCatalog.forDownloadPath(configManager.getDownloadRootPath());
     }
 
     public void setStopFlag(boolean stopRequested) {
@@ -78,6 +106,13 @@ public class SignalDownloader {
         }
     }
 
+    /**
+     * @return aktueller WebDriver; nach einer Recovery nicht mehr der übergebene
+     */
+    public WebDriver getDriver() {
+        return driver;
+    }
+
     public void setProgressCallback(ProgressCallback callback) {
         this.progressCallback = callback;
     }
@@ -86,6 +121,14 @@ public class SignalDownloader {
         this.downloadProtokoll = protokoll;
     }
 
+    /**
+     * Listener, der jeden vollständig geladenen Provider samt Seitenquelltext erhält
+     * (z.B. die Konvertierungs-Pipeline); null = keiner.
+     */
+    public void setProviderPageListener(ProviderPageListener listener) {
+        this.providerPageListener = listener;
+    }
+
     /**
      * KORRIGIERTE Fortschritts-Update-Methode mit korrekter Numerierung
      */
@@ -94,29 +137,27 @@ public class SignalDownloader {
         
         if (isSuccessful) {
             successfulDownloads++;
-        } else if (action.contains("BERSPRUNGEN")) {
+            metrics.counter("download.providers.success").inc();
+        } else if (action.contains("ÜBERSPRUNGEN")) {
             skippedProviders++;
+            metrics.counter("download.providers.skipped").inc();
+        } else {
+            metrics.counter("download.providers.failed").inc();
         }
         
         // Einheitliche Log-Nachricht mit korrekter Numerierung
-        logger.info("Fortschritt MQL{}: {}/{} Provider verarbeitet - Provider #{}: '{}' - {} (Erfolgreich: {}, bersprungen: {})", 
+        logger.info("Fortschritt MQL{}: {}/{} Provider verarbeitet - Provider #{}: '{}' - {} (Erfolgreich: {}, Übersprungen: {})", 
                    configManager.getMqlVersion().contains("4") ? "4" : "5",
                    totalProvidersProcessed, getMqlLimit(), totalProvidersProcessed, providerName, action,
                    successfulDownloads, skippedProviders);
         
-        // KORRIGIERT: Verwende sanften Flush statt problematischen flushAllLogs()
-        // Nur alle 10 Provider einen sanften Flush durchfhren
-        if (totalProvidersProcessed % 10 == 0) {
-            logging.LoggerManager.gentleFlush();
-        }
-        
         if (progressCallback != null) {
             progressCallback.onProgress(totalProvidersProcessed);
         }
     }
 
     /**
-     * berladene Methode fr Rckwrtskompatibilitt
+     * Überladene Methode für Rückwärtskompatibilität
      */
   
 
@@ -129,7 +170,7 @@ public class SignalDownloader {
     }
 
     private void updateBaseUrl(String version) {
-        this.baseUrl = String.format("https://www.mql5.com/en/signals/%s/list", version);
+        this.baseUrl = configManager.getListUrl(version);
     }
 
     /**
@@ -145,12 +186,12 @@ public class SignalDownloader {
                 Thread.sleep(getRandomWaitTime());
             }
             
-            // Verschiedene Selektoren fr Pagination-Elemente
+            // Verschiedene Selektoren für Pagination-Elemente
             List<String> paginationSelectors = Arrays.asList(
                 ".paging a",                      // Standard Pagination Links
                 "a.paging__link",                 // Alternative Klasse
                 ".pagination a",                  // Alternative Pagination
-                "[class*='paging'] a",            // Beliebige Klasse die 'paging' enthlt
+                "[class*='paging'] a",            // Beliebige Klasse die 'paging' enthält
                 "a[href*='/page']"                // Links die '/page' enthalten
             );
             
@@ -204,7 +245,7 @@ public class SignalDownloader {
             if (!paginationFound) {
                 logger.warn("Keine Pagination-Elemente gefunden, versuche alternative Methode...");
                 
-                // Suche nach dem "Last Page" Link oder hnlichem
+                // Suche nach dem "Last Page" Link oder ähnlichem
                 try {
                     // Suche nach dem letzten numerischen Link
                     List<WebElement> allLinks = driver.findElements(By.tagName("a"));
@@ -240,7 +281,7 @@ public class SignalDownloader {
             
         } catch (Exception e) {
             logger.error("Fehler beim Ermitteln der maximalen Seitenzahl: {}", e.getMessage(), e);
-            // Im Fehlerfall geben wir 0 zurck, was bedeutet, dass die alte Logik verwendet wird
+            // Im Fehlerfall geben wir 0 zurück, was bedeutet, dass die alte Logik verwendet wird
             return 0;
         }
     }
@@ -250,14 +291,14 @@ public class SignalDownloader {
      */
     public void startDownloadProcess() {
         try {
-            // Reset der Zhler bei Start
+            // Reset der Zähler bei Start
             totalProvidersProcessed = 0;
             successfulDownloads = 0;
             skippedProviders = 0;
-            providerCount = 0; // Fr Rckwrtskompatibilitt mit getMqlLimit() Prfungen
+            providerCount = 0; // Für Rückwärtskompatibilität mit getMqlLimit() Prüfungen
+            metrics.reset();
             
-            logger.info("=== DOWNLOAD-PROZESS GESTARTET fr {} ===", configManager.getMqlVersion().toUpperCase());
-            logging.LoggerManager.flushAllLogs();
+            logger.info("=== DOWNLOAD-PROZESS GESTARTET für {} ===", configManager.getMqlVersion().toUpperCase());
             
             if (!stopRequested) performLogin();
             if (!stopRequested) processSignalProviders();
@@ -283,7 +324,7 @@ public class SignalDownloader {
             logger.info("=== DOWNLOAD-PROZESS BEENDET ===");
             logger.info("Gesamte Provider verarbeitet: {}", totalProvidersProcessed);
             logger.info("Erfolgreich heruntergeladen: {}", successfulDownloads);
-            logger.info("bersprungen: {}", skippedProviders);
+            logger.info("Übersprungen: {}", skippedProviders);
             logger.info("Fehlgeschlagen: {}", totalProvidersProcessed - successfulDownloads - skippedProviders);
             
             // WebDriver cleanup
@@ -291,16 +332,22 @@ public class SignalDownloader {
                 logger.info("Bereinige WebDriver-Session...");
                 webDriverManager.cleanupSession();
             }
+
+            // Kein expliziter Log-Flush: die Appender flushen selbst (sofort bzw. am Stapelende
+            // des asynchronen Appenders) und beim Beenden der JVM
             
-            // KORRIGIERT: Verwende sanften Flush statt aggressiven flushAllLogs()
-            logger.info("Fhre sanften Log-Flush durch...");
-            logging.LoggerManager.gentleFlush();
+            // Vergleichswerte der Listenseite für abgelehnte Provider sichern
+            rejectionLedger.flush();
             
-            // Kurz warten damit alle Writes abgeschlossen sind
-            Thread.sleep(100);
+            // Wiederholt fehlschlagende Provider zusammenfassen und Fehlerliste sichern
+            logParkedProviders();
+            failureLedger.flush();
             
-            // Nochmaliger sanfter Flush
-            logging.LoggerManager.gentleFlush();
+            // Neu geladene Dateien im Provider-Katalog sichern
+            providerCatalog.flush();
+            
+            // Metrik-Schnappschuss des Laufs neben die Logs schreiben
+            metrics.writeSnapshot(Paths.get(configManager.getLogDirPath()), "download_" + configManager.getMqlVersion());
             
             logger.info("Cleanup abgeschlossen - Logger bleiben stabil aktiv");
             
@@ -308,9 +355,9 @@ public class SignalDownloader {
             System.err.println("Fehler beim Cleanup: " + e.getMessage());
             e.printStackTrace();
             
-            // Notfall-Flush auch bei Fehlern - aber sanft
+            // Notfall-Flush bei Fehlern
             try {
-                logging.LoggerManager.gentleFlush();
+                logging.LoggerManager.flushAllLogs();
             } catch (Exception flushError) {
                 System.err.println("Notfall-Flush fehlgeschlagen: " + flushError.getMessage());
             }
@@ -320,8 +367,9 @@ public class SignalDownloader {
     private void performLogin() {
         logger.info("Starte Anmeldeprozess...");
         
+        long loginStart = System.nanoTime();
         try {
-            driver.get("https://www.mql5.com/en/auth_login");
+            driver.get(configManager.getLoginUrl());
 
             WebElement usernameField = wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("Login")));
             WebElement passwordField = driver.findElement(By.id("Password"));
@@ -341,6 +389,8 @@ public class SignalDownloader {
                 logger.error("Fehler beim Login - versuche Recovery: {}", e.getMessage());
                 throw new RuntimeException("Login fehlgeschlagen", e);
             }
+        } finally {
+            metrics.recordSince("download.login", loginStart);
         }
     }
 
@@ -382,7 +432,7 @@ public class SignalDownloader {
         boolean hasNextPage = true;
         int mqlLimit = getMqlLimit(); // Hole das konfigurierte Limit
         
-        logger.info("Starte Download-Prozess fr {} - Limit: {} Provider", 
+        logger.info("Starte Download-Prozess für {} - Limit: {} Provider", 
                    configManager.getMqlVersion().toUpperCase(), mqlLimit);
 
         // Log start in protocol
@@ -395,17 +445,24 @@ public class SignalDownloader {
         // NEUE LOGIK: Ermittle maximale Seitenzahl
         int maxPageNumber = 0;
         try {
-            // Lade erste Seite fr Pagination-Analyse
-            driver.get(baseUrl);
+            // Lade erste Seite für Pagination-Analyse
+            PageLoadEvent pageEvent = PageLoadEvent.begin("list", baseUrl, null, configManager.getMqlVersion());
+            long listPageStart = System.nanoTime();
+            try {
+                driver.get(baseUrl);
+            } finally {
+                metrics.recordSince("download.list_page", listPageStart);
+                pageEvent.finish();
+            }
             Thread.sleep(getRandomWaitTime());
             maxPageNumber = getMaxPageNumber();
         } catch (Exception e) {
             logger.warn("Fehler beim Ermitteln der maximalen Seitenzahl: {}", e.getMessage());
-            // Fahre mit alter Logik fort, wenn Pagination-Erkennung fehlschlgt
+            // Fahre mit alter Logik fort, wenn Pagination-Erkennung fehlschlägt
         }
 
         while (hasNextPage && !stopRequested && totalProvidersProcessed < mqlLimit) {
-            // NEUE LOGIK: Prfe ob maximale Seitenzahl erreicht wurde
+            // NEUE LOGIK: Prüfe ob maximale Seitenzahl erreicht wurde
             if (maxPageNumber > 0 && currentPage > maxPageNumber) {
                 logger.info("Maximale Seitenzahl ({}) erreicht - beende Download-Prozess", maxPageNumber);
                 hasNextPage = false;
@@ -420,7 +477,7 @@ public class SignalDownloader {
                            totalProvidersProcessed, 
                            mqlLimit);
                 
-                // NEUE LOGIK: Prfe ob Seite Provider enthlt
+                // NEUE LOGIK: Prüfe ob Seite Provider enthält
                 boolean pageHasProviders = processSignalProvidersPage(pageUrl);
                 
                 if (!pageHasProviders) {
@@ -438,9 +495,9 @@ public class SignalDownloader {
                     downloadProtokoll.logPageProgress(mqlVersionForLog, currentPage - 1, 0, totalProvidersProcessed);
                 }
                 
-                // Prfe Limit nach jeder Seite
+                // Prüfe Limit nach jeder Seite
                 if (totalProvidersProcessed >= mqlLimit) {
-                    logger.info("LIMIT ERREICHT: {} von {} Providern verarbeitet fr {}", 
+                    logger.info("LIMIT ERREICHT: {} von {} Providern verarbeitet für {}", 
                                totalProvidersProcessed, mqlLimit, configManager.getMqlVersion().toUpperCase());
                     break;
                 }
@@ -470,15 +527,15 @@ public class SignalDownloader {
                         currentPage, consecutiveErrors, MAX_CONSECUTIVE_ERRORS, e.getMessage()));
                 }
                 
-                // Prfe ob Ende der Seiten erreicht
+                // Prüfe ob Ende der Seiten erreicht
                 if (e.getMessage().equals("Keine Signal-Provider gefunden")) {
-                    logger.info("Keine weiteren Signalprovider auf Seite {} gefunden - regulres Ende", currentPage);
+                    logger.info("Keine weiteren Signalprovider auf Seite {} gefunden - reguläres Ende", currentPage);
                     hasNextPage = false;
-                    consecutiveErrors = 0; // Reset, da es sich um ein regulres Ende handelt
+                    consecutiveErrors = 0; // Reset, da es sich um ein reguläres Ende handelt
                     continue;
                 }
                 
-                // Prfe Limit fr aufeinanderfolgende Fehler
+                // Prüfe Limit für aufeinanderfolgende Fehler
                 if (consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
                     logger.error("Zu viele aufeinanderfolgende Fehler ({} von {}). Beende Download-Prozess.", 
                                consecutiveErrors, MAX_CONSECUTIVE_ERRORS);
@@ -491,7 +548,7 @@ public class SignalDownloader {
                     throw e;
                 }
                 
-                // Versuche Recovery bei recovery-fhigen Fehlern
+                // Versuche Recovery bei recovery-fähigen Fehlern
                 if (errorType == ErrorType.RECOVERABLE) {
                     logger.info("Versuche Recovery nach Fehler bei Seite {}", currentPage);
                     boolean recovered = attemptRecovery(e);
@@ -507,11 +564,11 @@ public class SignalDownloader {
                         // Seite wiederholen ohne Increment
                         continue;
                     } else {
-                        logger.warn("Recovery fehlgeschlagen, berspringe Seite {}", currentPage);
+                        logger.warn("Recovery fehlgeschlagen, überspringe Seite {}", currentPage);
                     }
                 }
                 
-                // Warte vor dem nchsten Versuch
+                // Warte vor dem nächsten Versuch
                 try {
                     Thread.sleep(getRandomWaitTime());
                 } catch (InterruptedException ie) {
@@ -519,7 +576,7 @@ public class SignalDownloader {
                     break;
                 }
                 
-                // Gehe zur nchsten Seite ber
+                // Gehe zur nächsten Seite über
                 currentPage++;
             }
         }
@@ -534,7 +591,7 @@ public class SignalDownloader {
             String mqlVersionForLog = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
             downloadProtokoll.logSystemEvent(mqlVersionForLog, "DOWNLOAD BEENDET", reason);
             
-            // Verwende die tatschlichen Statistiken
+            // Verwende die tatsächlichen Statistiken
             downloadProtokoll.logFinalStatistics(mqlVersionForLog, totalProvidersProcessed, 
                                                 successfulDownloads, skippedProviders, 
                                                 totalProvidersProcessed - successfulDownloads - skippedProviders, 
@@ -543,19 +600,27 @@ public class SignalDownloader {
     }
     
     /**
-     * ERWEITERTE processSignalProvidersPage Methode die boolean zurckgibt
+     * ERWEITERTE processSignalProvidersPage Methode die boolean zurückgibt
      */
     private boolean processSignalProvidersPage(String pageUrl) {
         if (stopRequested) return false;
 
         try {
-            driver.get(pageUrl);
+            PageLoadEvent pageEvent = PageLoadEvent.begin("list", pageUrl, null, configManager.getMqlVersion());
+            long listPageStart = System.nanoTime();
+            try {
+                driver.get(pageUrl);
+            } finally {
+                metrics.recordSince("download.list_page", listPageStart);
+                pageEvent.finish();
+            }
+            metrics.gauge("download.current_page").set(parsePageNumber(pageUrl));
             
             // Warte auf Seitenladung mit robusten Selektoren
             boolean pageLoaded = waitForPageElements();
             
             if (!pageLoaded) {
-                logger.warn("Seite konnte nicht geladen werden oder keine Signal-Provider gefunden fr: {}", pageUrl);
+                logger.warn("Seite konnte nicht geladen werden oder keine Signal-Provider gefunden für: {}", pageUrl);
                 return false;
             }
 
@@ -572,15 +637,19 @@ public class SignalDownloader {
             int mqlLimit = getMqlLimit();
             
             for (int i = 0; i < providerLinks.size() && !stopRequested; i++) {
-                // Prfe Limit vor jedem Provider
+                // Prüfe Limit vor jedem Provider
                 if (totalProvidersProcessed >= mqlLimit) {
                     logger.info("LIMIT ERREICHT: {} Provider verarbeitet von maximal {}", totalProvidersProcessed, mqlLimit);
                     break;
                 }
                 
+                long providerStart = System.nanoTime();
                 try {
                     processSignalProvider(pageUrl, i);
+                    metrics.recordSince("download.provider", providerStart);
                 } catch (Exception e) {
+                    // Dauer ohne die anschließende Recovery
+                    metrics.recordSince("download.provider", providerStart);
                     if (!stopRequested) {
                         ErrorType errorType = classifyError(e);
                         handleProviderError(pageUrl, i, e, errorType);
@@ -620,7 +689,7 @@ public class SignalDownloader {
                 logger.debug("Seite geladen, Elemente gefunden mit Selektor: {}", selector);
                 return true;
             } catch (TimeoutException e) {
-                logger.debug("Timeout mit Selektor {}, versuche nchsten", selector);
+                logger.debug("Timeout mit Selektor {}, versuche nächsten", selector);
             }
         }
 
@@ -658,12 +727,18 @@ public class SignalDownloader {
     }
 
     /**
-     * Klassifiziert Fehler nach Schweregrad und Recovery-Mglichkeit
+     * Klassifiziert Fehler nach Schweregrad und Recovery-Möglichkeit
      */
     private ErrorType classifyError(Exception e) {
         String message = e.getMessage().toLowerCase();
         String className = e.getClass().getSimpleName().toLowerCase();
 
+        ErrorType errorType = classifyErrorType(message, className);
+        metrics.counter("download.errors." + errorType.name().toLowerCase()).inc();
+        return errorType;
+    }
+
+    private ErrorType classifyErrorType(String message, String className) {
         // Kritische Fehler - sofortiger Stopp
         if (message.contains("no internet") ||
             message.contains("network is unreachable") ||
@@ -676,7 +751,7 @@ public class SignalDownloader {
             return ErrorType.CRITICAL;
         }
 
-        // Recovery-fhige Fehler
+        // Recovery-fähige Fehler
         if (message.contains("timeout") ||
             message.contains("no such element") ||
             message.contains("element not found") ||
@@ -704,11 +779,11 @@ public class SignalDownloader {
                 throw new RuntimeException("Kritischer Fehler", e);
                 
             case RECOVERABLE:
-                logger.warn("RECOVERY-FHIGER FEHLER - {}", errorMsg);
-                // Versuche Recovery, aber zhle als Fehler
+                logger.warn("RECOVERY-FÄHIGER FEHLER - {}", errorMsg);
+                // Versuche Recovery, aber zähle als Fehler
                 boolean recovered = attemptRecovery(e);
                 if (!recovered) {
-                    logger.error("Recovery fehlgeschlagen fr Provider {}", providerIndex);
+                    logger.error("Recovery fehlgeschlagen für Provider {}", providerIndex);
                 }
                 break;
                 
@@ -721,9 +796,10 @@ public class SignalDownloader {
     }
 
     /**
-     * Versucht Recovery von recovery-fhigen Fehlern
+     * Versucht Recovery von recovery-fähigen Fehlern
      */
     private boolean attemptRecovery(Exception e) {
+        RecoveryEvent recoveryEvent = RecoveryEvent.begin(configManager.getMqlVersion(), e.getMessage());
         try {
             logger.info("Versuche Recovery von Fehler: {}", e.getMessage());
             
@@ -739,28 +815,32 @@ public class SignalDownloader {
                     
                     // Re-login nach WebDriver Recovery
                     performLogin();
+                    recoveryEvent.finish(true, true);
                     return true;
                 } else {
                     logger.error("WebDriver-Recovery fehlgeschlagen");
+                    recoveryEvent.finish(true, false);
                     return false;
                 }
             }
             
             // Einfache Recovery: Seite neu laden
-            logger.info("Lade aktuelle Seite neu fr Recovery...");
+            logger.info("Lade aktuelle Seite neu für Recovery...");
             driver.navigate().refresh();
             Thread.sleep(getRandomWaitTime());
             
+            recoveryEvent.finish(false, true);
             return true;
             
         } catch (Exception recoveryEx) {
             logger.error("Recovery-Versuch fehlgeschlagen: {}", recoveryEx.getMessage());
+            recoveryEvent.finish(false, false);
             return false;
         }
     }
 
     /**
-     * Prft, ob die Dateien fr einen bestimmten Provider krzlich heruntergeladen wurden
+     * Prüft, ob die Dateien für einen bestimmten Provider kürzlich heruntergeladen wurden
      * basierend auf dem konfigurierten Alter in Tagen.
      * 
      * @param providerId Die ID des Providers
@@ -768,63 +848,49 @@ public class SignalDownloader {
      * @return true, wenn die Dateien innerhalb der konfigurierten Tage heruntergeladen wurden
      */
     private boolean isFileRecentlyDownloaded(String providerId, String providerName) {
-        String targetPath = configManager.getCurrentDownloadPath();
         String safeProviderName = providerName.replaceAll("[\\/:*?\"<>|\\s]+", "_");
+        String mqlVersion = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
         
-        // berprfe die HTML-Datei
-        String htmlFileName = String.format("%s_%s_root.html", safeProviderName, providerId);
-        File htmlFile = new File(targetPath, htmlFileName);
-        
-        // berprfe die CSV-Datei (knnte mehrere Dateien mit diesem Prfix geben)
-        File[] csvFiles = new File(targetPath).listFiles((dir, name) -> 
-            name.startsWith(safeProviderName) && name.endsWith(".csv"));
+        // HTML- und CSV-Datei aus dem Provider-Katalog statt aus dem Verzeichnis
+        ProviderCatalog.Entry entry = providerCatalog.get(mqlVersion, safeProviderName, providerId);
         
-        // Wenn beide Dateien existieren, prfe ihr Alter
-        if (htmlFile.exists() && csvFiles != null && csvFiles.length > 0) {
+        // Wenn beide Dateien existieren, prüfe ihr Alter
+        if (entry != null && entry.getHtml() != null && entry.getCsv() != null) {
             // Konfigurierte Tage aus den Einstellungen abrufen
             int configuredDays = configManager.getDownloadDays();
             
             // Wenn 0 Tage konfiguriert sind, immer neu herunterladen
             if (configuredDays == 0) {
-                logger.debug("Konfigurierte Tage ist 0, lade Dateien fr Provider {} neu herunter", providerName);
+                logger.debug("Konfigurierte Tage ist 0, lade Dateien für Provider {} neu herunter", providerName);
                 return false;
             }
             
             long currentTime = System.currentTimeMillis();
             long configuredDaysInMillis = configuredDays * 24 * 60 * 60 * 1000L; // Konfigurierte Tage in Millisekunden
             
-            long htmlFileAge = currentTime - htmlFile.lastModified();
+            long htmlFileAge = currentTime - entry.getHtml().getLastModified();
+            long csvFileAge = currentTime - entry.getCsv().getLastModified();
             
-            // Finde die jngste CSV-Datei
-            long youngestCsvFileAge = Long.MAX_VALUE;
-            for (File csvFile : csvFiles) {
-                long age = currentTime - csvFile.lastModified();
-                if (age < youngestCsvFileAge) {
-                    youngestCsvFileAge = age;
-                }
-            }
-            
-            // Wenn beide Dateien jnger als die konfigurierten Tage sind
-            boolean result = (htmlFileAge < configuredDaysInMillis && youngestCsvFileAge < configuredDaysInMillis);
+            // Wenn beide Dateien jünger als die konfigurierten Tage sind
+            boolean result = (htmlFileAge < configuredDaysInMillis && csvFileAge < configuredDaysInMillis);
             if (result) {
-                logger.debug("Provider {} Dateien sind jnger als {} Tage, berspringe", 
+                logger.debug("Provider {} Dateien sind jünger als {} Tage, überspringe", 
                     providerName, configuredDays);
                 
-                // Protokolliere das berspringen
+                // Protokolliere das Überspringen
                 if (downloadProtokoll != null) {
-                    String mqlVersion = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
                     downloadProtokoll.logSkipped(mqlVersion, providerName, 
-                        "Dateien sind jnger als " + configuredDays + " Tage");
+                        "Dateien sind jünger als " + configuredDays + " Tage");
                 }
             } else {
-                logger.debug("Provider {} Dateien sind lter als {} Tage, lade neu herunter", 
+                logger.debug("Provider {} Dateien sind älter als {} Tage, lade neu herunter", 
                     providerName, configuredDays);
             }
             return result;
         }
         
         // Wenn eine der Dateien nicht existiert, muss heruntergeladen werden
-        logger.debug("Eine oder beide Dateien fr Provider {} existieren nicht, lade herunter", providerName);
+        logger.debug("Eine oder beide Dateien für Provider {} existieren nicht, lade herunter", providerName);
         return false;
     }
 
@@ -836,11 +902,15 @@ public class SignalDownloader {
 
         String providerName = "Unbekannt";
         String providerId = "0";
+        ProviderDownloadEvent downloadEvent = null;
+        String outcome = "FAILED";
+        providerFailureType = null;
+        providerFailureReason = null;
         
         try {
             List<WebElement> providerLinks = findProviderLinks();
             if (index >= providerLinks.size() || stopRequested) {
-                logger.debug("Provider-Index {} auerhalb der Grenzen ({}) oder Stop angefordert", index, providerLinks.size());
+                logger.debug("Provider-Index {} außerhalb der Grenzen ({}) oder Stop angefordert", index, providerLinks.size());
                 return;
             }
 
@@ -853,14 +923,15 @@ public class SignalDownloader {
             if (providerId.contains("?")) {
                 providerId = providerId.substring(0, providerId.indexOf("?"));
             }
+            downloadEvent = ProviderDownloadEvent.begin(providerId, providerName, configManager.getMqlVersion());
 
-            // FORTLAUFENDE NUMERIERUNG: Verwende totalProvidersProcessed fr die globale Nummer
+            // FORTLAUFENDE NUMERIERUNG: Verwende totalProvidersProcessed für die globale Nummer
             int globalProviderNumber = totalProvidersProcessed;
 
             logger.info("STARTE Provider: '{}' (ID: {}) - Fortlaufende Nr. {} (Index {} auf Seite)", 
                        providerName, providerId, globalProviderNumber + 1, index);
 
-            // Bestimme die aktuelle MQL-Version fr das Protokoll
+            // Bestimme die aktuelle MQL-Version für das Protokoll
             String mqlVersion = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
             
             // Protokolliere den Versuch mit FORTLAUFENDER NUMMER
@@ -868,48 +939,94 @@ public class SignalDownloader {
                 downloadProtokoll.logAttempt(mqlVersion, providerName, providerId, globalProviderNumber);
             }
 
-            // Prfe, ob Dateien krzlich heruntergeladen wurden
+            // Von der Konvertierung abgelehnte Provider erst nach der Abklingzeit erneut laden
+            if (rejectionLedger.get(mqlVersion, providerId) != null) {
+                String rejectionReason = rejectionLedger.checkSkip(mqlVersion, providerId, readListGrowth(link),
+                        configManager.getRejectionCooldownDays(), configManager.getRejectionRecheckGrowth());
+                if (rejectionReason != null) {
+                    updateProgress(providerName, "ÜBERSPRUNGEN (" + rejectionReason + ")", false);
+                    metrics.counter("download.providers.rejected_skipped").inc();
+                    if (downloadProtokoll != null) {
+                        downloadProtokoll.logSkipped(mqlVersion, providerName, rejectionReason, globalProviderNumber);
+                    }
+                    outcome = "SKIPPED";
+                    return;
+                }
+            }
+
+            // Wiederholt fehlschlagende Provider bis zum Ende ihrer Wartezeit auslassen
+            String backoffReason = failureLedger.checkSkip(mqlVersion, providerId,
+                    configManager.getFailureBackoffDays(), configManager.getFailureBackoffMaxDays());
+            if (backoffReason != null) {
+                updateProgress(providerName, "ÜBERSPRUNGEN (" + backoffReason + ")", false);
+                metrics.counter("download.providers.backoff_skipped").inc();
+                if (downloadProtokoll != null) {
+                    downloadProtokoll.logSkipped(mqlVersion, providerName, backoffReason, globalProviderNumber);
+                }
+                outcome = "SKIPPED";
+                return;
+            }
+
+            // Prüfe, ob Dateien kürzlich heruntergeladen wurden
             if (isFileRecentlyDownloaded(providerId, providerName)) {
-                // KORRIGIERTE Fortschrittsanzeige fr bersprungene Provider
-                updateProgress(providerName, "BERSPRUNGEN (Dateien jnger als " + configManager.getDownloadDays() + " Tage)", false);
+                // KORRIGIERTE Fortschrittsanzeige für übersprungene Provider
+                updateProgress(providerName, "ÜBERSPRUNGEN (Dateien jünger als " + configManager.getDownloadDays() + " Tage)", false);
                 
-                // Protokolliere das berspringen mit FORTLAUFENDER NUMMER
+                // Protokolliere das Überspringen mit FORTLAUFENDER NUMMER
                 if (downloadProtokoll != null) {
                     downloadProtokoll.logSkipped(mqlVersion, providerName, 
-                        "Dateien sind jnger als " + configManager.getDownloadDays() + " Tage", globalProviderNumber);
+                        "Dateien sind jünger als " + configManager.getDownloadDays() + " Tage", globalProviderNumber);
                 }
+                outcome = "SKIPPED";
                 return;
             }
 
             // Versuche Root Page zu downloaden
+            RootPage rootPage = null;
             try {
-                logger.debug("Lade Root-Seite fr Provider: {}", providerName);
-                downloadProviderRootPage(providerUrl, providerId, providerName);
-                logger.debug("Root-Seite erfolgreich fr Provider: {}", providerName);
+                logger.debug("Lade Root-Seite für Provider: {}", providerName);
+                rootPage = downloadProviderRootPage(providerUrl, providerId, providerName);
+                logger.debug("Root-Seite erfolgreich für Provider: {}", providerName);
             } catch (RuntimeException e) {
                 // Wenn kritischer Fehler, weiterwerfen
                 if (e.getMessage().contains("Kritischer Fehler")) {
                     throw e;
                 }
-                logger.warn("Root Page Download fehlgeschlagen fr '{}', berspringe Trading History", providerName);
+                logger.warn("Root Page Download fehlgeschlagen für '{}', überspringe Trading History", providerName);
             }
             
-            if (!stopRequested) {
+            // Vorprüfung: 3MPDD aus der Root-Seite im Speicher, NaN = nicht geprüft
+            double screened3Mpdd = screenRootPage(rootPage, providerName);
+            double screeningThreshold = configManager.getEarlyScreeningMin3Mpdd();
+            
+            if (!stopRequested && screened3Mpdd < screeningThreshold) {
+                // Trading History (CSV-Export) sparen, die Konvertierung löscht den Provider ohnehin
+                String reason = String.format("3MPDD %.2f < %.2f - Trading History nicht geladen", 
+                                              screened3Mpdd, screeningThreshold);
+                logger.info("Provider '{}' unter der 3MPDD-Schwelle: {}", providerName, reason);
+                metrics.counter("download.providers.screened").inc();
+                updateProgress(providerName, "ÜBERSPRUNGEN (" + reason + ")", false);
+                if (downloadProtokoll != null) {
+                    downloadProtokoll.logSkipped(mqlVersion, providerName, reason, globalProviderNumber);
+                }
+                outcome = "SCREENED";
+            } else if (!stopRequested) {
                 // Versuche Trading History zu downloaden
                 try {
-                    logger.debug("Lade Trading History fr Provider: {}", providerName);
+                    logger.debug("Lade Trading History für Provider: {}", providerName);
                     downloadTradeHistory(providerUrl, providerName);
-                    logger.debug("Trading History erfolgreich fr Provider: {}", providerName);
+                    logger.debug("Trading History erfolgreich für Provider: {}", providerName);
                 } catch (RuntimeException e) {
                     // Wenn kritischer Fehler, weiterwerfen
                     if (e.getMessage().contains("Kritischer Fehler")) {
                         throw e;
                     }
-                    logger.warn("Trading History Download fehlgeschlagen fr '{}'", providerName);
+                    logger.warn("Trading History Download fehlgeschlagen für '{}'", providerName);
                 }
                 
-                // KORRIGIERTE Fortschrittsanzeige fr erfolgreich verarbeitete Provider
+                // KORRIGIERTE Fortschrittsanzeige für erfolgreich verarbeitete Provider
                 updateProgress(providerName, "ERFOLGREICH HERUNTERGELADEN", true);
+                outcome = "SUCCESS";
                 
                 // Protokolliere den erfolgreichen Download mit FORTLAUFENDER NUMMER
                 if (downloadProtokoll != null) {
@@ -918,8 +1035,22 @@ public class SignalDownloader {
             }
             
             if (!stopRequested) {
-                logger.debug("Kehre zur bersichtsseite zurck");
-                driver.get(pageUrl);
+                // Seite direkt aus dem Speicher weiterreichen, solange der Crawl weiterläuft
+                if (providerPageListener != null && rootPage != null) {
+                    providerPageListener.onProviderPage(rootPage.htmlFile.toPath(), rootPage.pageSource);
+                }
+            }
+            
+            if (!stopRequested) {
+                logger.debug("Kehre zur Übersichtsseite zurück");
+                PageLoadEvent pageEvent = PageLoadEvent.begin("list", pageUrl, null, configManager.getMqlVersion());
+                long listPageStart = System.nanoTime();
+                try {
+                    driver.get(pageUrl);
+                } finally {
+                    metrics.recordSince("download.list_page", listPageStart);
+                    pageEvent.finish();
+                }
             }
             
         } catch (Exception e) {
@@ -932,19 +1063,21 @@ public class SignalDownloader {
                     throw new RuntimeException("Kritischer Provider-Fehler", e);
                 }
                 
+                noteProviderFailure(errorType, e.getMessage());
+                
                 // FORTLAUFENDE NUMERIERUNG auch in Fehlermeldungen
                 int globalProviderNumber = totalProvidersProcessed;
                 String errorMsg = "Fehler beim Verarbeiten von Provider '" + providerName + "' (ID: " + providerId + ", Fortlaufende Nr. " + (globalProviderNumber + 1) + "): " + e.getMessage();
                 
                 switch (errorType) {
                     case RECOVERABLE:
-                        logger.warn("RECOVERY-FHIGER FEHLER - {}", errorMsg);
+                        logger.warn("RECOVERY-FÄHIGER FEHLER - {}", errorMsg);
                         // Protokolliere den Fehlschlag mit FORTLAUFENDER NUMMER
                         if (downloadProtokoll != null) {
                             String mqlVersionForLog = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
-                            downloadProtokoll.logFailure(mqlVersionForLog, providerName, "Recovery-fhiger Fehler: " + e.getMessage(), globalProviderNumber);
+                            downloadProtokoll.logFailure(mqlVersionForLog, providerName, "Recovery-fähiger Fehler: " + e.getMessage(), globalProviderNumber);
                         }
-                        throw e; // Weiterwerfen fr Recovery in hherer Ebene
+                        throw e; // Weiterwerfen für Recovery in höherer Ebene
                         
                     case NON_CRITICAL:
                     default:
@@ -955,17 +1088,131 @@ public class SignalDownloader {
                             downloadProtokoll.logFailure(mqlVersionForLog, providerName, "Nicht-kritischer Fehler: " + e.getMessage(), globalProviderNumber);
                         }
                         
-                        // KORRIGIERTE Fortschrittsanzeige fr fehlgeschlagene Provider
+                        // KORRIGIERTE Fortschrittsanzeige für fehlgeschlagene Provider
                         updateProgress(providerName, "FEHLGESCHLAGEN (" + e.getMessage() + ")", false);
-                        // Nicht weiterwerfen - mit nchstem Provider fortfahren
+                        // Nicht weiterwerfen - mit nächstem Provider fortfahren
                         break;
                 }
             }
+        } finally {
+            if (downloadEvent != null) {
+                downloadEvent.finish(outcome);
+            }
+            updateFailureLedger(providerId, providerName, outcome);
         }
     }
 
-    private void downloadProviderRootPage(String providerUrl, String providerId, String providerName) {
-        if (stopRequested) return;
+    /**
+     * Merkt sich den ersten Fehlschlag beim aktuellen Provider für die Fehlerliste.
+     */
+    private void noteProviderFailure(ErrorType errorType, String reason) {
+        if (providerFailureType == null && errorType != ErrorType.CRITICAL) {
+            providerFailureType = errorType;
+            providerFailureReason = reason;
+        }
+    }
+
+    /**
+     * Trägt das Ergebnis des aktuellen Providers in die Fehlerliste ein.
+     */
+    private void updateFailureLedger(String providerId, String providerName, String outcome) {
+        if (stopRequested || "0".equals(providerId)) {
+            return;
+        }
+        String mqlVersion = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
+        if (providerFailureType != null) {
+            failureLedger.recordFailure(mqlVersion, providerId, providerName, providerFailureType, providerFailureReason);
+            FailureBackoffLedger.Entry entry = failureLedger.get(mqlVersion, providerId);
+            if (entry != null && entry.failures > 1) {
+                logger.info("Provider '{}' (ID: {}) ist {} Mal in Folge fehlgeschlagen, geparkt bis {}",
+                        providerName, providerId, entry.failures,
+                        entry.parkedUntil(configManager.getFailureBackoffDays(), configManager.getFailureBackoffMaxDays()));
+            }
+        } else if ("SUCCESS".equals(outcome) || "SCREENED".equals(outcome)) {
+            failureLedger.recordSuccess(mqlVersion, providerId);
+        }
+    }
+
+    /**
+     * Schreibt die aktuell geparkten Provider dieser Version in Log und Protokoll.
+     */
+    private void logParkedProviders() {
+        String mqlVersion = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
+        int baseDays = configManager.getFailureBackoffDays();
+        int maxDays = configManager.getFailureBackoffMaxDays();
+        List<FailureBackoffLedger.Entry> parked = failureLedger.getParked(mqlVersion, baseDays, maxDays);
+        metrics.gauge("download.providers.parked").set(parked.size());
+        if (parked.isEmpty()) {
+            return;
+        }
+        logger.info("Geparkte Provider {}: {}", mqlVersion.toUpperCase(), parked.size());
+        if (downloadProtokoll != null) {
+            downloadProtokoll.log(mqlVersion, "GEPARKTE PROVIDER (wiederholte Fehlschläge): " + parked.size());
+        }
+        for (FailureBackoffLedger.Entry entry : parked) {
+            String line = String.format("  %s (ID: %s) - %d Fehlschläge, %s: %s - geparkt bis %s",
+                    entry.providerName, entry.providerId, entry.failures, entry.errorType, entry.reason,
+                    entry.parkedUntil(baseDays, maxDays));
+            logger.info(line);
+            if (downloadProtokoll != null) {
+                downloadProtokoll.log(mqlVersion, line);
+            }
+        }
+    }
+
+    /**
+     * Liest das Wachstum eines Providers aus seiner Zeile auf der Listenseite.
+     *
+     * @return Wachstum in Prozent oder NaN, wenn es nicht gefunden wurde
+     */
+    private double readListGrowth(WebElement link) {
+        try {
+            WebElement row = link.findElement(By.xpath(
+                    "./ancestor::*[self::tr or contains(concat(' ', normalize-space(@class), ' '), ' signal ')][1]"));
+            Matcher matcher = LIST_GROWTH_PATTERN.matcher(row.getText());
+            if (matcher.find()) {
+                String number = matcher.group(1).replaceAll("[\\s\u00a0]", "");
+                number = number.contains(".") ? number.replace(",", "") : number.replace(',', '.');
+                return Double.parseDouble(number);
+            }
+        } catch (Exception e) {
+            logger.debug("Wachstum auf der Listenseite nicht lesbar: {}", e.getMessage());
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Berechnet den 3MPDD aus der geladenen Root-Seite, ohne die Datei erneut zu lesen.
+     *
+     * @return 3MPDD oder NaN, wenn die Vorprüfung abgeschaltet ist oder nicht möglich war
+     *         (dann wird die Trading History wie bisher geladen)
+     */
+    private double screenRootPage(RootPage rootPage, String providerName) {
+        if (rootPage == null || !configManager.isEarlyScreening()) {
+            return Double.NaN;
+        }
+        if (mpddScreening == null) {
+            mpddScreening = new MpddScreening(configManager.getCurrentDownloadPath());
+        }
+        long screeningStart = System.nanoTime();
+        try {
+            double mpdd3 = mpddScreening.calculate3MPDD(rootPage.htmlFile.getPath(), rootPage.pageSource);
+            logger.debug("Vorprüfung '{}': 3MPDD = {}", providerName, String.format("%.4f", mpdd3));
+            return mpdd3;
+        } catch (Exception e) {
+            // Im Zweifel laden; über fehlende Kennzahlen entscheidet die Konvertierung
+            logger.debug("Vorprüfung für '{}' nicht möglich: {}", providerName, e.getMessage());
+            return Double.NaN;
+        } finally {
+            metrics.recordSince("download.screening", screeningStart);
+        }
+    }
+
+    /**
+     * @return gespeicherte Root-Seite oder null, wenn sie nicht geladen werden konnte
+     */
+    private RootPage downloadProviderRootPage(String providerUrl, String providerId, String providerName) {
+        if (stopRequested) return null;
 
         try {
             String mqlVersion = configManager.getMqlVersion();
@@ -974,11 +1221,17 @@ public class SignalDownloader {
                 cleanProviderId = cleanProviderId.substring(0, cleanProviderId.indexOf("?"));
             }
             
-            String rootPageUrl = String.format("https://www.mql5.com/de/signals/%s?source=Site+Signals+%s+Table",
-                    cleanProviderId, mqlVersion.toUpperCase());
+            String rootPageUrl = configManager.getProviderRootUrl(cleanProviderId, mqlVersion);
             
-            logger.debug("Lade Root-Seite fr '{}': {}", providerName, rootPageUrl);
-            driver.get(rootPageUrl);
+            logger.debug("Lade Root-Seite für '{}': {}", providerName, rootPageUrl);
+            PageLoadEvent pageEvent = PageLoadEvent.begin("root", rootPageUrl, cleanProviderId, mqlVersion);
+            long rootPageStart = System.nanoTime();
+            try {
+                driver.get(rootPageUrl);
+            } finally {
+                metrics.recordSince("download.root_page", rootPageStart);
+                pageEvent.finish();
+            }
             Thread.sleep(getRandomWaitTime());
             
             String pageSource = driver.getPageSource();
@@ -988,12 +1241,18 @@ public class SignalDownloader {
             String htmlFileName = String.format("%s_%s_root.html", safeProviderName, cleanProviderId);
             
             File htmlFile = new File(targetPath, htmlFileName);
-            try (FileWriter writer = new FileWriter(htmlFile)) {
-                writer.write(pageSource);
+            long fileWriteStart = System.nanoTime();
+            try {
+                HtmlPageEncoding.write(htmlFile.toPath(), pageSource);
+            } finally {
+                metrics.recordSince("download.file_write", fileWriteStart);
             }
             
+            providerCatalog.recordFile(configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5",
+                    htmlFile.toPath());
+            
             long fileSizeKB = htmlFile.length() / 1024;
-            logger.info("Root-Seite gespeichert fr '{}' (ID: {}): {} ({} KB)", 
+            logger.info("Root-Seite gespeichert für '{}' (ID: {}): {} ({} KB)", 
                        providerName, cleanProviderId, htmlFileName, fileSizeKB);
             
             // Log file details to protocol
@@ -1002,11 +1261,13 @@ public class SignalDownloader {
                 downloadProtokoll.logFileDetails(mqlVersionForLog, providerName, cleanProviderId, 
                                                htmlFileName, fileSizeKB, null, 0);
             }
+            return new RootPage(htmlFile, pageSource);
                 
         } catch (Exception e) {
             if (!stopRequested) {
                 ErrorType errorType = classifyError(e);
-                String errorMsg = "Fehler beim Herunterladen der Root-Seite fr '" + providerName + "' (ID: " + providerId + "): " + e.getMessage();
+                String errorMsg = "Fehler beim Herunterladen der Root-Seite für '" + providerName + "' (ID: " + providerId + "): " + e.getMessage();
+                noteProviderFailure(errorType, "Root-Seite: " + e.getMessage());
                 
                 // Protokolliere den Fehlschlag
                 if (downloadProtokoll != null) {
@@ -1020,10 +1281,10 @@ public class SignalDownloader {
                         throw new RuntimeException("Kritischer Fehler beim Root-Page Download", e);
                         
                     case RECOVERABLE:
-                        logger.warn("RECOVERY-FHIGER FEHLER - {}", errorMsg);
+                        logger.warn("RECOVERY-FÄHIGER FEHLER - {}", errorMsg);
                         boolean recovered = attemptRecovery(e);
                         if (!recovered) {
-                            logger.error("Recovery fehlgeschlagen fr Root-Page Download von '{}'", providerName);
+                            logger.error("Recovery fehlgeschlagen für Root-Page Download von '{}'", providerName);
                             throw new RuntimeException("Recovery fehlgeschlagen", e);
                         }
                         break;
@@ -1036,22 +1297,36 @@ public class SignalDownloader {
                 }
             }
         }
+        return null;
     }
 
     private void downloadTradeHistory(String providerUrl, String providerName) {
         if (stopRequested) return;
 
         try {
-            logger.debug("Lade Trading History fr '{}': {}", providerName, providerUrl);
-            driver.get(providerUrl);
+            logger.debug("Lade Trading History für '{}': {}", providerName, providerUrl);
+            PageLoadEvent pageEvent = PageLoadEvent.begin("provider", providerUrl,
+                    providerUrl.substring(providerUrl.lastIndexOf("/") + 1), configManager.getMqlVersion());
+            long providerPageStart = System.nanoTime();
+            try {
+                driver.get(providerUrl);
+            } finally {
+                metrics.recordSince("download.provider_page", providerPageStart);
+                pageEvent.finish();
+            }
             
-            WebElement tradeHistoryTab = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//*[text()='Trading history']")));
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", tradeHistoryTab);
+            long historyTabStart = System.nanoTime();
+            try {
+                WebElement tradeHistoryTab = wait.until(ExpectedConditions.elementToBeClickable(
+                    By.xpath("//*[text()='Trading history']")));
+                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", tradeHistoryTab);
+            } finally {
+                metrics.recordSince("download.history_tab", historyTabStart);
+            }
 
             List<WebElement> exportLinks = driver.findElements(By.xpath("//*[text()='History']"));
             if (exportLinks.isEmpty()) {
-                String warnMsg = "Kein Export-Link fr Trading History gefunden bei Provider: " + providerName;
+                String warnMsg = "Kein Export-Link für Trading History gefunden bei Provider: " + providerName;
                 logger.warn(warnMsg);
                 
                 // Protokolliere die fehlende History
@@ -1059,10 +1334,11 @@ public class SignalDownloader {
                     String mqlVersionForLog = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
                     downloadProtokoll.logFailure(mqlVersionForLog, providerName, "Trading History: Kein Export-Link gefunden");
                 }
+                noteProviderFailure(ErrorType.NON_CRITICAL, "Trading History: Kein Export-Link gefunden");
                 return;
             }
 
-            logger.debug("Starte CSV-Download fr '{}'", providerName);
+            logger.debug("Starte CSV-Download für '{}'", providerName);
             WebElement exportLink = exportLinks.get(exportLinks.size() - 1);
             exportLink.click();
 
@@ -1071,7 +1347,8 @@ public class SignalDownloader {
         } catch (Exception e) {
             if (!stopRequested) {
                 ErrorType errorType = classifyError(e);
-                String errorMsg = "Fehler beim Herunterladen der Trading History fr '" + providerName + "': " + e.getMessage();
+                String errorMsg = "Fehler beim Herunterladen der Trading History für '" + providerName + "': " + e.getMessage();
+                noteProviderFailure(errorType, "Trading History: " + e.getMessage());
                 
                 // Protokolliere den Fehlschlag
                 if (downloadProtokoll != null) {
@@ -1085,10 +1362,10 @@ public class SignalDownloader {
                         throw new RuntimeException("Kritischer Fehler beim Trading History Download", e);
                         
                     case RECOVERABLE:
-                        logger.warn("RECOVERY-FHIGER FEHLER - {}", errorMsg);
+                        logger.warn("RECOVERY-FÄHIGER FEHLER - {}", errorMsg);
                         boolean recovered = attemptRecovery(e);
                         if (!recovered) {
-                            logger.error("Recovery fehlgeschlagen fr Trading History Download von '{}'", providerName);
+                            logger.error("Recovery fehlgeschlagen für Trading History Download von '{}'", providerName);
                             throw new RuntimeException("Recovery fehlgeschlagen", e);
                         }
                         break;
@@ -1107,8 +1384,16 @@ public class SignalDownloader {
         if (stopRequested) return;
 
         try {
-            Thread.sleep(getRandomWaitTime());
-            File downloadedFile = findDownloadedFile(configManager.getDownloadPath());
+            File downloadedFile = null;
+            CsvWaitEvent csvEvent = CsvWaitEvent.begin(signalProviderId, configManager.getMqlVersion());
+            long csvWaitStart = System.nanoTime();
+            try {
+                Thread.sleep(getRandomWaitTime());
+                downloadedFile = findDownloadedFile(configManager.getDownloadPath());
+            } finally {
+                metrics.recordSince("download.csv_wait", csvWaitStart);
+                csvEvent.finish(downloadedFile != null);
+            }
             
             if (downloadedFile != null && downloadedFile.exists()) {
                 String safeProviderName = providerName.replaceAll("[\\/:*?\"<>|\\s]+", "_");
@@ -1120,13 +1405,32 @@ public class SignalDownloader {
                 File targetFile = new File(targetPath, 
                     String.format("%s_%s.csv", safeProviderName, originalId));
                     
-                Files.move(downloadedFile.toPath(), targetFile.toPath(), 
-                    StandardCopyOption.REPLACE_EXISTING);
+                long fileWriteStart = System.nanoTime();
+                try {
+                    Files.move(downloadedFile.toPath(), targetFile.toPath(), 
+                        StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    metrics.recordSince("download.file_write", fileWriteStart);
+                }
+                providerCatalog.recordFile(configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5",
+                        targetFile.toPath());
                 
                 long fileSizeKB = targetFile.length() / 1024;
-                logger.info("CSV-Datei gespeichert fr '{}' (ID: {}): {} ({} KB)", 
+                logger.info("CSV-Datei gespeichert für '{}' (ID: {}): {} ({} KB)", 
                            providerName, originalId, targetFile.getName(), fileSizeKB);
                 
+                // Trade-History spaltenweise als .trades-Datei ablegen
+                long tradeStoreStart = System.nanoTime();
+                try {
+                    TradeStore tradeStore = TradeStore.load(targetFile.toPath());
+                    logger.debug("Trade-History für '{}': {} Zeilen, {} Symbole", 
+                               providerName, tradeStore.size(), tradeStore.getSymbolCount());
+                } catch (IOException e) {
+                    logger.warn("Trade-History von '{}' nicht lesbar: {}", providerName, e.getMessage());
+                } finally {
+                    metrics.recordSince("download.trade_store", tradeStoreStart);
+                }
+                
                 // Update protocol with complete file information
                 if (downloadProtokoll != null) {
                     String mqlVersionForLog = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
@@ -1139,7 +1443,7 @@ public class SignalDownloader {
                                                    htmlFileName, htmlSizeKB, targetFile.getName(), fileSizeKB);
                 }
             } else {
-                String warnMsg = "Keine CSV-Datei im Download-Verzeichnis gefunden fr Provider: " + providerName;
+                String warnMsg = "Keine CSV-Datei im Download-Verzeichnis gefunden für Provider: " + providerName;
                 logger.warn(warnMsg);
                 
                 // Protokolliere den fehlenden Download
@@ -1147,11 +1451,13 @@ public class SignalDownloader {
                     String mqlVersionForLog = configManager.getMqlVersion().startsWith("mt4") ? "mql4" : "mql5";
                     downloadProtokoll.logFailure(mqlVersionForLog, providerName, "CSV-Download: Keine Datei gefunden");
                 }
+                noteProviderFailure(ErrorType.NON_CRITICAL, "CSV-Download: Keine Datei gefunden");
             }
         } catch (Exception e) {
             if (!stopRequested) {
                 ErrorType errorType = classifyError(e);
-                String errorMsg = "Fehler beim Verarbeiten der CSV-Datei fr '" + providerName + "': " + e.getMessage();
+                String errorMsg = "Fehler beim Verarbeiten der CSV-Datei für '" + providerName + "': " + e.getMessage();
+                noteProviderFailure(errorType, "CSV-Handling: " + e.getMessage());
                 
                 // Protokolliere den Fehler beim Dateihandling
                 if (downloadProtokoll != null) {
@@ -1165,10 +1471,10 @@ public class SignalDownloader {
                         throw new RuntimeException("Kritischer Fehler beim Dateihandling", e);
                         
                     case RECOVERABLE:
-                        logger.warn("RECOVERY-FHIGER FEHLER - {}", errorMsg);
+                        logger.warn("RECOVERY-FÄHIGER FEHLER - {}", errorMsg);
                         boolean recovered = attemptRecovery(e);
                         if (!recovered) {
-                            logger.error("Recovery fehlgeschlagen fr Dateihandling von '{}'", providerName);
+                            logger.error("Recovery fehlgeschlagen für Dateihandling von '{}'", providerName);
                             throw new RuntimeException("Recovery fehlgeschlagen", e);
                         }
                         break;
@@ -1193,12 +1499,38 @@ public class SignalDownloader {
         }
     }
 
+    /** Gespeicherte Root-Seite eines Providers mit dem Quelltext aus dem Browser */
+    private static final class RootPage {
+        final File htmlFile;
+        final String pageSource;
+
+        RootPage(File htmlFile, String pageSource) {
+            this.htmlFile = htmlFile;
+            this.pageSource = pageSource;
+        }
+    }
+
     private static File findDownloadedFile(String downloadDirectory) {
         File dir = new File(downloadDirectory);
         File[] files = dir.listFiles((d, name) -> name.endsWith(".csv"));
         return files != null && files.length > 0 ? files[0] : null;
     }
 
+    /**
+     * Liest die Seitenzahl aus einer Listen-URL (".../pageN"), 1 wenn keine angegeben ist.
+     */
+    private static int parsePageNumber(String pageUrl) {
+        int index = pageUrl.lastIndexOf("/page");
+        if (index < 0) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(pageUrl.substring(index + 5));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
     private int getRandomWaitTime() {
         int minWait = configManager.getMinWaitTime();
         int maxWait = configManager.getMaxWaitTime();
@@ -86,7 +86,7 @@ public class ButtonPanelManager {
         return panel;
     }
 
-    // Neues Panel fr Download Days
+    // Neues Panel für Download Days
     public JPanel createDownloadDaysPanel() {
         JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 5));
         
@@ -97,16 +97,16 @@ public class ButtonPanelManager {
         downloadDaysField = new JTextField(5);
         downloadDaysField.setText(String.valueOf(configManager.getDownloadDays()));
         downloadDaysField.setFont(new Font("Arial", Font.PLAIN, 14));
-        downloadDaysField.setToolTipText("<html>Legt fest, wie alt die Dateien sein mssen, bevor sie neu heruntergeladen werden.<br>"+
-                                          "Dies ist eine Optimierungsmanahme, um den Download-Prozess zu beschleunigen.<br>"+
-                                          "Bei einem Wert von 5 werden Dateien, die jnger als 5 Tage sind, nicht erneut heruntergeladen.<br>"+
+        downloadDaysField.setToolTipText("<html>Legt fest, wie alt die Dateien sein müssen, bevor sie neu heruntergeladen werden.<br>"+
+                                          "Dies ist eine Optimierungsmaßnahme, um den Download-Prozess zu beschleunigen.<br>"+
+                                          "Bei einem Wert von 5 werden Dateien, die jünger als 5 Tage sind, nicht erneut heruntergeladen.<br>"+
                                           "Ein Wert von 0 bewirkt, dass alle Dateien bei jedem Durchlauf neu heruntergeladen werden.</html>");
         
-        // Verbesserte Validierung: Fge NumericRangeFilter hinzu
+        // Verbesserte Validierung: Füge NumericRangeFilter hinzu
         ((AbstractDocument)downloadDaysField.getDocument()).setDocumentFilter(
             new NumericRangeFilter(0, 20, downloadDaysField, "Download Tage"));
         
-        // Fokus-Listener fr Eingabevalidierung
+        // Fokus-Listener für Eingabevalidierung
         addDownloadDaysFieldListener(downloadDaysField);
         panel.add(downloadDaysField);
         
@@ -114,7 +114,7 @@ public class ButtonPanelManager {
     }
 
     /**
-     * Neues Panel fr Convert-Button mit Hinweistext
+     * Neues Panel für Convert-Button mit Hinweistext
      */
     public JPanel createConvertPanel() {
         JPanel panel = new JPanel();
@@ -126,7 +126,7 @@ public class ButtonPanelManager {
         panel.add(buttonPanel);
         
         // Hinweistext unter dem Button
-        JLabel hinweisLabel = new JLabel("<html><i>Hinweis: Provider mit 3MPDD &lt; 0.5 werden automatisch gelscht</i></html>");
+        JLabel hinweisLabel = new JLabel("<html><i>Hinweis: Provider mit 3MPDD &lt; 0.5 werden automatisch gelöscht</i></html>");
         hinweisLabel.setFont(hinweisLabel.getFont().deriveFont(Font.ITALIC, 11f));
         hinweisLabel.setForeground(Color.GRAY);
         hinweisLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -168,14 +168,14 @@ public class ButtonPanelManager {
                         configManager.getMql5Limit()));
                     JOptionPane.showMessageDialog(null,
                         "Bitte geben Sie eine Zahl zwischen 1 und 5000 ein.",
-                        "Ungltige Eingabe",
+                        "Ungültige Eingabe",
                         JOptionPane.ERROR_MESSAGE);
                 }
             }
         });
     }
     
-    // Verbesserter Listener fr das Download Days Feld
+    // Verbesserter Listener für das Download Days Feld
     private void addDownloadDaysFieldListener(JTextField field) {
         field.addFocusListener(new FocusAdapter() {
             @Override
@@ -190,7 +190,7 @@ public class ButtonPanelManager {
                     field.setText(String.valueOf(configManager.getDownloadDays()));
                     JOptionPane.showMessageDialog(null,
                         "Bitte geben Sie eine Zahl zwischen 0 und 20 ein.",
-                        "Ungltige Eingabe",
+                        "Ungültige Eingabe",
                         JOptionPane.ERROR_MESSAGE);
                 }
             }
@@ -267,7 +267,7 @@ public class ButtonPanelManager {
         downloadDaysField.setEnabled(true);
     }
 
-    // Getter fr alle Buttons und Felder
+    // Getter für alle Buttons und Felder
     public JButton getMql4Button() { return mql4Button; }
     public JButton getMql5Button() { return mql5Button; }
     public JButton getStopButton() { return stopButton; }
@@ -279,7 +279,7 @@ public class ButtonPanelManager {
     public JProgressBar getConvertProgress() { return convertProgress; }
     public JLabel getConvertStatusLabel() { return convertStatusLabel; }
     
-    // Neue DocumentFilter-Klasse fr Zahlenvalidierung
+    // Neue DocumentFilter-Klasse für Zahlenvalidierung
     private class NumericRangeFilter extends DocumentFilter {
         private final int min;
         private final int max;
@@ -301,7 +301,7 @@ public class ButtonPanelManager {
             if (isValid(newValue)) {
                 super.insertString(fb, offset, string, attr);
             } else {
-                // Warnung anzeigen, wenn nicht gltig
+                // Warnung anzeigen, wenn nicht gültig
                 showWarning();
             }
         }
@@ -315,7 +315,7 @@ public class ButtonPanelManager {
             String afterOffset = currentText.substring(offset + length);
             String newValue = beforeOffset + text + afterOffset;
             
-            // Wenn leer oder nur ein Minus, erlauben (temporr)
+            // Wenn leer oder nur ein Minus, erlauben (temporär)
             if (newValue.isEmpty() || (newValue.equals("-") && min < 0)) {
                 super.replace(fb, offset, length, text, attrs);
                 return;
@@ -324,13 +324,13 @@ public class ButtonPanelManager {
             if (isValid(newValue)) {
                 super.replace(fb, offset, length, text, attrs);
             } else {
-                // Warnung anzeigen, wenn nicht gltig
+                // Warnung anzeigen, wenn nicht gültig
                 showWarning();
             }
         }
         
         private boolean isValid(String value) {
-            if (value.isEmpty()) return true; // Leere Eingabe erlauben (temporr)
+            if (value.isEmpty()) return true; // Leere Eingabe erlauben (temporär)
             
             try {
                 int intValue = Integer.parseInt(value);
@@ -345,7 +345,7 @@ public class ButtonPanelManager {
                 Toolkit.getDefaultToolkit().beep();
                 JOptionPane.showMessageDialog(field,
                     fieldName + " muss zwischen " + min + " und " + max + " liegen.",
-                    "Ungltiger Wert",
+                    "Ungültiger Wert",
                     JOptionPane.WARNING_MESSAGE);
                 field.setText(String.valueOf(configManager.getDownloadDays()));
             });
@@ -1,12 +1,18 @@
 package gui;
 
 import config.ConfigurationManager;
+import converter.ConversionErrorPolicy;
+import converter.ConversionPipeline;
 import converter.HtmlConverter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import ranking.ProviderRankingIndex;
+import ranking.RankingEngine;
+import ranking.RankingMetric;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Map;
 
 public class ConversionManager {
     private static final Logger logger = LogManager.getLogger(ConversionManager.class);
@@ -14,6 +20,7 @@ public class ConversionManager {
     private final LogHandler logHandler;
     private final ButtonPanelManager buttonManager;
     private Thread conversionThread;
+    private volatile RankingEngine rankingEngine;
 
     public ConversionManager(ConfigurationManager configManager, LogHandler logHandler, ButtonPanelManager buttonManager) {
         this.configManager = configManager;
@@ -23,28 +30,94 @@ public class ConversionManager {
 
     public void startConversion() {
         logHandler.log("Starte Konvertierungsprozess...");
+        startConverterThread(false);
+    }
+
+    /**
+     * Startet den Wiederholungslauf über die Provider in der Quarantäne.
+     */
+    public void startQuarantineRetry() {
+        logHandler.log("Starte Wiederholungslauf für Provider in der Quarantäne...");
+        startConverterThread(true);
+    }
+
+    /**
+     * Startet die Konvertierung parallel zum Download. Der zurückgegebene Listener wird den
+     * Download-Jobs übergeben; nach dem letzten Download schließt {@link #completePipeline} ab.
+     *
+     * @param expectedProviders erwartete Anzahl Provider (Summe der Limits)
+     */
+    public ConversionPipeline startPipeline(int expectedProviders) {
+        logHandler.log("Starte Konvertierung parallel zum Download...");
+        setupUIForConversion();
+        String basePath = configManager.getRootDirPath() + "\\download";
+        HtmlConverter converter = new HtmlConverter(basePath);
+        converter.setErrorPolicy(resolveErrorPolicy());
+        ConversionPipeline pipeline = new ConversionPipeline(converter, expectedProviders);
+        pipeline.setProgressCallback(this::showProgress);
+        pipeline.start();
+        return pipeline;
+    }
+
+    /**
+     * Wartet auf die restlichen Provider der Pipeline und zieht nicht übergebene Dateien nach.
+     * Läuft im aufrufenden (Hintergrund-)Thread; Fehler gehen an den Aufrufer.
+     */
+    public void completePipeline(ConversionPipeline pipeline) {
+        try {
+            pipeline.finish();
+            SwingUtilities.invokeLater(() -> {
+                logHandler.log("Konvertierung erfolgreich abgeschlossen!");
+                showExtractionSummary(pipeline.getConverter());
+            });
+        } finally {
+            cleanupConversion();
+        }
+    }
+
+    /**
+     * Schließt die Pipeline nach einem Abbruch von "Do All", ohne die restlichen Dateien
+     * nachzuziehen.
+     */
+    public void cancelPipeline(ConversionPipeline pipeline) {
+        try {
+            pipeline.cancel();
+            SwingUtilities.invokeLater(() -> logHandler.log("Konvertierung abgebrochen"));
+        } finally {
+            cleanupConversion();
+        }
+    }
+
+    /**
+     * Konvertiert alle Provider im aufrufenden (Hintergrund-)Thread, ohne das Ranking neu
+     * aufzubauen (Konvertierungs-Job von "Do All"). Fehler gehen an den Aufrufer.
+     */
+    public void runConversion() throws Exception {
+        setupUIForConversion();
+        try {
+            convert(false);
+        } finally {
+            cleanupConversion();
+        }
+    }
+
+    private void showProgress(int progress, String status) {
+        SwingUtilities.invokeLater(() -> {
+            buttonManager.getConvertProgress().setValue(progress);
+            buttonManager.getConvertStatusLabel().setText(status);
+            logHandler.log(status);
+        });
+    }
+
+    private void startConverterThread(boolean quarantineRetry) {
         setupUIForConversion();
 
         conversionThread = new Thread(() -> {
             try {
-                String basePath = configManager.getRootDirPath() + "\\download";
-                HtmlConverter converter = new HtmlConverter(basePath);
-                
-                converter.setProgressCallback((progress, status) -> {
-                    SwingUtilities.invokeLater(() -> {
-                        buttonManager.getConvertProgress().setValue(progress);
-                        buttonManager.getConvertStatusLabel().setText(status);
-                        logHandler.log(status);
-                    });
-                });
-                
-                converter.convertAllHtmlFiles();
-                
-                SwingUtilities.invokeLater(() -> {
-                    logHandler.log("Konvertierung erfolgreich abgeschlossen!");
-                });
+                convert(quarantineRetry);
+                rebuildRanking();
             } catch (Exception e) {
-                logHandler.logError("Fehler whrend der Konvertierung: " + e.getMessage(), e);
+                logHandler.logError("Fehler während der Konvertierung: " + e.getMessage(), e);
             } finally {
                 cleanupConversion();
             }
@@ -53,6 +126,102 @@ public class ConversionManager {
         conversionThread.start();
     }
 
+    private void convert(boolean quarantineRetry) throws Exception {
+        String basePath = configManager.getRootDirPath() + "\\download";
+        HtmlConverter converter = new HtmlConverter(basePath);
+        converter.setErrorPolicy(resolveErrorPolicy());
+        
+        converter.setProgressCallback(this::showProgress);
+        
+        if (quarantineRetry) {
+            converter.retryQuarantine();
+        } else {
+            converter.convertAllHtmlFiles();
+        }
+        
+        SwingUtilities.invokeLater(() -> {
+            logHandler.log("Konvertierung erfolgreich abgeschlossen!");
+            showExtractionSummary(converter);
+        });
+    }
+
+    private ConversionErrorPolicy resolveErrorPolicy() {
+        String key = configManager.getConversionErrorPolicy();
+        ConversionErrorPolicy policy = ConversionErrorPolicy.fromKey(key);
+        if (policy == null) {
+            logger.warn("Unbekannte conversionErrorPolicy '" + key + "', verwende quarantine");
+            return ConversionErrorPolicy.QUARANTINE;
+        }
+        return policy;
+    }
+
+    /**
+     * Zeigt einmal am Ende der Konvertierung, welche Provider wegen Extraktionsfehlern
+     * in die Quarantäne verschoben bzw. gelöscht wurden (läuft im EDT).
+     */
+    private void showExtractionSummary(HtmlConverter converter) {
+        Map<String, String> failures = converter.getExtractionFailures();
+        if (failures.isEmpty()) {
+            return;
+        }
+        boolean quarantine = converter.getErrorPolicy() == ConversionErrorPolicy.QUARANTINE;
+        StringBuilder message = new StringBuilder();
+        message.append(failures.size()).append(quarantine
+                ? " Provider konnten nicht ausgewertet werden und wurden in die Quarantäne verschoben:\n\n"
+                : " Provider konnten nicht ausgewertet werden und wurden gelöscht:\n\n");
+        int shown = 0;
+        for (Map.Entry<String, String> failure : failures.entrySet()) {
+            if (shown++ == 20) {
+                message.append("... und ").append(failures.size() - 20).append(" weitere\n");
+                break;
+            }
+            message.append(failure.getKey()).append(": ").append(failure.getValue()).append("\n");
+        }
+        if (quarantine) {
+            message.append("\nVerzeichnis: ").append(converter.getQuarantineDirectory("mql4").getParent())
+                   .append("\nErneuter Versuch über File > Retry Quarantine.");
+        }
+        logHandler.log(failures.size() + " Provider mit Extraktionsfehler (" + converter.getErrorPolicy().getKey() + ")");
+        JOptionPane.showMessageDialog(
+                SwingUtilities.getWindowAncestor(buttonManager.getConvertButton()),
+                message.toString(),
+                "Extraktionsfehler",
+                JOptionPane.WARNING_MESSAGE);
+    }
+
+    /**
+     * Baut nach der Konvertierung den Ranking-Index neu auf und meldet die besten Provider.
+     * Läuft im aufrufenden (Hintergrund-)Thread.
+     */
+    public void rebuildRanking() {
+        RankingEngine engine = rankingEngine;
+        if (engine == null) {
+            engine = new RankingEngine(configManager.getRootDirPath() + "\\download");
+            rankingEngine = engine;
+        }
+        engine.rebuildAll();
+        
+        for (String version : new String[] {"mql4", "mql5"}) {
+            ProviderRankingIndex index = engine.getIndex(version);
+            if (index.size() == 0) {
+                continue;
+            }
+            StringBuilder message = new StringBuilder("Top 3MPDD ")
+                    .append(version.toUpperCase()).append(" (").append(index.size()).append(" Provider):");
+            for (String provider : index.topK(RankingMetric.MPDD_3, 5)) {
+                message.append(String.format(" %s=%.2f", provider, index.getValue(RankingMetric.MPDD_3, provider)));
+            }
+            SwingUtilities.invokeLater(() -> logHandler.log(message.toString()));
+        }
+    }
+
+    /**
+     * @return Ranking-Engine der letzten Konvertierung oder null, wenn noch keine lief
+     */
+    public RankingEngine getRankingEngine() {
+        return rankingEngine;
+    }
+
     private void setupUIForConversion() {
         SwingUtilities.invokeLater(() -> {
             buttonManager.getConvertButton().setEnabled(false);
@@ -81,14 +250,4 @@ public class ConversionManager {
     public boolean isConversionRunning() {
         return conversionThread != null && conversionThread.isAlive();
     }
-
-    public void waitForConversionCompletion() {
-        try {
-            while (conversionThread != null && conversionThread.isAlive()) {
-                Thread.sleep(1000);
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
 }
\ No newline at end of file
@@ -217,18 +217,15 @@ public class DownloadManager {
         });
     }
 
-    public boolean isDownloadRunning() {
-        return downloadThread != null && downloadThread.isAlive();
+    /**
+     * @return gemeinsames Download-Protokoll (auch für die Download-Jobs von "Do All")
+     */
+    public MqlDownloadProtokoll getDownloadProtokoll() {
+        return downloadProtokoll;
     }
 
-    public void waitForDownloadCompletion() {
-        try {
-            while (downloadThread != null && downloadThread.isAlive()) {
-                Thread.sleep(1000);
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    public boolean isDownloadRunning() {
+        return downloadThread != null && downloadThread.isAlive();
     }
     
     /**
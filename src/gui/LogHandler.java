@@ -5,24 +5,57 @@ package gui;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Insets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.swing.BorderFactory;
+import javax.swing.BoundedRangeModel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.border.TitledBorder;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultCaret;
+import javax.swing.text.Element;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Log-Konsole der GUI.
+ *
+ * Nachrichten werden in einer Warteschlange gesammelt und höchstens alle
+ * {@link #FLUSH_INTERVAL_MS} ms als ein Block im EDT angehängt. Die Anzeige hält nur die
+ * letzten maxLines Zeilen (ältere werden vorne entfernt) und scrollt nur mit, wenn sie
+ * vorher am unteren Ende stand.
+ */
 public class LogHandler {
+    public static final int DEFAULT_MAX_LINES = 10000;
+    private static final int FLUSH_INTERVAL_MS = 100;
+
     private final JTextArea logArea;
     private static final Logger logger = LogManager.getLogger(LogHandler.class);
     private final JScrollPane scrollPane;
+    private final int maxLines;
+    private final Queue<String> pendingLines = new ConcurrentLinkedQueue<>();
+    private final Timer flushTimer;
 
     public LogHandler() {
+        this(DEFAULT_MAX_LINES);
+    }
+
+    /**
+     * @param maxLines maximale Anzahl angezeigter Zeilen
+     */
+    public LogHandler(int maxLines) {
+        this.maxLines = Math.max(100, maxLines);
         this.logArea = createLogArea();
         this.scrollPane = createScrollPane();
+        this.flushTimer = new Timer(FLUSH_INTERVAL_MS, e -> flushPending());
+        this.flushTimer.setCoalesce(true);
+        this.flushTimer.start();
     }
 
     private JTextArea createLogArea() {
@@ -32,24 +65,23 @@ public class LogHandler {
         area.setBackground(Color.BLACK);
         area.setForeground(Color.GREEN);
         area.setMargin(new Insets(5,5,5,5));
+        // Caret folgt nicht automatisch; gescrollt wird nur, wenn die Ansicht unten steht
+        ((DefaultCaret) area.getCaret()).setUpdatePolicy(DefaultCaret.NEVER_UPDATE);
         return area;
     }
 
     private JScrollPane createScrollPane() {
         JScrollPane pane = new JScrollPane(logArea);
         pane.setBorder(BorderFactory.createTitledBorder(
-            BorderFactory.createEtchedBorder(), 
-            "Log Output", 
-            TitledBorder.LEFT, 
+            BorderFactory.createEtchedBorder(),
+            "Log Output",
+            TitledBorder.LEFT,
             TitledBorder.TOP));
         return pane;
     }
 
     public void log(String message) {
-        SwingUtilities.invokeLater(() -> {
-            logArea.append("[" + java.time.LocalTime.now().toString() + "] " + message + "\n");
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-        });
+        pendingLines.add("[" + java.time.LocalTime.now().toString() + "] " + message + "\n");
         logger.info(message);
     }
 
@@ -63,6 +95,63 @@ public class LogHandler {
     }
 
     public void clear() {
-        SwingUtilities.invokeLater(() -> logArea.setText(""));
+        SwingUtilities.invokeLater(() -> {
+            drainPending();
+            logArea.setText("");
+        });
+    }
+
+    /**
+     * Hängt alle wartenden Zeilen als einen Block an (läuft im EDT).
+     */
+    private void flushPending() {
+        Queue<String> lines = drainPending();
+        if (lines.isEmpty()) {
+            return;
+        }
+        StringBuilder block = new StringBuilder(lines.size() * 80);
+        for (String line : lines) {
+            block.append(line);
+        }
+
+        BoundedRangeModel scroll = scrollPane.getVerticalScrollBar().getModel();
+        boolean pinnedToBottom = scroll.getValue() + scroll.getExtent() >= scroll.getMaximum() - 4;
+
+        logArea.append(block.toString());
+        trimToMaxLines();
+
+        if (pinnedToBottom) {
+            logArea.setCaretPosition(logArea.getDocument().getLength());
+        }
+    }
+
+    /**
+     * Holt alle wartenden Zeilen; bei Rückstau bleiben nur die letzten maxLines übrig.
+     */
+    private Queue<String> drainPending() {
+        Queue<String> lines = new ArrayDeque<>();
+        String line;
+        while ((line = pendingLines.poll()) != null) {
+            lines.add(line);
+            if (lines.size() > maxLines) {
+                lines.poll();
+            }
+        }
+        return lines;
+    }
+
+    private void trimToMaxLines() {
+        Element root = logArea.getDocument().getDefaultRootElement();
+        // Die letzte "Zeile" nach dem abschließenden Zeilenumbruch ist leer
+        int excess = root.getElementCount() - 1 - maxLines;
+        if (excess <= 0) {
+            return;
+        }
+        try {
+            int end = root.getElement(excess - 1).getEndOffset();
+            logArea.getDocument().remove(0, end);
+        } catch (BadLocationException e) {
+            logger.warn("Log-Anzeige konnte nicht gekürzt werden: {}", e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,9 @@ import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -21,6 +24,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import config.ConfigurationManager;
+import converter.ConversionPipeline;
+import jobs.DownloadJob;
+import jobs.JobEngine;
+import profiling.JfrRecordingController;
+import utils.ProviderCatalog;
 
 public class MqlDownloaderGui extends JFrame {
     private static final Logger logger = LogManager.getLogger(MqlDownloaderGui.class);
@@ -29,14 +37,25 @@ public class MqlDownloaderGui extends JFrame {
     private final ButtonPanelManager buttonManager;
     private final DownloadManager downloadManager;
     private final ConversionManager conversionManager;
-    private JButton statisticsButton;  // Neuer Button fr Statistiken
+    private JButton statisticsButton;  // Neuer Button für Statistiken
+    private final JfrRecordingController jfrController;
+    private volatile JobEngine doAllEngine;
+
+    private static final String JOB_DOWNLOAD_MT4 = "download-mt4";
+    private static final String JOB_DOWNLOAD_MT5 = "download-mt5";
+    private static final String JOB_CONVERT = "convert";
+    private static final String JOB_RANK = "rank";
 
     public MqlDownloaderGui() {
         configManager = new ConfigurationManager("C:\\Forex\\MqlAnalyzer");
-        logHandler = new LogHandler();
+        logHandler = new LogHandler(configManager.getLogViewMaxLines());
         buttonManager = new ButtonPanelManager(configManager);
         downloadManager = new DownloadManager(configManager, logHandler, buttonManager);
         conversionManager = new ConversionManager(configManager, logHandler, buttonManager);
+        jfrController = new JfrRecordingController(Paths.get(configManager.getLogDirPath()));
+        
+        // Provider-Katalog schon beim Start im Hintergrund laden
+        ProviderCatalog.preload(configManager.getRootDirPath() + "\\download");
         
         initializeGui();
         setupEventHandlers();
@@ -48,7 +67,7 @@ public class MqlDownloaderGui extends JFrame {
         setLayout(new BorderLayout(10, 10));
         setSize(800, 600);
 
-        // Top panel fr Buttons - KOMPAKTER LAYOUT
+        // Top panel für Buttons - KOMPAKTER LAYOUT
         JPanel topPanel = new JPanel(new GridLayout(3, 1, 5, 5)); // NUR 3 Zeilen statt 6!
         topPanel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10)); // Kleinere Padding
 
@@ -83,7 +102,7 @@ public class MqlDownloaderGui extends JFrame {
         mainPanel.add(statisticsButtonPanel, BorderLayout.EAST);
         mainPanel.add(buttonManager.createProgressPanel(), BorderLayout.SOUTH);
 
-        // Zum Frame hinzufgen
+        // Zum Frame hinzufügen
         add(mainPanel);
 
         // Menu Bar initialisieren
@@ -93,7 +112,7 @@ public class MqlDownloaderGui extends JFrame {
         buttonManager.getStopButton().setEnabled(false);
 
         // Initiale Log Nachricht
-        logHandler.log("Anwendung gestartet. Bereit fr Operationen.");
+        logHandler.log("Anwendung gestartet. Bereit für Operationen.");
     }
 
     private JButton createStatisticsButton() {
@@ -103,7 +122,7 @@ public class MqlDownloaderGui extends JFrame {
         button.setForeground(java.awt.Color.BLACK);
         button.setFocusPainted(false);
         button.setBorderPainted(true);
-        button.setToolTipText("Zeigt eine Statistik ber das Alter der heruntergeladenen Dateien an");
+        button.setToolTipText("Zeigt eine Statistik über das Alter der heruntergeladenen Dateien an");
         return button;
     }
 
@@ -116,11 +135,11 @@ public class MqlDownloaderGui extends JFrame {
     private void setupEventHandlers() {
         buttonManager.getMql4Button().addActionListener(e -> downloadManager.startDownload("MQL4"));
         buttonManager.getMql5Button().addActionListener(e -> downloadManager.startDownload("MQL5"));
-        buttonManager.getStopButton().addActionListener(e -> downloadManager.stopDownload());
+        buttonManager.getStopButton().addActionListener(e -> handleStopButton());
         buttonManager.getConvertButton().addActionListener(e -> conversionManager.startConversion());
         buttonManager.getDoAllButton().addActionListener(e -> handleDoAllButton());
         
-        // Neuer Event-Handler fr den Statistik-Button
+        // Neuer Event-Handler für den Statistik-Button
         statisticsButton.addActionListener(e -> showStatisticsDialog());
     }
     
@@ -134,33 +153,107 @@ public class MqlDownloaderGui extends JFrame {
         logHandler.log("Starte automatisierten Gesamtprozess...");
         disableAllButtons();
         
-        Thread allProcessesThread = new Thread(() -> {
-            try {
-                // Start des Gesamtprozesses - ohne vorheriges Lschen der Dateien
-                
-                logHandler.log("Starte MQL4 Download...");
-                downloadManager.startDownload("MQL4");
-                downloadManager.waitForDownloadCompletion();
-                
-                logHandler.log("Starte MQL5 Download...");
-                downloadManager.startDownload("MQL5");
-                downloadManager.waitForDownloadCompletion();
-                
-                logHandler.log("Starte Konvertierung...");
-                conversionManager.startConversion();
-                conversionManager.waitForConversionCompletion();
-                
-                SwingUtilities.invokeLater(() -> {
-                    logHandler.log("Gesamtprozess erfolgreich abgeschlossen!");
-                    enableAllButtons();
-                });
-            } catch (Exception e) {
-                logHandler.logError("Fehler im Gesamtprozess: " + e.getMessage(), e);
-                SwingUtilities.invokeLater(this::enableAllButtons);
+        try {
+            ConversionPipeline pipeline = configManager.isPipelineConversion()
+                    ? conversionManager.startPipeline(configManager.getMql4Limit() + configManager.getMql5Limit())
+                    : null;
+            JobEngine engine = createDoAllEngine(pipeline);
+            doAllEngine = engine;
+            buttonManager.getStopButton().setEnabled(true);
+            engine.start().whenComplete((states, error) -> {
+                if (pipeline != null && engine.getState(JOB_CONVERT) == JobEngine.State.CANCELLED) {
+                    conversionManager.cancelPipeline(pipeline);
+                }
+                SwingUtilities.invokeLater(() -> finishDoAll(engine, states, error));
+            });
+        } catch (Exception e) {
+            doAllEngine = null;
+            logHandler.logError("Fehler im Gesamtprozess: " + e.getMessage(), e);
+            enableAllButtons();
+        }
+    }
+
+    private void finishDoAll(JobEngine engine, Map<String, JobEngine.State> states, Throwable error) {
+        doAllEngine = null;
+        if (error != null) {
+            logger.error("Fehler im Gesamtprozess", error);
+            logHandler.log("Fehler im Gesamtprozess: " + error.getMessage());
+        } else if (engine.isCancelled()) {
+            logHandler.log("Gesamtprozess abgebrochen: " + states);
+        } else if (states.values().stream().allMatch(state -> state == JobEngine.State.SUCCEEDED)) {
+            logHandler.log("Gesamtprozess erfolgreich abgeschlossen!");
+        } else {
+            logHandler.log("Gesamtprozess mit Fehlern beendet: " + states);
+        }
+        buttonManager.getMql4Button().setText("MQL4 Download");
+        buttonManager.getMql5Button().setText("MQL5 Download");
+        enableAllButtons();
+    }
+
+    /**
+     * Baut den Ablauf von "Do All": MQL4 und MQL5 laden gleichzeitig mit je eigenem Browser,
+     * danach wird konvertiert (auch wenn ein Download fehlschlug) und zuletzt das Ranking
+     * aufgebaut. Im Pipeline-Modus gehen fertig geladene Provider direkt aus dem Speicher an
+     * die Konvertierung, während die Crawls weiterlaufen.
+     */
+    private JobEngine createDoAllEngine(ConversionPipeline pipeline) {
+        JobEngine engine = new JobEngine("DoAll");
+        configManager.initializeDirectories();
+        engine.addJob(JOB_DOWNLOAD_MT4, createDownloadJob("mt4", "MQL4", pipeline));
+        engine.addJob(JOB_DOWNLOAD_MT5, createDownloadJob("mt5", "MQL5", pipeline));
+        engine.addFollowUpJob(JOB_CONVERT, context -> {
+            if (pipeline != null) {
+                SwingUtilities.invokeLater(() -> logHandler.log("Downloads beendet - warte auf die restlichen Konvertierungen..."));
+                conversionManager.completePipeline(pipeline);
+            } else {
+                conversionManager.runConversion();
             }
-        });
+        }, JOB_DOWNLOAD_MT4, JOB_DOWNLOAD_MT5);
+        engine.addJob(JOB_RANK, context -> conversionManager.rebuildRanking(), JOB_CONVERT);
         
-        allProcessesThread.start();
+        engine.addListener(new JobEngine.JobListener() {
+            @Override
+            public void jobStarted(String jobName) {
+                SwingUtilities.invokeLater(() -> logHandler.log("Starte " + jobName + "..."));
+            }
+
+            @Override
+            public void jobFinished(String jobName, JobEngine.State state, Throwable error) {
+                SwingUtilities.invokeLater(() -> logHandler.log(jobName + " beendet: " + state
+                        + (error != null ? " (" + error.getMessage() + ")" : "")));
+            }
+        });
+        return engine;
+    }
+
+    private DownloadJob createDownloadJob(String mqlVersion, String version, ConversionPipeline pipeline) {
+        DownloadJob job = new DownloadJob(configManager, downloadManager.getDownloadProtokoll(), mqlVersion);
+        job.setProviderPageListener(pipeline);
+        int limit = version.equals("MQL4") ? configManager.getMql4Limit() : configManager.getMql5Limit();
+        buttonManager.updateCounter(version, 0);
+        JButton button = version.equals("MQL4") ? buttonManager.getMql4Button() : buttonManager.getMql5Button();
+        button.setText(version + " (LÄUFT...)");
+        job.setProgressCallback(count -> SwingUtilities.invokeLater(() -> {
+            buttonManager.updateCounter(version, count);
+            if (count % 5 == 0 || count <= 3) {
+                logHandler.log(String.format("Fortschritt %s: %d/%d Provider verarbeitet", version, count, limit));
+            }
+        }));
+        return job;
+    }
+
+    /**
+     * Stop-Button: bricht "Do All" ab, falls es läuft, sonst den Einzel-Download.
+     */
+    private void handleStopButton() {
+        JobEngine engine = doAllEngine;
+        if (engine != null) {
+            logHandler.log("STOPPE Gesamtprozess...");
+            buttonManager.getStopButton().setEnabled(false);
+            engine.cancel();
+        } else {
+            downloadManager.stopDownload();
+        }
     }
 
     private void disableAllButtons() {
@@ -190,13 +283,52 @@ public class MqlDownloaderGui extends JFrame {
         JMenuItem statsItem = new JMenuItem("Download Statistics");
         statsItem.addActionListener(e -> showStatisticsDialog());
         
+        JMenuItem retryQuarantineItem = new JMenuItem("Retry Quarantine");
+        retryQuarantineItem.addActionListener(e -> handleRetryQuarantine());
+        
         fileMenu.add(setupItem);
-        fileMenu.add(statsItem);  // Auch im Men zugnglich machen
+        fileMenu.add(statsItem);  // Auch im Menü zugänglich machen
+        fileMenu.add(retryQuarantineItem);
         menuBar.add(fileMenu);
         
+        // Profiling: JFR-Aufzeichnung für den aktuellen Lauf, Ablage neben den Logs
+        JMenu profilingMenu = new JMenu("Profiling");
+        JMenuItem jfrItem = new JMenuItem("Start JFR Recording");
+        jfrItem.addActionListener(e -> toggleJfrRecording(jfrItem));
+        profilingMenu.add(jfrItem);
+        menuBar.add(profilingMenu);
+        
         return menuBar;
     }
 
+    private void handleRetryQuarantine() {
+        if (conversionManager.isConversionRunning()) {
+            logHandler.log("Konvertierung läuft bereits - Wiederholung der Quarantäne nicht möglich");
+            return;
+        }
+        conversionManager.startQuarantineRetry();
+    }
+
+    private void toggleJfrRecording(JMenuItem jfrItem) {
+        try {
+            if (jfrController.isRecording()) {
+                Path file = jfrController.stopAndDump();
+                jfrItem.setText("Start JFR Recording");
+                logHandler.log("JFR-Aufzeichnung gespeichert: " + file);
+            } else {
+                jfrController.start();
+                jfrItem.setText("Stop JFR Recording");
+                logHandler.log("JFR-Aufzeichnung gestartet");
+            }
+        } catch (Exception e) {
+            logger.error("Fehler bei der JFR-Aufzeichnung", e);
+            JOptionPane.showMessageDialog(this,
+                "Fehler bei der JFR-Aufzeichnung: " + e.getMessage(),
+                "Profiling",
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     private void showSetupDialog() {
         SetupDialog dialog = new SetupDialog(this, configManager);
         dialog.setVisible(true);
@@ -6,13 +6,18 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -30,16 +35,20 @@ import utils.FileStatistics;
 
 /**
  * Dialog zur Anzeige der Downloadstatistik.
+ * Der Dialog öffnet sofort mit einem Ladehinweis; die Verzeichnisse werden in einem
+ * SwingWorker analysiert und die Diagramme danach eingesetzt.
  */
 public class StatisticsDialog extends JDialog {
     private static final Logger logger = LogManager.getLogger(StatisticsDialog.class);
     private final ConfigurationManager configManager;
     private static final int MAX_DAYS = 30;
+    private JPanel mainPanel;
+    private JPanel statsPanel;
     
     /**
-     * Konstruktor fr den Statistik-Dialog.
+     * Konstruktor für den Statistik-Dialog.
      * 
-     * @param parent Das bergeordnete Frame
+     * @param parent Das übergeordnete Frame
      * @param configManager Der ConfigurationManager
      */
     public StatisticsDialog(JFrame parent, ConfigurationManager configManager) {
@@ -49,48 +58,32 @@ public class StatisticsDialog extends JDialog {
     }
     
     /**
-     * Initialisiert die Komponenten des Dialogs.
+     * Initialisiert die Komponenten des Dialogs mit Platzhaltern und startet die Analyse.
      */
     private void initializeComponents() {
         setLayout(new BorderLayout(10, 10));
         
-        // Layout gendert zu 2 Zeilen, 1 Spalte fr untereinander angeordnete Grafiken
-        JPanel mainPanel = new JPanel(new GridLayout(2, 1, 10, 20)); 
+        // Layout geändert zu 2 Zeilen, 1 Spalte für untereinander angeordnete Grafiken
+        mainPanel = new JPanel(new GridLayout(2, 1, 10, 20)); 
         mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        mainPanel.add(createLoadingPanel("MQL4 Dateialter"));
+        mainPanel.add(createLoadingPanel("MQL5 Dateialter"));
         
-        // MQL4 Chart
-        String mql4Path = configManager.getRootDirPath() + "\\download\\mql4";
-        Map<Integer, Integer> mql4Stats = FileStatistics.analyzeFileAge(mql4Path, MAX_DAYS);
-        JFreeChart mql4Chart = createAgeChart(mql4Stats, "MQL4 Dateialter", "Alter (Tage)", "Anzahl Dateien");
-        ChartPanel mql4ChartPanel = new ChartPanel(mql4Chart);
-        mql4ChartPanel.setPreferredSize(new Dimension(700, 250)); // Breiteres Format
-        
-        // MQL5 Chart
-        String mql5Path = configManager.getRootDirPath() + "\\download\\mql5";
-        Map<Integer, Integer> mql5Stats = FileStatistics.analyzeFileAge(mql5Path, MAX_DAYS);
-        JFreeChart mql5Chart = createAgeChart(mql5Stats, "MQL5 Dateialter", "Alter (Tage)", "Anzahl Dateien");
-        ChartPanel mql5ChartPanel = new ChartPanel(mql5Chart);
-        mql5ChartPanel.setPreferredSize(new Dimension(700, 250)); // Breiteres Format
-        
-        // Zum Panel hinzufgen
-        mainPanel.add(mql4ChartPanel);
-        mainPanel.add(mql5ChartPanel);
-        
-        // Statistik-Zusammenfassung
-        JPanel statsPanel = new JPanel(new GridLayout(2, 1, 5, 5));
-        statsPanel.add(createSummaryPanel("MQL4 Statistik", mql4Stats));
-        statsPanel.add(createSummaryPanel("MQL5 Statistik", mql5Stats));
+        // Statistik-Zusammenfassung (wird nach dem Laden gefüllt)
+        statsPanel = new JPanel(new GridLayout(2, 1, 5, 5));
+        statsPanel.add(createPlaceholderSummary("MQL4 Statistik"));
+        statsPanel.add(createPlaceholderSummary("MQL5 Statistik"));
         
-        // Schlieen-Button
+        // Schließen-Button
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        JButton closeButton = new JButton("Schlieen");
+        JButton closeButton = new JButton("Schließen");
         closeButton.addActionListener(e -> dispose());
         buttonPanel.add(closeButton);
         
-        // Alles zusammenfgen
+        // Alles zusammenfügen
         add(mainPanel, BorderLayout.CENTER);
         
-        // Stats und Button in einem sdlichen Panel
+        // Stats und Button in einem südlichen Panel
         JPanel southPanel = new JPanel(new BorderLayout());
         southPanel.add(statsPanel, BorderLayout.CENTER);
         southPanel.add(buttonPanel, BorderLayout.SOUTH);
@@ -98,10 +91,94 @@ public class StatisticsDialog extends JDialog {
         
         // Dialog konfigurieren
         pack();
-        setSize(800, 700); // Grerer Dialog fr bessere Lesbarkeit
+        setSize(800, 700); // Größerer Dialog für bessere Lesbarkeit
         setResizable(true);
         setLocationRelativeTo(getParent());
         logger.info("Statistik-Dialog initialisiert");
+        
+        loadStatisticsInBackground();
+    }
+    
+    /**
+     * Analysiert beide Download-Verzeichnisse außerhalb des EDT und setzt danach die Diagramme ein.
+     */
+    private void loadStatisticsInBackground() {
+        String downloadPath = configManager.getDownloadRootPath();
+        
+        new SwingWorker<List<Map<Integer, Integer>>, Void>() {
+            @Override
+            protected List<Map<Integer, Integer>> doInBackground() {
+                return Arrays.asList(
+                    FileStatistics.analyzeFileAge(downloadPath, "mql4", MAX_DAYS),
+                    FileStatistics.analyzeFileAge(downloadPath, "mql5", MAX_DAYS));
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    List<Map<Integer, Integer>> stats = get();
+                    showStatistics(stats.get(0), stats.get(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    logger.error("Fehler beim Berechnen der Statistik", e.getCause());
+                    showError(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Ersetzt die Platzhalter durch Diagramme und Zusammenfassungen (im EDT).
+     */
+    private void showStatistics(Map<Integer, Integer> mql4Stats, Map<Integer, Integer> mql5Stats) {
+        // MQL4 Chart
+        JFreeChart mql4Chart = createAgeChart(mql4Stats, "MQL4 Dateialter", "Alter (Tage)", "Anzahl Dateien");
+        ChartPanel mql4ChartPanel = new ChartPanel(mql4Chart);
+        mql4ChartPanel.setPreferredSize(new Dimension(700, 250)); // Breiteres Format
+        
+        // MQL5 Chart
+        JFreeChart mql5Chart = createAgeChart(mql5Stats, "MQL5 Dateialter", "Alter (Tage)", "Anzahl Dateien");
+        ChartPanel mql5ChartPanel = new ChartPanel(mql5Chart);
+        mql5ChartPanel.setPreferredSize(new Dimension(700, 250)); // Breiteres Format
+        
+        mainPanel.removeAll();
+        mainPanel.add(mql4ChartPanel);
+        mainPanel.add(mql5ChartPanel);
+        
+        statsPanel.removeAll();
+        statsPanel.add(createSummaryPanel("MQL4 Statistik", mql4Stats));
+        statsPanel.add(createSummaryPanel("MQL5 Statistik", mql5Stats));
+        
+        revalidate();
+        repaint();
+        logger.info("Statistik-Diagramme geladen");
+    }
+    
+    private void showError(String message) {
+        mainPanel.removeAll();
+        JLabel errorLabel = new JLabel("Statistik konnte nicht berechnet werden: " + message, SwingConstants.CENTER);
+        errorLabel.setForeground(Color.RED);
+        mainPanel.add(errorLabel);
+        revalidate();
+        repaint();
+    }
+    
+    private JPanel createLoadingPanel(String title) {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder(title));
+        JLabel label = new JLabel("Statistik wird geladen...", SwingConstants.CENTER);
+        label.setFont(new Font("SansSerif", Font.ITALIC, 14));
+        panel.add(label, BorderLayout.CENTER);
+        panel.setPreferredSize(new Dimension(700, 250));
+        return panel;
+    }
+    
+    private JPanel createPlaceholderSummary(String title) {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        panel.setBorder(BorderFactory.createTitledBorder(title));
+        panel.add(new JLabel("Gesamt: ... | Letzte 24h: ... | Letzte Woche: ..."));
+        return panel;
     }
     
     /**
@@ -128,7 +205,7 @@ public class StatisticsDialog extends JDialog {
     }
     
     /**
-     * Zhlt die Dateien in einem bestimmten Altersbereich.
+     * Zählt die Dateien in einem bestimmten Altersbereich.
      * 
      * @param stats Die Statistik-Daten
      * @param minDays Die minimale Anzahl von Tagen
@@ -155,7 +232,7 @@ public class StatisticsDialog extends JDialog {
     private JFreeChart createAgeChart(Map<Integer, Integer> stats, String title, String xAxisLabel, String yAxisLabel) {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
         
-        // Klarere Kategorie-Namen fr die ersten 7 Tage
+        // Klarere Kategorie-Namen für die ersten 7 Tage
         dataset.addValue(stats.getOrDefault(0, 0), "Dateien", "Heute");
         dataset.addValue(stats.getOrDefault(1, 0), "Dateien", "1 Tag");
         dataset.addValue(stats.getOrDefault(2, 0), "Dateien", "2 Tage");
@@ -164,11 +241,11 @@ public class StatisticsDialog extends JDialog {
         dataset.addValue(stats.getOrDefault(5, 0), "Dateien", "5 Tage");
         dataset.addValue(stats.getOrDefault(6, 0), "Dateien", "6 Tage");
         
-        // Wchentlicher Granularitt fr den Rest mit verbesserten Labels
+        // Wöchentlicher Granularität für den Rest mit verbesserten Labels
         dataset.addValue(countFilesInRange(stats, 7, 13), "Dateien", "1 Woche");
         dataset.addValue(countFilesInRange(stats, 14, 20), "Dateien", "2 Wochen");
         dataset.addValue(countFilesInRange(stats, 21, 27), "Dateien", "3 Wochen");
-        dataset.addValue(countFilesInRange(stats, 28, MAX_DAYS), "Dateien", "lter");
+        dataset.addValue(countFilesInRange(stats, 28, MAX_DAYS), "Dateien", "Älter");
         
         JFreeChart chart = ChartFactory.createBarChart(
             title,
@@ -184,7 +261,7 @@ public class StatisticsDialog extends JDialog {
         // Anpassung des Diagramms
         chart.setBackgroundPaint(Color.white);
         
-        // Titel in grerer Schriftart
+        // Titel in größerer Schriftart
         TextTitle textTitle = chart.getTitle();
         textTitle.setFont(new Font("SansSerif", Font.BOLD, 16));
         
@@ -195,15 +272,15 @@ public class StatisticsDialog extends JDialog {
         
         // X-Achse besser formatieren
         CategoryAxis domainAxis = plot.getDomainAxis();
-        domainAxis.setTickLabelFont(new Font("SansSerif", Font.PLAIN, 12)); // Grere Schrift
+        domainAxis.setTickLabelFont(new Font("SansSerif", Font.PLAIN, 12)); // Größere Schrift
         domainAxis.setCategoryMargin(0.3); // Mehr Platz zwischen Kategorien
         
         // Y-Achse als ganze Zahlen formatieren
         NumberAxis rangeAxis = (NumberAxis) plot.getRangeAxis();
         rangeAxis.setStandardTickUnits(NumberAxis.createIntegerTickUnits());
-        rangeAxis.setTickLabelFont(new Font("SansSerif", Font.PLAIN, 12)); // Grere Schrift
+        rangeAxis.setTickLabelFont(new Font("SansSerif", Font.PLAIN, 12)); // Größere Schrift
         
-        // Farben fr die Balken
+        // Farben für die Balken
         BarRenderer renderer = (BarRenderer) plot.getRenderer();
         renderer.setSeriesPaint(0, new Color(65, 105, 225));  // Royal Blue
         renderer.setDrawBarOutline(true);
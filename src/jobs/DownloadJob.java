@@ -0,0 +1,118 @@
+package jobs;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import browser.WebDriverManager;
+import config.ConfigurationManager;
+import downloader.ProgressCallback;
+import downloader.ProviderPageListener;
+import downloader.SignalDownloader;
+import utils.MqlDownloadProtokoll;
+
+/**
+ * Download einer MQL-Version als Job der {@link JobEngine}.
+ *
+ * Jeder Job arbeitet mit einer eigenen Konfigurations-Sitzung, einem eigenen Browser und
+ * einem eigenen Browser-Downloadverzeichnis (download\incoming\mql4 bzw. mql5), damit MQL4
+ * und MQL5 gleichzeitig laufen können, ohne sich CSV-Dateien oder die Version in der
+ * Konfigurationsdatei gegenseitig zu überschreiben.
+ */
+public class DownloadJob implements JobEngine.JobAction {
+    private static final Logger logger = LogManager.getLogger(DownloadJob.class);
+
+    static final String INCOMING_DIRECTORY = "incoming";
+
+    private final ConfigurationManager configManager;
+    private final MqlDownloadProtokoll protokoll;
+    private final String mqlVersion;
+    private ProviderPageListener providerPageListener;
+    private ProgressCallback progressCallback;
+
+    /**
+     * @param mqlVersion "mt4" oder "mt5"
+     */
+    public DownloadJob(ConfigurationManager configManager, MqlDownloadProtokoll protokoll, String mqlVersion) {
+        this.configManager = configManager;
+        this.protokoll = protokoll;
+        this.mqlVersion = mqlVersion;
+    }
+
+    public void setProviderPageListener(ProviderPageListener listener) {
+        this.providerPageListener = listener;
+    }
+
+    public void setProgressCallback(ProgressCallback callback) {
+        this.progressCallback = callback;
+    }
+
+    /**
+     * @return Name des Provider-Verzeichnisses und des Protokolls ("mql4" oder "mql5")
+     */
+    public String getFolderName() {
+        return mqlVersion.equals("mt4") ? "mql4" : "mql5";
+    }
+
+    @Override
+    public void run(JobContext context) throws Exception {
+        String folder = getFolderName();
+        Path downloadRoot = Paths.get(configManager.getDownloadRootPath());
+        ConfigurationManager session = configManager.forSession(mqlVersion,
+                downloadRoot.resolve(folder).toString(),
+                downloadRoot.resolve(INCOMING_DIRECTORY).resolve(folder).toString());
+
+        protokoll.resetProtokoll(folder);
+        protokoll.log(folder, "=== DOWNLOAD-PROZESS GESTARTET (Job " + context.getJobName() + ") ===");
+        logger.info("Job {}: {} nach {}, Browser-Downloads in {}", context.getJobName(),
+                mqlVersion.toUpperCase(), session.getCurrentDownloadPath(), session.getDownloadPath());
+
+        WebDriverManager.enterParallelSession();
+        WebDriverManager webDriverManager = new WebDriverManager(session.getDownloadPath());
+        SignalDownloader downloader = null;
+        WebDriver driver = null;
+        try {
+            driver = webDriverManager.initializeDriver();
+            downloader = new SignalDownloader(driver, session, session.getCredentials());
+            downloader.setDownloadProtokoll(protokoll);
+            downloader.setProviderPageListener(providerPageListener);
+            downloader.setProgressCallback(progressCallback);
+            SignalDownloader stoppable = downloader;
+            context.onCancel(() -> stoppable.setStopFlag(true));
+
+            downloader.startDownloadProcess();
+
+            protokoll.log(folder, context.isCancelled()
+                    ? "=== DOWNLOAD MANUELL GESTOPPT ==="
+                    : "=== DOWNLOAD REGULÄR BEENDET ===");
+        } catch (Exception e) {
+            if (!context.isCancelled()) {
+                protokoll.log(folder, "=== DOWNLOAD MIT FEHLER BEENDET === " + e.getMessage());
+            }
+            throw e;
+        } finally {
+            // Nach einer Recovery gehört dem Downloader ein anderer Browser als der gestartete
+            WebDriver current = downloader != null ? downloader.getDriver() : driver;
+            quit(current);
+            if (current != driver) {
+                quit(driver);
+            }
+            webDriverManager.cleanupSession();
+            WebDriverManager.leaveParallelSession();
+        }
+    }
+
+    private void quit(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Fehler beim Schließen des WebDrivers von {}: {}", mqlVersion, e.getMessage());
+        }
+    }
+}
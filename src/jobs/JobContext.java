@@ -0,0 +1,62 @@
+package jobs;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Laufzeitumgebung eines Jobs der {@link JobEngine}.
+ *
+ * Ein Job prüft {@link #isCancelled()} an geeigneten Stellen oder hinterlegt mit
+ * {@link #onCancel(Runnable)} eine Aktion, die einen blockierenden Ablauf beendet
+ * (z.B. das Stopp-Flag des Downloaders setzt).
+ */
+public final class JobContext {
+    private static final Logger logger = LogManager.getLogger(JobContext.class);
+
+    private final String jobName;
+    private final List<Runnable> cancelHooks = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    JobContext(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registriert eine Aktion für den Abbruch. Ist der Job bereits abgebrochen, läuft sie sofort.
+     */
+    public void onCancel(Runnable hook) {
+        cancelHooks.add(hook);
+        if (cancelled) {
+            runHook(hook);
+        }
+    }
+
+    void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        for (Runnable hook : cancelHooks) {
+            runHook(hook);
+        }
+    }
+
+    private void runHook(Runnable hook) {
+        try {
+            hook.run();
+        } catch (Exception e) {
+            logger.warn("Abbruch-Aktion von Job {} fehlgeschlagen: {}", jobName, e.getMessage());
+        }
+    }
+}
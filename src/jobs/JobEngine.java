@@ -0,0 +1,256 @@
+package jobs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Führt eine Reihe abhängiger Jobs (Download MQL4/MQL5, Konvertierung, Ranking) als
+ * gerichteten Graphen aus.
+ *
+ * Jeder Job startet, sobald alle Jobs, von denen er abhängt, fertig sind; Jobs ohne
+ * gegenseitige Abhängigkeit laufen gleichzeitig auf eigenen Threads. Ein normaler Job wird
+ * übersprungen, wenn eine Abhängigkeit nicht erfolgreich war; ein Folgejob
+ * ({@link #addFollowUpJob}) läuft trotzdem, z.B. die Konvertierung nach einem
+ * fehlgeschlagenen Download. {@link #cancel()} bricht laufende Jobs über ihren
+ * {@link JobContext} ab und verhindert den Start weiterer Jobs.
+ */
+public class JobEngine {
+    private static final Logger logger = LogManager.getLogger(JobEngine.class);
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        SKIPPED,
+        CANCELLED
+    }
+
+    /**
+     * Die eigentliche Arbeit eines Jobs. Eine Exception markiert den Job als FAILED.
+     */
+    public interface JobAction {
+        void run(JobContext context) throws Exception;
+    }
+
+    /**
+     * Wird beim Start und am Ende jedes Jobs aufgerufen (auf dem Thread des Jobs).
+     */
+    public interface JobListener {
+        void jobStarted(String jobName);
+
+        /**
+         * @param error Ursache bei FAILED, sonst null
+         */
+        void jobFinished(String jobName, State state, Throwable error);
+    }
+
+    private final String name;
+    private final Map<String, JobDefinition> jobs = new LinkedHashMap<>();
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final List<JobContext> runningContexts = new CopyOnWriteArrayList<>();
+    private final List<JobListener> listeners = new CopyOnWriteArrayList<>();
+    private ExecutorService executor;
+    private CompletableFuture<Map<String, State>> completion;
+    private volatile boolean cancelled;
+
+    /**
+     * @param name Name für Threads und Log-Ausgaben
+     */
+    public JobEngine(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Fügt einen Job hinzu, der nur läuft, wenn alle Abhängigkeiten erfolgreich waren.
+     *
+     * @param dependsOn Namen bereits hinzugefügter Jobs
+     */
+    public JobEngine addJob(String jobName, JobAction action, String... dependsOn) {
+        return add(jobName, action, true, dependsOn);
+    }
+
+    /**
+     * Fügt einen Job hinzu, der nach seinen Abhängigkeiten läuft, auch wenn diese
+     * fehlgeschlagen sind oder übersprungen wurden (nicht aber nach einem Abbruch).
+     */
+    public JobEngine addFollowUpJob(String jobName, JobAction action, String... dependsOn) {
+        return add(jobName, action, false, dependsOn);
+    }
+
+    public void addListener(JobListener listener) {
+        listeners.add(listener);
+    }
+
+    private synchronized JobEngine add(String jobName, JobAction action, boolean strict, String... dependsOn) {
+        if (completion != null) {
+            throw new IllegalStateException("JobEngine " + name + " läuft bereits");
+        }
+        if (jobs.containsKey(jobName)) {
+            throw new IllegalArgumentException("Job existiert bereits: " + jobName);
+        }
+        for (String dependency : dependsOn) {
+            // Abhängigkeiten müssen vorher hinzugefügt sein; so entstehen keine Zyklen
+            if (!jobs.containsKey(dependency)) {
+                throw new IllegalArgumentException("Unbekannte Abhängigkeit " + dependency + " für Job " + jobName);
+            }
+        }
+        jobs.put(jobName, new JobDefinition(jobName, action, strict, Arrays.asList(dependsOn)));
+        states.put(jobName, State.PENDING);
+        return this;
+    }
+
+    /**
+     * Startet alle Jobs.
+     *
+     * @return wird mit dem Endzustand aller Jobs (in Einfügereihenfolge) abgeschlossen
+     */
+    public synchronized CompletableFuture<Map<String, State>> start() {
+        if (completion != null) {
+            return completion;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        logger.info("Starte {} mit {} Jobs", name, jobs.size());
+        Map<String, CompletableFuture<State>> futures = new LinkedHashMap<>();
+        for (JobDefinition job : jobs.values()) {
+            CompletableFuture<?>[] dependencies = job.dependsOn.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture<?>[]::new);
+            futures.put(job.name, CompletableFuture.allOf(dependencies)
+                    .thenApplyAsync(ignored -> runJob(job), executor));
+        }
+
+        completion = CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> getStates());
+        completion.whenComplete((result, error) -> {
+            executor.shutdown();
+            logger.info("{} beendet: {}", name, result != null ? result : error);
+        });
+        return completion;
+    }
+
+    /**
+     * Bricht laufende Jobs ab; noch nicht gestartete Jobs enden als CANCELLED.
+     */
+    public void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        logger.info("{} wird abgebrochen", name);
+        for (JobContext context : runningContexts) {
+            context.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public State getState(String jobName) {
+        return states.get(jobName);
+    }
+
+    /**
+     * @return aktueller Zustand aller Jobs in Einfügereihenfolge
+     */
+    public Map<String, State> getStates() {
+        Map<String, State> result = new LinkedHashMap<>();
+        for (String jobName : jobs.keySet()) {
+            result.put(jobName, states.get(jobName));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private State runJob(JobDefinition job) {
+        if (cancelled) {
+            return finish(job, State.CANCELLED, null);
+        }
+        if (job.strict) {
+            List<String> notSucceeded = new ArrayList<>();
+            for (String dependency : job.dependsOn) {
+                if (states.get(dependency) != State.SUCCEEDED) {
+                    notSucceeded.add(dependency);
+                }
+            }
+            if (!notSucceeded.isEmpty()) {
+                logger.info("Job {} übersprungen, Abhängigkeiten nicht erfolgreich: {}", job.name, notSucceeded);
+                return finish(job, State.SKIPPED, null);
+            }
+        }
+
+        JobContext context = new JobContext(job.name);
+        runningContexts.add(context);
+        if (cancelled) {
+            context.cancel();
+        }
+        states.put(job.name, State.RUNNING);
+        logger.info("Job {} gestartet", job.name);
+        for (JobListener listener : listeners) {
+            try {
+                listener.jobStarted(job.name);
+            } catch (Exception e) {
+                logger.warn("JobListener-Fehler bei Start von {}: {}", job.name, e.getMessage());
+            }
+        }
+
+        try {
+            job.action.run(context);
+            return finish(job, context.isCancelled() ? State.CANCELLED : State.SUCCEEDED, null);
+        } catch (Exception e) {
+            if (context.isCancelled()) {
+                return finish(job, State.CANCELLED, null);
+            }
+            logger.error("Job " + job.name + " fehlgeschlagen: " + e.getMessage(), e);
+            return finish(job, State.FAILED, e);
+        } finally {
+            runningContexts.remove(context);
+        }
+    }
+
+    private State finish(JobDefinition job, State state, Throwable error) {
+        states.put(job.name, state);
+        logger.info("Job {} beendet: {}", job.name, state);
+        for (JobListener listener : listeners) {
+            try {
+                listener.jobFinished(job.name, state, error);
+            } catch (Exception e) {
+                logger.warn("JobListener-Fehler bei Ende von {}: {}", job.name, e.getMessage());
+            }
+        }
+        return state;
+    }
+
+    private static final class JobDefinition {
+        final String name;
+        final JobAction action;
+        final boolean strict;
+        final List<String> dependsOn;
+
+        JobDefinition(String name, JobAction action, boolean strict, List<String> dependsOn) {
+            this.name = name;
+            this.action = action;
+            this.strict = strict;
+            this.dependsOn = dependsOn;
+        }
+    }
+}
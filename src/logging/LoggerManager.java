@@ -7,8 +7,9 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
-import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.appender.AbstractOutputStreamAppender;
 import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.builder.api.AppenderComponentBuilder;
 import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
 import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
 import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
@@ -19,7 +20,24 @@ public class LoggerManager {
     private static final ReentrantLock flushLock = new ReentrantLock();
     private static volatile boolean shutdownInProgress = false;
     
+    /** Größe der Warteschlange des asynchronen Appenders (Anzahl Log-Events) */
+    private static final int ASYNC_QUEUE_SIZE = 8192;
+    /** Puffergröße der Datei-Appender im Hochdurchsatz-Modus */
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+    
     public static void initializeLogger(String configPath) {
+        initializeLogger(configPath, false);
+    }
+    
+    /**
+     * Initialisiert Log4j. Eine vorhandene log4j2.xml hat immer Vorrang; nur die eingebaute
+     * Standard-Konfiguration richtet sich nach highThroughput.
+     *
+     * @param highThroughput true: Logging über einen asynchronen Appender mit begrenzter
+     *        Warteschlange, gepufferte Datei-Appender, Flush am Ende jedes Stapels und beim
+     *        Beenden. false: jede Zeile wird sofort geschrieben (bisheriges Verhalten).
+     */
+    public static void initializeLogger(String configPath, boolean highThroughput) {
         
         if (isInitialized) {
             logger.warn("LoggerManager is already initialized. Skipping re-initialization.");
@@ -28,7 +46,7 @@ public class LoggerManager {
         }
         isInitialized = true;
         
-        System.out.println("bergebener configPath: " + configPath);
+        System.out.println("Übergebener configPath: " + configPath);
         System.out.println("Arbeitsverzeichnis: " + System.getProperty("user.dir"));
         File log4jConfigFile = new File(configPath);
         System.out.println("Absoluter Pfad der Konfigurationsdatei: " + log4jConfigFile.getAbsolutePath());
@@ -38,56 +56,74 @@ public class LoggerManager {
         if (log4jConfigFile.exists()) {
             try {
                 System.out.println("Log4j-Konfigurationsdatei gefunden: " + log4jConfigFile.getAbsolutePath());
-                Configurator.initialize(null, log4jConfigFile.getAbsolutePath());
+                // reconfigure statt initialize: der LoggerContext existiert durch die statischen Logger bereits
+                Configurator.reconfigure(log4jConfigFile.toURI());
                 logger.info("Log4j configuration file loaded successfully.");
             } catch (Exception e) {
                 System.err.println("Fehler beim Laden der Log4j-Konfiguration: " + e.getMessage());
                 e.printStackTrace();
-                configureDefaultLogger();
+                configureDefaultLogger(highThroughput);
                 logger.error("Could not load Log4j configuration file, using default configuration.", e);
             }
         } else {
             System.out.println("Log4j-Konfigurationsdatei nicht gefunden: " + configPath);
             System.out.println("Verwende Standard-Konfiguration...");
-            configureDefaultLogger();
+            configureDefaultLogger(highThroughput);
             logger.warn("Log4j configuration file not found, using default configuration.");
         }
     }
 
-    private static void configureDefaultLogger() {
+    private static void configureDefaultLogger(boolean highThroughput) {
         ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
         builder.setStatusLevel(org.apache.logging.log4j.Level.ERROR);
-        builder.setConfigurationName("DefaultConfig");
+        builder.setConfigurationName(highThroughput ? "DefaultAsyncConfig" : "DefaultConfig");
+        // Im Hochdurchsatz-Modus flusht der Appender am Ende jedes Stapels aus der Warteschlange
+        String immediateFlush = highThroughput ? "false" : "true";
 
-        // Create Console Appender mit immediateFlush
+        // Create Console Appender
         builder.add(builder.newAppender("Console", "CONSOLE")
-                .addAttribute("immediateFlush", "true")
+                .addAttribute("immediateFlush", immediateFlush)
                 .add(builder.newLayout("PatternLayout")
                         .addAttribute("pattern", "%d{yyyy-MM-dd HH:mm:ss} [%t] %-5level %logger{36} - %msg%n")));
 
-        // Create File Appender mit explizitem immediateFlush=true und bufferedIO=false
+        // Create File Appender: gepuffert im Hochdurchsatz-Modus, sonst immediateFlush=true und bufferedIO=false
         builder.add(builder.newAppender("LogToFile", "File")
                 .addAttribute("fileName", "logs/application.txt")
-                .addAttribute("immediateFlush", "true")
-                .addAttribute("bufferedIO", "false")
+                .addAttribute("immediateFlush", immediateFlush)
+                .addAttribute("bufferedIO", String.valueOf(highThroughput))
+                .addAttribute("bufferSize", FILE_BUFFER_SIZE)
                 .addAttribute("append", "true")
                 .add(builder.newLayout("PatternLayout")
                         .addAttribute("pattern", "%d{yyyy-MM-dd HH:mm:ss} [%t] %-5level %logger{36} - %msg%n")));
 
-        // Configure Root Logger
-        builder.add(builder.newRootLogger(org.apache.logging.log4j.Level.INFO)
-                .add(builder.newAppenderRef("Console"))
-                .add(builder.newAppenderRef("LogToFile")));
+        if (highThroughput) {
+            // Asynchroner Appender vor Konsole und Datei; blockiert bei voller Warteschlange statt zu verwerfen
+            AppenderComponentBuilder async = builder.newAppender("Async", "Async")
+                    .addAttribute("bufferSize", ASYNC_QUEUE_SIZE)
+                    .addAttribute("blocking", true)
+                    .addAttribute("includeLocation", false)
+                    .addComponent(builder.newAppenderRef("Console"))
+                    .addComponent(builder.newAppenderRef("LogToFile"));
+            builder.add(async);
+            builder.add(builder.newRootLogger(org.apache.logging.log4j.Level.INFO)
+                    .add(builder.newAppenderRef("Async")));
+        } else {
+            // Configure Root Logger
+            builder.add(builder.newRootLogger(org.apache.logging.log4j.Level.INFO)
+                    .add(builder.newAppenderRef("Console"))
+                    .add(builder.newAppenderRef("LogToFile")));
+        }
 
-        Configurator.initialize(builder.build());
+        Configurator.reconfigure(builder.build());
     }
     
     /**
-     * SICHERE und EINFACHE Flush-Methode ohne gefhrliche Appender-Manipulationen
+     * Leert die Puffer aller Datei- und Konsolen-Appender. Nur für Fehlerfälle gedacht; im
+     * normalen Ablauf flushen die Appender selbst (sofort oder am Ende eines Stapels).
      */
     public static void flushAllLogs() {
         if (shutdownInProgress) {
-            return; // Verhindere Flush-Versuche whrend Shutdown
+            return; // Verhindere Flush-Versuche während Shutdown
         }
         
         boolean lockAcquired = false;
@@ -95,49 +131,13 @@ public class LoggerManager {
             // Versuche Lock mit Timeout zu bekommen
             lockAcquired = flushLock.tryLock(500, TimeUnit.MILLISECONDS);
             if (!lockAcquired) {
-                System.err.println("LoggerManager: Konnte Flush-Lock nicht bekommen, berspringe Flush");
+                System.err.println("LoggerManager: Konnte Flush-Lock nicht bekommen, überspringe Flush");
                 return;
             }
             
             LoggerContext context = (LoggerContext) LogManager.getContext(false);
             if (context != null && context.getConfiguration() != null) {
-                // SICHERE Flush-Methode - NUR flush() ohne stop/start
-                context.getConfiguration().getAppenders().values().forEach(appender -> {
-                    if (appender != null && appender.isStarted()) {
-                        try {
-                            // Versuche nur sichere flush()-Methoden ohne Appender-Manipulation
-                            Class<?> appenderClass = appender.getClass();
-                            
-                            // Methode 1: Versuche direkten flush() Aufruf
-                            try {
-                                java.lang.reflect.Method flushMethod = appenderClass.getMethod("flush");
-                                flushMethod.invoke(appender);
-                                return; // Erfolgreich - beende fr diesen Appender
-                            } catch (NoSuchMethodException e) {
-                                // flush() nicht verfgbar, versuche Manager-Methode
-                            }
-                            
-                            // Methode 2: Versuche getManager() und dann flush()
-                            try {
-                                java.lang.reflect.Method getManagerMethod = appenderClass.getMethod("getManager");
-                                Object manager = getManagerMethod.invoke(appender);
-                                if (manager != null) {
-                                    java.lang.reflect.Method managerFlushMethod = manager.getClass().getMethod("flush");
-                                    managerFlushMethod.invoke(manager);
-                                }
-                            } catch (Exception e) {
-                                // Manager-Flush nicht verfgbar - ignorieren
-                            }
-                            
-                            // ENTFERNT: stop/start Mechanismus der den Logger beschdigt hat
-                            
-                        } catch (Exception e) {
-                            // Nur System.err verwenden um Log-Rekursion zu vermeiden
-                            System.err.println("LoggerManager: Fehler beim Flushing von Appender " + 
-                                             appender.getName() + " (Typ: " + appender.getClass().getSimpleName() + "): " + e.getMessage());
-                        }
-                    }
-                });
+                flushAppenders(context);
                 
                 // System-Flush ist immer sicher
                 System.out.flush();
@@ -170,14 +170,14 @@ public class LoggerManager {
     }
     
     /**
-     * Thread-sichere Logging-Methode fr kritische Situationen
+     * Thread-sichere Logging-Methode für kritische Situationen
      */
     public static void safeLog(String message) {
         try {
             if (!shutdownInProgress && isInitialized) {
                 logger.info(message);
             } else {
-                // Fallback auf System.out wenn Logger nicht verfgbar
+                // Fallback auf System.out wenn Logger nicht verfügbar
                 System.out.println("[SAFE-LOG] " + message);
             }
         } catch (Exception e) {
@@ -195,7 +195,7 @@ public class LoggerManager {
             if (!shutdownInProgress && isInitialized) {
                 logger.error(message, throwable);
             } else {
-                // Fallback auf System.err wenn Logger nicht verfgbar
+                // Fallback auf System.err wenn Logger nicht verfügbar
                 System.err.println("[SAFE-LOG-ERROR] " + message);
                 if (throwable != null) {
                     throwable.printStackTrace();
@@ -212,7 +212,7 @@ public class LoggerManager {
     }
     
     /**
-     * SICHERE Shutdown-Methode ohne gefhrliche Appender-Manipulationen
+     * SICHERE Shutdown-Methode ohne gefährliche Appender-Manipulationen
      */
     public static void safeShutdown() {
         if (shutdownInProgress) {
@@ -228,36 +228,10 @@ public class LoggerManager {
                 lockAcquired = flushLock.tryLock(500, TimeUnit.MILLISECONDS);
                 
                 if (lockAcquired) {
-                    // Finaler sanfter Flush vor Shutdown
+                    // Finaler Flush vor Shutdown
                     LoggerContext context = (LoggerContext) LogManager.getContext(false);
                     if (context != null && context.getConfiguration() != null) {
-                        context.getConfiguration().getAppenders().values().forEach(appender -> {
-                            if (appender != null && appender.isStarted()) {
-                                try {
-                                    // Nur sichere flush()-Operationen
-                                    Class<?> appenderClass = appender.getClass();
-                                    
-                                    try {
-                                        java.lang.reflect.Method flushMethod = appenderClass.getMethod("flush");
-                                        flushMethod.invoke(appender);
-                                    } catch (NoSuchMethodException e) {
-                                        // Versuche Manager-Flush
-                                        try {
-                                            java.lang.reflect.Method getManagerMethod = appenderClass.getMethod("getManager");
-                                            Object manager = getManagerMethod.invoke(appender);
-                                            if (manager != null) {
-                                                java.lang.reflect.Method managerFlushMethod = manager.getClass().getMethod("flush");
-                                                managerFlushMethod.invoke(manager);
-                                            }
-                                        } catch (Exception ex) {
-                                            // Ignore - keine Flush-Methode verfgbar
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    System.err.println("Fehler beim finalen Flush von " + appender.getName() + ": " + e.getMessage());
-                                }
-                            }
-                        });
+                        flushAppenders(context);
                     }
                 }
                 
@@ -265,7 +239,7 @@ public class LoggerManager {
                 System.out.flush();
                 System.err.flush();
                 
-                // Kurze Wartezeit fr finale Writes
+                // Kurze Wartezeit für finale Writes
                 Thread.sleep(200);
                 
                 System.out.println("LoggerManager: Sicherer Shutdown abgeschlossen - Logger bleiben aktiv");
@@ -279,7 +253,7 @@ public class LoggerManager {
         } catch (Exception e) {
             System.err.println("LoggerManager: Fehler beim sicheren Shutdown: " + e.getMessage());
         } finally {
-            // Reset Shutdown-Flag nach Wartezeit fr zuknftige Verwendung
+            // Reset Shutdown-Flag nach Wartezeit für zukünftige Verwendung
             new Thread(() -> {
                 try {
                     Thread.sleep(1000);
@@ -292,7 +266,25 @@ public class LoggerManager {
     }
     
     /**
-     * Status-Prfung
+     * Flusht die Manager aller Stream-basierten Appender (File, Console, RollingFile ...).
+     * Ein asynchroner Appender leert seine Warteschlange selbst und flusht dabei am Stapelende.
+     */
+    private static void flushAppenders(LoggerContext context) {
+        context.getConfiguration().getAppenders().values().forEach(appender -> {
+            if (appender instanceof AbstractOutputStreamAppender && appender.isStarted()) {
+                try {
+                    ((AbstractOutputStreamAppender<?>) appender).getManager().flush();
+                } catch (Exception e) {
+                    // Nur System.err verwenden um Log-Rekursion zu vermeiden
+                    System.err.println("LoggerManager: Fehler beim Flushing von Appender " + 
+                                     appender.getName() + " (Typ: " + appender.getClass().getSimpleName() + "): " + e.getMessage());
+                }
+            }
+        });
+    }
+    
+    /**
+     * Status-Prüfung
      */
     public static boolean isShutdownInProgress() {
         return shutdownInProgress;
@@ -6,6 +6,7 @@ import org.apache.logging.log4j.Logger;
 import config.ConfigurationManager;
 import gui.MqlDownloaderGui;
 import logging.LoggerManager;
+import metrics.MetricsHttpServer;
 import utils.LogTest;
 
 public class MqlDownloaderApp {
@@ -21,11 +22,17 @@ public class MqlDownloaderApp {
             configManager.initializeDirectories();
             
             // Logger initialisieren bevor wir ihn verwenden
-            LoggerManager.initializeLogger(configManager.getLogConfigPath());
+            LoggerManager.initializeLogger(configManager.getLogConfigPath(), configManager.isAsyncLogging());
             
             // Jetzt loggen
             logger.info("MqlDownloaderApp wird gestartet");
             
+            // Optionaler Metrik-Endpunkt für lange Läufe (metricsPort in der Konfiguration)
+            int metricsPort = configManager.getMetricsPort();
+            if (metricsPort > 0 && MetricsHttpServer.start(metricsPort)) {
+                Runtime.getRuntime().addShutdownHook(new Thread(MetricsHttpServer::stop, "Metrics-Shutdown"));
+            }
+            
         
             
             javax.swing.SwingUtilities.invokeLater(() -> {
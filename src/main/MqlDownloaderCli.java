@@ -0,0 +1,591 @@
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import browser.WebDriverManager;
+import config.ConfigurationManager;
+import config.Credentials;
+import converter.ConversionErrorPolicy;
+import converter.ConversionPipeline;
+import converter.ConversionProgress;
+import converter.HtmlConverter;
+import jobs.DownloadJob;
+import jobs.JobContext;
+import jobs.JobEngine;
+import logging.LoggerManager;
+import ranking.ProviderRankingIndex;
+import ranking.RankingEngine;
+import ranking.RankingMetric;
+import utils.MqlDownloadProtokoll;
+import utils.ProviderCatalog;
+
+/**
+ * Kommandozeilen-Einstieg ohne GUI für den unbeaufsichtigten Betrieb (z.B. per cron auf einem
+ * Linux-Server). Führt Download (mt4, mt5 oder beide gleichzeitig), Konvertierung und Ranking
+ * als Jobs einer {@link JobEngine} aus. Es wird keine Swing-Klasse geladen; Chrome läuft ohne Fenster.
+ *
+ * Auf stdout erscheinen ausschließlich JSON-Zeilen (ein Objekt je Ereignis), Logausgaben der
+ * Konsole gehen nach stderr.
+ *
+ * Aufruf:
+ * <pre>
+ * java -cp ... main.MqlDownloaderCli [--root DIR] [--download mt4|mt5|both|none]
+ *      [--convert|--no-convert] [--rank|--no-rank] [--mql4-limit N] [--mql5-limit N]
+ *      [--top N] [--metric 3MPDD] [--error-policy quarantine|delete|abort] [--retry-quarantine]
+ *      [--show-browser] [--job DATEI]
+ * </pre>
+ * Eine Job-Datei ist eine Properties-Datei mit denselben Schlüsseln ohne "--"
+ * (z.B. download=both, convert=true, top=20); Kommandozeilen-Argumente haben Vorrang.
+ */
+public class MqlDownloaderCli {
+    private static final Logger logger = LogManager.getLogger(MqlDownloaderCli.class);
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_STEP_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_CONFIG = 3;
+
+    /** Wie die GUI unter Windows, sonst im Home-Verzeichnis */
+    private static final String DEFAULT_ROOT = File.separatorChar == '\\' ? "C:\\Forex\\MqlAnalyzer"
+            : Paths.get(System.getProperty("user.home"), "Forex", "MqlAnalyzer").toString();
+
+    private final PrintStream out;
+    private final Map<String, String> options;
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    MqlDownloaderCli(PrintStream out, Map<String, String> options) {
+        this.out = out;
+        this.options = options;
+    }
+
+    public static void main(String[] args) {
+        // stdout gehört den JSON-Zeilen; alles andere (Log4j-Konsole, println) geht nach stderr
+        PrintStream jsonOut = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+
+        Map<String, String> options;
+        try {
+            options = parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            emit(jsonOut, event("error").put("step", "arguments").put("message", e.getMessage()));
+            System.err.println(usage());
+            System.exit(EXIT_USAGE);
+            return;
+        }
+        if (options.containsKey("help")) {
+            System.err.println(usage());
+            System.exit(EXIT_OK);
+            return;
+        }
+        System.exit(new MqlDownloaderCli(jsonOut, options).run());
+    }
+
+    /**
+     * Führt alle angeforderten Schritte aus.
+     *
+     * @return Exit-Code (0 = alles erfolgreich, 1 = mindestens ein Schritt fehlgeschlagen,
+     *         2 = ungültige Argumente, 3 = Konfigurationsfehler)
+     */
+    int run() {
+        try {
+            return runSteps();
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    private int runSteps() {
+        long start = System.currentTimeMillis();
+        String download = options.getOrDefault("download", "none").toLowerCase(Locale.ROOT);
+        boolean convert = Boolean.parseBoolean(options.getOrDefault("convert", "true"));
+        boolean rank = Boolean.parseBoolean(options.getOrDefault("rank", "true"));
+        boolean retryQuarantine = Boolean.parseBoolean(options.getOrDefault("retry-quarantine", "false"));
+        if (!download.matches("mt4|mt5|both|none")) {
+            emit(event("error").put("step", "arguments").put("message", "download muss mt4, mt5, both oder none sein"));
+            return EXIT_USAGE;
+        }
+        if (options.containsKey("error-policy") && ConversionErrorPolicy.fromKey(options.get("error-policy")) == null) {
+            emit(event("error").put("step", "arguments").put("message", "error-policy muss quarantine, delete oder abort sein"));
+            return EXIT_USAGE;
+        }
+        // Zahlen vor dem Schreiben der Konfiguration prüfen, damit Fehler als Argumentfehler enden
+        String numberError = checkNumber("mql4-limit", 1, 5000);
+        if (numberError == null) {
+            numberError = checkNumber("mql5-limit", 1, 5000);
+        }
+        if (numberError == null) {
+            numberError = checkNumber("top", 1, Integer.MAX_VALUE);
+        }
+        if (numberError != null) {
+            emit(event("error").put("step", "arguments").put("message", numberError));
+            return EXIT_USAGE;
+        }
+
+        ConfigurationManager configManager;
+        try {
+            configManager = prepareConfiguration();
+        } catch (RuntimeException e) {
+            emit(event("error").put("step", "config").put("message", e.getMessage()));
+            return EXIT_CONFIG;
+        }
+        emit(event("start").put("root", configManager.getRootDirPath()).put("download", download)
+                .put("convert", convert).put("rank", rank));
+
+        if (!download.equals("none")) {
+            Credentials credentials = configManager.getCredentials();
+            if (credentials.getUsername().isEmpty() || credentials.getPassword().isEmpty()) {
+                emit(event("error").put("step", "config").put("message",
+                        "Keine Zugangsdaten in " + configManager.getMqlConfigFilePath()));
+                return EXIT_CONFIG;
+            }
+        }
+
+        String basePath = configManager.getDownloadRootPath();
+        ConversionErrorPolicy errorPolicy = ConversionErrorPolicy.fromKey(
+                options.getOrDefault("error-policy", configManager.getConversionErrorPolicy()));
+
+        // Mit Download und Konvertierung: Provider schon während des Crawls konvertieren
+        ConversionPipeline pipeline = null;
+        long pipelineStart = System.currentTimeMillis();
+        if (convert && !download.equals("none") && configManager.isPipelineConversion()) {
+            pipeline = startPipeline(basePath, errorPolicy, configManager);
+        }
+
+        // Download-Jobs laufen gleichzeitig; Konvertierung, Quarantäne-Wiederholung und Ranking
+        // folgen wie bisher auch dann, wenn ein vorheriger Schritt fehlgeschlagen ist
+        JobEngine engine = new JobEngine("Cli");
+        MqlDownloadProtokoll protokoll = new MqlDownloadProtokoll(configManager.getDownloadRootPath());
+        List<String> previous = new ArrayList<>();
+        for (String version : download.equals("both") ? new String[] {"mt4", "mt5"}
+                : download.equals("none") ? new String[0] : new String[] {download}) {
+            String jobName = "download-" + version;
+            engine.addJob(jobName, downloadStep(configManager, protokoll, version, pipeline));
+            previous.add(jobName);
+        }
+        if (pipeline != null) {
+            ConversionPipeline activePipeline = pipeline;
+            addStep(engine, "convert", previous, context -> {
+                protokoll.flush();
+                if (context.isCancelled()) {
+                    activePipeline.cancel();
+                    return true;
+                }
+                return finishPipeline(activePipeline, pipelineStart);
+            });
+        } else if (convert) {
+            addStep(engine, "convert", previous, context -> runConversion(basePath, errorPolicy, false));
+        }
+        if (retryQuarantine) {
+            addStep(engine, "retry-quarantine", previous, context -> runConversion(basePath, errorPolicy, true));
+        }
+        if (rank) {
+            addStep(engine, "rank", previous, context -> runRanking(basePath));
+        }
+
+        // SIGTERM/Strg+C: laufende Jobs anhalten und kurz auf das Aufräumen warten
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (finished.getCount() > 0) {
+                engine.cancel();
+                try {
+                    finished.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "Cli-Shutdown"));
+
+        Map<String, JobEngine.State> states;
+        try {
+            states = engine.start().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            engine.cancel();
+            states = engine.getStates();
+        } catch (ExecutionException e) {
+            logger.error("Job-Ausführung fehlgeschlagen", e.getCause());
+            states = engine.getStates();
+        }
+        protokoll.flush();
+        // Wie in der GUI: lief der Konvertierungsschritt nach einem Abbruch nicht mehr, die
+        // Pipeline hier beenden, damit Conversion Log, Ablehnungsliste und Katalog geschrieben werden
+        JobEngine.State convertState = states.get("convert");
+        if (pipeline != null && (convertState == null || convertState == JobEngine.State.CANCELLED
+                || convertState == JobEngine.State.SKIPPED || convertState == JobEngine.State.PENDING)) {
+            pipeline.cancel();
+        }
+
+        boolean failed = states.values().stream().anyMatch(state -> state != JobEngine.State.SUCCEEDED);
+        int exitCode = failed ? EXIT_STEP_FAILED : EXIT_OK;
+        emit(event("finished").put("exitCode", exitCode).put("durationMs", System.currentTimeMillis() - start));
+        return exitCode;
+    }
+
+    /**
+     * Hängt einen Schritt als Folgejob an den zuletzt hinzugefügten an; die Schritt-Methoden
+     * melden ihr Ergebnis selbst als JSON, false markiert den Job als fehlgeschlagen.
+     */
+    private void addStep(JobEngine engine, String name, List<String> previous, Step step) {
+        engine.addFollowUpJob(name, context -> {
+            if (!step.run(context)) {
+                throw new IllegalStateException("Schritt " + name + " fehlgeschlagen");
+            }
+        }, previous.toArray(new String[0]));
+        previous.clear();
+        previous.add(name);
+    }
+
+    private interface Step {
+        boolean run(JobContext context) throws Exception;
+    }
+
+    private ConfigurationManager prepareConfiguration() {
+        ConfigurationManager configManager = new ConfigurationManager(options.getOrDefault("root", DEFAULT_ROOT));
+        configManager.initializeDirectories();
+        LoggerManager.initializeLogger(configManager.getLogConfigPath(), configManager.isAsyncLogging());
+        ProviderCatalog.preload(configManager.getDownloadRootPath());
+
+        // Limits werden wie in der GUI in der Konfiguration gespeichert
+        if (options.containsKey("mql4-limit")) {
+            configManager.setMql4Limit(parseInt("mql4-limit"));
+        }
+        if (options.containsKey("mql5-limit")) {
+            configManager.setMql5Limit(parseInt("mql5-limit"));
+        }
+        if (!Boolean.parseBoolean(options.getOrDefault("show-browser", "false"))) {
+            System.setProperty(WebDriverManager.HEADLESS_PROPERTY, "true");
+        }
+        return configManager;
+    }
+
+    /**
+     * Lädt eine MQL-Version als eigener Job mit eigenem Browser herunter (wie "Do All" der GUI).
+     */
+    private JobEngine.JobAction downloadStep(ConfigurationManager configManager, MqlDownloadProtokoll protokoll,
+            String version, ConversionPipeline pipeline) {
+        int limit = version.equals("mt4") ? configManager.getMql4Limit() : configManager.getMql5Limit();
+        AtomicInteger processed = new AtomicInteger();
+        DownloadJob job = new DownloadJob(configManager, protokoll, version);
+        job.setProviderPageListener(pipeline);
+        job.setProgressCallback(count -> {
+            processed.set(count);
+            emit(event("progress").put("step", "download").put("version", version)
+                    .put("count", count).put("limit", limit));
+        });
+        return context -> {
+            long start = System.currentTimeMillis();
+            emit(event("step").put("step", "download").put("version", version).put("status", "started").put("limit", limit));
+            try {
+                job.run(context);
+                emit(event("step").put("step", "download").put("version", version)
+                        .put("status", context.isCancelled() ? "cancelled" : "done")
+                        .put("count", processed.get()).put("durationMs", System.currentTimeMillis() - start));
+            } catch (Exception e) {
+                logger.error("Download " + version + " fehlgeschlagen", e);
+                emit(event("step").put("step", "download").put("version", version).put("status", "failed")
+                        .put("count", processed.get()).put("message", String.valueOf(e.getMessage()))
+                        .put("durationMs", System.currentTimeMillis() - start));
+                throw e;
+            }
+        };
+    }
+
+    private ConversionPipeline startPipeline(String basePath, ConversionErrorPolicy policy, ConfigurationManager configManager) {
+        emit(event("step").put("step", "convert").put("status", "started").put("mode", "pipeline"));
+        HtmlConverter converter = new HtmlConverter(basePath);
+        converter.setErrorPolicy(policy);
+        ConversionPipeline pipeline = new ConversionPipeline(converter,
+                configManager.getMql4Limit() + configManager.getMql5Limit());
+        pipeline.setProgressCallback(progressEmitter("convert"));
+        pipeline.start();
+        return pipeline;
+    }
+
+    /**
+     * Wartet auf die restlichen Provider der Pipeline und meldet das Ergebnis wie {@link #runConversion}.
+     */
+    private boolean finishPipeline(ConversionPipeline pipeline, long start) {
+        try {
+            pipeline.finish();
+            emitConversionResult("convert", pipeline.getConverter(), start);
+            return true;
+        } catch (Exception e) {
+            logger.error("Konvertierung fehlgeschlagen", e);
+            emit(event("step").put("step", "convert").put("status", "failed")
+                    .put("message", String.valueOf(e.getMessage())).put("durationMs", System.currentTimeMillis() - start));
+            return false;
+        }
+    }
+
+    /**
+     * Konvertiert alle HTML-Dateien oder wiederholt die Provider in der Quarantäne. Provider mit
+     * Extraktionsfehlern werden am Ende einmal als "extraction_failure"-Ereignisse gemeldet.
+     *
+     * @param policy Fehler-Policy, null = quarantine
+     * @return true bei regulärem Ende
+     */
+    private boolean runConversion(String basePath, ConversionErrorPolicy policy, boolean quarantineRetry) {
+        long start = System.currentTimeMillis();
+        String step = quarantineRetry ? "retry-quarantine" : "convert";
+        emit(event("step").put("step", step).put("status", "started"));
+        try {
+            HtmlConverter converter = new HtmlConverter(basePath);
+            converter.setErrorPolicy(policy);
+            converter.setProgressCallback(progressEmitter(step));
+            if (quarantineRetry) {
+                converter.retryQuarantine();
+            } else {
+                converter.convertAllHtmlFiles();
+            }
+            emitConversionResult(step, converter, start);
+            return true;
+        } catch (Exception e) {
+            logger.error("Konvertierung fehlgeschlagen", e);
+            emit(event("step").put("step", step).put("status", "failed")
+                    .put("message", String.valueOf(e.getMessage())).put("durationMs", System.currentTimeMillis() - start));
+            return false;
+        }
+    }
+
+    private ConversionProgress progressEmitter(String step) {
+        int[] lastPercent = {-1};
+        return (percentage, message) -> {
+            // Nur bei Änderung des Prozentwerts melden, sonst eine Zeile je Datei
+            if (percentage != lastPercent[0]) {
+                lastPercent[0] = percentage;
+                emit(event("progress").put("step", step).put("percent", percentage).put("message", message));
+            }
+        };
+    }
+
+    private void emitConversionResult(String step, HtmlConverter converter, long start) {
+        Map<String, String> failures = converter.getExtractionFailures();
+        for (Map.Entry<String, String> failure : failures.entrySet()) {
+            emit(event("extraction_failure").put("step", step).put("provider", failure.getKey())
+                    .put("reason", failure.getValue()).put("policy", converter.getErrorPolicy().getKey()));
+        }
+        emit(event("step").put("step", step).put("status", "done")
+                .put("processed", converter.getProcessedProvidersCount())
+                .put("deleted", converter.getDeletedProvidersCount())
+                .put("extractionFailures", failures.size())
+                .put("durationMs", System.currentTimeMillis() - start));
+    }
+
+    private boolean runRanking(String basePath) {
+        long start = System.currentTimeMillis();
+        RankingMetric metric = RankingMetric.fromKey(options.getOrDefault("metric", "3MPDD"));
+        if (metric == null) {
+            emit(event("step").put("step", "rank").put("status", "failed")
+                    .put("message", "Unbekannte Kennzahl: " + options.get("metric")));
+            return false;
+        }
+        int top = options.containsKey("top") ? parseInt("top") : 10;
+        emit(event("step").put("step", "rank").put("status", "started").put("metric", metric.getKey()));
+        try {
+            RankingEngine engine = new RankingEngine(basePath);
+            engine.rebuildAll();
+            for (String version : new String[] {"mql4", "mql5"}) {
+                ProviderRankingIndex index = engine.getIndex(version);
+                int position = 0;
+                for (String provider : index.topK(metric, top)) {
+                    emit(event("ranking").put("version", version).put("rank", ++position).put("provider", provider)
+                            .put("metric", metric.getKey()).put("value", index.getValue(metric, provider)));
+                }
+            }
+            emit(event("step").put("step", "rank").put("status", "done")
+                    .put("mql4", engine.getIndex("mql4").size()).put("mql5", engine.getIndex("mql5").size())
+                    .put("durationMs", System.currentTimeMillis() - start));
+            return true;
+        } catch (Exception e) {
+            logger.error("Ranking fehlgeschlagen", e);
+            emit(event("step").put("step", "rank").put("status", "failed")
+                    .put("message", String.valueOf(e.getMessage())).put("durationMs", System.currentTimeMillis() - start));
+            return false;
+        }
+    }
+
+    /**
+     * @return Fehlermeldung, wenn die Option gesetzt, aber keine ganze Zahl zwischen min und max ist,
+     *         sonst null
+     */
+    private String checkNumber(String key, int min, int max) {
+        if (!options.containsKey(key)) {
+            return null;
+        }
+        try {
+            int value = parseInt(key);
+            if (value < min || value > max) {
+                return max == Integer.MAX_VALUE ? key + " muss mindestens " + min + " sein: " + value
+                        : key + " muss zwischen " + min + " und " + max + " liegen: " + value;
+            }
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private int parseInt(String key) {
+        try {
+            return Integer.parseInt(options.get(key).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültige Zahl für " + key + ": " + options.get(key));
+        }
+    }
+
+    /**
+     * Liest die Argumente; eine Job-Datei (--job) liefert Standardwerte, die Kommandozeile
+     * überschreibt sie.
+     */
+    static Map<String, String> parseArguments(String[] args) {
+        Map<String, String> cli = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--help":
+                case "-h":
+                    cli.put("help", "true");
+                    break;
+                case "--convert":
+                case "--rank":
+                case "--show-browser":
+                case "--retry-quarantine":
+                    cli.put(arg.substring(2), "true");
+                    break;
+                case "--no-convert":
+                case "--no-rank":
+                    cli.put(arg.substring(5), "false");
+                    break;
+                case "--root":
+                case "--download":
+                case "--mql4-limit":
+                case "--mql5-limit":
+                case "--top":
+                case "--metric":
+                case "--error-policy":
+                case "--job":
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("Wert fehlt für " + arg);
+                    }
+                    cli.put(arg.substring(2), args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unbekanntes Argument: " + arg);
+            }
+        }
+
+        Map<String, String> options = new LinkedHashMap<>();
+        if (cli.containsKey("job")) {
+            Properties job = new Properties();
+            File jobFile = new File(cli.get("job"));
+            try (Reader reader = Files.newBufferedReader(jobFile.toPath(), StandardCharsets.UTF_8)) {
+                job.load(reader);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Job-Datei nicht lesbar: " + jobFile + " (" + e.getMessage() + ")");
+            }
+            for (String key : job.stringPropertyNames()) {
+                options.put(key.trim(), job.getProperty(key).trim());
+            }
+        }
+        options.putAll(cli);
+        return options;
+    }
+
+    static String usage() {
+        return String.join(System.lineSeparator(),
+                "Usage: java -cp <classpath> main.MqlDownloaderCli [options]",
+                "  --root DIR            root directory (default " + DEFAULT_ROOT + ")",
+                "  --download VERSION    mt4, mt5, both or none (default none)",
+                "  --convert/--no-convert  run HTML conversion (default on)",
+                "  --rank/--no-rank      rebuild ranking and print top providers (default on)",
+                "  --mql4-limit N        provider limit for MQL4 (stored in the configuration)",
+                "  --mql5-limit N        provider limit for MQL5 (stored in the configuration)",
+                "  --top N               number of ranked providers per version (default 10)",
+                "  --metric KEY          ranking metric, e.g. 3MPDD, 12MPDD, StabilityValue",
+                "  --error-policy P      quarantine, delete or abort for providers that fail extraction",
+                "  --retry-quarantine    convert the providers in download/quarantine again",
+                "  --show-browser        run Chrome with a window instead of headless",
+                "  --job FILE            properties file with the same keys (without --)",
+                "Exit codes: 0 ok, 1 a step failed, 2 invalid arguments, 3 configuration error");
+    }
+
+    private void emit(JsonLine line) {
+        emit(out, line);
+    }
+
+    private static void emit(PrintStream stream, JsonLine line) {
+        synchronized (stream) {
+            stream.println(line.toString());
+        }
+    }
+
+    private static JsonLine event(String type) {
+        return new JsonLine().put("ts", System.currentTimeMillis()).put("event", type);
+    }
+
+    /**
+     * Minimaler Builder für ein flaches JSON-Objekt in einer Zeile.
+     */
+    static final class JsonLine {
+        private final List<String> fields = new ArrayList<>();
+
+        JsonLine put(String key, Object value) {
+            String json;
+            if (value == null) {
+                json = "null";
+            } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+                json = value.toString();
+            } else if (value instanceof Double) {
+                double d = (Double) value;
+                json = Double.isNaN(d) || Double.isInfinite(d) ? "null" : String.format(Locale.ROOT, "%.4f", d);
+            } else {
+                json = quote(value.toString());
+            }
+            fields.add(quote(key) + ":" + json);
+            return this;
+        }
+
+        private static String quote(String text) {
+            StringBuilder sb = new StringBuilder(text.length() + 2).append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"': sb.append("\\\""); break;
+                    case '\\': sb.append("\\\\"); break;
+                    case '\n': sb.append("\\n"); break;
+                    case '\r': sb.append("\\r"); break;
+                    case '\t': sb.append("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                }
+            }
+            return sb.append('"').toString();
+        }
+
+        @Override
+        public String toString() {
+            return "{" + String.join(",", fields) + "}";
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monoton steigender Zähler (z.B. verarbeitete Provider, Fehler je Typ).
+ */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+    /** Zähler der globalen Registry bei Zählern eines Laufs, sonst null */
+    private final Counter parent;
+
+    Counter(Counter parent) {
+        this.parent = parent;
+    }
+
+    public void inc() {
+        value.increment();
+        if (parent != null) {
+            parent.inc();
+        }
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+        if (parent != null) {
+            parent.add(amount);
+        }
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,38 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Momentanwert, der steigen und fallen kann (z.B. aktuelle Seite, Größe einer Warteschlange).
+ */
+public final class Gauge {
+    private final AtomicLong value = new AtomicLong();
+    /** Wert der globalen Registry bei Werten eines Laufs, sonst null */
+    private final Gauge parent;
+
+    Gauge(Gauge parent) {
+        this.parent = parent;
+    }
+
+    public void set(long newValue) {
+        value.set(newValue);
+        if (parent != null) {
+            parent.set(newValue);
+        }
+    }
+
+    public void add(long delta) {
+        value.addAndGet(delta);
+        if (parent != null) {
+            parent.add(delta);
+        }
+    }
+
+    public long get() {
+        return value.get();
+    }
+
+    void reset() {
+        value.set(0);
+    }
+}
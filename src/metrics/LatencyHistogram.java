@@ -0,0 +1,119 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latenz-Histogramm mit festen Bucket-Grenzen in Millisekunden.
+ *
+ * Die Grenzen decken Mikrosekunden-Extraktionen ebenso ab wie minutenlange Seitenladezeiten.
+ * Aufnahme ist lock-frei (LongAdder je Bucket), Quantile werden als Bucket-Obergrenze geschätzt.
+ */
+public final class LatencyHistogram {
+
+    /** Obergrenzen der Buckets in ms; der letzte, implizite Bucket ist +Inf */
+    static final double[] BOUNDS_MS = {0.1, 0.5, 1, 2.5, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000,
+                                       10000, 30000, 60000, 120000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    /** Histogramm der globalen Registry bei Histogrammen eines Laufs, sonst null */
+    private final LatencyHistogram parent;
+
+    LatencyHistogram(LatencyHistogram parent) {
+        this.parent = parent;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void recordNanos(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        double ms = nanos / 1_000_000.0;
+        int index = 0;
+        while (index < BOUNDS_MS.length && ms > BOUNDS_MS[index]) {
+            index++;
+        }
+        buckets[index].increment();
+        count.increment();
+        sumNanos.add(nanos);
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // erneut versuchen
+        }
+        if (parent != null) {
+            parent.recordNanos(nanos);
+        }
+    }
+
+    public void recordMillis(long millis) {
+        recordNanos(millis * 1_000_000L);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSumMillis() {
+        return sumNanos.sum() / 1_000_000.0;
+    }
+
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : getSumMillis() / n;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Schätzt ein Quantil als Obergrenze des Buckets, in dem es liegt.
+     *
+     * @param quantile Wert zwischen 0 und 1 (z.B. 0.95)
+     * @return geschätzte Latenz in ms, höchstens das gemessene Maximum
+     */
+    public double getQuantileMillis(double quantile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BOUNDS_MS.length ? Math.min(BOUNDS_MS[i], getMaxMillis()) : getMaxMillis();
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * @return Anzahl je Bucket (nicht kumuliert), letzter Eintrag ist +Inf
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sumNanos.reset();
+        maxNanos.set(0);
+    }
+}
@@ -0,0 +1,63 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Optionaler lokaler HTTP-Endpunkt (nur Loopback), der die Metriken unter /metrics im
+ * Prometheus-Textformat ausliefert. Für lange Download-Läufe gedacht; aktiviert über
+ * metricsPort in der Konfiguration (0 = aus).
+ */
+public final class MetricsHttpServer {
+    private static final Logger logger = LogManager.getLogger(MetricsHttpServer.class);
+    private static HttpServer server;
+
+    private MetricsHttpServer() {
+    }
+
+    /**
+     * Startet den Endpunkt, falls noch nicht geschehen.
+     *
+     * @param port TCP-Port auf 127.0.0.1
+     * @return true, wenn der Endpunkt läuft
+     */
+    public static synchronized boolean start(int port) {
+        if (server != null) {
+            return true;
+        }
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext("/metrics", exchange -> {
+                byte[] body = MetricsRegistry.getInstance().toPrometheusText().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            httpServer.start();
+            server = httpServer;
+            logger.info("Metrik-Endpunkt gestartet: http://127.0.0.1:{}/metrics", port);
+            return true;
+        } catch (IOException e) {
+            logger.error("Metrik-Endpunkt konnte auf Port {} nicht gestartet werden: {}", port, e.getMessage());
+            return false;
+        }
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            logger.info("Metrik-Endpunkt gestoppt");
+        }
+    }
+}
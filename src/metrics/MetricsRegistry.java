@@ -0,0 +1,230 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Zentrale Sammlung der Laufzeitmetriken (Zähler, Momentanwerte, Latenz-Histogramme).
+ *
+ * Namen sind punktgetrennt nach Stufe, z.B. "download.root_page" oder "convert.mpdd".
+ * Jeder Lauf (Download einer Version, Konvertierung) misst in eine eigene Registry aus
+ * {@link #newRun()}, deren Schnappschuss am Ende als JSON und CSV geschrieben wird. Alle Werte
+ * gehen zusätzlich in die globale Registry, die {@link MetricsHttpServer} für lange Läufe im
+ * Prometheus-Textformat anbietet.
+ */
+public final class MetricsRegistry {
+    private static final Logger logger = LogManager.getLogger(MetricsRegistry.class);
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry(null);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    /** globale Registry bei Registries eines Laufs, sonst null */
+    private final MetricsRegistry parent;
+
+    private MetricsRegistry(MetricsRegistry parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * @return globale Registry (Summe über alle Läufe seit dem Programmstart)
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return neue, leere Registry für einen Lauf; alle Werte gehen auch in die globale Registry
+     */
+    public static MetricsRegistry newRun() {
+        return new MetricsRegistry(INSTANCE);
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter(parent != null ? parent.counter(n) : null));
+    }
+
+    public Gauge gauge(String name) {
+        return gauges.computeIfAbsent(name, n -> new Gauge(parent != null ? parent.gauge(n) : null));
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name,
+                n -> new LatencyHistogram(parent != null ? parent.histogram(n) : null));
+    }
+
+    /**
+     * Nimmt die seit {@code startNanos} vergangene Zeit in das Histogramm des Namens auf.
+     * Üblich: {@code long start = System.nanoTime(); try {...} finally { metrics.recordSince("convert.mpdd", start); }}
+     *
+     * @param startNanos Startzeit aus {@link System#nanoTime()}
+     */
+    public void recordSince(String name, long startNanos) {
+        histogram(name).recordNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Führt {@code action} aus und nimmt die Dauer (auch bei einer Exception) in das Histogramm auf.
+     */
+    public <T> T time(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            recordSince(name, start);
+        }
+    }
+
+    /**
+     * Setzt alle Werte auf 0 zurück (vor einem neuen Lauf mit derselben Registry). Registrierte
+     * Metriken bleiben erhalten; bei einer Registry aus {@link #newRun()} bleibt die globale unverändert.
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        gauges.values().forEach(Gauge::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Schreibt den aktuellen Stand als metrics_&lt;lauf&gt;_&lt;zeitstempel&gt;.json und .csv
+     * in das angegebene Verzeichnis. Fehler werden nur protokolliert.
+     *
+     * @param directory Zielverzeichnis (z.B. Log-Verzeichnis)
+     * @param runName Name des Laufs, z.B. "download_mt5" oder "conversion"
+     */
+    public void writeSnapshot(Path directory, String runName) {
+        String baseName = "metrics_" + runName + "_" + LocalDateTime.now().format(FILE_TIMESTAMP);
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(baseName + ".json"), toJson().getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve(baseName + ".csv"), toCsv().getBytes(StandardCharsets.UTF_8));
+            logger.info("Metrik-Schnappschuss geschrieben: {}", directory.resolve(baseName + ".json"));
+        } catch (IOException e) {
+            logger.error("Fehler beim Schreiben des Metrik-Schnappschusses: {}", e.getMessage(), e);
+        }
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("{\n  \"timestamp\": \"").append(LocalDateTime.now()).append("\",\n");
+        sb.append("  \"counters\": {");
+        appendJsonValues(sb, counters);
+        sb.append("},\n  \"gauges\": {");
+        appendJsonValues(sb, gauges);
+        sb.append("},\n  \"histograms\": {");
+        boolean first = true;
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            sb.append(first ? "\n" : ",\n");
+            first = false;
+            sb.append("    \"").append(entry.getKey()).append("\": {")
+              .append("\"count\": ").append(h.getCount())
+              .append(", \"sumMs\": ").append(format(h.getSumMillis()))
+              .append(", \"meanMs\": ").append(format(h.getMeanMillis()))
+              .append(", \"p50Ms\": ").append(format(h.getQuantileMillis(0.5)))
+              .append(", \"p95Ms\": ").append(format(h.getQuantileMillis(0.95)))
+              .append(", \"p99Ms\": ").append(format(h.getQuantileMillis(0.99)))
+              .append(", \"maxMs\": ").append(format(h.getMaxMillis()))
+              .append('}');
+        }
+        sb.append(first ? "}\n}\n" : "\n  }\n}\n");
+        return sb.toString();
+    }
+
+    private static void appendJsonValues(StringBuilder sb, Map<String, ?> metrics) {
+        boolean first = true;
+        for (Map.Entry<String, ?> entry : new TreeMap<>(metrics).entrySet()) {
+            sb.append(first ? "\n" : ",\n");
+            first = false;
+            sb.append("    \"").append(entry.getKey()).append("\": ").append(valueOf(entry.getValue()));
+        }
+        if (!first) {
+            sb.append("\n  ");
+        }
+    }
+
+    /**
+     * CSV mit einer Zeile je Metrik: typ;name;count;summe_ms;mittel_ms;p50_ms;p95_ms;p99_ms;max_ms
+     * (bei Zählern und Momentanwerten steht der Wert in count).
+     */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("type;name;count;sumMs;meanMs;p50Ms;p95Ms;p99Ms;maxMs\n");
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+            sb.append("counter;").append(entry.getKey()).append(';').append(entry.getValue().get()).append(";;;;;;\n");
+        }
+        for (Map.Entry<String, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+            sb.append("gauge;").append(entry.getKey()).append(';').append(entry.getValue().get()).append(";;;;;;\n");
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            sb.append("histogram;").append(entry.getKey()).append(';').append(h.getCount()).append(';')
+              .append(format(h.getSumMillis())).append(';').append(format(h.getMeanMillis())).append(';')
+              .append(format(h.getQuantileMillis(0.5))).append(';').append(format(h.getQuantileMillis(0.95))).append(';')
+              .append(format(h.getQuantileMillis(0.99))).append(';').append(format(h.getMaxMillis())).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prometheus-Textformat (Version 0.0.4). Punkte im Namen werden zu Unterstrichen,
+     * Histogramme werden in Sekunden mit kumulierten Buckets ausgegeben.
+     */
+    public String toPrometheusText() {
+        StringBuilder sb = new StringBuilder(8192);
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+            String name = prometheusName(entry.getKey()) + "_total";
+            sb.append("# TYPE ").append(name).append(" counter\n");
+            sb.append(name).append(' ').append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, Gauge> entry : new TreeMap<>(gauges).entrySet()) {
+            String name = prometheusName(entry.getKey());
+            sb.append("# TYPE ").append(name).append(" gauge\n");
+            sb.append(name).append(' ').append(entry.getValue().get()).append('\n');
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String name = prometheusName(entry.getKey()) + "_seconds";
+            LatencyHistogram h = entry.getValue();
+            long[] counts = h.getBucketCounts();
+            sb.append("# TYPE ").append(name).append(" histogram\n");
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                String le = i < LatencyHistogram.BOUNDS_MS.length
+                        ? format(LatencyHistogram.BOUNDS_MS[i] / 1000.0) : "+Inf";
+                sb.append(name).append("_bucket{le=\"").append(le).append("\"} ").append(cumulative).append('\n');
+            }
+            sb.append(name).append("_sum ").append(format(h.getSumMillis() / 1000.0)).append('\n');
+            sb.append(name).append("_count ").append(cumulative).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String prometheusName(String name) {
+        return "mqldownloader_" + name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private static String valueOf(Object metric) {
+        if (metric instanceof Counter) {
+            return String.valueOf(((Counter) metric).get());
+        }
+        return String.valueOf(((Gauge) metric).get());
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+}
@@ -0,0 +1,54 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import utils.ProviderCatalog;
+
+/**
+ * JFR-Event für einen Zugriff auf den HtmlContentCache (Treffer oder Fehlzugriff).
+ * Bei Fehlzugriffen enthält die Dauer das Lesen der Datei.
+ */
+@Name("mqldownloader.CacheAccess")
+@Label("Cache Access")
+@Category({"MqlDownloader", "Conversion"})
+@Description("Zugriff auf den HTML-Inhalts- oder Monatsreihen-Cache")
+@StackTrace(false)
+public class CacheAccessEvent extends Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Provider ID")
+    String providerId;
+
+    @Label("MQL Version")
+    String mqlVersion;
+
+    @Label("Treffer")
+    boolean hit;
+
+    public static CacheAccessEvent begin(String cacheName) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.cache = cacheName;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param fileName Pfad der Provider-Datei, daraus werden ID und Version abgeleitet
+     */
+    public void finish(String fileName, boolean cacheHit) {
+        end();
+        if (shouldCommit()) {
+            providerId = ProviderCatalog.providerIdOf(fileName);
+            mqlVersion = ProviderCatalog.versionOf(fileName);
+            hit = cacheHit;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import utils.ProviderCatalog;
+
+/**
+ * JFR-Event für die Konvertierung einer einzelnen _root.html-Datei.
+ */
+@Name("mqldownloader.Conversion")
+@Label("Conversion")
+@Category({"MqlDownloader", "Conversion"})
+@Description("Konvertierung einer Provider-Seite in die _root.txt")
+@StackTrace(false)
+public class ConversionEvent extends Event {
+
+    @Label("Provider ID")
+    String providerId;
+
+    @Label("MQL Version")
+    String mqlVersion;
+
+    @Label("Datei")
+    String fileName;
+
+    @Label("Ergebnis")
+    String outcome;
+
+    /**
+     * @param htmlFileName Pfad der _root.html-Datei, daraus werden ID und Version abgeleitet
+     */
+    public static ConversionEvent begin(String htmlFileName) {
+        ConversionEvent event = new ConversionEvent();
+        event.providerId = ProviderCatalog.providerIdOf(htmlFileName);
+        event.mqlVersion = ProviderCatalog.versionOf(htmlFileName);
+        event.fileName = htmlFileName;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param result z.B. "OK", "DELETED" oder "ERROR"
+     */
+    public void finish(String result) {
+        end();
+        if (shouldCommit()) {
+            outcome = result;
+            commit();
+        }
+    }
+}
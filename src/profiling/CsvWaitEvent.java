@@ -0,0 +1,44 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event für das Warten auf die heruntergeladene CSV-Datei.
+ */
+@Name("mqldownloader.CsvWait")
+@Label("CSV Wait")
+@Category({"MqlDownloader", "Download"})
+@Description("Warten auf den CSV-Export im Download-Verzeichnis")
+@StackTrace(false)
+public class CsvWaitEvent extends Event {
+
+    @Label("Provider ID")
+    String providerId;
+
+    @Label("MQL Version")
+    String mqlVersion;
+
+    @Label("Datei gefunden")
+    boolean found;
+
+    public static CsvWaitEvent begin(String providerId, String mqlVersion) {
+        CsvWaitEvent event = new CsvWaitEvent();
+        event.providerId = providerId;
+        event.mqlVersion = MqlVersion.normalize(mqlVersion);
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean fileFound) {
+        end();
+        if (shouldCommit()) {
+            found = fileFound;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+
+/**
+ * Startet und stoppt eine Java-Flight-Recorder-Aufzeichnung aus der GUI heraus.
+ *
+ * Aufgezeichnet wird das JDK-Profil "profile" plus alle MqlDownloader-Events ohne
+ * Schwellwert. Beim Stoppen wird die Aufzeichnung als mqldownloader_&lt;zeitstempel&gt;.jfr
+ * in das Log-Verzeichnis geschrieben und kann mit JDK Mission Control geöffnet werden.
+ */
+public final class JfrRecordingController {
+    private static final Logger logger = LogManager.getLogger(JfrRecordingController.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    /** Eigene Events, die ohne Schwellwert aufgezeichnet werden */
+    private static final List<Class<? extends Event>> EVENT_CLASSES = Arrays.asList(
+        ProviderDownloadEvent.class, PageLoadEvent.class, CsvWaitEvent.class,
+        RecoveryEvent.class, ConversionEvent.class, CacheAccessEvent.class);
+
+    private final Path targetDirectory;
+    private Recording recording;
+
+    /**
+     * @param targetDirectory Verzeichnis für die .jfr-Dateien (Log-Verzeichnis)
+     */
+    public JfrRecordingController(Path targetDirectory) {
+        this.targetDirectory = targetDirectory;
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Startet eine neue Aufzeichnung.
+     *
+     * @throws IllegalStateException wenn bereits aufgezeichnet wird
+     */
+    public synchronized void start() throws IOException, ParseException {
+        if (recording != null) {
+            throw new IllegalStateException("Es läuft bereits eine JFR-Aufzeichnung");
+        }
+        Recording newRecording = new Recording(Configuration.getConfiguration("profile"));
+        newRecording.setName("MqlDownloader");
+        newRecording.setToDisk(true);
+        for (Class<? extends Event> eventClass : EVENT_CLASSES) {
+            newRecording.enable(eventClass).withoutThreshold();
+        }
+        newRecording.start();
+        recording = newRecording;
+        logger.info("JFR-Aufzeichnung gestartet");
+    }
+
+    /**
+     * Stoppt die laufende Aufzeichnung und schreibt sie in das Zielverzeichnis.
+     *
+     * @return Pfad der geschriebenen .jfr-Datei
+     * @throws IllegalStateException wenn keine Aufzeichnung läuft
+     */
+    public synchronized Path stopAndDump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Es läuft keine JFR-Aufzeichnung");
+        }
+        Recording current = recording;
+        recording = null;
+        try {
+            current.stop();
+            Files.createDirectories(targetDirectory);
+            Path target = targetDirectory.resolve("mqldownloader_" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+            current.dump(target);
+            logger.info("JFR-Aufzeichnung gespeichert: {}", target);
+            return target;
+        } finally {
+            current.close();
+        }
+    }
+}
+
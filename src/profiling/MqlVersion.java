@@ -0,0 +1,28 @@
+package profiling;
+
+/**
+ * Einheitliche Schreibweise der MQL-Version in allen Events ("mql4"/"mql5" wie die
+ * Download-Verzeichnisse), damit sich eine Aufzeichnung über alle Events nach Version filtern lässt.
+ */
+final class MqlVersion {
+
+    private MqlVersion() {
+    }
+
+    /**
+     * @param version "mt4"/"mt5" aus der Konfiguration oder "mql4"/"mql5" aus dem Pfad
+     * @return "mql4" bzw. "mql5", andere Werte unverändert
+     */
+    static String normalize(String version) {
+        if (version == null) {
+            return null;
+        }
+        if (version.startsWith("mt4") || version.equals("mql4")) {
+            return "mql4";
+        }
+        if (version.startsWith("mt5") || version.equals("mql5")) {
+            return "mql5";
+        }
+        return version;
+    }
+}
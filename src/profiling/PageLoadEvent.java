@@ -0,0 +1,52 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event für einen driver.get-Aufruf (Listen-, Provider- oder Root-Seite).
+ */
+@Name("mqldownloader.PageLoad")
+@Label("Page Load")
+@Category({"MqlDownloader", "Download"})
+@Description("Laden einer Seite über den WebDriver")
+@StackTrace(false)
+public class PageLoadEvent extends Event {
+
+    @Label("Seitentyp")
+    String pageType;
+
+    @Label("URL")
+    String url;
+
+    @Label("Provider ID")
+    String providerId;
+
+    @Label("MQL Version")
+    String mqlVersion;
+
+    /**
+     * @param pageType "list", "provider" oder "root"
+     * @param providerId Provider-ID oder null bei Listenseiten
+     */
+    public static PageLoadEvent begin(String pageType, String url, String providerId, String mqlVersion) {
+        PageLoadEvent event = new PageLoadEvent();
+        event.pageType = pageType;
+        event.url = url;
+        event.providerId = providerId;
+        event.mqlVersion = MqlVersion.normalize(mqlVersion);
+        event.begin();
+        return event;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
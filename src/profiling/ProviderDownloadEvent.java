@@ -0,0 +1,54 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event für die komplette Verarbeitung eines Providers im SignalDownloader
+ * (Root-Seite, Trading History und CSV).
+ */
+@Name("mqldownloader.ProviderDownload")
+@Label("Provider Download")
+@Category({"MqlDownloader", "Download"})
+@Description("Download eines Signal-Providers inklusive Root-Seite und CSV")
+@StackTrace(false)
+public class ProviderDownloadEvent extends Event {
+
+    @Label("Provider ID")
+    String providerId;
+
+    @Label("Provider Name")
+    String providerName;
+
+    @Label("MQL Version")
+    String mqlVersion;
+
+    @Label("Ergebnis")
+    String outcome;
+
+    public static ProviderDownloadEvent begin(String providerId, String providerName, String mqlVersion) {
+        ProviderDownloadEvent event = new ProviderDownloadEvent();
+        event.providerId = providerId;
+        event.providerName = providerName;
+        event.mqlVersion = MqlVersion.normalize(mqlVersion);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Beendet das Event und schreibt es, sofern es aufgezeichnet wird.
+     *
+     * @param result z.B. "SUCCESS", "SKIPPED" oder "FAILED"
+     */
+    public void finish(String result) {
+        end();
+        if (shouldCommit()) {
+            outcome = result;
+            commit();
+        }
+    }
+}
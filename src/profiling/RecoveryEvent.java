@@ -0,0 +1,49 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event für einen Recovery-Versuch des SignalDownloaders (Seite neu laden oder
+ * WebDriver neu starten).
+ */
+@Name("mqldownloader.Recovery")
+@Label("Recovery")
+@Category({"MqlDownloader", "Download"})
+@Description("Recovery nach einem Fehler beim Download")
+@StackTrace(false)
+public class RecoveryEvent extends Event {
+
+    @Label("MQL Version")
+    String mqlVersion;
+
+    @Label("Grund")
+    String reason;
+
+    @Label("WebDriver neu gestartet")
+    boolean driverRestarted;
+
+    @Label("Erfolgreich")
+    boolean success;
+
+    public static RecoveryEvent begin(String mqlVersion, String reason) {
+        RecoveryEvent event = new RecoveryEvent();
+        event.mqlVersion = MqlVersion.normalize(mqlVersion);
+        event.reason = reason;
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean restarted, boolean successful) {
+        end();
+        if (shouldCommit()) {
+            driverRestarted = restarted;
+            success = successful;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ranking;
+
+/**
+ * Wertebereich für eine Kennzahl, der bei Mehrfach-Filtern im Ranking-Index verwendet wird.
+ * Beide Grenzen sind inklusiv.
+ */
+public final class MetricFilter {
+    private final RankingMetric metric;
+    private final double min;
+    private final double max;
+
+    public MetricFilter(RankingMetric metric, double min, double max) {
+        if (metric == null) {
+            throw new IllegalArgumentException("Kennzahl darf nicht null sein");
+        }
+        this.metric = metric;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static MetricFilter atLeast(RankingMetric metric, double min) {
+        return new MetricFilter(metric, min, Double.POSITIVE_INFINITY);
+    }
+
+    public static MetricFilter atMost(RankingMetric metric, double max) {
+        return new MetricFilter(metric, Double.NEGATIVE_INFINITY, max);
+    }
+
+    public RankingMetric getMetric() {
+        return metric;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * @return true, wenn der Wert im Bereich liegt (NaN liegt nie im Bereich)
+     */
+    public boolean accepts(double value) {
+        return value >= min && value <= max;
+    }
+
+    @Override
+    public String toString() {
+        return metric.getKey() + " in [" + min + ", " + max + "]";
+    }
+}
@@ -0,0 +1,33 @@
+package ranking;
+
+import java.util.Arrays;
+
+/**
+ * Kennzahlen eines einzelnen Providers, indiziert über {@link RankingMetric#ordinal()}.
+ * Fehlende Werte sind NaN.
+ */
+public final class ProviderMetrics {
+    private final String providerKey;
+    private final double[] values;
+
+    public ProviderMetrics(String providerKey) {
+        this.providerKey = providerKey;
+        this.values = new double[RankingMetric.values().length];
+        Arrays.fill(values, Double.NaN);
+    }
+
+    /**
+     * @return Basisname der Provider-Dateien, z.B. "ProviderName_123456"
+     */
+    public String getProviderKey() {
+        return providerKey;
+    }
+
+    public double get(RankingMetric metric) {
+        return values[metric.ordinal()];
+    }
+
+    public void set(RankingMetric metric, double value) {
+        values[metric.ordinal()] = value;
+    }
+}
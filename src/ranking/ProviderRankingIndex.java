@@ -0,0 +1,292 @@
+package ranking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Unveränderlicher Ranking-Index über alle Provider einer MQL-Version.
+ *
+ * Pro Kennzahl werden die Werte spaltenweise in primitiven Arrays gehalten und einmalig
+ * aufsteigend sortiert (NaN am Ende). Top-K-Abfragen, Perzentile und Bereichsfilter laufen
+ * damit über Array-Zugriffe und Binärsuche, ohne die _root.txt-Dateien erneut zu lesen.
+ */
+public final class ProviderRankingIndex {
+
+    private static final RankingMetric[] METRICS = RankingMetric.values();
+
+    private final String mqlVersion;
+    private final long buildTimestamp;
+    private final String[] providerKeys;
+    private final Map<String, Integer> keyToIndex;
+
+    /** Rohwerte: values[metrik][provider] */
+    private final double[][] values;
+    /** Provider-Indizes aufsteigend nach Wert sortiert, NaN am Ende */
+    private final int[][] sortedIndex;
+    /** Die sortierten Werte passend zu sortedIndex (für Binärsuche) */
+    private final double[][] sortedValues;
+    /** Anzahl der Provider mit gültigem (nicht NaN) Wert je Kennzahl */
+    private final int[] validCount;
+
+    private ProviderRankingIndex(String mqlVersion, String[] providerKeys, double[][] values) {
+        this.mqlVersion = mqlVersion;
+        this.buildTimestamp = System.currentTimeMillis();
+        this.providerKeys = providerKeys;
+        this.values = values;
+        this.keyToIndex = new HashMap<>(providerKeys.length * 2);
+        for (int i = 0; i < providerKeys.length; i++) {
+            keyToIndex.put(providerKeys[i], i);
+        }
+
+        this.sortedIndex = new int[METRICS.length][];
+        this.sortedValues = new double[METRICS.length][];
+        this.validCount = new int[METRICS.length];
+
+        // Die Kennzahlen sind unabhängig voneinander und werden parallel sortiert
+        IntStream.range(0, METRICS.length).parallel().forEach(m -> {
+            int[] order = sortIndices(values[m]);
+            double[] sorted = new double[order.length];
+            int valid = 0;
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = values[m][order[i]];
+                if (!Double.isNaN(sorted[i])) {
+                    valid++;
+                }
+            }
+            sortedIndex[m] = order;
+            sortedValues[m] = sorted;
+            validCount[m] = valid;
+        });
+    }
+
+    /**
+     * Baut einen Index aus den Kennzahlen der Provider auf.
+     *
+     * @param mqlVersion MQL-Version ("mql4" oder "mql5")
+     * @param providers Kennzahlen aller Provider
+     * @return der neue Index
+     */
+    public static ProviderRankingIndex build(String mqlVersion, List<ProviderMetrics> providers) {
+        int n = providers.size();
+        String[] keys = new String[n];
+        double[][] values = new double[METRICS.length][n];
+        for (int i = 0; i < n; i++) {
+            ProviderMetrics metrics = providers.get(i);
+            keys[i] = metrics.getProviderKey();
+            for (RankingMetric metric : METRICS) {
+                values[metric.ordinal()][i] = metrics.get(metric);
+            }
+        }
+        return new ProviderRankingIndex(mqlVersion, keys, values);
+    }
+
+    /**
+     * Leerer Index für eine Version, für die noch kein Ranking aufgebaut wurde.
+     */
+    public static ProviderRankingIndex empty(String mqlVersion) {
+        return build(mqlVersion, Collections.emptyList());
+    }
+
+    public String getMqlVersion() {
+        return mqlVersion;
+    }
+
+    public long getBuildTimestamp() {
+        return buildTimestamp;
+    }
+
+    /**
+     * @return Anzahl der Provider im Index
+     */
+    public int size() {
+        return providerKeys.length;
+    }
+
+    public boolean contains(String providerKey) {
+        return keyToIndex.containsKey(providerKey);
+    }
+
+    /**
+     * @return Wert der Kennzahl für den Provider oder NaN, wenn unbekannt
+     */
+    public double getValue(RankingMetric metric, String providerKey) {
+        Integer index = keyToIndex.get(providerKey);
+        return index == null ? Double.NaN : values[metric.ordinal()][index];
+    }
+
+    /**
+     * Liefert die besten k Provider für eine Kennzahl (bester zuerst).
+     * Provider ohne Wert werden nicht berücksichtigt.
+     */
+    public List<String> topK(RankingMetric metric, int k) {
+        int m = metric.ordinal();
+        int n = Math.max(0, Math.min(k, validCount[m]));
+        List<String> result = new ArrayList<>(n);
+        for (int rank = 0; rank < n; rank++) {
+            result.add(providerKeys[sortedIndex[m][positionOfRank(metric, rank)]]);
+        }
+        return result;
+    }
+
+    /**
+     * Perzentil eines Providers bezüglich einer Kennzahl: Anteil der gültigen Provider,
+     * die strikt schlechter sind, in Prozent (100 = bester, 0 = schlechtester).
+     *
+     * @return Perzentil zwischen 0 und 100 oder NaN, wenn der Provider unbekannt ist
+     *         oder für die Kennzahl keinen Wert hat
+     */
+    public double percentile(RankingMetric metric, String providerKey) {
+        double value = getValue(metric, providerKey);
+        if (Double.isNaN(value)) {
+            return Double.NaN;
+        }
+        int m = metric.ordinal();
+        int valid = validCount[m];
+        if (valid <= 1) {
+            return 100.0;
+        }
+        int worse = metric.isHigherBetter()
+                ? lowerBound(sortedValues[m], valid, value)
+                : valid - upperBound(sortedValues[m], valid, value);
+        return worse * 100.0 / (valid - 1);
+    }
+
+    /**
+     * Liefert alle Provider, die sämtliche Filter erfüllen.
+     * Die Kandidaten werden über den selektivsten Filter per Binärsuche ermittelt und nur
+     * gegen die übrigen Filter geprüft. Das Ergebnis ist nach der Kennzahl des ersten
+     * Filters sortiert (bester zuerst).
+     */
+    public List<String> filter(List<MetricFilter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            List<String> all = new ArrayList<>(Arrays.asList(providerKeys));
+            Collections.sort(all);
+            return all;
+        }
+
+        // Selektivsten Filter bestimmen
+        int bestFrom = 0;
+        int bestTo = Integer.MAX_VALUE;
+        MetricFilter driver = null;
+        for (MetricFilter f : filters) {
+            int m = f.getMetric().ordinal();
+            int from = lowerBound(sortedValues[m], validCount[m], f.getMin());
+            int to = upperBound(sortedValues[m], validCount[m], f.getMax());
+            if (to - from < bestTo - bestFrom) {
+                bestFrom = from;
+                bestTo = to;
+                driver = f;
+            }
+        }
+
+        int driverMetric = driver.getMetric().ordinal();
+        int[] matches = new int[Math.max(0, bestTo - bestFrom)];
+        int count = 0;
+        for (int pos = bestFrom; pos < bestTo; pos++) {
+            int provider = sortedIndex[driverMetric][pos];
+            if (acceptsAll(filters, provider)) {
+                matches[count++] = provider;
+            }
+        }
+
+        // Nach der Kennzahl des ersten Filters ordnen (bester zuerst)
+        RankingMetric orderMetric = filters.get(0).getMetric();
+        double[] orderValues = values[orderMetric.ordinal()];
+        int[] ordered = sortIndices(Arrays.copyOf(matches, count), orderValues);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int provider = orderMetric.isHigherBetter() ? ordered[count - 1 - i] : ordered[i];
+            result.add(providerKeys[provider]);
+        }
+        return result;
+    }
+
+    private boolean acceptsAll(List<MetricFilter> filters, int provider) {
+        for (MetricFilter f : filters) {
+            if (!f.accepts(values[f.getMetric().ordinal()][provider])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rechnet einen Rang (0 = bester) in die Position im aufsteigend sortierten Array um.
+     */
+    private int positionOfRank(RankingMetric metric, int rank) {
+        return metric.isHigherBetter() ? validCount[metric.ordinal()] - 1 - rank : rank;
+    }
+
+    /** Erste Position im Bereich [0, length) mit Wert >= key */
+    private static int lowerBound(double[] sorted, int length, double key) {
+        int lo = 0;
+        int hi = length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Erste Position im Bereich [0, length) mit Wert > key */
+    private static int upperBound(double[] sorted, int length, double key) {
+        int lo = 0;
+        int hi = length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int[] sortIndices(double[] keys) {
+        int[] indices = new int[keys.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        return sortIndices(indices, keys);
+    }
+
+    /**
+     * Sortiert Provider-Indizes stabil und ohne Boxing aufsteigend nach ihrem Wert
+     * (Merge-Sort, NaN am Ende).
+     */
+    private static int[] sortIndices(int[] indices, double[] keys) {
+        int[] buffer = new int[indices.length];
+        for (int width = 1; width < indices.length; width *= 2) {
+            for (int lo = 0; lo < indices.length - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, indices.length);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    // Double.compare sortiert NaN hinter alle Zahlen
+                    buffer[k++] = Double.compare(keys[indices[j]], keys[indices[i]]) < 0
+                            ? indices[j++] : indices[i++];
+                }
+                while (i < mid) {
+                    buffer[k++] = indices[i++];
+                }
+                while (j < hi) {
+                    buffer[k++] = indices[j++];
+                }
+                System.arraycopy(buffer, lo, indices, lo, hi - lo);
+            }
+        }
+        return indices;
+    }
+}
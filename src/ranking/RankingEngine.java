@@ -0,0 +1,141 @@
+package ranking;
+
+import calculators.MPDDCalculator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.FileDataReader;
+import utils.MonthlyReturnSeries;
+import utils.ProviderCatalog;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Hält je MQL-Version einen {@link ProviderRankingIndex} über alle konvertierten Provider.
+ *
+ * Nach jeder Konvertierung wird der Index aus den _root.txt-Dateien neu aufgebaut: die
+ * Dateien werden parallel gelesen, 6/9/12MPDD über den MPDDCalculator aus der Monatsreihe
+ * berechnet und der fertige Index atomar ausgetauscht. Abfragen laufen bis dahin auf dem
+ * alten Index weiter.
+ */
+public class RankingEngine {
+    private static final Logger logger = LogManager.getLogger(RankingEngine.class);
+    private static final String[] MQL_VERSIONS = {"mql4", "mql5"};
+    private static final int[] MPDD_MONTHS = {6, 9, 12};
+    private static final RankingMetric[] MPDD_METRICS = {
+        RankingMetric.MPDD_6, RankingMetric.MPDD_9, RankingMetric.MPDD_12
+    };
+
+    private final String downloadPath;
+    private final FileDataReader fileDataReader;
+    private final MPDDCalculator mpddCalculator;
+    private final Map<String, ProviderRankingIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * @param downloadPath Download-Verzeichnis mit den Unterordnern mql4 und mql5
+     */
+    public RankingEngine(String downloadPath) {
+        this.downloadPath = downloadPath;
+        this.fileDataReader = new FileDataReader(downloadPath);
+        this.mpddCalculator = new MPDDCalculator(null);
+    }
+
+    /**
+     * Baut die Indizes für alle MQL-Versionen neu auf.
+     */
+    public void rebuildAll() {
+        for (String version : MQL_VERSIONS) {
+            rebuild(version);
+        }
+    }
+
+    /**
+     * Baut den Index einer MQL-Version neu auf und tauscht ihn aus.
+     *
+     * @param mqlVersion "mql4" oder "mql5"
+     * @return der neue Index
+     */
+    public ProviderRankingIndex rebuild(String mqlVersion) {
+        long start = System.currentTimeMillis();
+        // _root.txt-Dateien aus dem Provider-Katalog statt aus dem Verzeichnis
+        ProviderCatalog catalog = ProviderCatalog.forDownloadPath(downloadPath);
+        Path versionDir = catalog.getDirectory(mqlVersion);
+        List<Path> txtFiles = new ArrayList<>();
+        for (ProviderCatalog.Entry entry : catalog.getProviders(mqlVersion)) {
+            if (entry.getTxtFileName() != null) {
+                txtFiles.add(versionDir.resolve(entry.getTxtFileName()));
+            }
+        }
+        List<ProviderMetrics> providers = txtFiles.parallelStream()
+                .map(this::loadMetrics)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        ProviderRankingIndex index = ProviderRankingIndex.build(mqlVersion, providers);
+        indexes.put(mqlVersion, index);
+        logger.info("Ranking-Index für " + mqlVersion + " aufgebaut: " + index.size()
+                + " Provider in " + (System.currentTimeMillis() - start) + " ms");
+        return index;
+    }
+
+    /**
+     * @return aktueller Index der Version, leer wenn noch nicht aufgebaut
+     */
+    public ProviderRankingIndex getIndex(String mqlVersion) {
+        ProviderRankingIndex index = indexes.get(mqlVersion);
+        return index != null ? index : ProviderRankingIndex.empty(mqlVersion);
+    }
+
+    /**
+     * Liest die Kennzahlen eines Providers aus seiner _root.txt-Datei.
+     *
+     * @return Kennzahlen oder null, wenn die Datei keine Daten enthält
+     */
+    ProviderMetrics loadMetrics(Path txtFile) {
+        Map<String, String> data = fileDataReader.getFileData(txtFile.toString());
+        if (data.isEmpty()) {
+            return null;
+        }
+
+        String fileName = txtFile.getFileName().toString();
+        ProviderMetrics metrics = new ProviderMetrics(fileName.substring(0, fileName.length() - "_root.txt".length()));
+        metrics.set(RankingMetric.MPDD_3, parseValue(data, "3MPDD"));
+        metrics.set(RankingMetric.STABILITY, parseValue(data, "StabilityValue"));
+        metrics.set(RankingMetric.BALANCE, parseValue(data, "Balance"));
+        double equityDrawdown = parseValue(data, "EquityDrawdown");
+        metrics.set(RankingMetric.EQUITY_DRAWDOWN, equityDrawdown);
+
+        MonthlyReturnSeries series = MonthlyReturnSeries.fromMonthProfitProz(data.get("MonthProfitProz"));
+        for (int i = 0; i < MPDD_MONTHS.length; i++) {
+            // Ohne ausreichende Historie (+1 für den laufenden Monat) bleibt der Wert leer,
+            // damit solche Provider nicht mit 0 ins Ranking eingehen
+            if (series.size() >= MPDD_MONTHS[i] + 1 && !Double.isNaN(equityDrawdown)) {
+                metrics.set(MPDD_METRICS[i], mpddCalculator.calculateMPDD(series, equityDrawdown, MPDD_MONTHS[i]));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Parst einen Zahlenwert im Format des HtmlConverters (Dezimalkomma oder -punkt).
+     *
+     * @return Wert oder NaN, wenn der Schlüssel fehlt oder ungültig ist
+     */
+    private static double parseValue(Map<String, String> data, String key) {
+        String value = data.get(key);
+        if (value == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value.replace(",", ".").replace(" ", ""));
+        } catch (NumberFormatException e) {
+            logger.warn("Ungültiger Wert für " + key + ": " + value);
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ranking;
+
+/**
+ * Kennzahlen, nach denen die Provider einer MQL-Version gerankt werden können.
+ */
+public enum RankingMetric {
+    MPDD_3("3MPDD", true),
+    MPDD_6("6MPDD", true),
+    MPDD_9("9MPDD", true),
+    MPDD_12("12MPDD", true),
+    STABILITY("StabilityValue", true),
+    BALANCE("Balance", true),
+    EQUITY_DRAWDOWN("EquityDrawdown", false);
+
+    private final String key;
+    private final boolean higherIsBetter;
+
+    RankingMetric(String key, boolean higherIsBetter) {
+        this.key = key;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    /**
+     * @return Schlüssel der Kennzahl wie in den _root.txt-Dateien
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return true, wenn ein höherer Wert besser ist (false z.B. beim Drawdown)
+     */
+    public boolean isHigherBetter() {
+        return higherIsBetter;
+    }
+
+    /**
+     * Sucht eine Kennzahl anhand ihres Schlüssels (z.B. "3MPDD") oder Namens (z.B. "MPDD_3").
+     *
+     * @return die Kennzahl oder null, wenn keine passt
+     */
+    public static RankingMetric fromKey(String key) {
+        for (RankingMetric metric : values()) {
+            if (metric.key.equalsIgnoreCase(key) || metric.name().equalsIgnoreCase(key)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,203 @@
+package trades;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Balance-Kurve und Drawdown-Reihe eines Providers, aus der Trade-History nachgerechnet.
+ *
+ * Die Zeilen werden nach dem Tag ihrer Schlusszeit (Balance-Buchungen: Eröffnungszeit)
+ * einsortiert und danach in einem Durchgang verbucht: Trades mit Profit + Kommission + Swap,
+ * Ein- und Auszahlungen verschieben den Höchststand im selben Verhältnis wie den Kontostand
+ * und zählen damit weder als Gewinn noch als Drawdown. Der Drawdown wird nach jeder Zeile
+ * bestimmt; je Tag mit Buchungen bleiben der Kontostand am Tagesende und der größte
+ * Drawdown des Tages. Innerhalb eines Tages gilt die Reihenfolge der CSV.
+ *
+ * Da die CSV nur geschlossene Trades enthält, ist das der Balance-Drawdown; offene Verluste
+ * (Equity-Drawdown der Seite) sind nicht enthalten.
+ */
+public final class EquityCurve {
+
+    /** Größere Zeitspannen (fehlerhafte Zeitstempel) werden sortiert statt über Tage verteilt */
+    private static final int MAX_DAY_SPAN = 100 * 366;
+
+    private final long[] epochDays;
+    private final double[] balances;
+    private final double[] drawdowns;
+    private final double maxDrawdown;
+    private final long maxDrawdownDay;
+    private final int tradeCount;
+
+    private EquityCurve(long[] epochDays, double[] balances, double[] drawdowns, double maxDrawdown,
+            long maxDrawdownDay, int tradeCount) {
+        this.epochDays = epochDays;
+        this.balances = balances;
+        this.drawdowns = drawdowns;
+        this.maxDrawdown = maxDrawdown;
+        this.maxDrawdownDay = maxDrawdownDay;
+        this.tradeCount = tradeCount;
+    }
+
+    /**
+     * Rechnet die Kurve in O(n + Tage) nach.
+     */
+    public static EquityCurve fromTrades(TradeStore store) {
+        int size = store.size();
+        long[] rowDays = new long[size];
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        int rows = 0;
+        for (int i = 0; i < size; i++) {
+            long time = bookingTime(store, i);
+            if (time == TradeStore.NO_TIME) {
+                rowDays[i] = Long.MIN_VALUE;
+                continue;
+            }
+            long day = Math.floorDiv(time, 86_400L);
+            rowDays[i] = day;
+            firstDay = Math.min(firstDay, day);
+            lastDay = Math.max(lastDay, day);
+            rows++;
+        }
+        if (rows == 0) {
+            return new EquityCurve(new long[0], new double[0], new double[0], 0.0, Long.MIN_VALUE, 0);
+        }
+
+        int[] order = lastDay - firstDay < MAX_DAY_SPAN
+                ? orderByDay(rowDays, rows, firstDay, (int) (lastDay - firstDay + 1))
+                : sortByDay(rowDays);
+
+        long[] days = new long[16];
+        double[] dayBalances = new double[16];
+        double[] dayDrawdowns = new double[16];
+        int dayCount = 0;
+
+        double balance = 0.0;
+        double peak = 0.0;
+        double maxDrawdown = 0.0;
+        long maxDrawdownDay = Long.MIN_VALUE;
+        int tradeCount = 0;
+        for (int row : order) {
+            long day = rowDays[row];
+            if (dayCount == 0 || days[dayCount - 1] != day) {
+                if (dayCount == days.length) {
+                    days = Arrays.copyOf(days, dayCount * 2);
+                    dayBalances = Arrays.copyOf(dayBalances, dayCount * 2);
+                    dayDrawdowns = Arrays.copyOf(dayDrawdowns, dayCount * 2);
+                }
+                days[dayCount] = day;
+                dayDrawdowns[dayCount] = 0.0;
+                dayCount++;
+            }
+
+            byte type = store.type(row);
+            if (type == TradeStore.TYPE_BUY || type == TradeStore.TYPE_SELL) {
+                balance += store.profit(row) + store.commission(row) + store.swap(row);
+                tradeCount++;
+            } else {
+                // Ein-/Auszahlung: Höchststand im selben Verhältnis verschieben
+                double cash = store.profit(row);
+                peak = balance > 0.0 ? peak * (balance + cash) / balance : balance + cash;
+                balance += cash;
+            }
+            peak = Math.max(peak, balance);
+
+            double drawdown = peak > 0.0 ? (peak - balance) / peak * 100.0 : 0.0;
+            dayDrawdowns[dayCount - 1] = Math.max(dayDrawdowns[dayCount - 1], drawdown);
+            dayBalances[dayCount - 1] = balance;
+            if (drawdown > maxDrawdown) {
+                maxDrawdown = drawdown;
+                maxDrawdownDay = day;
+            }
+        }
+        return new EquityCurve(Arrays.copyOf(days, dayCount), Arrays.copyOf(dayBalances, dayCount),
+                Arrays.copyOf(dayDrawdowns, dayCount), maxDrawdown, maxDrawdownDay, tradeCount);
+    }
+
+    /** Trades zählen am Schlusstag, Buchungen ohne Schlusszeit am Eröffnungstag */
+    private static long bookingTime(TradeStore store, int row) {
+        long close = store.closeTime(row);
+        return close != TradeStore.NO_TIME ? close : store.openTime(row);
+    }
+
+    /** Stabiles Verteilen der Zeilen auf Tage (Counting Sort) */
+    private static int[] orderByDay(long[] rowDays, int rows, long firstDay, int span) {
+        int[] start = new int[span + 1];
+        for (long day : rowDays) {
+            if (day != Long.MIN_VALUE) {
+                start[(int) (day - firstDay) + 1]++;
+            }
+        }
+        for (int d = 0; d < span; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] order = new int[rows];
+        for (int i = 0; i < rowDays.length; i++) {
+            if (rowDays[i] != Long.MIN_VALUE) {
+                order[start[(int) (rowDays[i] - firstDay)]++] = i;
+            }
+        }
+        return order;
+    }
+
+    /** Stabiles Sortieren nach Tag für große Zeitspannen */
+    private static int[] sortByDay(long[] rowDays) {
+        return IntStream.range(0, rowDays.length)
+                .filter(i -> rowDays[i] != Long.MIN_VALUE)
+                .boxed()
+                .sorted((a, b) -> Long.compare(rowDays[a], rowDays[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * @return Anzahl der Tage mit Buchungen
+     */
+    public int getDayCount() {
+        return epochDays.length;
+    }
+
+    public LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    /**
+     * @return Kontostand am Ende des Tages
+     */
+    public double getBalance(int index) {
+        return balances[index];
+    }
+
+    /**
+     * @return größter Drawdown des Tages in Prozent (positiv)
+     */
+    public double getDrawdown(int index) {
+        return drawdowns[index];
+    }
+
+    /**
+     * @return größter Balance-Drawdown über die gesamte History in Prozent (positiv)
+     */
+    public double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    /**
+     * @return Tag des größten Drawdowns oder null ohne Drawdown
+     */
+    public LocalDate getMaxDrawdownDate() {
+        return maxDrawdownDay != Long.MIN_VALUE ? LocalDate.ofEpochDay(maxDrawdownDay) : null;
+    }
+
+    public double getFinalBalance() {
+        return balances.length > 0 ? balances[balances.length - 1] : 0.0;
+    }
+
+    /**
+     * @return Anzahl der verbuchten Trades (ohne Ein- und Auszahlungen)
+     */
+    public int getTradeCount() {
+        return tradeCount;
+    }
+}
@@ -0,0 +1,95 @@
+package trades;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wachsende Spalten einer Trade-History während des Parsens.
+ *
+ * Jede Spalte ist ein primitives Array; Symbole werden als Index in eine Symboltabelle
+ * gespeichert. {@link TradeStore#fromColumns} schreibt die Spalten anschließend in das
+ * Binärformat.
+ */
+final class TradeColumns {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    int size;
+    long[] openTime = new long[INITIAL_CAPACITY];
+    long[] closeTime = new long[INITIAL_CAPACITY];
+    byte[] type = new byte[INITIAL_CAPACITY];
+    short[] symbol = new short[INITIAL_CAPACITY];
+    double[] volume = new double[INITIAL_CAPACITY];
+    double[] openPrice = new double[INITIAL_CAPACITY];
+    double[] closePrice = new double[INITIAL_CAPACITY];
+    double[] commission = new double[INITIAL_CAPACITY];
+    double[] swap = new double[INITIAL_CAPACITY];
+    double[] profit = new double[INITIAL_CAPACITY];
+
+    final List<String> symbols = new ArrayList<>();
+    private final List<byte[]> symbolBytes = new ArrayList<>();
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+    private int lastSymbolId = -1;
+
+    void add(long openTime, long closeTime, byte type, short symbol, double volume, double openPrice,
+            double closePrice, double commission, double swap, double profit) {
+        if (size == this.openTime.length) {
+            grow();
+        }
+        this.openTime[size] = openTime;
+        this.closeTime[size] = closeTime;
+        this.type[size] = type;
+        this.symbol[size] = symbol;
+        this.volume[size] = volume;
+        this.openPrice[size] = openPrice;
+        this.closePrice[size] = closePrice;
+        this.commission[size] = commission;
+        this.swap[size] = swap;
+        this.profit[size] = profit;
+        size++;
+    }
+
+    /**
+     * @return Index des Symbols in der Symboltabelle, -1 für ein leeres Feld oder eine volle Tabelle
+     */
+    short symbolId(byte[] buffer, int start, int end) {
+        if (start >= end) {
+            return -1;
+        }
+        // Aufeinanderfolgende Trades haben oft dasselbe Symbol: ohne String-Erzeugung vergleichen
+        if (lastSymbolId >= 0 && Arrays.equals(symbolBytes.get(lastSymbolId), 0, symbolBytes.get(lastSymbolId).length,
+                buffer, start, end)) {
+            return (short) lastSymbolId;
+        }
+        String name = new String(buffer, start, end - start, StandardCharsets.UTF_8);
+        Integer id = symbolIds.get(name);
+        if (id == null) {
+            if (symbols.size() >= Short.MAX_VALUE) {
+                return -1;
+            }
+            id = symbols.size();
+            symbols.add(name);
+            symbolBytes.add(Arrays.copyOfRange(buffer, start, end));
+            symbolIds.put(name, id);
+        }
+        lastSymbolId = id;
+        return id.shortValue();
+    }
+
+    private void grow() {
+        int capacity = openTime.length * 2;
+        openTime = Arrays.copyOf(openTime, capacity);
+        closeTime = Arrays.copyOf(closeTime, capacity);
+        type = Arrays.copyOf(type, capacity);
+        symbol = Arrays.copyOf(symbol, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+        openPrice = Arrays.copyOf(openPrice, capacity);
+        closePrice = Arrays.copyOf(closePrice, capacity);
+        commission = Arrays.copyOf(commission, capacity);
+        swap = Arrays.copyOf(swap, capacity);
+        profit = Arrays.copyOf(profit, capacity);
+    }
+}
@@ -0,0 +1,404 @@
+package trades;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Liest den Trading-History-Export (CSV) eines Providers zeilenweise in einen {@link TradeStore}.
+ *
+ * Die Datei wird in Blöcken gelesen und direkt auf Byte-Ebene zerlegt: kein String je Zeile
+ * oder Feld, Zeitstempel und Zahlen werden ohne Zwischenobjekte umgerechnet. Nur die letzte,
+ * unvollständige Zeile eines Blocks wird an den Pufferanfang kopiert; der Speicherbedarf hängt
+ * also nicht von der Dateigröße ab, nur die Spalten wachsen mit der Zahl der Trades.
+ *
+ * Die Spalten werden über die Kopfzeile zugeordnet (Format des Exports:
+ * "Time;Type;Volume;Symbol;Price;S / L;T / P;Time;Price;Commission;Swap;Profit;Comment",
+ * das erste Time/Price gehört zur Eröffnung, das zweite zum Schluss). Fehlt die Kopfzeile,
+ * gilt diese Reihenfolge. Unlesbare Zeilen werden gezählt und ausgelassen.
+ */
+public final class TradeHistoryParser {
+    private static final Logger logger = LogManager.getLogger(TradeHistoryParser.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_FIELDS = 32;
+    private static final double[] POWERS_OF_TEN = new double[23];
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private final int[] timeParts = new int[6];
+    private byte delimiter;
+    private boolean headerRead;
+    private int skippedRows;
+    private TradeColumns columns;
+
+    // Spaltenpositionen, -1 = nicht vorhanden
+    private int openTimeColumn;
+    private int typeColumn;
+    private int volumeColumn;
+    private int symbolColumn;
+    private int openPriceColumn;
+    private int closeTimeColumn;
+    private int closePriceColumn;
+    private int commissionColumn;
+    private int swapColumn;
+    private int profitColumn;
+
+    public TradeStore parse(Path csvFile) throws IOException {
+        try (InputStream in = Files.newInputStream(csvFile)) {
+            TradeStore store = parse(in);
+            if (store.getSkippedRows() > 0) {
+                logger.warn("{}: {} unlesbare Zeilen ausgelassen", csvFile.getFileName(), store.getSkippedRows());
+            }
+            return store;
+        }
+    }
+
+    public TradeStore parse(InputStream in) throws IOException {
+        delimiter = ';';
+        headerRead = false;
+        skippedRows = 0;
+        columns = new TradeColumns();
+        setDefaultColumns();
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length = 0;
+        int scanned = 0;
+        while (true) {
+            if (length == buffer.length) {
+                // Zeile länger als der Puffer
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+
+            int lineStart = 0;
+            for (int i = scanned; i < length; i++) {
+                if (buffer[i] == '\n') {
+                    parseLine(buffer, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            // Unvollständige Zeile an den Pufferanfang
+            System.arraycopy(buffer, lineStart, buffer, 0, length - lineStart);
+            length -= lineStart;
+            scanned = length;
+        }
+        if (length > 0) {
+            parseLine(buffer, 0, length);
+        }
+
+        TradeStore store = TradeStore.fromColumns(columns, skippedRows);
+        columns = null;
+        return store;
+    }
+
+    private void parseLine(byte[] buffer, int start, int end) throws IOException {
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        if (isBlank(buffer, start, end)) {
+            return;
+        }
+        if (!headerRead) {
+            headerRead = true;
+            if (end - start >= 3 && (buffer[start] & 0xFF) == 0xEF && (buffer[start + 1] & 0xFF) == 0xBB
+                    && (buffer[start + 2] & 0xFF) == 0xBF) {
+                start += 3;
+            }
+            if (!isDigit(buffer[skipSpaces(buffer, start, end)])) {
+                readHeader(buffer, start, end);
+                return;
+            }
+        }
+
+        int fields = split(buffer, start, end);
+        long openTime = parseTime(buffer, fields, openTimeColumn);
+        if (openTime == TradeStore.NO_TIME) {
+            skippedRows++;
+            return;
+        }
+        double profit = parseNumber(buffer, fields, profitColumn, 0.0);
+        if (Double.isNaN(profit)) {
+            skippedRows++;
+            return;
+        }
+        short symbol = symbolColumn >= 0 && symbolColumn < fields
+                ? columns.symbolId(buffer, fieldStart[symbolColumn], fieldEnd[symbolColumn])
+                : -1;
+        columns.add(openTime,
+                parseTime(buffer, fields, closeTimeColumn),
+                parseType(buffer, fields),
+                symbol,
+                zeroIfInvalid(parseNumber(buffer, fields, volumeColumn, 0.0)),
+                parseNumber(buffer, fields, openPriceColumn, Double.NaN),
+                parseNumber(buffer, fields, closePriceColumn, Double.NaN),
+                zeroIfInvalid(parseNumber(buffer, fields, commissionColumn, 0.0)),
+                zeroIfInvalid(parseNumber(buffer, fields, swapColumn, 0.0)),
+                profit);
+    }
+
+    private void readHeader(byte[] buffer, int start, int end) throws IOException {
+        int semicolons = 0;
+        int commas = 0;
+        int tabs = 0;
+        for (int i = start; i < end; i++) {
+            semicolons += buffer[i] == ';' ? 1 : 0;
+            commas += buffer[i] == ',' ? 1 : 0;
+            tabs += buffer[i] == '\t' ? 1 : 0;
+        }
+        delimiter = semicolons >= commas && semicolons >= tabs ? (byte) ';' : commas >= tabs ? (byte) ',' : (byte) '\t';
+
+        openTimeColumn = typeColumn = volumeColumn = symbolColumn = openPriceColumn = -1;
+        closeTimeColumn = closePriceColumn = commissionColumn = swapColumn = profitColumn = -1;
+        int fields = split(buffer, start, end);
+        for (int i = 0; i < fields; i++) {
+            String name = new String(buffer, fieldStart[i], fieldEnd[i] - fieldStart[i], StandardCharsets.UTF_8)
+                    .trim().toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "time":
+                    if (openTimeColumn < 0) {
+                        openTimeColumn = i;
+                    } else if (closeTimeColumn < 0) {
+                        closeTimeColumn = i;
+                    }
+                    break;
+                case "price":
+                    if (openPriceColumn < 0) {
+                        openPriceColumn = i;
+                    } else if (closePriceColumn < 0) {
+                        closePriceColumn = i;
+                    }
+                    break;
+                case "type":
+                    typeColumn = i;
+                    break;
+                case "volume":
+                    volumeColumn = i;
+                    break;
+                case "symbol":
+                    symbolColumn = i;
+                    break;
+                case "commission":
+                    commissionColumn = i;
+                    break;
+                case "swap":
+                    swapColumn = i;
+                    break;
+                case "profit":
+                    profitColumn = i;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (openTimeColumn < 0 || typeColumn < 0 || profitColumn < 0) {
+            throw new IOException("Unbekanntes CSV-Format, Spalten Time/Type/Profit fehlen: "
+                    + new String(buffer, start, end - start, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void setDefaultColumns() {
+        openTimeColumn = 0;
+        typeColumn = 1;
+        volumeColumn = 2;
+        symbolColumn = 3;
+        openPriceColumn = 4;
+        closeTimeColumn = 7;
+        closePriceColumn = 8;
+        commissionColumn = 9;
+        swapColumn = 10;
+        profitColumn = 11;
+    }
+
+    /**
+     * Zerlegt eine Zeile in Felder; Trennzeichen in Anführungszeichen zählen nicht.
+     *
+     * @return Anzahl der Felder (höchstens {@link #MAX_FIELDS})
+     */
+    private int split(byte[] buffer, int start, int end) {
+        int fields = 0;
+        int fieldBegin = start;
+        boolean quoted = false;
+        for (int i = start; i < end && fields < MAX_FIELDS - 1; i++) {
+            byte b = buffer[i];
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == delimiter && !quoted) {
+                fieldStart[fields] = fieldBegin;
+                fieldEnd[fields] = i;
+                fields++;
+                fieldBegin = i + 1;
+            }
+        }
+        fieldStart[fields] = fieldBegin;
+        fieldEnd[fields] = end;
+        return fields + 1;
+    }
+
+    private byte parseType(byte[] buffer, int fields) {
+        if (typeColumn < 0 || typeColumn >= fields) {
+            return TradeStore.TYPE_OTHER;
+        }
+        int i = skipSpaces(buffer, fieldStart[typeColumn], fieldEnd[typeColumn]);
+        int end = fieldEnd[typeColumn];
+        if (end - i < 2) {
+            return TradeStore.TYPE_OTHER;
+        }
+        int first = buffer[i] | 0x20;
+        int second = buffer[i + 1] | 0x20;
+        if (first == 'b') {
+            return second == 'u' ? TradeStore.TYPE_BUY : second == 'a' ? TradeStore.TYPE_BALANCE : TradeStore.TYPE_OTHER;
+        }
+        return first == 's' && second == 'e' ? TradeStore.TYPE_SELL : TradeStore.TYPE_OTHER;
+    }
+
+    /**
+     * Zeitstempel "yyyy.MM.dd HH:mm[:ss]" (Trennzeichen beliebig) als Epoch-Sekunden.
+     *
+     * @return Epoch-Sekunden oder {@link TradeStore#NO_TIME} bei leerem oder ungültigem Feld
+     */
+    private long parseTime(byte[] buffer, int fields, int column) {
+        if (column < 0 || column >= fields) {
+            return TradeStore.NO_TIME;
+        }
+        int[] parts = timeParts;
+        parts[5] = 0;
+        int count = 0;
+        int value = -1;
+        for (int i = fieldStart[column]; i < fieldEnd[column]; i++) {
+            byte b = buffer[i];
+            if (isDigit(b)) {
+                value = (value < 0 ? 0 : value * 10) + (b - '0');
+                if (value > 99999) {
+                    return TradeStore.NO_TIME;
+                }
+            } else if (value >= 0) {
+                if (count == parts.length) {
+                    break;
+                }
+                parts[count++] = value;
+                value = -1;
+            }
+        }
+        if (value >= 0 && count < parts.length) {
+            parts[count++] = value;
+        }
+        if (count < 5 || parts[1] < 1 || parts[1] > 12 || parts[2] < 1 || parts[2] > 31
+                || parts[3] > 23 || parts[4] > 59 || parts[5] > 60) {
+            return TradeStore.NO_TIME;
+        }
+        return epochDay(parts[0], parts[1], parts[2]) * 86400L + parts[3] * 3600L + parts[4] * 60L + parts[5];
+    }
+
+    /**
+     * Tage seit 1970-01-01 im gregorianischen Kalender, ohne LocalDate-Objekt.
+     */
+    static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Dezimalzahl mit Punkt oder Komma; Leerzeichen und Apostrophe als Tausendertrennzeichen
+     * werden übersprungen. Längere oder wissenschaftliche Schreibweisen gehen über
+     * {@link Double#parseDouble}.
+     *
+     * @return Wert, emptyValue bei leerem Feld, NaN bei ungültigem Inhalt
+     */
+    private double parseNumber(byte[] buffer, int fields, int column, double emptyValue) {
+        if (column < 0 || column >= fields) {
+            return emptyValue;
+        }
+        int start = fieldStart[column];
+        int end = fieldEnd[column];
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        boolean negative = false;
+        boolean any = false;
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (isDigit(b)) {
+                mantissa = mantissa * 10 + (b - '0');
+                any = true;
+                if (++digits > 17) {
+                    return parseSlow(buffer, start, end);
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if ((b == '.' || b == ',') && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (b == '-' && !any && !negative) {
+                negative = true;
+            } else if (b == ' ' || b == '\'' || b == '"' || b == '+') {
+                continue;
+            } else if (b == 'e' || b == 'E') {
+                return parseSlow(buffer, start, end);
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!any) {
+            return isBlank(buffer, start, end) ? emptyValue : Double.NaN;
+        }
+        // Ganzzahl < 2^53 und Zehnerpotenz <= 10^22 sind exakt: eine Division rundet korrekt
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static double parseSlow(byte[] buffer, int start, int end) {
+        String text = new String(buffer, start, end - start, StandardCharsets.UTF_8)
+                .replace(" ", "").replace("'", "").replace("\"", "").replace(',', '.');
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static double zeroIfInvalid(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int skipSpaces(byte[] buffer, int start, int end) {
+        while (start < end - 1 && (buffer[start] == ' ' || buffer[start] == '"')) {
+            start++;
+        }
+        return start;
+    }
+
+    private static boolean isBlank(byte[] buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer[i] != ' ' && buffer[i] != '\t' && buffer[i] != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
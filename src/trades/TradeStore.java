@@ -0,0 +1,300 @@
+package trades;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Trade-History eines Providers in Spaltenform, als Binärdatei &lt;Name&gt;_&lt;ID&gt;.trades
+ * neben der CSV-Datei.
+ *
+ * Aufbau (Little Endian): 32 Byte Kopf (Kennung "MQLT", Formatversion, Zeilenzahl,
+ * Symbolanzahl, Offset der Symboltabelle, übersprungene CSV-Zeilen), danach die Spalten
+ * hintereinander: Eröffnungs- und Schlusszeit (long, Epoch-Sekunden der Serverzeit),
+ * Volumen, Eröffnungs- und Schlusskurs, Kommission, Swap, Profit (double), Symbol-Index
+ * (short) und Typ (byte), am Ende die Symboltabelle (Länge + UTF-8). Alle 8-Byte-Spalten
+ * liegen ausgerichtet, die Datei wird mit {@link #open(Path)} direkt in den Speicher
+ * abgebildet und ohne Objekt je Trade gelesen.
+ */
+public final class TradeStore {
+    private static final Logger logger = LogManager.getLogger(TradeStore.class);
+
+    public static final byte TYPE_BUY = 0;
+    public static final byte TYPE_SELL = 1;
+    public static final byte TYPE_BALANCE = 2;
+    public static final byte TYPE_OTHER = 3;
+
+    /** Zeitstempel für leere Zeitfelder (z.B. Schlusszeit einer Balance-Buchung) */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    public static final String FILE_SUFFIX = ".trades";
+
+    static final int MAGIC = 0x4D514C54; // "MQLT"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    /** Bytes je Zeile über alle Spalten: 2 long, 6 double, 1 short, 1 byte */
+    static final int ROW_BYTES = 2 * 8 + 6 * 8 + 2 + 1;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int skippedRows;
+    private final String[] symbols;
+
+    private final int openTimeOffset;
+    private final int closeTimeOffset;
+    private final int volumeOffset;
+    private final int openPriceOffset;
+    private final int closePriceOffset;
+    private final int commissionOffset;
+    private final int swapOffset;
+    private final int profitOffset;
+    private final int symbolOffset;
+    private final int typeOffset;
+
+    private TradeStore(ByteBuffer buffer, int size, int skippedRows, String[] symbols) {
+        this.buffer = buffer;
+        this.size = size;
+        this.skippedRows = skippedRows;
+        this.symbols = symbols;
+        int offset = HEADER_SIZE;
+        openTimeOffset = offset;
+        closeTimeOffset = offset += 8 * size;
+        volumeOffset = offset += 8 * size;
+        openPriceOffset = offset += 8 * size;
+        closePriceOffset = offset += 8 * size;
+        commissionOffset = offset += 8 * size;
+        swapOffset = offset += 8 * size;
+        profitOffset = offset += 8 * size;
+        symbolOffset = offset += 8 * size;
+        typeOffset = offset + 2 * size;
+    }
+
+    /**
+     * Liest die Trade-History zu einer CSV-Datei. Ist die .trades-Datei älter als die CSV oder
+     * unbrauchbar, wird die CSV neu eingelesen und die .trades-Datei neu geschrieben.
+     *
+     * @param csvFile &lt;Name&gt;_&lt;ID&gt;.csv
+     */
+    public static TradeStore load(Path csvFile) throws IOException {
+        Path storeFile = storeFileFor(csvFile);
+        if (Files.exists(storeFile)
+                && Files.getLastModifiedTime(storeFile).compareTo(Files.getLastModifiedTime(csvFile)) >= 0) {
+            try {
+                return open(storeFile);
+            } catch (IOException e) {
+                logger.warn("Trade-Datei {} unbrauchbar, lese CSV neu: {}", storeFile, e.getMessage());
+            }
+        }
+        TradeStore store = new TradeHistoryParser().parse(csvFile);
+        try {
+            store.write(storeFile);
+        } catch (IOException e) {
+            // z.B. unter Windows, solange eine ältere Fassung noch abgebildet ist
+            logger.warn("Trade-Datei {} konnte nicht geschrieben werden: {}", storeFile, e.getMessage());
+        }
+        return store;
+    }
+
+    /**
+     * @return Pfad der .trades-Datei zu einer CSV-Datei
+     */
+    public static Path storeFileFor(Path csvFile) {
+        String name = csvFile.getFileName().toString();
+        if (name.toLowerCase().endsWith(".csv")) {
+            name = name.substring(0, name.length() - 4);
+        }
+        return csvFile.resolveSibling(name + FILE_SUFFIX);
+    }
+
+    /**
+     * Bildet eine .trades-Datei schreibgeschützt in den Speicher ab.
+     *
+     * @throws IOException wenn die Datei fehlt oder kein gültiges Trade-Format hat
+     */
+    public static TradeStore open(Path storeFile) throws IOException {
+        ByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(storeFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Ungültige Größe der Trade-Datei: " + channel.size());
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Keine Trade-Datei im Format " + FORMAT_VERSION + ": " + storeFile);
+        }
+        int size = mapped.getInt(8);
+        int symbolCount = mapped.getInt(12);
+        long symbolTableOffset = mapped.getLong(16);
+        int skippedRows = mapped.getInt(24);
+        if (size < 0 || symbolCount < 0 || symbolTableOffset != HEADER_SIZE + (long) ROW_BYTES * size
+                || symbolTableOffset > mapped.capacity()) {
+            throw new IOException("Beschädigter Kopf der Trade-Datei: " + storeFile);
+        }
+
+        String[] symbols = new String[symbolCount];
+        int position = (int) symbolTableOffset;
+        try {
+            for (int i = 0; i < symbolCount; i++) {
+                int length = Short.toUnsignedInt(mapped.getShort(position));
+                byte[] bytes = new byte[length];
+                ByteBuffer slice = mapped.duplicate();
+                slice.position(position + 2);
+                slice.get(bytes);
+                symbols[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += 2 + length;
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Beschädigte Symboltabelle der Trade-Datei: " + storeFile);
+        }
+        return new TradeStore(mapped, size, skippedRows, symbols);
+    }
+
+    /**
+     * Legt die Spalten im Binärformat im Heap ab.
+     */
+    static TradeStore fromColumns(TradeColumns columns, int skippedRows) {
+        int size = columns.size;
+        byte[][] symbolBytes = new byte[columns.symbols.size()][];
+        int symbolTableSize = 0;
+        for (int i = 0; i < symbolBytes.length; i++) {
+            symbolBytes[i] = columns.symbols.get(i).getBytes(StandardCharsets.UTF_8);
+            symbolTableSize += 2 + symbolBytes[i].length;
+        }
+        int symbolTableOffset = HEADER_SIZE + ROW_BYTES * size;
+
+        ByteBuffer buffer = ByteBuffer.allocate(symbolTableOffset + symbolTableSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(size).putInt(symbolBytes.length)
+                .putLong(symbolTableOffset).putInt(skippedRows).putInt(0);
+
+        buffer.asLongBuffer().put(columns.openTime, 0, size);
+        buffer.position(buffer.position() + 8 * size);
+        buffer.asLongBuffer().put(columns.closeTime, 0, size);
+        buffer.position(buffer.position() + 8 * size);
+        for (double[] column : new double[][] {columns.volume, columns.openPrice, columns.closePrice,
+                columns.commission, columns.swap, columns.profit}) {
+            buffer.asDoubleBuffer().put(column, 0, size);
+            buffer.position(buffer.position() + 8 * size);
+        }
+        buffer.asShortBuffer().put(columns.symbol, 0, size);
+        buffer.position(buffer.position() + 2 * size);
+        buffer.put(columns.type, 0, size);
+        for (byte[] bytes : symbolBytes) {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        buffer.clear();
+
+        return new TradeStore(buffer, size, skippedRows, columns.symbols.toArray(new String[0]));
+    }
+
+    /**
+     * Schreibt die Trade-History über eine temporäre Datei.
+     */
+    public void write(Path storeFile) throws IOException {
+        Path temp = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+        ByteBuffer data = buffer.duplicate();
+        data.clear();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        try {
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @return Anzahl der Zeilen (Trades und Balance-Buchungen)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return CSV-Zeilen, die beim Einlesen nicht verstanden und ausgelassen wurden
+     */
+    public int getSkippedRows() {
+        return skippedRows;
+    }
+
+    public long openTime(int row) {
+        return buffer.getLong(openTimeOffset + 8 * checkRow(row));
+    }
+
+    public long closeTime(int row) {
+        return buffer.getLong(closeTimeOffset + 8 * checkRow(row));
+    }
+
+    /**
+     * @return {@link #TYPE_BUY}, {@link #TYPE_SELL}, {@link #TYPE_BALANCE} oder {@link #TYPE_OTHER}
+     */
+    public byte type(int row) {
+        return buffer.get(typeOffset + checkRow(row));
+    }
+
+    /**
+     * @return Index in der Symboltabelle, -1 ohne Symbol
+     */
+    public int symbolId(int row) {
+        return buffer.getShort(symbolOffset + 2 * checkRow(row));
+    }
+
+    /**
+     * @return Symbol der Zeile oder "" ohne Symbol
+     */
+    public String symbol(int row) {
+        int id = symbolId(row);
+        return id >= 0 && id < symbols.length ? symbols[id] : "";
+    }
+
+    public int getSymbolCount() {
+        return symbols.length;
+    }
+
+    public double volume(int row) {
+        return buffer.getDouble(volumeOffset + 8 * checkRow(row));
+    }
+
+    public double openPrice(int row) {
+        return buffer.getDouble(openPriceOffset + 8 * checkRow(row));
+    }
+
+    public double closePrice(int row) {
+        return buffer.getDouble(closePriceOffset + 8 * checkRow(row));
+    }
+
+    public double commission(int row) {
+        return buffer.getDouble(commissionOffset + 8 * checkRow(row));
+    }
+
+    public double swap(int row) {
+        return buffer.getDouble(swapOffset + 8 * checkRow(row));
+    }
+
+    public double profit(int row) {
+        return buffer.getDouble(profitOffset + 8 * checkRow(row));
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Zeile " + row + " von " + size);
+        }
+        return row;
+    }
+}
@@ -1,6 +1,5 @@
 package utils;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -18,40 +17,28 @@ public class BasicDataProvider {
     }
     
     /**
-     * Holt die monatlichen Profit-Prozentsätze für einen Provider
+     * Holt die monatlichen Profit-Prozentsätze eines Providers als Monatsreihe aus dem .txt-File
      * 
      * @param fileName Name der Provider-Datei
-     * @return Map mit Jahr/Monat als Schlüssel und Profit-Prozentsatz als Wert
+     * @return Monatsreihe, leer wenn keine Daten vorhanden sind
      */
-    public Map<String, Double> getMonthlyProfitPercentages(String fileName) {
+    public MonthlyReturnSeries getMonthlyReturnSeries(String fileName) {
         Map<String, String> data = fileDataReader.getFileData(fileName);
-        Map<String, Double> monthlyProfits = new HashMap<>();
-        
         if (data.isEmpty()) {
             LOGGER.warning("Keine Daten für " + fileName + " gefunden");
-            return monthlyProfits;
-        }
-        
-        String profitData = data.get("MonthProfitProz");
-        if (profitData == null || profitData.trim().isEmpty()) {
-            return monthlyProfits;
+            return MonthlyReturnSeries.EMPTY;
         }
-        
-        String[] monthEntries = profitData.split(",");
-        for (String entry : monthEntries) {
-            String[] parts = entry.split("=");
-            if (parts.length == 2) {
-                try {
-                    String yearMonth = parts[0].trim();
-                    double profitPercentage = Double.parseDouble(parts[1].trim());
-                    monthlyProfits.put(yearMonth, profitPercentage);
-                } catch (NumberFormatException e) {
-                    LOGGER.warning("Could not parse profit percentage for entry: " + entry);
-                }
-            }
-        }
-        
-        return monthlyProfits;
+        return MonthlyReturnSeries.fromMonthProfitProz(data.get("MonthProfitProz"));
+    }
+    
+    /**
+     * Holt die monatlichen Profit-Prozentsätze für einen Provider
+     * 
+     * @param fileName Name der Provider-Datei
+     * @return Map mit Jahr/Monat als Schlüssel und Profit-Prozentsatz als Wert
+     */
+    public Map<String, Double> getMonthlyProfitPercentages(String fileName) {
+        return getMonthlyReturnSeries(fileName).toMap();
     }
     
     /**
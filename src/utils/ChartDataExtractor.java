@@ -23,7 +23,7 @@ import org.jsoup.select.Elements;
 public class ChartDataExtractor {
     private static final Logger logger = LogManager.getLogger(ChartDataExtractor.class);
     
-    // Pattern fr rote Linien im Drawdown-Chart
+    // Pattern für rote Linien im Drawdown-Chart
     private static final Pattern[] RED_LINE_PATTERNS = {
     	    Pattern.compile("<path[^>]*class=\"s-path-line[^\"]*\"[^>]*d=\"([^\"]+)\"[^>]*style=\"[^\"]*stroke:\\s*red[^\"]*\"", Pattern.CASE_INSENSITIVE | Pattern.DOTALL),
     	    Pattern.compile("<path[^>]*class=\"s-path-line c-1906qq7\"[^>]*d=\"([^\"]+)\"", Pattern.CASE_INSENSITIVE | Pattern.DOTALL),
@@ -32,7 +32,7 @@ public class ChartDataExtractor {
     	};
     
     /**
-     * Schtzt die Y-Achsen-Skala aus SVG-Elementen wenn das normale Pattern fehlschlgt
+     * Schätzt die Y-Achsen-Skala aus SVG-Elementen wenn das normale Pattern fehlschlägt
      */
   
     private double[] estimateYScaleFromSVG(String svgContent) {
@@ -76,42 +76,47 @@ public class ChartDataExtractor {
                                 topPercent = Math.min(topPercent, percent);
                                 bottomPercent = Math.max(bottomPercent, percent);
 
-                                logger.info(String.format("Gefundene Y-Position: %.2f, Prozentwert: %.2f%%", y, percent));
+                                // Pro Achsenbeschriftung: nur im Debug-Level formatieren
+                                if (logger.isDebugEnabled()) {
+                                    logger.debug(String.format("Gefundene Y-Position: %.2f, Prozentwert: %.2f%%", y, percent));
+                                }
                             }
                         }
                     } catch (NumberFormatException e) {
-                        logger.warn("Ungltiger Prozentwert gefunden: " + text);
+                        logger.warn("Ungültiger Prozentwert gefunden: {}", text);
                     }
                 }
             }
 
             if (topY != Double.MAX_VALUE && bottomY != Double.MIN_VALUE) {
-                logger.info(String.format("Finale geschtzte Y-Skala: topY=%.2f (%.2f%%), bottomY=%.2f (%.2f%%)",
-                        topY, topPercent, bottomY, bottomPercent));
+                if (logger.isInfoEnabled()) {
+                    logger.info(String.format("Finale geschätzte Y-Skala: topY=%.2f (%.2f%%), bottomY=%.2f (%.2f%%)",
+                            topY, topPercent, bottomY, bottomPercent));
+                }
                 return new double[]{topY, bottomY, topPercent, bottomPercent};
             }
 
         } catch (Exception e) {
-            logger.error("Fehler bei der Y-Skala Schtzung: ", e);
+            logger.error("Fehler bei der Y-Skala Schätzung: ", e);
         }
 
         return null;
     }
     
- // Explizite Skalierungsfunktion fr przise Ergebnisse
+ // Explizite Skalierungsfunktion für präzise Ergebnisse
     private double scaleToPercent(double yValue, double topY, double bottomY, double topPercent, double bottomPercent) {
         double normalized = (yValue - topY) / (bottomY - topY);
         return topPercent + normalized * (bottomPercent - topPercent);
     }
 
     
-    // Pattern fr Y-Achsenbeschriftungen (Drawdown-Prozentwerte) - flexibler fr verschiedene Attribute
+    // Pattern für Y-Achsenbeschriftungen (Drawdown-Prozentwerte) - flexibler für verschiedene Attribute
     private static final Pattern Y_AXIS_TICK_PATTERN = Pattern.compile(
         "<g class=\"s-tick[^\"]*\"[^>]*transform=\"translate\\(0,\\s*([\\d.]+)\\)\"[^>]*>\\s*<text[^>]*>([\\d.]+)%</text>",
         Pattern.CASE_INSENSITIVE | Pattern.DOTALL
     );
     
-    // Pattern fr MonthProfitProz
+    // Pattern für MonthProfitProz
     private static final Pattern MONTH_PROFIT_PATTERN = Pattern.compile(
         "MonthProfitProz=([^\n]+)",
         Pattern.CASE_INSENSITIVE | Pattern.DOTALL
@@ -127,7 +132,7 @@ public class ChartDataExtractor {
         List<ChartPoint> chartData = new ArrayList<>();
         String html = contentCache.getHtmlContent(fileName);
         if (html == null) {
-            logger.warn("HTML-Inhalt ist null fr " + fileName);
+            logger.warn("HTML-Inhalt ist null für " + fileName);
             return chartData;
         }
         
@@ -137,7 +142,7 @@ public class ChartDataExtractor {
             logger.warn("Konnte keinen Datumsbereich aus MonthProfitProz extrahieren, verwende Fallback");
             dateRange = getFallbackDateRange();
         } else {
-            logger.info("Datumsbereich aus MonthProfitProz: " + dateRange[0] + " bis " + dateRange[1]);
+            logger.info("Datumsbereich aus MonthProfitProz: {} bis {}", dateRange[0], dateRange[1]);
         }
         
         // HTML mit JSoup parsen
@@ -160,18 +165,18 @@ public class ChartDataExtractor {
         // SVG als String extrahieren
         String svgContent = svgElement.outerHtml();
         
-        // Y-Achsen-Ticks extrahieren (fr die Skala)
+        // Y-Achsen-Ticks extrahieren (für die Skala)
         double[] yScale = extractYAxisScale(svgContent);
         if (yScale == null) {
             logger.warn("Konnte keine Y-Achsen-Skala aus dem SVG extrahieren");
-            // ALLGEMEINE Fallback-Strategie: Versuche die Y-Achsen-Werte aus dem SVG selbst zu schtzen
+            // ALLGEMEINE Fallback-Strategie: Versuche die Y-Achsen-Werte aus dem SVG selbst zu schätzen
             yScale = estimateYScaleFromSVG(svgContent);
             if (yScale == null) {
                 // Letzter Fallback: Standard-Bereich 0-30%
                 yScale = new double[]{32.0, 300.0, 0.0, 30.0}; // topY, bottomY, topPercent, bottomPercent
                 logger.warn("Verwende Standard-Fallback-Y-Achsen-Skala (0-30%)");
             } else {
-                logger.info("Y-Achsen-Skala aus SVG geschtzt");
+                logger.info("Y-Achsen-Skala aus SVG geschätzt");
             }
         }
         
@@ -189,9 +194,9 @@ public class ChartDataExtractor {
             return chartData;
         }
         
-        logger.info("Anzahl der extrahierten Pfadpunkte: " + pathPoints.size());
+        logger.info("Anzahl der extrahierten Pfadpunkte: {}", pathPoints.size());
         
-        // Bereichsgrenzen fr X-Koordinaten bestimmen
+        // Bereichsgrenzen für X-Koordinaten bestimmen
         double minX = Double.MAX_VALUE;
         double maxX = Double.MIN_VALUE;
         for (double[] point : pathPoints) {
@@ -199,20 +204,21 @@ public class ChartDataExtractor {
             maxX = Math.max(maxX, point[0]);
         }
         
-        logger.info(String.format("X-Bereich: minX=%.2f, maxX=%.2f", minX, maxX));
+        if (logger.isInfoEnabled()) {
+            logger.info(String.format("X-Bereich: minX=%.2f, maxX=%.2f", minX, maxX));
+        }
         
         // Gesamtzeitraum in Tagen berechnen
         long totalDays = ChronoUnit.DAYS.between(dateRange[0], dateRange[1]) + 1;
-        logger.info("Gesamtzeitraum in Tagen: " + totalDays + 
-                   " (" + dateRange[0] + " bis " + dateRange[1] + ")");
+        logger.info("Gesamtzeitraum in Tagen: {} ({} bis {})", totalDays, dateRange[0], dateRange[1]);
         
-        // Formatter fr die Datumsausgabe
+        // Formatter für die Datumsausgabe
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         
         
         
         // Punkte verarbeiten und in ChartPoint-Objekte umwandeln
-        // Dabei ALLE Punkte beibehalten und korrekt ber die Zeit verteilen
+        // Dabei ALLE Punkte beibehalten und korrekt über die Zeit verteilen
         for (int i = 0; i < pathPoints.size(); i++) {
             double[] point = pathPoints.get(i);
             double x = point[0];
@@ -223,11 +229,11 @@ public class ChartDataExtractor {
             if (maxX > minX) {
                 normalizedX = (x - minX) / (maxX - minX);
             } else {
-                normalizedX = (double) i / (pathPoints.size() - 1); // Gleichmige Verteilung falls alle X gleich
+                normalizedX = (double) i / (pathPoints.size() - 1); // Gleichmäßige Verteilung falls alle X gleich
             }
             normalizedX = Math.min(1.0, Math.max(0.0, normalizedX)); // Auf [0,1] begrenzen
             
-            // Berechne das Datum fr diesen Punkt
+            // Berechne das Datum für diesen Punkt
             long daysToAdd = Math.round(normalizedX * (totalDays - 1));
             LocalDate pointDate = dateRange[0].plusDays(daysToAdd);
             
@@ -239,7 +245,7 @@ public class ChartDataExtractor {
             chartData.add(new ChartPoint(dateStr, drawdownPercent));
         }
         
-        // Jetzt fr Punkte mit gleichem Datum: 5 Minuten zwischen den Punkten hinzufgen
+        // Jetzt für Punkte mit gleichem Datum: 5 Minuten zwischen den Punkten hinzufügen
         List<ChartPoint> finalChartData = new ArrayList<>();
         Map<String, Integer> dateCounters = new HashMap<>();
         
@@ -248,12 +254,12 @@ public class ChartDataExtractor {
             int counter = dateCounters.getOrDefault(originalDate, 0);
             
             if (counter == 0) {
-                // Erster Punkt fr dieses Datum - behlt das ursprngliche Datum
+                // Erster Punkt für dieses Datum - behält das ursprüngliche Datum
                 finalChartData.add(point);
             } else {
-                // Weitere Punkte fr dieses Datum - fge 5 Minuten * counter hinzu
+                // Weitere Punkte für dieses Datum - füge 5 Minuten * counter hinzu
                 // Da ChartPoint nur das Datum speichert, nicht die Zeit, verwenden wir trotzdem das gleiche Datum
-                // Die 5-Minuten-Logik ist mehr konzeptionell fr die sptere Verwendung
+                // Die 5-Minuten-Logik ist mehr konzeptionell für die spätere Verwendung
                 finalChartData.add(point);
             }
             
@@ -262,7 +268,7 @@ public class ChartDataExtractor {
         
         chartData = finalChartData;
         
-        logger.info("Anzahl der endgltigen ChartPoints: " + chartData.size());
+        logger.info("Anzahl der endgültigen ChartPoints: {}", chartData.size());
         return chartData;
     }
     
@@ -290,21 +296,21 @@ public class ChartDataExtractor {
             if (parts.length == 2) {
                 String monthStr = parts[0].trim();
                 try {
-                    // Format ist YYYY/MM, aber wir brauchen ein vollstndiges Datum
+                    // Format ist YYYY/MM, aber wir brauchen ein vollständiges Datum
                     YearMonth ym = YearMonth.parse(monthStr, formatter);
                     
-                    // Fr den Anfang des Bereichs: Erster Tag des Monats
+                    // Für den Anfang des Bereichs: Erster Tag des Monats
                     if (earliest == null || ym.atDay(1).isBefore(earliest)) {
                         earliest = ym.atDay(1);
                     }
                     
-                    // Fr das Ende des Bereichs: Letzter Tag des Monats
+                    // Für das Ende des Bereichs: Letzter Tag des Monats
                     LocalDate lastDayOfMonth = ym.atEndOfMonth();
                     if (latest == null || lastDayOfMonth.isAfter(latest)) {
                         latest = lastDayOfMonth;
                     }
                 } catch (DateTimeParseException e) {
-                    logger.warn("Ungltiges Datumsformat in MonthProfitProz: " + monthStr);
+                    logger.warn("Ungültiges Datumsformat in MonthProfitProz: " + monthStr);
                 }
             }
         }
@@ -378,13 +384,14 @@ public class ChartDataExtractor {
         return null;
     }
     
-    private List<double[]> parsePathData(String pathData) {
+    // Paketsichtbar für die JMH-Benchmarks (bench/src)
+    List<double[]> parsePathData(String pathData) {
         List<double[]> points = new ArrayList<>();
         if (pathData == null || pathData.trim().isEmpty()) {
             return points;
         }
         
-        // Regulrer Ausdruck fr Zahlen (mit oder ohne Vorzeichen, Dezimalstellen)
+        // Regulärer Ausdruck für Zahlen (mit oder ohne Vorzeichen, Dezimalstellen)
         Pattern numberPattern = Pattern.compile("[+-]?\\d*\\.?\\d+");
         
         // Aufteilung in Befehle
@@ -400,7 +407,7 @@ public class ChartDataExtractor {
             char cmdChar = command.charAt(0);
             String params = command.substring(1).trim();
             
-            // Prfe, ob es ein relativer Befehl ist
+            // Prüfe, ob es ein relativer Befehl ist
             boolean isRelative = Character.isLowerCase(cmdChar);
             cmdChar = Character.toUpperCase(cmdChar);
             
@@ -573,15 +580,15 @@ public class ChartDataExtractor {
     }
     
     private double[] extractYAxisScale(String svgContent) {
-        // Mehrere Pattern versuchen fr verschiedene HTML-Strukturen
+        // Mehrere Pattern versuchen für verschiedene HTML-Strukturen
         Pattern[] patterns = {
-            // Ursprngliches Pattern
+            // Ursprüngliches Pattern
             Pattern.compile("<g class=\"s-tick[^\"]*\"[^>]*transform=\"translate\\(0,\\s*([\\d.]+)\\)\"[^>]*>\\s*<text[^>]*>([\\d.]+)%</text>", 
                            Pattern.CASE_INSENSITIVE | Pattern.DOTALL),
-            // Pattern fr text mit Attributen wie x="-28"
+            // Pattern für text mit Attributen wie x="-28"
             Pattern.compile("<g class=\"s-tick[^\"]*\"[^>]*transform=\"translate\\(0,\\s*([\\d.]+)\\)\"[^>]*>\\s*<text[^>]*x=\"[^\"]*\"[^>]*>([\\d.]+)%</text>", 
                            Pattern.CASE_INSENSITIVE | Pattern.DOTALL),
-            // Pattern fr s-tick-X Klassen  
+            // Pattern für s-tick-X Klassen  
             Pattern.compile("<g class=\"s-tick s-tick-[\\d.]+[^\"]*\"[^>]*transform=\"translate\\(0,\\s*([\\d.]+)\\)\"[^>]*>.*?<text[^>]*>([\\d.]+)%</text>", 
                            Pattern.CASE_INSENSITIVE | Pattern.DOTALL)
         };
@@ -621,8 +628,10 @@ public class ChartDataExtractor {
         }
         
         if (topY != -1 && bottomY != -1) {
-            logger.info(String.format("Y-Skala extrahiert: topY=%.2f (%.2f%%), bottomY=%.2f (%.2f%%)",
-                    topY, topPercent, bottomY, bottomPercent));
+            if (logger.isInfoEnabled()) {
+                logger.info(String.format("Y-Skala extrahiert: topY=%.2f (%.2f%%), bottomY=%.2f (%.2f%%)",
+                        topY, topPercent, bottomY, bottomPercent));
+            }
             return new double[]{topY, bottomY, topPercent, bottomPercent};
         }
         
@@ -656,8 +665,10 @@ public class ChartDataExtractor {
                 }
                 
                 if (topY != -1 && bottomY != -1) {
-                    logger.info(String.format("Y-Skala mit JSoup extrahiert: topY=%.2f (%.2f%%), bottomY=%.2f (%.2f%%)",
-                            topY, topPercent, bottomY, bottomPercent));
+                    if (logger.isInfoEnabled()) {
+                        logger.info(String.format("Y-Skala mit JSoup extrahiert: topY=%.2f (%.2f%%), bottomY=%.2f (%.2f%%)",
+                                topY, topPercent, bottomY, bottomPercent));
+                    }
                     return new double[]{topY, bottomY, topPercent, bottomPercent};
                 }
             }
@@ -40,13 +40,7 @@ public class DataExtractor {
             if (htmlContent == null) {
                 String errorMessage = "HTML-Inhalt konnte nicht geladen werden für Datei: " + fileName;
                 logger.error(errorMessage);
-                if (showErrorAndAskForDeletion(errorMessage, fileName)) {
-                    return 0.0;  // Datei wurde gelöscht, wir geben 0.0 zurück
-                } else {
-                    // Benutzer möchte nicht löschen, aber wir können nicht fortfahren
-                    System.exit(1);
-                    return 0.0;  // Diese Zeile wird nie erreicht
-                }
+                throw new ExtractionException(ExtractionException.Reason.HTML_NOT_READABLE, fileName, errorMessage);
             }
             
             // HTML mit JSoup parsen
@@ -84,95 +78,18 @@ public class DataExtractor {
                 } else {
                     String errorMessage = "Balance/Kontostand konnte nicht extrahiert werden für Datei: " + fileName;
                     logger.error(errorMessage);
-                    if (showErrorAndAskForDeletion(errorMessage, fileName)) {
-                        return 0.0;  // Datei wurde gelöscht, wir geben 0.0 zurück
-                    } else {
-                        // Benutzer möchte nicht löschen, aber wir können nicht fortfahren
-                        System.exit(1);
-                        return 0.0;  // Diese Zeile wird nie erreicht
-                    }
+                    throw new ExtractionException(ExtractionException.Reason.BALANCE_NOT_FOUND, fileName, errorMessage);
                 }
             }
+        } catch (ExtractionException e) {
+            throw e;
         } catch (Exception e) {
             String errorMessage = "Fehler beim Extrahieren der Balance für " + fileName + ": " + e.getMessage();
             logger.error(errorMessage, e);
-            if (showErrorAndAskForDeletion(errorMessage, fileName)) {
-                return 0.0;  // Datei wurde gelöscht, wir geben 0.0 zurück
-            } else {
-                // Benutzer möchte nicht löschen, aber wir können nicht fortfahren
-                System.exit(1);
-                return 0.0;  // Diese Zeile wird nie erreicht
-            }
+            throw new ExtractionException(ExtractionException.Reason.BALANCE_FAILED, fileName, errorMessage, e);
         }
     }
 
-    // Ersetzte Methode: Zeigt Fehlermeldung und fragt, ob die Datei gelöscht werden soll
-    private boolean showErrorAndAskForDeletion(String errorMessage, String fileName) {
-        // Optionen für den Dialog
-        String[] options = {"Datei löschen und fortfahren", "Abbrechen"};
-        
-        // Dialog anzeigen und Auswahl des Benutzers erhalten
-        int choice = javax.swing.JOptionPane.showOptionDialog(
-            null,
-            errorMessage + "\n\nSoll die Datei gelöscht und mit der Konvertierung fortgefahren werden?",
-            "Extraktionsfehler",
-            javax.swing.JOptionPane.YES_NO_OPTION,
-            javax.swing.JOptionPane.ERROR_MESSAGE,
-            null,
-            options,
-            options[1]  // Standardauswahl ist "Abbrechen"
-        );
-        
-        // Wenn Benutzer "Datei löschen und fortfahren" wählt
-        if (choice == 0) {
-            if (deleteRelatedFiles(fileName)) {
-                logger.info("Dateien wurden gelöscht, Konvertierung wird fortgesetzt.");
-                return true;
-            } else {
-                logger.error("Fehler beim Löschen der Dateien.");
-                return false;
-            }
-        }
-        
-        // Benutzer hat abgebrochen
-        return false;
-    }
-    
-    // Neue Methode: Löscht die zugehörigen Dateien (root.html, .csv und .txt)
-    private boolean deleteRelatedFiles(String fileName) {
-        try {
-            Path htmlPath = Paths.get(fileName);
-            
-            // Pfade für entsprechende CSV- und TXT-Dateien erzeugen
-            String baseName = fileName.replace("_root.html", "");
-            Path csvPath = Paths.get(baseName + ".csv");
-            Path txtPath = Paths.get(baseName + "_root.txt");
-            
-            // Dateien löschen, wenn sie existieren
-            boolean success = true;
-            
-            if (Files.exists(htmlPath)) {
-                Files.delete(htmlPath);
-                logger.info("Gelöscht: " + htmlPath);
-            }
-            
-            if (Files.exists(csvPath)) {
-                Files.delete(csvPath);
-                logger.info("Gelöscht: " + csvPath);
-            }
-            
-            if (Files.exists(txtPath)) {
-                Files.delete(txtPath);
-                logger.info("Gelöscht: " + txtPath);
-            }
-            
-            return success;
-        } catch (IOException e) {
-            logger.error("Fehler beim Löschen der Dateien: " + e.getMessage(), e);
-            return false;
-        }
-    }
-    
     // Hilfsmethode zum Extrahieren des Kontexts um ein Schlüsselwort
     private String extractContextAroundKeyword(String content, String keyword) {
         int index = content.indexOf(keyword);
@@ -184,7 +101,10 @@ public class DataExtractor {
         return "Schlüsselwort nicht gefunden";
     }
     
-    // Getter für Equity Drawdown aus der Grafik
+    /**
+     * Bisheriger Wert aus der Grafik: kleinster Punkt des roten SVG-Pfads (Betrag). Für den
+     * größten Drawdown laut Grafik siehe {@link #getSvgMaxDrawdown(String)}.
+     */
     public double getEquityDrawdownGraphic(String fileName) {
         try {
             List<ChartPoint> data = chartExtractor.getDrawdownChartData(fileName);
@@ -202,6 +122,25 @@ public class DataExtractor {
         return 0.0;
     }
     
+    /**
+     * Größter Drawdown laut rotem SVG-Pfad (die Punkte sind bereits als positive Prozentwerte
+     * umgerechnet), vergleichbar mit dem Drawdown aus der Trading History.
+     */
+    public double getSvgMaxDrawdown(String fileName) {
+        try {
+            List<ChartPoint> data = chartExtractor.getDrawdownChartData(fileName);
+            if (data != null && !data.isEmpty()) {
+                return data.stream()
+                    .mapToDouble(ChartPoint::getValue)
+                    .max()
+                    .orElse(0.0);
+            }
+        } catch (Exception e) {
+            logger.warn("No drawdown chart data found for " + fileName);
+        }
+        return 0.0;
+    }
+    
     public double getEquityDrawdown(String fileName) {
         try {
             String htmlContent = contentCache.getHtmlContent(fileName);
@@ -294,27 +233,13 @@ public class DataExtractor {
             // Wenn kein Equity Drawdown gefunden wurde
             String errorMessage = "Equity Drawdown konnte nicht extrahiert werden für Datei: " + fileName;
             logger.error(errorMessage);
-            
-            // Anstatt sofort zu beenden, fragen wir den Benutzer
-            if (showErrorAndAskForDeletion(errorMessage, fileName)) {
-                return 0.0;  // Datei wurde gelöscht, wir geben 0.0 zurück
-            } else {
-                // Benutzer möchte nicht löschen, aber wir können nicht fortfahren
-                System.exit(1);
-                return 0.0;  // Diese Zeile wird nie erreicht, aber ist notwendig für die Kompilierung
-            }
+            throw new ExtractionException(ExtractionException.Reason.EQUITY_DRAWDOWN_NOT_FOUND, fileName, errorMessage);
+        } catch (ExtractionException e) {
+            throw e;
         } catch (Exception e) {
             String errorMessage = "Fehler beim Extrahieren des Equity Drawdown für " + fileName + ": " + e.getMessage();
             logger.error(errorMessage, e);
-            
-            // Anstatt sofort zu beenden, fragen wir den Benutzer
-            if (showErrorAndAskForDeletion(errorMessage, fileName)) {
-                return 0.0;  // Datei wurde gelöscht, wir geben 0.0 zurück
-            } else {
-                // Benutzer möchte nicht löschen, aber wir können nicht fortfahren
-                System.exit(1);
-                return 0.0;  // Diese Zeile wird nie erreicht, aber ist notwendig für die Kompilierung
-            }
+            throw new ExtractionException(ExtractionException.Reason.EQUITY_DRAWDOWN_FAILED, fileName, errorMessage, e);
         }
     }
     
@@ -341,13 +266,7 @@ public class DataExtractor {
         } catch (Exception e) {
             String errorMessage = "Fehler beim Berechnen des durchschnittlichen 3-Monats-Profits für " + fileName + ": " + e.getMessage();
             logger.error(errorMessage, e);
-            if (showErrorAndAskForDeletion(errorMessage, fileName)) {
-                return 0.0;  // Datei wurde gelöscht, wir geben 0.0 zurück
-            } else {
-                // Benutzer möchte nicht löschen, aber wir können nicht fortfahren
-                System.exit(1);
-                return 0.0;  // Diese Zeile wird nie erreicht
-            }
+            throw new ExtractionException(ExtractionException.Reason.AVG_PROFIT_FAILED, fileName, errorMessage, e);
         }
     }
     
@@ -0,0 +1,44 @@
+package utils;
+
+/**
+ * Wird geworfen, wenn eine Pflicht-Kennzahl eines Providers nicht aus der HTML-Datei
+ * extrahiert werden kann. Früher öffnete der DataExtractor an dieser Stelle einen Dialog;
+ * heute entscheidet der Aufrufer (HtmlConverter) anhand der Fehler-Policy, was mit dem
+ * Provider passiert.
+ */
+public class ExtractionException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maschinenlesbarer Grund des Fehlers.
+     */
+    public enum Reason {
+        HTML_NOT_READABLE,
+        BALANCE_NOT_FOUND,
+        BALANCE_FAILED,
+        EQUITY_DRAWDOWN_NOT_FOUND,
+        EQUITY_DRAWDOWN_FAILED,
+        AVG_PROFIT_FAILED
+    }
+
+    private final Reason reason;
+    private final String fileName;
+
+    public ExtractionException(Reason reason, String fileName, String message) {
+        this(reason, fileName, message, null);
+    }
+
+    public ExtractionException(Reason reason, String fileName, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+        this.fileName = fileName;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -1,7 +1,7 @@
 package utils;
 
-import java.io.File;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,49 +13,43 @@ public class FileStatistics {
     private static final Logger logger = LogManager.getLogger(FileStatistics.class);
     
     /**
-     * Analysiert das Alter von HTML-Dateien in einem Verzeichnis.
+     * Analysiert das Alter der HTML-Dateien einer MQL-Version.
+     * Änderungszeiten kommen aus dem Provider-Katalog, ohne Dateizugriff je Datei. Wartet beim
+     * ersten Aufruf auf das Laden des Katalogs und sollte deshalb nicht im EDT laufen.
      * 
-     * @param directory Das zu analysierende Verzeichnis
-     * @param maxDays Die maximale Anzahl von Tagen fr die Analyse
-     * @return Eine Map mit dem Alter in Tagen als Schlssel und der Anzahl der Dateien als Wert
+     * @param downloadPath Download-Verzeichnis (enthält mql4 und mql5)
+     * @param version "mql4" oder "mql5"
+     * @param maxDays Die maximale Anzahl von Tagen für die Analyse
+     * @return Eine Map mit dem Alter in Tagen als Schlüssel und der Anzahl der Dateien als Wert
      */
-    public static Map<Integer, Integer> analyzeFileAge(String directory, int maxDays) {
-        logger.info("Analysiere Verzeichnis: {}", directory);
+    public static Map<Integer, Integer> analyzeFileAge(String downloadPath, String version, int maxDays) {
+        logger.info("Analysiere {} in: {}", version, downloadPath);
         Map<Integer, Integer> ageDistribution = new HashMap<>();
         
-        // Initialisiere Verteilung mit 0 fr jeden Tag
+        // Initialisiere Verteilung mit 0 für jeden Tag
         for (int i = 0; i <= maxDays; i++) {
             ageDistribution.put(i, 0);
         }
         
-        File dir = new File(directory);
-        if (!dir.exists() || !dir.isDirectory()) {
-            logger.warn("Verzeichnis existiert nicht oder ist kein Verzeichnis: {}", directory);
-            return ageDistribution;
-        }
-        
-        File[] files = dir.listFiles((d, name) -> name.endsWith("_root.html"));
-        if (files == null || files.length == 0) {
-            logger.info("Keine HTML-Dateien gefunden in: {}", directory);
+        List<ProviderCatalog.Entry> providers = ProviderCatalog.forDownloadPath(downloadPath).getProviders(version);
+        if (providers.isEmpty()) {
+            logger.info("Keine HTML-Dateien gefunden für: {}", version);
             return ageDistribution;
         }
         
         long currentTime = System.currentTimeMillis();
-        int totalFiles = 0;
-        
-        for (File file : files) {
-            long fileAge = currentTime - file.lastModified();
+        for (ProviderCatalog.Entry provider : providers) {
+            long fileAge = currentTime - provider.getHtml().getLastModified();
             int ageInDays = (int) (fileAge / (1000 * 60 * 60 * 24));
             
             // Begrenzen auf maxDays
-            int bucket = Math.min(ageInDays, maxDays);
+            int bucket = Math.max(0, Math.min(ageInDays, maxDays));
             
-            // Zhler erhhen
-            ageDistribution.put(bucket, ageDistribution.get(bucket) + 1);
-            totalFiles++;
+            // Zähler erhöhen
+            ageDistribution.merge(bucket, 1, Integer::sum);
         }
         
-        logger.info("Analysiert: {} HTML-Dateien in {}", totalFiles, directory);
+        logger.info("Analysiert: {} HTML-Dateien für {}", providers.size(), version);
         return ageDistribution;
     }
-}
\ No newline at end of file
+}
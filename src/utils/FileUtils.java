@@ -2,13 +2,10 @@ package utils;
 
 import java.io.File;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,110 +40,72 @@ public class FileUtils {
     }
     
     /**
-     * berprft und korrigiert die Dateinummern, indem immer die Nummer der HTML-Datei
-     * als die korrekte Nummer verwendet wird.
-     * @param directoryPath Verzeichnis, in dem die Dateien berprft werden sollen
+     * Überprüft und korrigiert die Dateinummern, indem immer die Nummer der HTML-Datei
+     * als die korrekte Nummer verwendet wird. Die Dateien kommen aus dem Provider-Katalog;
+     * umbenannte Dateien werden dort nachgetragen.
+     * @param catalog Provider-Katalog des Download-Verzeichnisses
+     * @param version "mql4" oder "mql5"
      * @return Liste der korrigierten Dateien
      */
-    public static List<String> correctFileNumbers(String directoryPath) {
+    public static List<String> correctFileNumbers(ProviderCatalog catalog, String version) {
         List<String> correctedFiles = new ArrayList<>();
-        File directory = new File(directoryPath);
-        
-        if (!directory.exists() || !directory.isDirectory()) {
-            logger.warn("Verzeichnis existiert nicht: {}", directoryPath);
-            return correctedFiles;
-        }
+        List<ProviderCatalog.Entry> providers = catalog.getProviders(version);
         
-        // Sammle alle HTML-Dateien und ihre Nummern
-        Map<String, String> htmlFileNumbers = new HashMap<>();
-        File[] files = directory.listFiles((dir, name) -> name.endsWith("_root.html"));
-        
-        if (files == null || files.length == 0) {
-            logger.info("Keine HTML-Dateien gefunden in: {}", directoryPath);
+        if (providers.isEmpty()) {
+            logger.info("Keine HTML-Dateien gefunden in: {}", catalog.getDirectory(version));
             return correctedFiles;
         }
         
-        // Extrahiere Basisnamen und Nummern aus HTML-Dateien
-        Pattern numberPattern = Pattern.compile("_(\\d+)_root\\.html$");
-        for (File htmlFile : files) {
-            String fileName = htmlFile.getName();
-            Matcher matcher = numberPattern.matcher(fileName);
-            
-            if (matcher.find()) {
-                String number = matcher.group(1);
-                String baseName = fileName.substring(0, fileName.length() - matcher.group(0).length());
-                htmlFileNumbers.put(baseName, number);
-            }
+        // Überprüfe CSV- und TXT-Dateien und korrigiere sie
+        Path directory = catalog.getDirectory(version);
+        for (ProviderCatalog.Entry provider : providers) {
+            String baseName = provider.getName() + "_" + provider.getProviderId();
+            correctFile(catalog, version, directory, provider.getCsvFileName(), baseName + ".csv", correctedFiles);
+            correctFile(catalog, version, directory, provider.getTxtFileName(), baseName + "_root.txt", correctedFiles);
         }
         
-        // berprfe CSV- und TXT-Dateien und korrigiere sie
-        correctFileType(directory, htmlFileNumbers, "csv", correctedFiles);
-        correctFileType(directory, htmlFileNumbers, "txt", correctedFiles);
-        
         return correctedFiles;
     }
     
     /**
-     * Korrigiert Dateien eines bestimmten Typs basierend auf den HTML-Dateinummern.
+     * Benennt eine Datei um, wenn ihre Nummer nicht zur HTML-Datei passt.
      */
-    private static void correctFileType(File directory, Map<String, String> htmlFileNumbers, 
-                                        String fileType, List<String> correctedFiles) {
-        String suffix = fileType.equals("txt") ? "_root" : "";
-        String fileExtension = "." + fileType;
-        
-        File[] files = directory.listFiles((dir, name) -> name.endsWith(fileExtension));
-        if (files == null) return;
-        
-        Pattern numberPattern = Pattern.compile("_(\\d+)" + (suffix.isEmpty() ? "" : Pattern.quote(suffix)) + "\\" + fileExtension + "$");
-        
-        for (File file : files) {
-            String fileName = file.getName();
-            Matcher matcher = numberPattern.matcher(fileName);
-            
-            if (matcher.find()) {
-                String currentNumber = matcher.group(1);
-                String baseName = fileName.substring(0, fileName.length() - matcher.group(0).length());
-                
-                // berprfe, ob wir eine HTML-Datei mit dem gleichen Basisnamen haben
-                if (htmlFileNumbers.containsKey(baseName)) {
-                    String correctNumber = htmlFileNumbers.get(baseName);
-                    
-                    // Wenn die Nummer anders ist, korrigiere sie
-                    if (!currentNumber.equals(correctNumber)) {
-                        String newFileName = baseName + "_" + correctNumber + suffix + fileExtension;
-                        File newFile = new File(directory, newFileName);
-                        
-                        try {
-                            Files.move(file.toPath(), newFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                            String message = String.format("Dateinummer korrigiert: %s -> %s", 
-                                                         fileName, newFileName);
-                            correctedFiles.add(message);
-                            logger.info(message);
-                        } catch (Exception e) {
-                            logger.error("Fehler beim Umbenennen von {}: {}", fileName, e.getMessage());
-                        }
-                    }
-                }
-            }
+    private static void correctFile(ProviderCatalog catalog, String version, Path directory,
+                                    String fileName, String correctFileName, List<String> correctedFiles) {
+        // Wenn die Nummer anders ist, korrigiere sie
+        if (fileName == null || fileName.equals(correctFileName)) {
+            return;
+        }
+        Path file = directory.resolve(fileName);
+        Path newFile = directory.resolve(correctFileName);
+        try {
+            Files.move(file, newFile, StandardCopyOption.REPLACE_EXISTING);
+            String message = String.format("Dateinummer korrigiert: %s -> %s", 
+                                         fileName, correctFileName);
+            correctedFiles.add(message);
+            logger.info(message);
+        } catch (Exception e) {
+            logger.error("Fehler beim Umbenennen von {}: {}", fileName, e.getMessage());
         }
+        catalog.recordFile(version, file);
+        catalog.recordFile(version, newFile);
     }
     
     /**
-     * berprft und korrigiert die Dateinummern in allen MQL-Verzeichnissen.
+     * Überprüft und korrigiert die Dateinummern in allen MQL-Verzeichnissen.
      * @param baseDownloadPath Basis-Downloadpfad
      * @return Liste der korrigierten Dateien
      */
     public static List<String> correctAllDirectories(String baseDownloadPath) {
         List<String> allCorrected = new ArrayList<>();
+        ProviderCatalog catalog = ProviderCatalog.forDownloadPath(baseDownloadPath);
         
         // MQL4-Verzeichnis
-        String mql4Path = baseDownloadPath + "/mql4";
-        allCorrected.addAll(correctFileNumbers(mql4Path));
+        allCorrected.addAll(correctFileNumbers(catalog, "mql4"));
         
         // MQL5-Verzeichnis
-        String mql5Path = baseDownloadPath + "/mql5";
-        allCorrected.addAll(correctFileNumbers(mql5Path));
+        allCorrected.addAll(correctFileNumbers(catalog, "mql5"));
         
         return allCorrected;
     }
-}
\ No newline at end of file
+}
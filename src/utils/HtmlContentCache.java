@@ -1,33 +1,84 @@
 package utils;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.MalformedInputException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import profiling.CacheAccessEvent;
+import trades.EquityCurve;
+
+/**
+ * Seiteninhalt und daraus abgeleitete Werte je Datei. Die Maps sind threadsicher, damit eine
+ * Instanz aus mehreren Threads (z.B. parallelen Download-Jobs) genutzt werden kann.
+ */
 public class HtmlContentCache {
     private static final Logger logger = LogManager.getLogger(HtmlContentCache.class);
     private final String rootPath;
-    private final Map<String, String> contentCache = new HashMap<>();
-    private final Map<String, StabilityResult> stabilityCache = new HashMap<>();
+    private final Map<String, String> contentCache = new ConcurrentHashMap<>();
+    private final Map<String, StabilityResult> stabilityCache = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> monthRowsCache = new ConcurrentHashMap<>();
+    private final Map<String, MonthlyReturnSeries> monthSeriesCache = new ConcurrentHashMap<>();
+    private final Map<String, EquityCurve> equityCurveCache = new ConcurrentHashMap<>();
     
     public HtmlContentCache(String rootPath) {
         this.rootPath = rootPath;
     }
     
+    /**
+     * @return Seiteninhalt; bei Dateien ab {@link HtmlExcerptReader#MIN_EXCERPT_SIZE} nur der
+     *         Auszug mit den Bereichen, die die Extraktoren auswerten
+     */
     public String getHtmlContent(String fileName) {
-        // Prfe zuerst, ob der Inhalt bereits im Cache ist
-        if (contentCache.containsKey(fileName)) {
-            return contentCache.get(fileName);
+        CacheAccessEvent cacheEvent = CacheAccessEvent.begin("html");
+        // Prüfe zuerst, ob der Inhalt bereits im Cache ist
+        String cached = contentCache.get(fileName);
+        if (cached != null) {
+            cacheEvent.finish(fileName, true);
+            return cached;
         }
         
+        try {
+            return readHtmlContent(fileName);
+        } finally {
+            cacheEvent.finish(fileName, false);
+        }
+    }
+    
+    /**
+     * Legt bereits vorhandenen Seiteninhalt (z.B. direkt aus dem Browser) in den Cache,
+     * damit die Datei nicht erneut gelesen werden muss.
+     */
+    public void putHtmlContent(String fileName, String content) {
+        if (fileName != null && content != null) {
+            contentCache.put(fileName, content);
+        }
+    }
+    
+    /**
+     * Entfernt den Seiteninhalt einer Datei aus dem Cache (abgeleitete Werte bleiben erhalten).
+     */
+    public void evictHtmlContent(String fileName) {
+        contentCache.remove(fileName);
+    }
+    
+    /**
+     * Entfernt Seiteninhalt und alle abgeleiteten Werte einer Datei aus dem Cache.
+     */
+    public void evictAll(String fileName) {
+        contentCache.remove(fileName);
+        stabilityCache.remove(fileName);
+        monthRowsCache.remove(fileName);
+        monthSeriesCache.remove(fileName);
+        equityCurveCache.remove(fileName);
+    }
+    
+    private String readHtmlContent(String fileName) {
         try {
             Path filePath = Paths.get(fileName);
             if (!Files.exists(filePath)) {
@@ -35,36 +86,17 @@ public class HtmlContentCache {
                 return null;
             }
             
+            // Große Seiten: nur die ausgewerteten Bereiche
             String content = null;
-            
-            // Versuche zuerst mit UTF-8 zu lesen
-            try {
-                content = Files.readString(filePath, StandardCharsets.UTF_8);
-            } catch (MalformedInputException e) {
-                // Bei UTF-8-Fehler, versuche andere Kodierungen
-                logger.warn("UTF-8 Lesefehler fr Datei: " + fileName + ", versuche andere Kodierungen");
-                
-                // Versuche mit ISO-8859-1 (Latin-1) zu lesen
-                try {
-                    content = Files.readString(filePath, StandardCharsets.ISO_8859_1);
-                } catch (Exception e2) {
-                    // Versuche mit Windows-1252 zu lesen
-                    try {
-                        content = Files.readString(filePath, Charset.forName("windows-1252"));
-                    } catch (Exception e3) {
-                        // Versuche binr zu lesen und in UTF-8 zu konvertieren
-                        try {
-                            byte[] bytes = Files.readAllBytes(filePath);
-                            content = new String(bytes, StandardCharsets.ISO_8859_1);
-                        } catch (Exception e4) {
-                            logger.error("Alle Leseversuche fehlgeschlagen fr Datei: " + fileName, e4);
-                            return null;
-                        }
-                    }
-                }
+            if (Files.size(filePath) >= HtmlExcerptReader.MIN_EXCERPT_SIZE) {
+                content = HtmlExcerptReader.readExcerpt(filePath);
+            }
+            if (content == null) {
+                // Einmal als Bytes lesen, Kodierung aus BOM, Marker oder Inhalt bestimmen
+                content = HtmlPageEncoding.decode(Files.readAllBytes(filePath));
             }
             
-            // Fge den gelesenen Inhalt zum Cache hinzu
+            // Füge den gelesenen Inhalt zum Cache hinzu
             if (content != null) {
                 contentCache.put(fileName, content);
             }
@@ -79,20 +111,20 @@ public class HtmlContentCache {
     /**
      * Speichert ein StabilityResult-Objekt im Cache.
      * 
-     * @param fileName Der Dateiname als Schlssel fr den Cache
+     * @param fileName Der Dateiname als Schlüssel für den Cache
      * @param result Das zu speichernde StabilityResult-Objekt
      */
     public void cacheStabilityResult(String fileName, StabilityResult result) {
         if (fileName != null && result != null) {
             stabilityCache.put(fileName, result);
-            logger.debug("StabilityResult fr Datei im Cache gespeichert: " + fileName);
+            logger.debug("StabilityResult für Datei im Cache gespeichert: " + fileName);
         }
     }
     
     /**
      * Holt ein StabilityResult-Objekt aus dem Cache.
      * 
-     * @param fileName Der Dateiname als Schlssel fr den Cache
+     * @param fileName Der Dateiname als Schlüssel für den Cache
      * @return Das gespeicherte StabilityResult-Objekt oder null, wenn keines vorhanden ist
      */
     public StabilityResult getCachedStabilityResult(String fileName) {
@@ -100,9 +132,9 @@ public class HtmlContentCache {
     }
     
     /**
-     * Prft, ob ein StabilityResult fr den angegebenen Dateinamen im Cache vorhanden ist.
+     * Prüft, ob ein StabilityResult für den angegebenen Dateinamen im Cache vorhanden ist.
      * 
-     * @param fileName Der zu prfende Dateiname
+     * @param fileName Der zu prüfende Dateiname
      * @return true, wenn ein Eintrag im Cache existiert, sonst false
      */
     public boolean hasStabilityResultCache(String fileName) {
@@ -110,11 +142,83 @@ public class HtmlContentCache {
     }
     
     /**
-     * Lscht alle zwischengespeicherten Daten.
+     * Speichert die gelesenen Zeilen der Monatstabelle einer Datei im Cache.
+     * 
+     * @param fileName Der Dateiname als Schlüssel für den Cache
+     * @param rows Einträge "yyyy/MM:wert" in der Reihenfolge der Seite
+     */
+    public void cacheMonthRows(String fileName, List<String> rows) {
+        if (fileName != null && rows != null) {
+            monthRowsCache.put(fileName, rows);
+        }
+    }
+    
+    /**
+     * Holt die Zeilen der Monatstabelle einer Datei aus dem Cache.
+     * 
+     * @param fileName Der Dateiname als Schlüssel für den Cache
+     * @return Die gespeicherten Einträge oder null, wenn keine vorhanden sind
+     */
+    public List<String> getCachedMonthRows(String fileName) {
+        return monthRowsCache.get(fileName);
+    }
+    
+    /**
+     * Speichert die Monatsreihe einer Datei im Cache.
+     * 
+     * @param fileName Der Dateiname als Schlüssel für den Cache
+     * @param series Die extrahierte Monatsreihe
+     */
+    public void cacheMonthlySeries(String fileName, MonthlyReturnSeries series) {
+        if (fileName != null && series != null) {
+            monthSeriesCache.put(fileName, series);
+        }
+    }
+    
+    /**
+     * Holt die Monatsreihe einer Datei aus dem Cache.
+     * 
+     * @param fileName Der Dateiname als Schlüssel für den Cache
+     * @return Die gespeicherte Monatsreihe oder null, wenn keine vorhanden ist
+     */
+    public MonthlyReturnSeries getCachedMonthlySeries(String fileName) {
+        CacheAccessEvent cacheEvent = CacheAccessEvent.begin("monthSeries");
+        MonthlyReturnSeries series = monthSeriesCache.get(fileName);
+        cacheEvent.finish(fileName, series != null);
+        return series;
+    }
+    
+    /**
+     * Speichert die aus der Trading History berechnete Balance-Kurve einer Datei im Cache.
+     * 
+     * @param fileName Der Dateiname als Schlüssel für den Cache
+     * @param curve Die berechnete Balance-Kurve
+     */
+    public void cacheEquityCurve(String fileName, EquityCurve curve) {
+        if (fileName != null && curve != null) {
+            equityCurveCache.put(fileName, curve);
+        }
+    }
+    
+    /**
+     * Holt die Balance-Kurve einer Datei aus dem Cache.
+     * 
+     * @param fileName Der Dateiname als Schlüssel für den Cache
+     * @return Die gespeicherte Balance-Kurve oder null, wenn keine vorhanden ist
+     */
+    public EquityCurve getCachedEquityCurve(String fileName) {
+        return equityCurveCache.get(fileName);
+    }
+    
+    /**
+     * Löscht alle zwischengespeicherten Daten.
      */
     public void clearCache() {
         contentCache.clear();
         stabilityCache.clear();
-        logger.info("Cache wurde vollstndig geleert");
+        monthRowsCache.clear();
+        monthSeriesCache.clear();
+        equityCurveCache.clear();
+        logger.info("Cache wurde vollständig geleert");
     }
 }
\ No newline at end of file
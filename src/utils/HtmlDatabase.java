@@ -1,12 +1,10 @@
 package utils;
 
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
 /**
- * Adapter-Klasse, die HtmlParser-Funktionalitt fr MPDDCalculator bereitstellt
+ * Adapter-Klasse, die HtmlParser-Funktionalität für MPDDCalculator bereitstellt
  */
 public class HtmlDatabase {
     private static final Logger LOGGER = Logger.getLogger(HtmlDatabase.class.getName());
@@ -18,61 +16,60 @@ public class HtmlDatabase {
     }
     
     /**
-     * Holt die monatlichen Profit-Prozentstze fr einen Provider
+     * Holt die monatlichen Profit-Prozentsätze eines Providers als kompakte Monatsreihe
      * 
      * @param fileName Name der Provider-Datei
-     * @return Map mit Jahr/Monat als Schlssel und Profit-Prozentsatz als Wert
+     * @return Monatsreihe, leer wenn keine Monatsdetails gefunden wurden
      */
-    public Map<String, Double> getMonthlyProfitPercentages(String fileName) {
-        Map<String, Double> monthlyProfits = new HashMap<>();
-        
+    public MonthlyReturnSeries getMonthlyReturnSeries(String fileName) {
         try {
-            // Alle Monatsdetails vom HtmlParser holen
-        	 List<String> allMonthsDetails  = htmlParser.getAllMonthsDetails(fileName);
-            
-            if (allMonthsDetails.isEmpty()) {
-                LOGGER.warning("Keine Monatsdetails fr " + fileName + " gefunden");
-                return monthlyProfits;
-            }
-            
-            // Details parsen und in Map umwandeln
-            for (String monthDetail : allMonthsDetails) {
-                String[] parts = monthDetail.split(":");
-                if (parts.length == 2) {
-                    try {
-                        String yearMonth = parts[0].trim();
-                        double profitPercentage = Double.parseDouble(parts[1].trim());
-                        monthlyProfits.put(yearMonth, profitPercentage);
-                    } catch (NumberFormatException e) {
-                        LOGGER.warning("Could not parse profit percentage for entry: " + monthDetail);
-                    }
-                }
+            MonthlyReturnSeries series = htmlParser.getMonthlyReturnSeries(fileName);
+            if (series.isEmpty()) {
+                LOGGER.warning("Keine Monatsdetails für " + fileName + " gefunden");
             }
-            
+            return series;
         } catch (Exception e) {
-            LOGGER.severe("Fehler beim Laden der monatlichen Profite fr " + fileName + ": " + e.getMessage());
+            LOGGER.severe("Fehler beim Laden der monatlichen Profite für " + fileName + ": " + e.getMessage());
+            return MonthlyReturnSeries.EMPTY;
         }
-        
-        return monthlyProfits;
     }
     
     /**
-     * Holt den Equity Drawdown fr einen Provider
+     * Holt die monatlichen Profit-Prozentsätze für einen Provider
      * 
      * @param fileName Name der Provider-Datei
-     * @return Equity Drawdown in Prozent
+     * @return Map mit Jahr/Monat als Schlüssel und Profit-Prozentsatz als Wert (chronologisch)
+     */
+    public Map<String, Double> getMonthlyProfitPercentages(String fileName) {
+        return getMonthlyReturnSeries(fileName).toMap();
+    }
+    
+    /**
+     * Holt den Drawdown für die MPDD-Berechnung. Liegt eine CSV vor, ist das der Drawdown aus der
+     * Trading History; sonst (z.B. beim Screening während des Downloads) der Equity Drawdown
+     * ("Maximaler Rückgang") der Seite.
+     * 
+     * @param fileName Name der Provider-Datei
+     * @return Drawdown in Prozent
      */
     public double getEquityDrawdown(String fileName) {
+        double tradeDrawdown = htmlParser.getTradeHistoryDrawdown(fileName);
+        if (tradeDrawdown > 0.0) {
+            return tradeDrawdown;
+        }
         try {
             double drawdown = htmlParser.getEquityDrawdown(fileName);
             
             // Stelle sicher, dass der Wert positiv ist (wir erwarten einen positiven Prozentsatz)
             if (drawdown <= 0.0) {
-                LOGGER.warning("EquityDrawdown ist 0 oder negativ: " + drawdown + " fr " + fileName);
+                LOGGER.warning("EquityDrawdown ist 0 oder negativ: " + drawdown + " für " + fileName);
                 return 1.0; // Standardwert, um Division durch Null zu vermeiden
             }
             
             return drawdown;
+        } catch (ExtractionException e) {
+            // Fehlender Drawdown darf nicht als Standardwert in die 3MPDD-Berechnung eingehen
+            throw e;
         } catch (Exception e) {
             LOGGER.warning("Could not get equity drawdown for " + fileName + ": " + e.getMessage());
             return 1.0; // Standardwert
@@ -80,7 +77,7 @@ public class HtmlDatabase {
     }
     
     /**
-     * Holt die Balance fr einen Provider
+     * Holt die Balance für einen Provider
      * 
      * @param fileName Name der Provider-Datei
      * @return Balance als double-Wert
@@ -95,7 +92,7 @@ public class HtmlDatabase {
     }
     
     /**
-     * Holt den grafischen Equity Drawdown fr einen Provider
+     * Holt den grafischen Equity Drawdown für einen Provider
      * 
      * @param fileName Name der Provider-Datei
      * @return Equity Drawdown Graphic als double-Wert
@@ -0,0 +1,282 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Liest aus großen _root.html-Dateien nur die Stellen, die die Extraktoren auswerten.
+ *
+ * Die Datei wird per FileChannel in einen je Thread wiederverwendeten Direct-Buffer außerhalb
+ * des Heaps gelesen und dort in einem Durchlauf byteweise nach ASCII-Ankern durchsucht:
+ * s-list-info__item (Kontostand), tab_content_drawdown_chart (SVG bis &lt;/svg&gt;),
+ * Maximaler (Equity Drawdown), MonthProfitProz= und die Jahreszeilen der Monatstabelle
+ * (&lt;tr&gt;&lt;td&gt;JJJJ&lt;/td&gt;). Nur diese Bereiche werden in Dateireihenfolge dekodiert
+ * und mit Zeilenumbrüchen zu einem Auszug verbunden, auf dem DataExtractor, ChartDataExtractor
+ * und MonthDetailsExtractor unverändert arbeiten. Im Heap liegt nur der Auszug; bei Seiten mit
+ * langem Drawdown-Chart ist das vor allem der rote SVG-Pfad (bei 2 MB rund 240000 Zeichen).
+ * Die Datei ist nach dem Lesen wieder geschlossen und kann sofort gelöscht werden.
+ * Gleichheit mit der Auswertung der vollständigen Seite prüft benchmark.ExcerptParityCheck.
+ */
+public final class HtmlExcerptReader {
+
+    /** Kleinere Dateien werden vollständig gelesen, der Auszug lohnt sich dort nicht */
+    public static final long MIN_EXCERPT_SIZE = 64 * 1024;
+
+    private static final byte[] INFO_ITEM = ascii("s-list-info__item");
+    private static final byte[] DRAWDOWN_CHART = ascii("tab_content_drawdown_chart");
+    /** Position des ersten '_' in den beiden Ankern, an dem die Suche anschlägt */
+    private static final int INFO_ITEM_TRIGGER = 11;
+    private static final int DRAWDOWN_CHART_TRIGGER = 3;
+    private static final byte[] SVG_END = ascii("</svg>");
+    private static final byte[] DIV_END = ascii("</div>");
+    private static final byte[] MAXIMALER = ascii("Maximaler");
+    private static final byte[] MONTH_PROFIT = ascii("MonthProfitProz=");
+    private static final byte[] ROW_START = ascii("<tr>");
+    private static final byte[] CELL_START = ascii("<td");
+    private static final byte[] CELL_END = ascii("</td>");
+    private static final byte[] ROW_END = ascii("</tr>");
+
+    /** Bytes nach einem Info-Eintrag (Label, Wert und schließende Tags) */
+    private static final int INFO_ITEM_WINDOW = 2 * 1024;
+    /** Bytes vor und nach "Maximaler" (die Muster suchen bis zu 200 Zeichen weiter) */
+    private static final int MAXIMALER_BEFORE = 256;
+    private static final int MAXIMALER_AFTER = 1024;
+    /** Höchstlänge einer Jahreszeile bzw. der MonthProfitProz-Zeile */
+    private static final int ROW_WINDOW = 4 * 1024;
+    private static final int MONTH_PROFIT_WINDOW = 64 * 1024;
+    /** Suchweite rückwärts bis zum Beginn des Tags, in dem ein Anker steht */
+    private static final int TAG_LOOKBACK = 256;
+    /** Blockgröße beim Durchsuchen des Lesepuffers */
+    private static final int SCAN_BLOCK = 16 * 1024;
+
+    /** Lesepuffer je Thread; wächst auf die größte bisher gelesene Datei */
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect((int) MIN_EXCERPT_SIZE));
+
+    private HtmlExcerptReader() {
+    }
+
+    /**
+     * @return Auszug der ausgewerteten Bereiche oder null, wenn keiner der Anker vorkommt
+     */
+    public static String readExcerpt(Path htmlFile) throws IOException {
+        ByteBuffer buffer = READ_BUFFER.get();
+        try (FileChannel channel = FileChannel.open(htmlFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("HTML-Datei zu groß: " + htmlFile);
+            }
+            if (size > buffer.capacity()) {
+                buffer = ByteBuffer.allocateDirect((int) size);
+                READ_BUFFER.set(buffer);
+            }
+            buffer.clear().limit((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+        }
+        return excerpt(buffer);
+    }
+
+    static String excerpt(ByteBuffer buffer) {
+        ByteBuffer head = buffer.duplicate();
+        Charset charset = HtmlPageEncoding.detect(head);
+        List<long[]> ranges = findRanges(buffer, head.position());
+        if (ranges.isEmpty()) {
+            return null;
+        }
+        if (charset == null) {
+            // Ohne BOM oder Marker entscheidet wie beim vollständigen Lesen die ganze Datei
+            charset = HtmlPageEncoding.firstInvalidUtf8(buffer, head.position(), buffer.limit()) < 0
+                    ? StandardCharsets.UTF_8 : HtmlPageEncoding.LEGACY_CHARSET;
+        }
+
+        StringBuilder excerpt = new StringBuilder();
+        for (long[] range : ranges) {
+            byte[] bytes = new byte[(int) (range[1] - range[0])];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position((int) range[0]);
+            slice.get(bytes);
+            excerpt.append(new String(bytes, charset)).append('\n');
+        }
+        return excerpt.toString();
+    }
+
+    /**
+     * Ein Durchlauf über die Datei; liefert sortierte, zusammengefasste Bereiche [Start, Ende).
+     * Die Datei wird blockweise in einen kleinen Puffer kopiert und dort nur nach den seltenen
+     * Bytes '_', 'M' und "&lt;t" gefiltert; erst bei einem Treffer wird der Anker geprüft.
+     */
+    private static List<long[]> findRanges(ByteBuffer buffer, int start) {
+        int limit = buffer.limit();
+        List<long[]> ranges = new ArrayList<>();
+        byte[] block = new byte[SCAN_BLOCK];
+        ByteBuffer view = buffer.duplicate();
+        for (int base = start; base < limit; base += SCAN_BLOCK) {
+            int length = Math.min(SCAN_BLOCK, limit - base);
+            view.position(base);
+            view.get(block, 0, length);
+            for (int k = 0; k < length; k++) {
+                byte b = block[k];
+                if (b != '_' && b != 'M' && b != '<') {
+                    continue;
+                }
+                int i = base + k;
+                int from;
+                int to;
+                if (b == '_' && startsWith(buffer, i - INFO_ITEM_TRIGGER, INFO_ITEM)) {
+                    i -= INFO_ITEM_TRIGGER;
+                    from = tagStart(buffer, i, start);
+                    to = i + INFO_ITEM.length + INFO_ITEM_WINDOW;
+                } else if (b == '_' && startsWith(buffer, i - DRAWDOWN_CHART_TRIGGER, DRAWDOWN_CHART)) {
+                    i -= DRAWDOWN_CHART_TRIGGER;
+                    from = tagStart(buffer, i, start);
+                    int svgEnd = indexOf(buffer, SVG_END, i, limit);
+                    if (svgEnd < 0) {
+                        to = limit;
+                    } else {
+                        to = svgEnd + SVG_END.length;
+                        int divEnd = indexOf(buffer, DIV_END, to, Math.min(limit, to + TAG_LOOKBACK));
+                        if (divEnd >= 0) {
+                            to = divEnd + DIV_END.length;
+                        }
+                    }
+                } else if (b == 'M' && startsWith(buffer, i, MAXIMALER)) {
+                    from = i - MAXIMALER_BEFORE;
+                    to = i + MAXIMALER_AFTER;
+                } else if (b == 'M' && startsWith(buffer, i, MONTH_PROFIT)) {
+                    from = i;
+                    to = indexOf(buffer, (byte) '\n', i, Math.min(limit, i + MONTH_PROFIT_WINDOW));
+                    if (to < 0) {
+                        to = i + MONTH_PROFIT_WINDOW;
+                    }
+                } else if (b == '<' && isYearRow(buffer, i)) {
+                    from = i;
+                    int rowEnd = indexOf(buffer, ROW_END, i, Math.min(limit, i + ROW_WINDOW));
+                    to = rowEnd >= 0 ? rowEnd + ROW_END.length : i + ROW_WINDOW;
+                } else {
+                    continue;
+                }
+                add(ranges, alignStart(buffer, Math.max(from, start)), alignEnd(buffer, Math.min(to, limit)));
+            }
+        }
+        return ranges;
+    }
+
+    /** Fügt einen Bereich an; überlappende oder aneinanderstoßende Bereiche werden verbunden */
+    private static void add(List<long[]> ranges, long from, long to) {
+        // Ein Bereich kann vor dem Anker beginnen und damit auch frühere Bereiche überdecken
+        while (!ranges.isEmpty() && from <= ranges.get(ranges.size() - 1)[1]) {
+            long[] last = ranges.remove(ranges.size() - 1);
+            from = Math.min(from, last[0]);
+            to = Math.max(to, last[1]);
+        }
+        ranges.add(new long[] {from, to});
+    }
+
+    /**
+     * &lt;tr&gt; gefolgt von Leerraum, &lt;td …&gt;, vier Ziffern und &lt;/td&gt;
+     */
+    private static boolean isYearRow(ByteBuffer buffer, int index) {
+        if (!startsWith(buffer, index, ROW_START)) {
+            return false;
+        }
+        int limit = buffer.limit();
+        int i = index + ROW_START.length;
+        while (i < limit && isWhitespace(buffer.get(i))) {
+            i++;
+        }
+        if (!startsWith(buffer, i, CELL_START)) {
+            return false;
+        }
+        int tagEnd = indexOf(buffer, (byte) '>', i, Math.min(limit, i + TAG_LOOKBACK));
+        if (tagEnd < 0 || tagEnd + 5 + CELL_END.length > limit) {
+            return false;
+        }
+        for (int k = 1; k <= 4; k++) {
+            byte digit = buffer.get(tagEnd + k);
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+        }
+        return startsWith(buffer, tagEnd + 5, CELL_END);
+    }
+
+    /** Beginn des Tags, in dem der Anker steht (sonst der Anker selbst) */
+    private static int tagStart(ByteBuffer buffer, int index, int start) {
+        int lower = Math.max(start, index - TAG_LOOKBACK);
+        for (int i = index; i >= lower; i--) {
+            byte b = buffer.get(i);
+            if (b == '<') {
+                return i;
+            }
+            if (b == '>') {
+                break;
+            }
+        }
+        return index;
+    }
+
+    /** Bereichsgrenzen nur auf ASCII-Bytes, damit kein Mehrbyte-Zeichen zerschnitten wird */
+    private static int alignStart(ByteBuffer buffer, int from) {
+        while (from < buffer.limit() && buffer.get(from) < 0) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int alignEnd(ByteBuffer buffer, int to) {
+        while (to < buffer.limit() && buffer.get(to) < 0) {
+            to++;
+        }
+        return to;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int index, byte[] anchor) {
+        if (index < 0 || index + anchor.length > buffer.limit()) {
+            return false;
+        }
+        for (int k = 0; k < anchor.length; k++) {
+            if (buffer.get(index + k) != anchor[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte[] anchor, int from, int to) {
+        for (int i = from; i + anchor.length <= to; i++) {
+            if (buffer.get(i) == anchor[0] && startsWith(buffer, i, anchor)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static byte[] ascii(String anchor) {
+        return anchor.getBytes(StandardCharsets.US_ASCII);
+    }
+}
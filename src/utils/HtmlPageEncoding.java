@@ -0,0 +1,148 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Kodierung der gespeicherten _root.html-Seiten.
+ *
+ * Der Downloader schreibt Seiten immer als UTF-8 mit {@link #MARKER} in der ersten Zeile.
+ * Beim Lesen wird die Datei einmal als Bytes gelesen und nach BOM, Marker oder – bei älteren
+ * Dateien, die mit der Plattformkodierung (FileWriter) geschrieben wurden – per Prüfung auf
+ * gültiges UTF-8 dekodiert; ungültiges UTF-8 wird wie bisher als ISO-8859-1 gelesen.
+ */
+public final class HtmlPageEncoding {
+
+    /** Erste Zeile jeder vom Downloader gespeicherten Seite */
+    public static final String MARKER = "<!-- MqlDownloader charset=UTF-8 -->\n";
+
+    /** Ältere Dateien wie bisher als ISO-8859-1 (Umlaute wie in windows-1252) */
+    static final Charset LEGACY_CHARSET = StandardCharsets.ISO_8859_1;
+
+    private static final byte[] MARKER_BYTES = MARKER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] UTF16LE_BOM = {(byte) 0xFF, (byte) 0xFE};
+    private static final byte[] UTF16BE_BOM = {(byte) 0xFE, (byte) 0xFF};
+
+    private HtmlPageEncoding() {
+    }
+
+    /**
+     * Schreibt den Seitenquelltext als UTF-8 mit Marker.
+     */
+    public static void write(Path htmlFile, String pageSource) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(htmlFile, StandardCharsets.UTF_8)) {
+            writer.write(MARKER);
+            writer.write(pageSource);
+        }
+    }
+
+    /**
+     * Dekodiert den Dateiinhalt einer Seite. BOM und Marker sind nicht Teil des Ergebnisses.
+     */
+    public static String decode(byte[] bytes) {
+        ByteBuffer data = ByteBuffer.wrap(bytes);
+        Charset charset = detect(data);
+        int offset = data.position();
+        int length = bytes.length - offset;
+        if (charset == null) {
+            // Ohne Kennzeichnung: gültiges UTF-8 oder eine ältere Datei in der Plattformkodierung
+            charset = firstInvalidUtf8(data, offset, bytes.length) < 0 ? StandardCharsets.UTF_8 : LEGACY_CHARSET;
+        }
+        return new String(bytes, offset, length, charset);
+    }
+
+    /**
+     * Prüft Bytes auf wohlgeformtes UTF-8 (ohne überlange Formen und Surrogate).
+     *
+     * @return Index des ersten ungültigen Bytes oder -1
+     */
+    static int firstInvalidUtf8(ByteBuffer data, int from, int to) {
+        int i = from;
+        while (i < to) {
+            int b = data.get(i);
+            if (b >= 0) {
+                i++;
+                continue;
+            }
+            b &= 0xFF;
+            int length;
+            int min = 0x80;
+            int max = 0xBF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                length = 2;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                length = 3;
+                if (b == 0xE0) {
+                    min = 0xA0;
+                } else if (b == 0xED) {
+                    max = 0x9F;
+                }
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                length = 4;
+                if (b == 0xF0) {
+                    min = 0x90;
+                } else if (b == 0xF4) {
+                    max = 0x8F;
+                }
+            } else {
+                return i;
+            }
+            if (i + length > to) {
+                return i;
+            }
+            int second = data.get(i + 1) & 0xFF;
+            if (second < min || second > max) {
+                return i;
+            }
+            for (int k = 2; k < length; k++) {
+                if ((data.get(i + k) & 0xC0) != 0x80) {
+                    return i;
+                }
+            }
+            i += length;
+        }
+        return -1;
+    }
+
+    /**
+     * Bestimmt die Kodierung aus BOM oder Marker und setzt die Position dahinter.
+     *
+     * @return Kodierung oder null, wenn weder BOM noch Marker vorhanden sind
+     */
+    static Charset detect(ByteBuffer data) {
+        if (skip(data, UTF8_BOM)) {
+            skip(data, MARKER_BYTES);
+            return StandardCharsets.UTF_8;
+        }
+        if (skip(data, MARKER_BYTES)) {
+            return StandardCharsets.UTF_8;
+        }
+        if (skip(data, UTF16LE_BOM)) {
+            return StandardCharsets.UTF_16LE;
+        }
+        if (skip(data, UTF16BE_BOM)) {
+            return StandardCharsets.UTF_16BE;
+        }
+        return null;
+    }
+
+    private static boolean skip(ByteBuffer data, byte[] prefix) {
+        if (data.remaining() < prefix.length) {
+            return false;
+        }
+        int start = data.position();
+        for (int i = 0; i < prefix.length; i++) {
+            if (data.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        data.position(start + prefix.length);
+        return true;
+    }
+}
@@ -9,6 +9,8 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import metrics.MetricsRegistry;
+
 public class HtmlParser {
     private static final Logger Logger =  LogManager.getLogger(HtmlContentCache.class);
    
@@ -19,54 +21,123 @@ public class HtmlParser {
     private final MonthDetailsExtractor monthExtractor;
     private final StabilityCalculator stabilityCalculator;
     private final DataExtractor dataExtractor;
+    private final TradeDrawdownExtractor tradeDrawdownExtractor;
+    private final MetricsRegistry metrics;
     
     public HtmlParser(String rootPath) {
+        this(rootPath, MetricsRegistry.getInstance());
+    }
+    
+    /**
+     * @param metrics Registry des Laufs, in die die Extraktionszeiten eingehen
+     */
+    public HtmlParser(String rootPath, MetricsRegistry metrics) {
         this.rootPath = rootPath;
+        this.metrics = metrics;
         this.contentCache = new HtmlContentCache(rootPath);
         this.chartExtractor = new ChartDataExtractor(contentCache);
         this.monthExtractor = new MonthDetailsExtractor(contentCache);
         this.stabilityCalculator = new StabilityCalculator(monthExtractor, contentCache);
         this.dataExtractor = new DataExtractor(contentCache, chartExtractor);
+        this.tradeDrawdownExtractor = new TradeDrawdownExtractor(contentCache);
     }
     
     public String getHtmlContent(String fileName) {
         return contentCache.getHtmlContent(fileName);
     }
     
+    /**
+     * Übernimmt den Seiteninhalt aus dem Speicher, statt ihn später von der Platte zu lesen.
+     */
+    public void putHtmlContent(String fileName, String content) {
+        contentCache.putHtmlContent(fileName, content);
+    }
+    
+    public void evictHtmlContent(String fileName) {
+        contentCache.evictHtmlContent(fileName);
+    }
+    
+    public void evictAll(String fileName) {
+        contentCache.evictAll(fileName);
+    }
+    
     public double getBalance(String fileName) {
-        return dataExtractor.getBalance(fileName);
+        return metrics.time("convert.extract.balance", () -> dataExtractor.getBalance(fileName));
     }
     
+    /**
+     * Größter Drawdown aus der Trading History, ohne CSV aus dem roten SVG-Pfad.
+     */
     public double getEquityDrawdownGraphic(String fileName) {
-        return dataExtractor.getEquityDrawdownGraphic(fileName);
+        double tradeDrawdown = getTradeHistoryDrawdown(fileName);
+        if (!Double.isNaN(tradeDrawdown)) {
+            return tradeDrawdown;
+        }
+        return getSvgDrawdown(fileName);
+    }
+    
+    /**
+     * Größter Drawdown laut rotem SVG-Pfad, unabhängig von einer vorhandenen CSV (Vergleichswert
+     * und Quelle ohne CSV).
+     */
+    public double getSvgDrawdown(String fileName) {
+        return metrics.time("convert.extract.equity_drawdown_graphic",
+                () -> dataExtractor.getSvgMaxDrawdown(fileName));
+    }
+    
+    /**
+     * @return größter Balance-Drawdown aus der Trading History, NaN ohne CSV
+     */
+    public double getTradeHistoryDrawdown(String fileName) {
+        return metrics.time("convert.extract.trade_drawdown",
+                () -> tradeDrawdownExtractor.getMaxDrawdown(fileName));
     }
     
     public double getEquityDrawdown(String fileName) {
-        return dataExtractor.getEquityDrawdown(fileName);
+        return metrics.time("convert.extract.equity_drawdown",
+                () -> dataExtractor.getEquityDrawdown(fileName));
     }
     
     public double getAvr3MonthProfit(String fileName) {
-        return dataExtractor.getAvr3MonthProfit(fileName, monthExtractor);
+        return metrics.time("convert.extract.avg_3month_profit",
+                () -> dataExtractor.getAvr3MonthProfit(fileName, monthExtractor));
     }
     
+    /**
+     * Drawdown-Reihe aus der Trading History, ohne CSV aus dem roten SVG-Pfad.
+     */
     public List<ChartPoint> getDrawdownChartData(String fileName) {
-        return chartExtractor.getDrawdownChartData(fileName);
+        List<ChartPoint> tradeData = metrics.time("convert.extract.trade_drawdown",
+                () -> tradeDrawdownExtractor.getDrawdownChartData(fileName));
+        if (tradeData != null) {
+            return tradeData;
+        }
+        return metrics.time("convert.extract.drawdown_chart",
+                () -> chartExtractor.getDrawdownChartData(fileName));
     }
     
     public List<String> getLastThreeMonthsDetails(String fileName) {
-        return monthExtractor.getLastThreeMonthsDetails(fileName);
+        return metrics.time("convert.extract.last_three_months",
+                () -> monthExtractor.getLastThreeMonthsDetails(fileName));
     }
     
     public List<String> getAllMonthsDetails(String fileName) {
-        return monthExtractor.getAllMonthsDetails(fileName);
+        return metrics.time("convert.extract.all_months", () -> monthExtractor.getAllMonthsDetails(fileName));
+    }
+    
+    public MonthlyReturnSeries getMonthlyReturnSeries(String fileName) {
+        return metrics.time("convert.extract.monthly_returns",
+                () -> monthExtractor.getMonthlyReturnSeries(fileName));
     }
     
     public double getStabilitaetswert(String fileName) {
-        return stabilityCalculator.getStabilitaetswert(fileName);
+        return metrics.time("convert.extract.stability",
+                () -> stabilityCalculator.getStabilitaetswert(fileName));
     }
     
     public StabilityResult getStabilitaetswertDetails(String fileName) {
-        return stabilityCalculator.getStabilitaetswertDetails(fileName);
+        return metrics.time("convert.extract.stability_details",
+                () -> stabilityCalculator.getStabilitaetswertDetails(fileName));
     }
     
     public void writeEquityDrawdownToFile(String fileName, String outputFilePath) {
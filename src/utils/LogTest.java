@@ -4,7 +4,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * Einfache Klasse zum Testen der Logging-Funktionalitt.
+ * Einfache Klasse zum Testen der Logging-Funktionalität.
  */
 public class LogTest {
     private static final Logger logger = LogManager.getLogger(LogTest.class);
@@ -19,7 +19,7 @@ public class LogTest {
         logger.error("Error-Log-Test (ohne Exception)");
         
         try {
-            // Erzeuge einen absichtlichen Fehler fr einen Test
+            // Erzeuge einen absichtlichen Fehler für einen Test
             int result = 1 / 0;
         } catch (Exception e) {
             logger.error("Error-Log-Test (mit Exception)", e);
@@ -27,7 +27,7 @@ public class LogTest {
     }
     
     /**
-     * Fhrt einige weitere Tests mit spezifischen Log-Levels durch.
+     * Führt einige weitere Tests mit spezifischen Log-Levels durch.
      */
     public void runAdditionalTests() {
         logger.trace("Trace-Log-Test (sollte normalerweise nicht sichtbar sein)");
@@ -14,6 +14,10 @@ import org.apache.logging.log4j.Logger;
 public class MonthDetailsExtractor {
     
     private static final Logger logger = LogManager.getLogger(MonthDetailsExtractor.class);
+    private static final Pattern YEAR_ROW_PATTERN = Pattern.compile(
+        "<tr>\\s*<td[^>]*>(\\d{4})</td>\\s*((?:<td[^>]*>([^<]*)</td>\\s*){12})"
+    );
+    private static final Pattern MONTH_VALUE_PATTERN = Pattern.compile("<td[^>]*>([^<]*)</td>");
     private final HtmlContentCache contentCache;
     
     public MonthDetailsExtractor(HtmlContentCache contentCache) {
@@ -22,70 +26,71 @@ public class MonthDetailsExtractor {
     
     public List<String> getLastThreeMonthsDetails(String fileName) {
         List<String> details = new ArrayList<>();
-        List<String> months = new ArrayList<>();
-        Set<String> seenDates = new HashSet<>();
-        try {
-            String htmlContent = contentCache.getHtmlContent(fileName);
-            if (htmlContent == null) return details;
-            Pattern yearRowPattern = Pattern.compile(
-                "<tr>\\s*<td[^>]*>(\\d{4})</td>\\s*((?:<td[^>]*>([^<]*)</td>\\s*){12})"
-            );
-            Matcher rowMatcher = yearRowPattern.matcher(htmlContent);
-            boolean foundDuplicate = false;
-            while (rowMatcher.find() && !foundDuplicate) {
-                String year = rowMatcher.group(1);
-                String monthsContent = rowMatcher.group(2);
-                Pattern valuePattern = Pattern.compile("<td[^>]*>([^<]*)</td>");
-                Matcher valueMatcher = valuePattern.matcher(monthsContent);
-                int monthIndex = 0;
-                while (valueMatcher.find() && monthIndex < 12) {
-                    String value = valueMatcher.group(1).trim();
-                    if (!value.isEmpty()) {
-                        value = value.replace(",", ".")
-                                     .replace("−", "-")
-                                     .replaceAll("[^0-9.\\-]", "");
-                        if (!value.isEmpty()) {
-                            String date = year + "/" + String.format("%02d", monthIndex + 1);
-                            if (seenDates.contains(date)) {
-                                foundDuplicate = true;
-                                break;
-                            }
-                            seenDates.add(date);
-                            months.add(date + ":" + value);
-                        }
-                    }
-                    monthIndex++;
-                }
-            }
-            if (months.size() >= 2) {
-                int startIndex = months.size() - 2;
-                int monthsToUse = Math.min(3, startIndex + 1);
-                for (int i = startIndex; i > startIndex - monthsToUse; i--) {
-                    details.add(months.get(i));
-                }
+        List<String> months = getMonthRows(fileName);
+        if (months.size() >= 2) {
+            int startIndex = months.size() - 2;
+            int monthsToUse = Math.min(3, startIndex + 1);
+            for (int i = startIndex; i > startIndex - monthsToUse; i--) {
+                details.add(months.get(i));
             }
-        } catch (Exception e) {
-        	logger.error("Error processing HTML for " + fileName + ": " + e.getMessage());
         }
         return details;
     }
     
     public List<String> getAllMonthsDetails(String fileName) {
-        List<String> allMonths = new ArrayList<>();
+        List<String> allMonths = new ArrayList<>(getMonthRows(fileName));
+        Collections.sort(allMonths);
+        return allMonths;
+    }
+    
+    /**
+     * Liefert alle Monatswerte als kompakte {@link MonthlyReturnSeries}.
+     * Die Reihe wird pro Datei nur einmal aus den Monatszeilen erzeugt und danach aus dem Cache geliefert.
+     * 
+     * @param fileName Pfad zur HTML-Datei
+     * @return Monatsreihe, leer wenn keine Werte gefunden wurden
+     */
+    public MonthlyReturnSeries getMonthlyReturnSeries(String fileName) {
+        MonthlyReturnSeries cached = contentCache.getCachedMonthlySeries(fileName);
+        if (cached != null) {
+            return cached;
+        }
+        MonthlyReturnSeries.Builder builder = new MonthlyReturnSeries.Builder();
+        for (String month : getMonthRows(fileName)) {
+            int separator = month.indexOf(':');
+            String value = month.substring(separator + 1);
+            try {
+                builder.add(MonthlyReturnSeries.parseYearMonth(month.substring(0, separator)), Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                logger.warn("Ungültiger Monatswert " + value + " in " + fileName);
+            }
+        }
+        MonthlyReturnSeries series = builder.build();
+        contentCache.cacheMonthlySeries(fileName, series);
+        return series;
+    }
+    
+    /**
+     * Liest die Monatstabelle der Seite einmal und legt sie im Cache ab.
+     * 
+     * @return Einträge "yyyy/MM:wert" in der Reihenfolge der Seite, Werte wie auf der Seite
+     *         angegeben (Komma als Punkt, ohne Prozentzeichen)
+     */
+    private List<String> getMonthRows(String fileName) {
+        List<String> cached = contentCache.getCachedMonthRows(fileName);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> months = new ArrayList<>();
         Set<String> seenDates = new HashSet<>();
         try {
             String htmlContent = contentCache.getHtmlContent(fileName);
-            if (htmlContent == null) return allMonths;
-            Pattern yearRowPattern = Pattern.compile(
-                "<tr>\\s*<td[^>]*>(\\d{4})</td>\\s*((?:<td[^>]*>([^<]*)</td>\\s*){12})"
-            );
-            Matcher rowMatcher = yearRowPattern.matcher(htmlContent);
+            if (htmlContent == null) return months;
+            Matcher rowMatcher = YEAR_ROW_PATTERN.matcher(htmlContent);
             boolean foundDuplicate = false;
             while (rowMatcher.find() && !foundDuplicate) {
                 String year = rowMatcher.group(1);
-                String monthsContent = rowMatcher.group(2);
-                Pattern valuePattern = Pattern.compile("<td[^>]*>([^<]*)</td>");
-                Matcher valueMatcher = valuePattern.matcher(monthsContent);
+                Matcher valueMatcher = MONTH_VALUE_PATTERN.matcher(rowMatcher.group(2));
                 int monthIndex = 0;
                 while (valueMatcher.find() && monthIndex < 12) {
                     String value = valueMatcher.group(1).trim();
@@ -100,16 +105,17 @@ public class MonthDetailsExtractor {
                                 break;
                             }
                             seenDates.add(date);
-                            allMonths.add(date + ":" + value);
+                            months.add(date + ":" + value);
                         }
                     }
                     monthIndex++;
                 }
             }
-            Collections.sort(allMonths);
         } catch (Exception e) {
         	logger.error("Error processing HTML for " + fileName + ": " + e.getMessage());
         }
-        return allMonths;
+        List<String> rows = Collections.unmodifiableList(months);
+        contentCache.cacheMonthRows(fileName, rows);
+        return rows;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,272 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kompakte, monatsindizierte Reihe der monatlichen Profit-Prozentsätze eines Providers.
+ *
+ * Die Monate werden als "Epoch-Monat" (jahr * 12 + monat - 1) gespeichert, die Werte liegen
+ * lückenlos in einem double[] ab dem Startmonat. Monate ohne Wert sind mit {@link #GAP}
+ * (NaN) markiert. Damit entfallen String-Schlüssel wie "2024/07", das Sortieren und das
+ * Boxing der Werte bei jeder MPDD-Berechnung.
+ */
+public final class MonthlyReturnSeries {
+
+    /** Markierung für einen Monat ohne Wert */
+    public static final double GAP = Double.NaN;
+
+    /** Leere Reihe ohne Monate */
+    public static final MonthlyReturnSeries EMPTY = new MonthlyReturnSeries(0, new double[0]);
+
+    private final int startEpochMonth;
+    private final double[] values;
+    private final int presentCount;
+
+    /**
+     * @param startEpochMonth Epoch-Monat des ersten Eintrags
+     * @param values Werte ab dem Startmonat, Lücken als NaN
+     */
+    public MonthlyReturnSeries(int startEpochMonth, double[] values) {
+        this.startEpochMonth = startEpochMonth;
+        this.values = values;
+        int count = 0;
+        for (double v : values) {
+            if (!Double.isNaN(v)) {
+                count++;
+            }
+        }
+        this.presentCount = count;
+    }
+
+    /**
+     * Rechnet Jahr und Monat (1-12) in einen Epoch-Monat um.
+     */
+    public static int epochMonth(int year, int month) {
+        return year * 12 + (month - 1);
+    }
+
+    /**
+     * Parst einen Monatsschlüssel im Format "yyyy/MM".
+     *
+     * @return Epoch-Monat oder -1 bei ungültigem Format
+     */
+    public static int parseYearMonth(String yearMonth) {
+        if (yearMonth == null) {
+            return -1;
+        }
+        String s = yearMonth.trim();
+        int slash = s.indexOf('/');
+        if (slash <= 0 || slash == s.length() - 1) {
+            return -1;
+        }
+        try {
+            int year = Integer.parseInt(s.substring(0, slash));
+            int month = Integer.parseInt(s.substring(slash + 1));
+            if (month < 1 || month > 12) {
+                return -1;
+            }
+            return epochMonth(year, month);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Formatiert einen Epoch-Monat als "yyyy/MM".
+     */
+    public static String formatMonth(int epochMonth) {
+        int year = epochMonth / 12;
+        int month = epochMonth % 12 + 1;
+        return year + (month < 10 ? "/0" : "/") + month;
+    }
+
+    /**
+     * Liest eine Reihe aus dem MonthProfitProz-Format der .txt-Dateien
+     * ("2024/01=1.2,2024/02=-0.5,...").
+     */
+    public static MonthlyReturnSeries fromMonthProfitProz(String profitData) {
+        if (profitData == null || profitData.trim().isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder();
+        for (String entry : profitData.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            int epochMonth = parseYearMonth(entry.substring(0, eq));
+            if (epochMonth < 0) {
+                continue;
+            }
+            try {
+                builder.add(epochMonth, Double.parseDouble(entry.substring(eq + 1).trim()));
+            } catch (NumberFormatException e) {
+                // Ungültige Einträge werden wie bisher ignoriert
+            }
+        }
+        return builder.build();
+    }
+
+    public boolean isEmpty() {
+        return presentCount == 0;
+    }
+
+    /**
+     * @return Anzahl der Monate mit Wert (ohne Lücken)
+     */
+    public int size() {
+        return presentCount;
+    }
+
+    /**
+     * @return Länge des dichten Arrays inklusive Lücken
+     */
+    public int length() {
+        return values.length;
+    }
+
+    public int getStartEpochMonth() {
+        return startEpochMonth;
+    }
+
+    public int getEndEpochMonth() {
+        return startEpochMonth + values.length - 1;
+    }
+
+    /**
+     * @return Wert des angegebenen Epoch-Monats oder NaN, wenn nicht vorhanden
+     */
+    public double get(int epochMonth) {
+        int index = epochMonth - startEpochMonth;
+        if (index < 0 || index >= values.length) {
+            return GAP;
+        }
+        return values[index];
+    }
+
+    /**
+     * Liefert die jüngsten vorhandenen Monatswerte in absteigender Reihenfolge (neuester zuerst).
+     *
+     * @param count Maximale Anzahl der Werte
+     * @param skipCurrent true, um den jüngsten Monat (laufender Monat) zu überspringen
+     * @return Array mit höchstens count Werten
+     */
+    public double[] latestValues(int count, boolean skipCurrent) {
+        int[] months = latestMonths(count, skipCurrent);
+        double[] result = new double[months.length];
+        for (int i = 0; i < months.length; i++) {
+            result[i] = values[months[i] - startEpochMonth];
+        }
+        return result;
+    }
+
+    /**
+     * Liefert die Epoch-Monate der jüngsten vorhandenen Werte (neuester zuerst).
+     *
+     * @param count Maximale Anzahl der Monate
+     * @param skipCurrent true, um den jüngsten Monat (laufender Monat) zu überspringen
+     * @return Array mit höchstens count Epoch-Monaten
+     */
+    public int[] latestMonths(int count, boolean skipCurrent) {
+        int available = presentCount - (skipCurrent && presentCount > 0 ? 1 : 0);
+        int n = Math.max(0, Math.min(count, available));
+        int[] result = new int[n];
+        boolean skip = skipCurrent;
+        int found = 0;
+        for (int i = values.length - 1; i >= 0 && found < n; i--) {
+            if (Double.isNaN(values[i])) {
+                continue;
+            }
+            if (skip) {
+                skip = false;
+                continue;
+            }
+            result[found++] = startEpochMonth + i;
+        }
+        return result;
+    }
+
+    /**
+     * Schreibt die Reihe im MonthProfitProz-Format ("yyyy/MM=wert,...") chronologisch.
+     */
+    public String toMonthProfitProz() {
+        StringBuilder sb = new StringBuilder(presentCount * 16);
+        for (int i = 0; i < values.length; i++) {
+            if (Double.isNaN(values[i])) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(formatMonth(startEpochMonth + i)).append('=').append(values[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Erzeugt eine chronologisch sortierte Map im alten Format ("yyyy/MM" -> Wert).
+     * Nur für Aufrufer gedacht, die noch mit der Map arbeiten.
+     */
+    public Map<String, Double> toMap() {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (!Double.isNaN(values[i])) {
+                map.put(formatMonth(startEpochMonth + i), values[i]);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlyReturnSeries[" + toMonthProfitProz() + "]";
+    }
+
+    /**
+     * Sammelt Monatswerte in beliebiger Reihenfolge und erzeugt daraus die dichte Reihe.
+     * Doppelte Monate überschreiben den vorherigen Wert.
+     */
+    public static final class Builder {
+        private int[] months = new int[32];
+        private double[] monthValues = new double[32];
+        private int count = 0;
+        private int minMonth = Integer.MAX_VALUE;
+        private int maxMonth = Integer.MIN_VALUE;
+
+        public Builder add(int epochMonth, double value) {
+            if (count == months.length) {
+                months = Arrays.copyOf(months, count * 2);
+                monthValues = Arrays.copyOf(monthValues, count * 2);
+            }
+            months[count] = epochMonth;
+            monthValues[count] = value;
+            count++;
+            minMonth = Math.min(minMonth, epochMonth);
+            maxMonth = Math.max(maxMonth, epochMonth);
+            return this;
+        }
+
+        public boolean contains(int epochMonth) {
+            for (int i = 0; i < count; i++) {
+                if (months[i] == epochMonth) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public MonthlyReturnSeries build() {
+            if (count == 0) {
+                return EMPTY;
+            }
+            double[] dense = new double[maxMonth - minMonth + 1];
+            Arrays.fill(dense, GAP);
+            for (int i = 0; i < count; i++) {
+                dense[months[i] - minMonth] = monthValues[i];
+            }
+            return new MonthlyReturnSeries(minMonth, dense);
+        }
+    }
+}
@@ -3,21 +3,29 @@ package utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Download-Protokoll je MQL-Version (mql4download.txt / mql5download.txt).
+ *
+ * Die Einträge werden im aufrufenden Thread mit Zeitstempel formatiert und von einem
+ * {@link ProtokollWriter} je Version gepuffert im Hintergrund geschrieben, damit die
+ * Download-Schleife nicht für jede Zeile die Datei öffnen muss. Beim Beenden der JVM
+ * werden alle ausstehenden Einträge geschrieben.
+ */
 public class MqlDownloadProtokoll {
     private static final Logger logger = LogManager.getLogger(MqlDownloadProtokoll.class);
     private final String downloadPath;
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private final Map<String, ProtokollWriter> writers = new ConcurrentHashMap<>();
 
     public MqlDownloadProtokoll(String downloadPath) {
         this.downloadPath = downloadPath;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "Protokoll-Shutdown"));
     }
 
     /**
@@ -26,21 +34,12 @@ public class MqlDownloadProtokoll {
      * @param mqlVersion Die MQL-Version (mql4 oder mql5)
      */
     public void resetProtokoll(String mqlVersion) {
-        String filename = getFilename(mqlVersion);
-        try {
-            Path path = Paths.get(filename);
-            if (Files.exists(path)) {
-                Files.delete(path);
-            }
-            Files.createFile(path);
-            log(mqlVersion, "=".repeat(80));
-            log(mqlVersion, "MQL DOWNLOAD PROTOKOLL - " + mqlVersion.toUpperCase());
-            log(mqlVersion, "Protokoll zurückgesetzt am " + LocalDateTime.now().format(formatter));
-            log(mqlVersion, "=".repeat(80));
-            logger.info("Protokoll für {} wurde zurückgesetzt", mqlVersion);
-        } catch (IOException e) {
-            logger.error("Fehler beim Zurücksetzen des Protokolls für {}: {}", mqlVersion, e.getMessage());
-        }
+        getWriter(mqlVersion).truncate();
+        log(mqlVersion, "=".repeat(80));
+        log(mqlVersion, "MQL DOWNLOAD PROTOKOLL - " + mqlVersion.toUpperCase());
+        log(mqlVersion, "Protokoll zurückgesetzt am " + LocalDateTime.now().format(formatter));
+        log(mqlVersion, "=".repeat(80));
+        logger.info("Protokoll für {} wurde zurückgesetzt", mqlVersion);
     }
 
     /**
@@ -59,21 +58,38 @@ public class MqlDownloadProtokoll {
      * @param message Die zu protokollierende Nachricht
      */
     public void log(String mqlVersion, String message) {
-        String filename = getFilename(mqlVersion);
-        try {
-            Path path = Paths.get(filename);
-            if (!Files.exists(path)) {
-                Files.createFile(path);
+        String logEntry = LocalDateTime.now().format(formatter) + " | " + message + System.lineSeparator();
+        getWriter(mqlVersion).append(logEntry);
+        logger.debug("Protokolleintrag für {}: {}", mqlVersion, message);
+    }
+
+    /**
+     * Wartet, bis alle bisherigen Einträge aller Versionen geschrieben sind
+     * (z.B. bevor das Protokoll angezeigt oder kopiert wird).
+     */
+    public void flush() {
+        writers.values().forEach(ProtokollWriter::flush);
+    }
+
+    /**
+     * Schreibt alle ausstehenden Einträge und beendet die Hintergrund-Schreiber.
+     * Spätere Einträge öffnen automatisch einen neuen Schreiber.
+     */
+    public void close() {
+        for (String version : writers.keySet()) {
+            ProtokollWriter writer = writers.remove(version);
+            if (writer != null) {
+                writer.close();
             }
-            
-            String logEntry = LocalDateTime.now().format(formatter) + " | " + message + System.lineSeparator();
-            Files.write(path, logEntry.getBytes(), StandardOpenOption.APPEND);
-            logger.debug("Protokolleintrag für {}: {}", mqlVersion, message);
-        } catch (IOException e) {
-            logger.error("Fehler beim Schreiben in das Protokoll für {}: {}", mqlVersion, e.getMessage());
         }
     }
 
+    private ProtokollWriter getWriter(String mqlVersion) {
+        String version = mqlVersion.toLowerCase();
+        return writers.computeIfAbsent(version,
+                v -> new ProtokollWriter(Paths.get(getFilename(v)), v));
+    }
+
     /**
      * Protokolliert einen erfolgreichen Download mit detaillierten Informationen
      *
@@ -0,0 +1,239 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Hintergrund-Schreiber für genau eine Protokolldatei (eine MQL-Version).
+ *
+ * Aufrufer legen fertige Zeilen in eine begrenzte Warteschlange; ein eigener Thread sammelt sie
+ * in einem Puffer und schreibt über einen offenen FileChannel, sobald der Puffer voll ist oder
+ * das Flush-Intervall abgelaufen ist. Ist die Warteschlange voll, wartet der Aufrufer, es geht
+ * also kein Eintrag verloren. Zurücksetzen und Flush laufen als Kommandos durch dieselbe
+ * Warteschlange und behalten damit die Reihenfolge bei. Die Datei wird als UTF-8 geschrieben.
+ */
+final class ProtokollWriter {
+    private static final Logger logger = LogManager.getLogger(ProtokollWriter.class);
+
+    static final int QUEUE_CAPACITY = 8192;
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final long FLUSH_INTERVAL_MS = 500;
+
+    private static final Command TRUNCATE = new Command(null, null);
+    private static final Command STOP = new Command(null, null);
+
+    /** Kodierung der Protokolldatei, unabhängig von der Plattformkodierung */
+    static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    private final Path path;
+    private final BlockingQueue<Command> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final Thread thread;
+    /** Einstellen (Lesesperre) und Schließen (Schreibsperre) schließen sich gegenseitig aus */
+    private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+    private boolean stopped;
+    private FileChannel channel;
+    private long lastFlush = System.currentTimeMillis();
+
+    ProtokollWriter(Path path, String name) {
+        this.path = path;
+        this.thread = new Thread(this::run, "Protokoll-Writer-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stellt eine Zeile (inklusive Zeilenende) zum Schreiben ein.
+     */
+    void append(String line) {
+        enqueue(new Command(line, null));
+    }
+
+    /**
+     * Leert die Datei; vorher eingestellte Zeilen werden noch geschrieben.
+     */
+    void truncate() {
+        enqueue(TRUNCATE);
+    }
+
+    /**
+     * Wartet, bis alle bisher eingestellten Zeilen auf der Platte sind.
+     */
+    void flush() {
+        CountDownLatch done = new CountDownLatch(1);
+        if (enqueue(new Command(null, done))) {
+            try {
+                done.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Schreibt alle ausstehenden Zeilen, schließt die Datei und beendet den Thread.
+     */
+    void close() {
+        // Unter der Schreibsperre: kein Eintrag kann nach STOP in die Warteschlange gelangen
+        stopLock.writeLock().lock();
+        try {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            queue.put(STOP);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Unterbrochen beim Schließen des Protokolls {}", path);
+            return;
+        } finally {
+            stopLock.writeLock().unlock();
+        }
+        try {
+            thread.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean enqueue(Command command) {
+        stopLock.readLock().lock();
+        try {
+            if (stopped) {
+                logger.warn("Protokoll {} bereits geschlossen, Eintrag verworfen", path);
+                return false;
+            }
+            queue.put(command);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Unterbrochen beim Einstellen eines Protokolleintrags für {}", path);
+            return false;
+        } finally {
+            stopLock.readLock().unlock();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                long wait = Math.max(1, FLUSH_INTERVAL_MS - (System.currentTimeMillis() - lastFlush));
+                Command command = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (command == null) {
+                    flushBuffer();
+                    continue;
+                }
+                if (command == STOP) {
+                    // Einträge, die parallel zum Schließen eingestellt wurden, noch mitnehmen
+                    for (Command rest; (rest = queue.poll()) != null; ) {
+                        if (rest != STOP) {
+                            handle(rest);
+                        }
+                    }
+                    flushBuffer();
+                    break;
+                }
+                handle(command);
+                if (System.currentTimeMillis() - lastFlush >= FLUSH_INTERVAL_MS) {
+                    flushBuffer();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flushBuffer();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    private void handle(Command command) {
+        if (command == TRUNCATE) {
+            flushBuffer();
+            try {
+                openChannel().truncate(0);
+            } catch (IOException e) {
+                logger.error("Fehler beim Zurücksetzen des Protokolls {}: {}", path, e.getMessage());
+            }
+        } else if (command.done != null) {
+            flushBuffer();
+            command.done.countDown();
+        } else {
+            write(command.line.getBytes(CHARSET));
+        }
+    }
+
+    private void write(byte[] bytes) {
+        if (bytes.length > buffer.remaining()) {
+            flushBuffer();
+        }
+        if (bytes.length > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    private void flushBuffer() {
+        if (buffer.position() > 0) {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+        lastFlush = System.currentTimeMillis();
+    }
+
+    private void writeFully(ByteBuffer data) {
+        try {
+            FileChannel fileChannel = openChannel();
+            while (data.hasRemaining()) {
+                fileChannel.write(data);
+            }
+        } catch (IOException e) {
+            logger.error("Fehler beim Schreiben in das Protokoll {}: {}", path, e.getMessage());
+            data.position(data.limit());
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Fehler beim Schließen des Protokolls {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /** Zeile, Flush-Anforderung (done gesetzt) oder Steuerkommando */
+    private static final class Command {
+        final String line;
+        final CountDownLatch done;
+
+        Command(String line, CountDownLatch done) {
+            this.line = line;
+            this.done = done;
+        }
+    }
+}
@@ -0,0 +1,696 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Katalog aller Provider im Download-Verzeichnis (download/providerCatalog.txt).
+ *
+ * Statt dass Konverter, Dateinummern-Korrektur, Statistik und Downloader das Verzeichnis jeweils
+ * selbst auflisten, führt der Katalog je Provider Name, _root.html-, CSV- und _root.txt-Datei
+ * (Nummer, Größe, Änderungszeit), die letzten Kennzahlen (3MPDD, MaxDD) und den Status.
+ * Beim Programmstart wird er mit {@link #preload(String)} im Hintergrund geladen und einmal
+ * mit dem Verzeichnis abgeglichen (ein Durchlauf je MQL-Version, Attribute aus dem Durchlauf);
+ * danach halten Downloader, Konverter und Löschen ihn mit {@link #recordFile} und
+ * {@link #update} aktuell. Jede Änderung eines Providers wird vollständig unter der Sperre
+ * übernommen, {@link #flush()} ersetzt die Datei atomar. Die Einträge sind über den Dateinamen
+ * (Name_Nummer) geschlüsselt, sodass zwei Seiten mit derselben Nummer getrennt bleiben.
+ *
+ * Format: eine Zeile je Provider, "version;providerId;status;3MPDD;maxDD;htmlGröße;htmlZeit;
+ * csvNummer;csvGröße;csvZeit;txtNummer;txtGröße;txtZeit;name" (Zeiten in Epoch-Millisekunden,
+ * leere Felder für fehlende Dateien, der Name zuletzt, da er ';' enthalten kann).
+ */
+public final class ProviderCatalog {
+    private static final Logger logger = LogManager.getLogger(ProviderCatalog.class);
+
+    static final String FILE_NAME = "providerCatalog.txt";
+    private static final String[] VERSIONS = {"mql4", "mql5"};
+    private static final Map<Path, CompletableFuture<ProviderCatalog>> INSTANCES = new ConcurrentHashMap<>();
+
+    private static final Pattern HTML_PATTERN = Pattern.compile("^(.*)_(\\d+)_root\\.html$");
+    private static final Pattern CSV_PATTERN = Pattern.compile("^(.*)_(\\d+)\\.csv$");
+    private static final Pattern TXT_PATTERN = Pattern.compile("^(.*)_(\\d+)_root\\.txt$");
+
+    /**
+     * Stand eines Providers.
+     */
+    public enum Status {
+        /** Seite (und ggf. CSV) geladen, noch nicht konvertiert */
+        DOWNLOADED,
+        /** _root.txt geschrieben */
+        CONVERTED,
+        /** von der Konvertierung wegen 3MPDD &lt; 0.5 gelöscht */
+        REJECTED,
+        /** wegen Extraktionsfehler gelöscht (Fehler-Policy delete) */
+        DELETED,
+        /** in die Quarantäne verschoben */
+        QUARANTINED
+    }
+
+    private final String downloadPath;
+    private final Path file;
+    private final Map<String, Map<String, Entry>> versions = new HashMap<>();
+    private boolean dirty;
+
+    private ProviderCatalog(String downloadPath, Path file) {
+        this.downloadPath = downloadPath;
+        this.file = file;
+        for (String version : VERSIONS) {
+            versions.put(version, new LinkedHashMap<>());
+        }
+        long start = System.currentTimeMillis();
+        load();
+        reconcile();
+        logger.info("Provider-Katalog bereit: {} Provider in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Startet das Laden des Katalogs im Hintergrund (beim Programmstart).
+     *
+     * @param downloadPath Download-Verzeichnis (enthält mql4 und mql5)
+     */
+    public static void preload(String downloadPath) {
+        instance(downloadPath);
+    }
+
+    /**
+     * @param downloadPath Download-Verzeichnis (enthält mql4 und mql5)
+     * @return gemeinsame Instanz für dieses Verzeichnis; wartet, bis das Laden abgeschlossen ist
+     */
+    public static ProviderCatalog forDownloadPath(String downloadPath) {
+        return instance(downloadPath).join();
+    }
+
+    private static CompletableFuture<ProviderCatalog> instance(String downloadPath) {
+        Path file = Paths.get(downloadPath, FILE_NAME).toAbsolutePath().normalize();
+        return INSTANCES.computeIfAbsent(file,
+                key -> CompletableFuture.supplyAsync(() -> new ProviderCatalog(downloadPath, key)));
+    }
+
+    /**
+     * Name, Größe und Änderungszeit einer Datei des Providers.
+     */
+    public static final class FileInfo {
+        private final String providerId;
+        private final long size;
+        private final long lastModified;
+
+        FileInfo(String providerId, long size, long lastModified) {
+            this.providerId = providerId;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * @return Nummer im Dateinamen (kann vor der Korrektur von der Nummer der HTML-Datei abweichen)
+         */
+        public String getProviderId() {
+            return providerId;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+
+    /**
+     * Ein Provider im Katalog.
+     */
+    public static final class Entry {
+        private final String version;
+        private final String providerId;
+        private String name;
+        private Status status;
+        private double mpdd3;
+        private double maxDrawdown;
+        private FileInfo html;
+        private FileInfo csv;
+        private FileInfo txt;
+
+        Entry(String version, String providerId, String name) {
+            this.version = version;
+            this.providerId = providerId;
+            this.name = name;
+            this.status = Status.DOWNLOADED;
+            this.mpdd3 = Double.NaN;
+            this.maxDrawdown = Double.NaN;
+        }
+
+        private Entry(Entry other) {
+            this(other.version, other.providerId, other.name);
+            status = other.status;
+            mpdd3 = other.mpdd3;
+            maxDrawdown = other.maxDrawdown;
+            html = other.html;
+            csv = other.csv;
+            txt = other.txt;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getProviderId() {
+            return providerId;
+        }
+
+        /**
+         * @return Name aus dem Dateinamen (ohne Nummer)
+         */
+        public String getName() {
+            return name;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return letzter 3MPDD-Wert der Konvertierung, NaN = unbekannt
+         */
+        public double getMpdd3() {
+            return mpdd3;
+        }
+
+        /**
+         * @return letzter MaxDDGraphic-Wert der Konvertierung, NaN = unbekannt
+         */
+        public double getMaxDrawdown() {
+            return maxDrawdown;
+        }
+
+        /** @return _root.html-Datei oder null */
+        public FileInfo getHtml() {
+            return html;
+        }
+
+        /** @return CSV-Datei oder null */
+        public FileInfo getCsv() {
+            return csv;
+        }
+
+        /** @return _root.txt-Datei oder null */
+        public FileInfo getTxt() {
+            return txt;
+        }
+
+        public String getHtmlFileName() {
+            return name + "_" + providerId + "_root.html";
+        }
+
+        public String getCsvFileName() {
+            return csv != null ? name + "_" + csv.providerId + ".csv" : null;
+        }
+
+        public String getTxtFileName() {
+            return txt != null ? name + "_" + txt.providerId + "_root.txt" : null;
+        }
+    }
+
+    /**
+     * @param version "mql4" oder "mql5"
+     * @return Momentaufnahme aller Provider der Version mit _root.html-Datei, nach Dateiname sortiert
+     */
+    public synchronized List<Entry> getProviders(String version) {
+        List<Entry> providers = new ArrayList<>();
+        for (Entry entry : entries(version).values()) {
+            if (entry.html != null) {
+                providers.add(new Entry(entry));
+            }
+        }
+        providers.sort(Comparator.comparing(Entry::getHtmlFileName));
+        return providers;
+    }
+
+    /**
+     * Liefert alle _root.html-Dateien der Version, nach Dateiname sortiert.
+     *
+     * Die Namen kommen aus einer Auflistung des Verzeichnisses ohne Dateiattribute, damit auch
+     * Seiten ohne Nummer im Namen und Dateien, die ohne {@link #recordFile} entstanden sind,
+     * konvertiert werden. Nur solche unbekannten Dateien werden geprüft und nachgetragen;
+     * nicht mehr vorhandene Dateien werden ausgetragen.
+     */
+    public List<Path> getHtmlFiles(String version) {
+        Path directory = getDirectory(version);
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*_root.html")) {
+            for (Path path : stream) {
+                names.add(path.getFileName().toString());
+            }
+        } catch (IOException e) {
+            logger.error("Verzeichnis {} nicht lesbar, verwende den Katalogstand: {}", directory, e.getMessage());
+            for (Entry entry : getProviders(version)) {
+                files.add(directory.resolve(entry.getHtmlFileName()));
+            }
+            return files;
+        }
+
+        // Unbekannte Dateien ermitteln und vergessene Einträge austragen
+        List<String> unknown = new ArrayList<>();
+        synchronized (this) {
+            Set<String> listed = new HashSet<>(names);
+            for (String name : names) {
+                Matcher matcher = HTML_PATTERN.matcher(name);
+                Entry entry = matcher.matches() ? entries(version).get(key(matcher.group(1), matcher.group(2))) : null;
+                if (entry == null || entry.html == null) {
+                    unknown.add(name);
+                }
+            }
+            for (Entry entry : new ArrayList<>(entries(version).values())) {
+                if (entry.html != null && !listed.contains(entry.getHtmlFileName())) {
+                    apply(version, entry.getHtmlFileName(), null, false);
+                    dirty = true;
+                }
+            }
+            removeOrphans(version);
+        }
+
+        Set<String> skipped = new HashSet<>();
+        for (String name : unknown) {
+            FileInfo info = stat(directory.resolve(name));
+            if (info == null) {
+                skipped.add(name);
+            } else if (HTML_PATTERN.matcher(name).matches()) {
+                synchronized (this) {
+                    apply(version, name, info, false);
+                    dirty = true;
+                }
+            }
+        }
+        names.sort(null);
+        for (String name : names) {
+            if (!skipped.contains(name)) {
+                files.add(directory.resolve(name));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * @param name Name aus dem Dateinamen (ohne Nummer)
+     * @return Momentaufnahme eines Providers oder null
+     */
+    public synchronized Entry get(String version, String name, String providerId) {
+        Entry entry = entries(version).get(key(name, providerId));
+        return entry != null ? new Entry(entry) : null;
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (Map<String, Entry> entries : versions.values()) {
+            size += entries.size();
+        }
+        return size;
+    }
+
+    public Path getDirectory(String version) {
+        return Paths.get(downloadPath, version);
+    }
+
+    /**
+     * Übernimmt eine gerade geschriebene, verschobene oder gelöschte Datei (_root.html, .csv oder
+     * _root.txt). Eine neue _root.html-Datei setzt den Status auf {@link Status#DOWNLOADED}.
+     *
+     * @param version "mql4" oder "mql5"
+     */
+    public void recordFile(String version, Path path) {
+        FileInfo info = stat(path);
+        String fileName = path.getFileName().toString();
+        synchronized (this) {
+            apply(version, fileName, info, true);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Gleicht die Dateien eines Providers nach der Konvertierung, dem Löschen oder dem Verschieben
+     * in die bzw. aus der Quarantäne ab und setzt Status und Kennzahlen in einem Schritt.
+     *
+     * @param htmlFileName Pfad der _root.html-Datei (…/mql4|mql5/Name_ID_root.html)
+     * @param mpdd3        3MPDD-Wert, NaN = bisherigen Wert behalten
+     * @param maxDrawdown  MaxDDGraphic, NaN = bisherigen Wert behalten
+     */
+    public void update(String htmlFileName, Status status, double mpdd3, double maxDrawdown) {
+        String version = versionOf(htmlFileName);
+        Path htmlPath = Paths.get(htmlFileName);
+        Matcher matcher = HTML_PATTERN.matcher(htmlPath.getFileName().toString());
+        if (version == null || !matcher.matches()) {
+            logger.debug("Kein Provider im Dateinamen, Katalog unverändert: {}", htmlFileName);
+            return;
+        }
+        String name = matcher.group(1);
+        String providerId = matcher.group(2);
+
+        // Dateien außerhalb der Sperre prüfen, danach alles auf einmal übernehmen
+        FileInfo html = withId(stat(htmlPath), providerId);
+        Entry previous = get(version, name, providerId);
+        String csvId = previous != null && previous.csv != null ? previous.csv.providerId : providerId;
+        String txtId = previous != null && previous.txt != null ? previous.txt.providerId : providerId;
+        FileInfo csv = withId(stat(htmlPath.resolveSibling(name + "_" + csvId + ".csv")), csvId);
+        FileInfo txt = withId(stat(htmlPath.resolveSibling(name + "_" + txtId + "_root.txt")), txtId);
+
+        synchronized (this) {
+            Entry entry = entries(version).computeIfAbsent(key(name, providerId),
+                    k -> new Entry(version, providerId, name));
+            entry.html = html;
+            entry.csv = csv;
+            entry.txt = txt;
+            entry.status = status;
+            if (!Double.isNaN(mpdd3)) {
+                entry.mpdd3 = mpdd3;
+            }
+            if (!Double.isNaN(maxDrawdown)) {
+                entry.maxDrawdown = maxDrawdown;
+            }
+            dirty = true;
+        }
+    }
+
+    /**
+     * Schreibt den Katalog, falls er sich geändert hat (über eine temporäre Datei).
+     */
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("# version;providerId;status;3MPDD;maxDD;htmlSize;htmlModified;"
+                        + "csvId;csvSize;csvModified;txtId;txtSize;txtModified;name");
+                writer.newLine();
+                for (String version : VERSIONS) {
+                    for (Entry entry : entries(version).values()) {
+                        writer.write(entry.version + ";" + entry.providerId + ";" + entry.status + ";"
+                                + format(entry.mpdd3) + ";" + format(entry.maxDrawdown) + ";"
+                                + formatHtml(entry.html) + ";" + formatFile(entry.csv) + ";"
+                                + formatFile(entry.txt) + ";" + entry.name);
+                        writer.newLine();
+                    }
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+            logger.debug("Provider-Katalog gespeichert: {} Provider", size());
+        } catch (IOException e) {
+            logger.error("Provider-Katalog konnte nicht gespeichert werden: " + file, e);
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(";", 14);
+                try {
+                    Map<String, Entry> entries = versions.get(parts[0]);
+                    if (entries == null) {
+                        throw new IllegalArgumentException(parts[0]);
+                    }
+                    Entry entry = new Entry(parts[0], parts[1], parts[13]);
+                    entry.status = Status.valueOf(parts[2]);
+                    entry.mpdd3 = parse(parts[3]);
+                    entry.maxDrawdown = parse(parts[4]);
+                    entry.html = parseFile(parts[1], parts[5], parts[6]);
+                    entry.csv = parseFile(parts[7], parts[8], parts[9]);
+                    entry.txt = parseFile(parts[10], parts[11], parts[12]);
+                    entries.put(key(entry.name, entry.providerId), entry);
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                    logger.warn("Ungültige Zeile im Provider-Katalog ignoriert: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Provider-Katalog nicht lesbar, baue ihn neu auf: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Gleicht den geladenen Stand einmal mit den MQL-Verzeichnissen ab: ein Durchlauf je Version,
+     * Größe und Änderungszeit aus den Attributen des Durchlaufs. Status und Kennzahlen bleiben
+     * erhalten; Dateien, die inzwischen fehlen, werden ausgetragen.
+     */
+    private void reconcile() {
+        for (String version : VERSIONS) {
+            Map<String, FileInfo> found = new LinkedHashMap<>();
+            Path directory = getDirectory(version);
+            if (Files.isDirectory(directory)) {
+                try {
+                    Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), 1, new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                            if (attrs.isRegularFile()) {
+                                found.put(path.getFileName().toString(),
+                                        new FileInfo(null, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(Path path, IOException exc) {
+                            logger.warn("Datei konnte nicht gelesen werden: {} ({})", path, exc.getMessage());
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+                } catch (IOException e) {
+                    logger.error("Fehler beim Abgleich des Provider-Katalogs mit {}: {}", directory, e.getMessage());
+                }
+            }
+
+            synchronized (this) {
+                for (Entry entry : entries(version).values()) {
+                    entry.html = null;
+                    entry.csv = null;
+                    entry.txt = null;
+                }
+                // HTML-Dateien zuerst, damit CSV- und TXT-Dateien mit abweichender Nummer
+                // über den Namen ihrem Provider zugeordnet werden können
+                found.forEach((name, info) -> {
+                    if (name.endsWith("_root.html")) {
+                        apply(version, name, info, false);
+                    }
+                });
+                found.forEach((name, info) -> {
+                    if (!name.endsWith("_root.html")) {
+                        apply(version, name, info, false);
+                    }
+                });
+                removeOrphans(version);
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Trägt außerhalb des Programms entfernte Provider aus; gelöschte und Quarantäne-Einträge
+     * bleiben mit ihren Kennzahlen erhalten. Aufruf nur unter der Sperre.
+     */
+    private void removeOrphans(String version) {
+        entries(version).values().removeIf(entry -> entry.html == null && entry.csv == null
+                && entry.txt == null && (entry.status == Status.DOWNLOADED || entry.status == Status.CONVERTED));
+    }
+
+    /**
+     * Trägt eine Datei ein (info != null) oder aus (info == null). Aufruf nur unter der Sperre.
+     */
+    private void apply(String version, String fileName, FileInfo info, boolean markDownloaded) {
+        Matcher matcher;
+        if ((matcher = HTML_PATTERN.matcher(fileName)).matches()) {
+            String name = matcher.group(1);
+            String id = matcher.group(2);
+            Entry entry = entries(version).get(key(name, id));
+            if (entry == null) {
+                if (info == null) {
+                    return;
+                }
+                entry = new Entry(version, id, name);
+                entries(version).put(key(name, id), entry);
+            }
+            entry.html = withId(info, id);
+            if (info != null && markDownloaded) {
+                entry.status = Status.DOWNLOADED;
+            }
+        } else if ((matcher = CSV_PATTERN.matcher(fileName)).matches()) {
+            Entry entry = owner(version, matcher.group(1), matcher.group(2), info != null);
+            if (entry != null && (info != null || isSameFile(entry.csv, matcher.group(2)))) {
+                entry.csv = withId(info, matcher.group(2));
+            }
+        } else if ((matcher = TXT_PATTERN.matcher(fileName)).matches()) {
+            Entry entry = owner(version, matcher.group(1), matcher.group(2), info != null);
+            if (entry != null && (info != null || isSameFile(entry.txt, matcher.group(2)))) {
+                entry.txt = withId(info, matcher.group(2));
+            }
+        }
+    }
+
+    /**
+     * Provider einer CSV- oder TXT-Datei: über die Nummer, sonst über den Namen (Nummer weicht ab,
+     * siehe {@link FileUtils#correctAllDirectories(String)}), sonst ein neuer Eintrag ohne HTML-Datei.
+     */
+    private Entry owner(String version, String name, String id, boolean create) {
+        Map<String, Entry> entries = entries(version);
+        Entry entry = entries.get(key(name, id));
+        if (entry != null) {
+            return entry;
+        }
+        for (Entry candidate : entries.values()) {
+            if (candidate.name.equals(name) && candidate.html != null) {
+                return candidate;
+            }
+        }
+        if (create) {
+            entry = new Entry(version, id, name);
+            entries.put(key(name, id), entry);
+        }
+        return entry;
+    }
+
+    /**
+     * @return Schlüssel eines Eintrags: Dateiname ohne Endung (Name_Nummer)
+     */
+    private static String key(String name, String providerId) {
+        return name + "_" + providerId;
+    }
+
+    private static boolean isSameFile(FileInfo current, String id) {
+        return current != null && id.equals(current.providerId);
+    }
+
+    private static FileInfo withId(FileInfo info, String id) {
+        return info != null ? new FileInfo(id, info.size, info.lastModified) : null;
+    }
+
+    private Map<String, Entry> entries(String version) {
+        Map<String, Entry> entries = versions.get(version);
+        if (entries == null) {
+            throw new IllegalArgumentException("Unbekannte MQL-Version: " + version);
+        }
+        return entries;
+    }
+
+    /**
+     * @return Größe und Änderungszeit oder null, wenn die Datei fehlt
+     */
+    private static FileInfo stat(Path path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return attrs.isRegularFile() ? new FileInfo(null, attrs.size(), attrs.lastModifiedTime().toMillis()) : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Datei konnte nicht gelesen werden: {} ({})", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static String formatHtml(FileInfo info) {
+        return info != null ? info.size + ";" + info.lastModified : ";";
+    }
+
+    private static String formatFile(FileInfo info) {
+        return info != null ? info.providerId + ";" + info.size + ";" + info.lastModified : ";;";
+    }
+
+    private static double parse(String value) {
+        return value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+    }
+
+    private static FileInfo parseFile(String id, String size, String lastModified) {
+        if (id.isEmpty() || size.isEmpty()) {
+            return null;
+        }
+        return new FileInfo(id, Long.parseLong(size), Long.parseLong(lastModified));
+    }
+
+    /**
+     * @param htmlFileName Pfad einer Provider-Datei (…/mql4|mql5/Name_ID_root.html)
+     * @return "mql4" oder "mql5" aus dem Verzeichnisnamen, null wenn keines von beiden
+     */
+    public static String versionOf(String htmlFileName) {
+        if (htmlFileName == null) {
+            return null;
+        }
+        // Die Pfade werden mit "\\" zusammengesetzt; beide Trennzeichen berücksichtigen
+        int nameStart = lastSeparator(htmlFileName);
+        if (nameStart < 0) {
+            return null;
+        }
+        String parent = htmlFileName.substring(0, nameStart);
+        String dir = parent.substring(lastSeparator(parent) + 1);
+        return dir.equals("mql4") || dir.equals("mql5") ? dir : null;
+    }
+
+    /**
+     * @param fileName Pfad einer Provider-Datei (Name_ID_root.html, Name_ID.csv, …)
+     * @return Provider-ID aus dem Dateinamen, null wenn der Name auf keine Ziffernfolge endet
+     */
+    public static String providerIdOf(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        String base = fileName.substring(lastSeparator(fileName) + 1);
+        int suffix = base.indexOf("_root.");
+        if (suffix < 0) {
+            suffix = base.lastIndexOf('.');
+        }
+        if (suffix > 0) {
+            base = base.substring(0, suffix);
+        }
+        String id = base.substring(base.lastIndexOf('_') + 1);
+        return !id.isEmpty() && id.chars().allMatch(Character::isDigit) ? id : null;
+    }
+
+    static int lastSeparator(String path) {
+        return Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+    }
+}
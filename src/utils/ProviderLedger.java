@@ -0,0 +1,169 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Gemeinsame Ablage der Provider-Listen im Download-Verzeichnis (z.B. Ablehnungs- und Fehlerliste).
+ *
+ * Die Datei enthält eine Kopfzeile mit '#' und eine Zeile je Provider, geschlüsselt über Version
+ * und Provider-ID. Sie wird beim ersten Zugriff geladen (ungültige Zeilen werden übersprungen)
+ * und mit {@link #flush()} nur bei Änderungen über eine temporäre Datei ersetzt. Je Datei gibt es
+ * in der JVM genau eine Instanz. Unterklassen legen nur fest, wie ein Eintrag gelesen und
+ * geschrieben wird und was er bedeutet; ihre Methoden synchronisieren auf der Instanz.
+ *
+ * @param <E> Eintragstyp
+ */
+public abstract class ProviderLedger<E> {
+    private static final Logger logger = LogManager.getLogger(ProviderLedger.class);
+    private static final Map<Path, ProviderLedger<?>> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final String header;
+    private final String title;
+    private final Map<String, E> entries = new LinkedHashMap<>();
+    private boolean dirty;
+
+    /**
+     * @param header Spaltennamen für die Kopfzeile (ohne '#')
+     * @param title  Bezeichnung der Liste in Log-Meldungen
+     */
+    protected ProviderLedger(Path file, String header, String title) {
+        this.file = file;
+        this.header = header;
+        this.title = title;
+    }
+
+    /**
+     * @param downloadPath Download-Verzeichnis (enthält mql4 und mql5)
+     * @return gemeinsame, geladene Instanz für die Datei in diesem Verzeichnis
+     */
+    protected static <L extends ProviderLedger<?>> L forDownloadPath(String downloadPath, String fileName,
+            Class<L> type, Function<Path, L> factory) {
+        Path file = Paths.get(downloadPath, fileName).toAbsolutePath().normalize();
+        return type.cast(INSTANCES.computeIfAbsent(file, path -> {
+            ProviderLedger<?> ledger = factory.apply(path);
+            ledger.load();
+            return ledger;
+        }));
+    }
+
+    /**
+     * Liest einen Eintrag aus einer Zeile.
+     *
+     * @throws IllegalArgumentException, ArrayIndexOutOfBoundsException oder DateTimeParseException
+     *         bei einer ungültigen Zeile
+     */
+    protected abstract E parse(String line);
+
+    /** Zeile eines Eintrags ohne Zeilenende */
+    protected abstract String format(E entry);
+
+    protected abstract String keyOf(E entry);
+
+    protected static String key(String version, String providerId) {
+        return version + ":" + providerId;
+    }
+
+    protected final E getEntry(String key) {
+        return entries.get(key);
+    }
+
+    protected final void putEntry(E entry) {
+        entries.put(keyOf(entry), entry);
+        dirty = true;
+    }
+
+    /**
+     * @return true, wenn ein Eintrag entfernt wurde
+     */
+    protected final boolean removeEntry(String key) {
+        if (entries.remove(key) == null) {
+            return false;
+        }
+        dirty = true;
+        return true;
+    }
+
+    protected final Collection<E> entries() {
+        return entries.values();
+    }
+
+    /** Für Einträge, die an Ort und Stelle geändert wurden */
+    protected final void markDirty() {
+        dirty = true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Schreibt die Liste, falls sie sich geändert hat (über eine temporäre Datei).
+     */
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("# " + header);
+                writer.newLine();
+                for (E entry : entries.values()) {
+                    writer.write(format(entry));
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+            logger.debug("{} gespeichert: {} Provider", title, entries.size());
+        } catch (IOException e) {
+            logger.error(title + " konnte nicht gespeichert werden: " + file, e);
+        }
+    }
+
+    private synchronized void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    E entry = parse(line);
+                    entries.put(keyOf(entry), entry);
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+                    logger.warn("Ungültige Zeile in der {} ignoriert: {}", title, line);
+                }
+            }
+            logger.info("{} geladen: {} Provider", title, entries.size());
+        } catch (IOException e) {
+            logger.warn("{} nicht lesbar, beginne leer: {}", title, e.getMessage());
+        }
+    }
+}
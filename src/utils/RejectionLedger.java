@@ -0,0 +1,173 @@
+package utils;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Liste der Provider, die die Konvertierung wegen 3MPDD &lt; 0.5 gelöscht hat
+ * (download/rejectionLedger.txt).
+ *
+ * Ohne diese Liste findet der Downloader beim nächsten Lauf keine Dateien mehr und lädt
+ * dieselben schwachen Provider jedes Mal erneut. Mit ihr überspringt er sie, bis die
+ * Abklingzeit vorbei ist oder sich das Wachstum auf der Listenseite deutlich verändert hat.
+ * Bestanden sie später die Konvertierung, werden sie wieder entfernt.
+ *
+ * Format: eine Zeile je Provider, "version;providerId;3MPDD;abgelehntAm;listenWachstum".
+ * Das Listen-Wachstum wird beim ersten Besuch der Listenseite nach der Ablehnung als
+ * Vergleichswert eingetragen. Downloader und Konverter derselben JVM teilen sich eine Instanz
+ * je Download-Verzeichnis; geschrieben wird mit {@link #flush()} am Ende eines Laufs.
+ */
+public final class RejectionLedger extends ProviderLedger<RejectionLedger.Entry> {
+    private static final Logger logger = LogManager.getLogger(RejectionLedger.class);
+
+    static final String FILE_NAME = "rejectionLedger.txt";
+
+    private RejectionLedger(Path file) {
+        super(file, "version;providerId;3MPDD;rejectedAt;listGrowth", "Ablehnungsliste");
+    }
+
+    /**
+     * @param downloadPath Download-Verzeichnis (enthält mql4 und mql5)
+     * @return gemeinsame Instanz für dieses Verzeichnis
+     */
+    public static RejectionLedger forDownloadPath(String downloadPath) {
+        return forDownloadPath(downloadPath, FILE_NAME, RejectionLedger.class, RejectionLedger::new);
+    }
+
+    /**
+     * Ein abgelehnter Provider.
+     */
+    public static final class Entry {
+        private final String version;
+        private final String providerId;
+        private final double mpdd3;
+        private final LocalDate rejectedAt;
+        private double listGrowth;
+
+        Entry(String version, String providerId, double mpdd3, LocalDate rejectedAt, double listGrowth) {
+            this.version = version;
+            this.providerId = providerId;
+            this.mpdd3 = mpdd3;
+            this.rejectedAt = rejectedAt;
+            this.listGrowth = listGrowth;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getProviderId() {
+            return providerId;
+        }
+
+        public double getMpdd3() {
+            return mpdd3;
+        }
+
+        public LocalDate getRejectedAt() {
+            return rejectedAt;
+        }
+
+        /**
+         * @return Wachstum laut Listenseite beim ersten Besuch nach der Ablehnung, NaN = unbekannt
+         */
+        public double getListGrowth() {
+            return listGrowth;
+        }
+    }
+
+    /**
+     * Trägt einen von der Konvertierung gelöschten Provider ein (ersetzt einen älteren Eintrag).
+     *
+     * @param htmlFileName Pfad der _root.html-Datei (…/mql4|mql5/Name_ID_root.html)
+     */
+    public synchronized void recordRejection(String htmlFileName, double mpdd3) {
+        String version = ProviderCatalog.versionOf(htmlFileName);
+        String providerId = ProviderCatalog.providerIdOf(htmlFileName);
+        if (version == null || providerId == null) {
+            logger.debug("Kein Provider im Dateinamen, nicht in die Ablehnungsliste übernommen: {}", htmlFileName);
+            return;
+        }
+        putEntry(new Entry(version, providerId, mpdd3, LocalDate.now(), Double.NaN));
+    }
+
+    /**
+     * Entfernt einen Provider, der die Konvertierung bestanden hat.
+     */
+    public synchronized void remove(String htmlFileName) {
+        String version = ProviderCatalog.versionOf(htmlFileName);
+        String providerId = ProviderCatalog.providerIdOf(htmlFileName);
+        if (version != null && providerId != null) {
+            removeEntry(key(version, providerId));
+        }
+    }
+
+    /**
+     * Prüft vor dem Besuch eines Providers, ob er übersprungen werden soll.
+     *
+     * @param version      "mql4" oder "mql5"
+     * @param listGrowth   aktuelles Wachstum laut Listenseite in Prozent, NaN = unbekannt
+     * @param cooldownDays Abklingzeit in Tagen, 0 = Liste nicht verwenden
+     * @param growthDelta  Änderung des Wachstums in Prozentpunkten, ab der vorzeitig neu geprüft wird
+     * @return Grund für das Überspringen oder null, wenn der Provider geladen werden soll
+     */
+    public synchronized String checkSkip(String version, String providerId, double listGrowth,
+            int cooldownDays, double growthDelta) {
+        if (cooldownDays <= 0) {
+            return null;
+        }
+        Entry entry = getEntry(key(version, providerId));
+        if (entry == null) {
+            return null;
+        }
+        long age = ChronoUnit.DAYS.between(entry.rejectedAt, LocalDate.now());
+        if (age >= cooldownDays) {
+            logger.info("Abklingzeit für Provider {} ({}) abgelaufen, wird neu geprüft", providerId, version);
+            return null;
+        }
+        if (Double.isNaN(entry.listGrowth)) {
+            if (!Double.isNaN(listGrowth)) {
+                entry.listGrowth = listGrowth;
+                markDirty();
+            }
+        } else if (!Double.isNaN(listGrowth) && Math.abs(listGrowth - entry.listGrowth) >= growthDelta) {
+            logger.info("Wachstum von Provider {} ({}) hat sich deutlich verändert ({}% -> {}%), wird neu geprüft",
+                    providerId, version, format(entry.listGrowth), format(listGrowth));
+            return null;
+        }
+        return String.format(Locale.ROOT, "3MPDD %.2f am %s abgelehnt, Abklingzeit %d/%d Tage",
+                entry.mpdd3, entry.rejectedAt, age, cooldownDays);
+    }
+
+    public synchronized Entry get(String version, String providerId) {
+        return getEntry(key(version, providerId));
+    }
+
+    @Override
+    protected Entry parse(String line) {
+        String[] parts = line.split(";", -1);
+        double growth = parts.length > 4 && !parts[4].isEmpty() ? Double.parseDouble(parts[4]) : Double.NaN;
+        return new Entry(parts[0], parts[1], Double.parseDouble(parts[2]), LocalDate.parse(parts[3]), growth);
+    }
+
+    @Override
+    protected String format(Entry entry) {
+        return entry.version + ";" + entry.providerId + ";"
+                + String.format(Locale.ROOT, "%.4f", entry.mpdd3) + ";" + entry.rejectedAt + ";"
+                + (Double.isNaN(entry.listGrowth) ? "" : format(entry.listGrowth));
+    }
+
+    @Override
+    protected String keyOf(Entry entry) {
+        return key(entry.version, entry.providerId);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
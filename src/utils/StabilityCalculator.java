@@ -1,6 +1,5 @@
 package utils;
 
-import java.util.ArrayList;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,40 +24,48 @@ public class StabilityCalculator {
         }
         
         StringBuilder details = new StringBuilder();
-        List<String> lastMonths = monthExtractor.getLastThreeMonthsDetails(fileName);
-        List<Double> profitValues = new ArrayList<>();
+        // Die letzten drei abgeschlossenen Monate (neuester zuerst) mit den Werten wie auf der Seite
+        List<String> monthLabels = monthExtractor.getLastThreeMonthsDetails(fileName);
+        double[] profitValues = new double[monthLabels.size()];
         try {
-            for (String monthDetail : lastMonths) {
-                String valueStr = monthDetail.split(":")[1].trim().replace("%", "").replace(",", ".");
-                double profit = Double.parseDouble(valueStr);
-                profitValues.add(profit);
+            for (int i = 0; i < profitValues.length; i++) {
+                String month = monthLabels.get(i);
+                profitValues[i] = Double.parseDouble(month.substring(month.indexOf(':') + 1));
             }
             details.append("Verwendete Monatswerte:<br>");
-            for (String month : lastMonths) {
+            for (String month : monthLabels) {
                 details.append("- ").append(month).append("<br>");
             }
-            if (profitValues.size() >= 2) {
-                double mean = profitValues.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+            if (profitValues.length >= 2) {
+                double sum = 0.0;
+                for (double v : profitValues) {
+                    sum += v;
+                }
+                double mean = sum / profitValues.length;
                 details.append("<br>Mittelwert: ").append(String.format("%.2f%%", mean)).append("<br>");
-                double variance = profitValues.stream().mapToDouble(v -> Math.pow(v - mean, 2)).average().orElse(0.0);
+                double squares = 0.0;
+                for (double v : profitValues) {
+                    squares += (v - mean) * (v - mean);
+                }
+                double variance = squares / profitValues.length;
                 double stdDeviation = Math.sqrt(variance);
                 details.append("Standardabweichung: ").append(String.format("%.2f", stdDeviation)).append("<br>");
                 double relativeStdDev = Math.abs(mean) < 0.0001 ? 1.0 : stdDeviation / (Math.abs(mean) + 0.0001);
                 details.append("Relative Standardabweichung: ").append(String.format("%.2f", relativeStdDev)).append("<br>");
                 double baseStability = Math.max(1.0, 100.0 * (1.0 - relativeStdDev));
-                details.append("Basis-Stabilittswert: ").append(String.format("%.2f", baseStability)).append("<br>");
-                double dataQualityFactor = profitValues.size() / 3.0;
-                details.append("Datenqualittsfaktor: ").append(String.format("%.2f", dataQualityFactor)).append("<br>");
+                details.append("Basis-Stabilitätswert: ").append(String.format("%.2f", baseStability)).append("<br>");
+                double dataQualityFactor = profitValues.length / 3.0;
+                details.append("Datenqualitätsfaktor: ").append(String.format("%.2f", dataQualityFactor)).append("<br>");
                 double finalStability = Math.max(1.0, Math.min(100.0, baseStability * (0.7 + 0.3 * dataQualityFactor)));
                 StabilityResult result = new StabilityResult(finalStability, details.toString());
                 contentCache.cacheStabilityResult(fileName, result);
                 return result;
             }
-            StabilityResult result = new StabilityResult(1.0, "Nicht gengend Monatswerte verfgbar<br>Gefundene Werte:<br>" + String.join("<br>", lastMonths));
+            StabilityResult result = new StabilityResult(1.0, "Nicht genügend Monatswerte verfügbar<br>Gefundene Werte:<br>" + String.join("<br>", monthLabels));
             contentCache.cacheStabilityResult(fileName, result);
             return result;
         } catch (Exception e) {
-            logger.error("Fehler bei der Stabilittsberechnung fr " + fileName, e);
+            logger.error("Fehler bei der Stabilitätsberechnung für " + fileName, e);
             StabilityResult result = new StabilityResult(1.0, "Fehler bei der Berechnung: " + e.getMessage());
             contentCache.cacheStabilityResult(fileName, result);
             return result;
@@ -0,0 +1,91 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import trades.EquityCurve;
+import trades.TradeStore;
+
+/**
+ * Drawdown-Reihe aus der heruntergeladenen Trading History (&lt;Name&gt;_&lt;ID&gt;.csv neben
+ * der _root.html-Datei), berechnet mit {@link EquityCurve}.
+ *
+ * Gegenstück zu {@link ChartDataExtractor}: statt Pixelwerte des roten SVG-Pfads über die
+ * Achsenbeschriftung zurückzurechnen, wird der Kontostand aus den Trades nachgebildet.
+ * Ohne CSV liefern die Methoden null bzw. NaN, dann bleibt das SVG die Quelle.
+ */
+public class TradeDrawdownExtractor {
+    private static final Logger logger = LogManager.getLogger(TradeDrawdownExtractor.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final HtmlContentCache contentCache;
+
+    public TradeDrawdownExtractor(HtmlContentCache contentCache) {
+        this.contentCache = contentCache;
+    }
+
+    /**
+     * @param fileName Pfad der _root.html-Datei
+     * @return Pfad der zugehörigen Trading-History-CSV
+     */
+    public static Path csvFileFor(String fileName) {
+        return Paths.get(fileName.replace("_root.html", "") + ".csv");
+    }
+
+    /**
+     * @return Balance-Kurve des Providers oder null, wenn keine (lesbare) CSV vorliegt
+     */
+    public EquityCurve getEquityCurve(String fileName) {
+        EquityCurve cached = contentCache.getCachedEquityCurve(fileName);
+        if (cached != null) {
+            return cached;
+        }
+        Path csvFile = csvFileFor(fileName);
+        if (!Files.exists(csvFile)) {
+            return null;
+        }
+        try {
+            EquityCurve curve = EquityCurve.fromTrades(TradeStore.load(csvFile));
+            if (curve.getTradeCount() == 0) {
+                logger.warn("Trading History ohne Trades, Drawdown aus dem Chart: {}", csvFile);
+                return null;
+            }
+            contentCache.cacheEquityCurve(fileName, curve);
+            return curve;
+        } catch (IOException e) {
+            logger.warn("Trading History nicht lesbar, Drawdown aus dem Chart: {} ({})", csvFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return Drawdown je Tag mit Trades in Prozent (positiv), null ohne CSV
+     */
+    public List<ChartPoint> getDrawdownChartData(String fileName) {
+        EquityCurve curve = getEquityCurve(fileName);
+        if (curve == null) {
+            return null;
+        }
+        List<ChartPoint> chartData = new ArrayList<>(curve.getDayCount());
+        for (int i = 0; i < curve.getDayCount(); i++) {
+            chartData.add(new ChartPoint(curve.getDate(i).format(DATE_FORMAT), curve.getDrawdown(i)));
+        }
+        return chartData;
+    }
+
+    /**
+     * @return größter Balance-Drawdown in Prozent, NaN ohne CSV
+     */
+    public double getMaxDrawdown(String fileName) {
+        EquityCurve curve = getEquityCurve(fileName);
+        return curve != null ? curve.getMaxDrawdown() : Double.NaN;
+    }
+}